@@ -0,0 +1,82 @@
+package dev.danvega.beehiiv;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.post.Post;
+import dev.danvega.beehiiv.post.PostsResponse;
+import dev.danvega.beehiiv.subscription.Subscription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson binding of the Beehiiv models, with the ObjectMapper settings Spring Boot gives the server.
+ * <p>
+ * The JSON is built from the {@link MockApiResponses} fixtures, with post content enlarged to the
+ * size of a real newsletter issue and a full page of posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeserializationBenchmark {
+
+    /**
+     * Size of each post's HTML content, in kilobytes.
+     */
+    @Param({"4", "64"})
+    public int contentKilobytes;
+
+    private static final int POSTS_PER_PAGE = 100;
+
+    private ObjectMapper objectMapper;
+    private byte[] postJson;
+    private byte[] postsJson;
+    private byte[] subscriptionJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        String html = "<p>Weekly insights on Java, Spring and AI.</p>";
+        String content = html.repeat(contentKilobytes * 1024 / html.length());
+        ObjectNode post = objectMapper.valueToTree(MockApiResponses.createSamplePost());
+        post.put("content_html", content);
+        post.put("free_web_content", content);
+        post.put("premium_web_content", content);
+        postJson = objectMapper.writeValueAsBytes(post);
+
+        ObjectNode posts = objectMapper.valueToTree(MockApiResponses.createSamplePostsResponse());
+        ArrayNode data = posts.putArray("data");
+        for (int i = 0; i < POSTS_PER_PAGE; i++) {
+            data.add(post.deepCopy().put("id", "post_" + i));
+        }
+        postsJson = objectMapper.writeValueAsBytes(posts);
+
+        subscriptionJson = objectMapper.writeValueAsBytes(MockApiResponses.createSampleSubscription());
+    }
+
+    @Benchmark
+    public Post post() throws IOException {
+        return objectMapper.readValue(postJson, Post.class);
+    }
+
+    @Benchmark
+    public PostsResponse postsPage() throws IOException {
+        return objectMapper.readValue(postsJson, PostsResponse.class);
+    }
+
+    @Benchmark
+    public Subscription subscription() throws IOException {
+        return objectMapper.readValue(subscriptionJson, Subscription.class);
+    }
+}
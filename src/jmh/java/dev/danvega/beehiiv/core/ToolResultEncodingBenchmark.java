@@ -0,0 +1,119 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.post.Post;
+import dev.danvega.beehiiv.post.PostsResponse;
+import dev.danvega.beehiiv.publication.PublicationsResponse;
+import dev.danvega.beehiiv.subscription.CustomField;
+import dev.danvega.beehiiv.subscription.CustomFieldsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Tool results of list tools as the default JSON and in the {@link TabularEncoder compact tabular encoding},
+ * for 100 record pages: encoding alone, and encoding plus the JSON-RPC response the stdio transport frames
+ * the text in.
+ * <p>
+ * Posts are built from the {@link MockApiResponses} fixtures without content, as a page without
+ * {@code expand} comes back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ToolResultEncodingBenchmark {
+
+    @Param({"beehiiv_get_posts", "beehiiv_get_publications", "beehiiv_list_custom_fields"})
+    public String tool;
+
+    private static final int RECORDS_PER_PAGE = 100;
+
+    private final ToolCallResultConverter converter = new DefaultToolCallResultConverter();
+    private ObjectMapper objectMapper;
+    private Object result;
+    private Type resultType;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        switch (tool) {
+            case "beehiiv_get_posts" -> {
+                ObjectNode post = objectMapper.valueToTree(MockApiResponses.createSamplePost());
+                for (Iterator<String> fields = post.fieldNames(); fields.hasNext(); ) {
+                    String field = fields.next();
+                    if (field.contains("content") && !field.equals("content_tags")) {
+                        post.putNull(field);
+                    }
+                }
+                Post withoutContent = objectMapper.treeToValue(post, Post.class);
+                result = new PostsResponse(page(i -> withoutContent),
+                        MockApiResponses.createSamplePostsResponse().pagination());
+                resultType = PostsResponse.class;
+            }
+            case "beehiiv_get_publications" -> {
+                result = new PublicationsResponse(page(i -> i % 2 == 0 ? MockApiResponses.createSamplePublication()
+                        : MockApiResponses.createSecondSamplePublication()), RECORDS_PER_PAGE, 1, RECORDS_PER_PAGE, 1);
+                resultType = PublicationsResponse.class;
+            }
+            case "beehiiv_list_custom_fields" -> {
+                List<CustomField> fields = MockApiResponses.createSampleCustomFieldsResponse().data();
+                result = new CustomFieldsResponse(page(i -> fields.get(i % fields.size())), RECORDS_PER_PAGE, 1,
+                        RECORDS_PER_PAGE);
+                resultType = CustomFieldsResponse.class;
+            }
+            default -> throw new IllegalArgumentException("Unknown tool " + tool);
+        }
+    }
+
+    private static <T> List<T> page(IntFunction<T> record) {
+        List<T> records = new ArrayList<>(RECORDS_PER_PAGE);
+        for (int i = 0; i < RECORDS_PER_PAGE; i++) {
+            records.add(record.apply(i));
+        }
+        return records;
+    }
+
+    private String frame(String text) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("jsonrpc", "2.0", "id", 1,
+                "result", Map.of("content", List.of(Map.of("type", "text", "text", text)), "isError", false)));
+    }
+
+    @Benchmark
+    public String json() {
+        return converter.convert(result, resultType);
+    }
+
+    @Benchmark
+    public String table() {
+        return TabularEncoder.encode(converter.convert(result, resultType));
+    }
+
+    @Benchmark
+    public String jsonFrame() throws IOException {
+        return frame(json());
+    }
+
+    @Benchmark
+    public String tableFrame() throws IOException {
+        return frame(table());
+    }
+}
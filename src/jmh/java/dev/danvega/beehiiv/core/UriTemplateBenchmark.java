@@ -0,0 +1,108 @@
+package dev.danvega.beehiiv.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UriTemplate} against the string concatenation the services used before, which did not encode
+ * values, and against Spring's {@link UriComponentsBuilder}, for a posts URI with every filter set and
+ * for a subscription lookup by email.
+ * <p>
+ * Run with {@code -prof gc} to compare allocations per URI as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UriTemplateBenchmark {
+
+    private static final UriTemplate POSTS = UriTemplate.compile(ApiConstants.POSTS_ENDPOINT);
+    private static final UriTemplate BY_EMAIL = UriTemplate.compile(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT);
+
+    private static final String PUBLICATION_ID = "pub_benchmark";
+    private static final String CONTENT_TAGS = "java, spring, ai";
+    private static final String EMAIL = "jane.doe+newsletter@example.com";
+    private static final String EXPAND = "stats, custom_fields, referrals";
+
+    @Benchmark
+    public String postsUriTemplate() {
+        return POSTS.expand(PUBLICATION_ID)
+                .query(ApiConstants.PARAM_LIMIT, 100)
+                .query(ApiConstants.PARAM_PAGE, 3)
+                .query(ApiConstants.PARAM_ORDER_BY, ApiConstants.DEFAULT_ORDER_BY)
+                .query(ApiConstants.PARAM_DIRECTION, ApiConstants.DEFAULT_DIRECTION)
+                .query(ApiConstants.PARAM_AUDIENCE, "premium")
+                .query(ApiConstants.PARAM_PLATFORM, "both")
+                .query(ApiConstants.PARAM_STATUS, "confirmed")
+                .queryList(ApiConstants.PARAM_CONTENT_TAGS, CONTENT_TAGS)
+                .query(ApiConstants.PARAM_HIDDEN_FROM_FEED, "false")
+                .build();
+    }
+
+    @Benchmark
+    public String postsUriConcatenation() {
+        StringBuilder query = new StringBuilder("?");
+        query.append("limit=").append(100);
+        query.append("&page=").append(3);
+        query.append("&order_by=").append(ApiConstants.DEFAULT_ORDER_BY);
+        query.append("&direction=").append(ApiConstants.DEFAULT_DIRECTION);
+        query.append("&audience=").append("premium");
+        query.append("&platform=").append("both");
+        query.append("&status=").append("confirmed");
+        for (String tag : CONTENT_TAGS.split(",")) {
+            query.append("&content_tags=").append(tag.trim());
+        }
+        query.append("&hidden_from_feed=").append("false");
+        return "/publications/" + PUBLICATION_ID + "/posts" + query;
+    }
+
+    @Benchmark
+    public String postsUriComponentsBuilder() {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(ApiConstants.POSTS_ENDPOINT)
+                .queryParam(ApiConstants.PARAM_LIMIT, 100)
+                .queryParam(ApiConstants.PARAM_PAGE, 3)
+                .queryParam(ApiConstants.PARAM_ORDER_BY, ApiConstants.DEFAULT_ORDER_BY)
+                .queryParam(ApiConstants.PARAM_DIRECTION, ApiConstants.DEFAULT_DIRECTION)
+                .queryParam(ApiConstants.PARAM_AUDIENCE, "premium")
+                .queryParam(ApiConstants.PARAM_PLATFORM, "both")
+                .queryParam(ApiConstants.PARAM_STATUS, "confirmed");
+        for (String tag : CONTENT_TAGS.split(",")) {
+            builder.queryParam(ApiConstants.PARAM_CONTENT_TAGS, tag.trim());
+        }
+        return builder.queryParam(ApiConstants.PARAM_HIDDEN_FROM_FEED, "false")
+                .encode()
+                .buildAndExpand(PUBLICATION_ID)
+                .toUriString();
+    }
+
+    @Benchmark
+    public String emailUriTemplate() {
+        return BY_EMAIL.expand(PUBLICATION_ID, EMAIL)
+                .queryList(ApiConstants.PARAM_EXPAND, EXPAND)
+                .build();
+    }
+
+    @Benchmark
+    public String emailUriConcatenation() {
+        StringBuilder uri = new StringBuilder("/publications/" + PUBLICATION_ID + "/subscriptions/by_email/" + EMAIL);
+        uri.append("?");
+        boolean first = true;
+        for (String option : EXPAND.split(",")) {
+            String trimmedOption = option.trim();
+            if (!trimmedOption.isEmpty()) {
+                if (!first) {
+                    uri.append("&");
+                }
+                uri.append("expand[]=").append(trimmedOption);
+                first = false;
+            }
+        }
+        return uri.toString();
+    }
+}
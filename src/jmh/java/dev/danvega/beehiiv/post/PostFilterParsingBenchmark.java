@@ -0,0 +1,36 @@
+package dev.danvega.beehiiv.post;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the status and audience filters, for the first and last enum constant and for mixed case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostFilterParsingBenchmark {
+
+    @Param({"draft", "all", "Confirmed"})
+    public String status;
+
+    @Param({"free", "all", "Premium"})
+    public String audience;
+
+    @Benchmark
+    public PostStatus statusFromString() {
+        return PostStatus.fromString(status);
+    }
+
+    @Benchmark
+    public PostAudience audienceFromString() {
+        return PostAudience.fromString(audience);
+    }
+}
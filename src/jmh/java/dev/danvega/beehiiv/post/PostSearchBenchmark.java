@@ -0,0 +1,59 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.standin.StandInDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top 10 queries on the post search index, over stand-in archives with 1KB of web content per post.
+ * The stand-in text draws on a few dozen words, so every word of the {@code common} queries is in most
+ * posts: the worst case, where a query reads the postings of the whole archive. A {@code rare} query
+ * matches the issue number of a single title.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostSearchBenchmark {
+
+    @Param({"10000", "50000"})
+    public int posts;
+
+    @Param({"rare", "common", "common3"})
+    public String query;
+
+    private PostSearchIndex index;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        StandInDataset dataset = StandInDataset.generate(1, posts, 0, 1024, 22);
+        index = new PostSearchIndex();
+        for (ObjectNode post : dataset.posts().get("pub_00000001")) {
+            index.index(objectMapper.convertValue(post, Post.class));
+        }
+        text = switch (query) {
+            case "rare" -> String.valueOf(posts / 2);
+            case "common" -> "virtual threads";
+            case "common3" -> "graalvm native cache";
+            default -> throw new IllegalArgumentException("Unknown query " + query);
+        };
+    }
+
+    @Benchmark
+    public List<PostSearchIndex.Hit> search() {
+        return index.search(text, 10);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.danvega.beehiiv.post;
+
+import dev.danvega.beehiiv.core.BeehiivProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URI building for the posts endpoints, with only the defaulted parameters and with every filter set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostUriBenchmark {
+
+    private PostService postService;
+
+    @Setup
+    public void setUp() {
+        // URI building never reaches the API client
+        postService = new PostService(null, new BeehiivProperties("benchmark-api-key", "pub_benchmark"));
+    }
+
+    @Benchmark
+    public String postsUriWithDefaults() {
+        return postService.buildPostsUri("pub_benchmark", null, null, null, null,
+                null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String postsUriWithAllFilters() {
+        return postService.buildPostsUri("pub_benchmark", 100, 3, "publish_date", "desc",
+                "premium", "both", "confirmed", "java, spring, ai", "false");
+    }
+
+    @Benchmark
+    public String singlePostUri() {
+        return postService.buildSinglePostUri("pub_benchmark", "post_123456789", null);
+    }
+
+    @Benchmark
+    public String singlePostUriWithExpand() {
+        return postService.buildSinglePostUri("pub_benchmark", "post_123456789",
+                "stats, free_web_content, premium_web_content, free_email_content");
+    }
+}
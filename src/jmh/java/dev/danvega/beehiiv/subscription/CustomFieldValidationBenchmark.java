@@ -0,0 +1,107 @@
+package dev.danvega.beehiiv.subscription;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One million custom field validations, spread over text, number, boolean, date and list fields, through
+ * {@link CustomField#convertValue} and {@link CustomField#isValidValue} and through the fields' compiled
+ * {@link CustomFieldValidator}s. {@code invalidPercent} of the values do not convert; the field path
+ * throws and catches an exception for each of those.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomFieldValidationBenchmark {
+
+    private static final int VALIDATIONS = 1_000_000;
+
+    private static final List<String> OPTIONS = IntStream.rangeClosed(1, 20).mapToObj(i -> "option_" + i).toList();
+
+    private static final List<CustomField> FIELDS = List.of(
+            new CustomField("cf_text", "name", "text", true, null, null, null, null, null),
+            new CustomField("cf_number", "age", "number", false, null, null, null, null, null),
+            new CustomField("cf_amount", "amount", "number", false, null, null, null, null, null),
+            new CustomField("cf_boolean", "active", "boolean", false, null, null, null, null, null),
+            new CustomField("cf_date", "birthday", "date", false, null, null, null, null, null),
+            new CustomField("cf_list", "plan", "list", false, null, null, null, OPTIONS, null));
+
+    private static final String[][] VALID = {
+            {"Jane Doe", "Grace Hopper"},
+            {"42", "-17"},
+            {"1234.5", "0.25"},
+            {"yes", "FALSE"},
+            {"2024-01-15", "1990-12-25"},
+            {"option_3", "option_18"}};
+
+    private static final String[][] INVALID = {
+            {"Jane Doe", "Grace Hopper"},
+            {"forty-two", "12abc"},
+            {"12.5.1", "n/a."},
+            {"maybe", "sometimes"},
+            {"2024-01-15", "1990-12-25"},
+            {"option_21", "premium"}};
+
+    @Param({"0", "25"})
+    public int invalidPercent;
+
+    private CustomField[] fields;
+    private CustomFieldValidator[] validators;
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(25);
+        fields = new CustomField[VALIDATIONS];
+        validators = new CustomFieldValidator[VALIDATIONS];
+        values = new String[VALIDATIONS];
+        CustomFieldValidator[] compiled = FIELDS.stream().map(CustomFieldValidator::compile).toArray(CustomFieldValidator[]::new);
+        for (int i = 0; i < VALIDATIONS; i++) {
+            int field = random.nextInt(FIELDS.size());
+            String[] choices = random.nextInt(100) < invalidPercent ? INVALID[field] : VALID[field];
+            fields[i] = FIELDS.get(field);
+            validators[i] = compiled[field];
+            values[i] = choices[random.nextInt(choices.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALIDATIONS)
+    public int fieldPath() {
+        int valid = 0;
+        for (int i = 0; i < VALIDATIONS; i++) {
+            try {
+                if (fields[i].isValidValue(fields[i].convertValue(values[i]))) {
+                    valid++;
+                }
+            } catch (IllegalArgumentException e) {
+                // Invalid value
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALIDATIONS)
+    public int compiledPath() {
+        int valid = 0;
+        for (int i = 0; i < VALIDATIONS; i++) {
+            if (validators[i].isValid(values[i])) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,72 @@
+package dev.danvega.beehiiv.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.beehiiv.core.BeehiivProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscription lookups and custom field handling: the by-email URI, email validation (including a
+ * long invalid address, the regex's worst case) and custom field value conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubscriptionBenchmark {
+
+    private static final String VALID_EMAIL = "jane.doe+newsletter@mail.example.co.uk";
+    private static final String INVALID_EMAIL = "jane.doe@" + "sub-domain.".repeat(20) + "example-";
+    private static final List<String> OPTIONS = List.of("daily", "weekly", "monthly");
+
+    private SubscriptionService subscriptionService;
+
+    @Setup
+    public void setUp() {
+        // URI building never reaches the API client
+        subscriptionService = new SubscriptionService(null, new BeehiivProperties("benchmark-api-key", "pub_benchmark"),
+                new ObjectMapper());
+    }
+
+    @Benchmark
+    public String getByEmailUri() {
+        return subscriptionService.buildGetByEmailUri("pub_benchmark", VALID_EMAIL, null);
+    }
+
+    @Benchmark
+    public String getByEmailUriWithExpand() {
+        return subscriptionService.buildGetByEmailUri("pub_benchmark", VALID_EMAIL, "stats, custom_fields, referrals");
+    }
+
+    @Benchmark
+    public boolean validEmail() {
+        return SubscriptionService.EMAIL_PATTERN.matcher(VALID_EMAIL).matches();
+    }
+
+    @Benchmark
+    public boolean invalidEmail() {
+        return SubscriptionService.EMAIL_PATTERN.matcher(INVALID_EMAIL).matches();
+    }
+
+    @Benchmark
+    public Object convertNumber() {
+        return CustomField.FieldType.NUMBER.convertValue("1234.5", null);
+    }
+
+    @Benchmark
+    public Object convertBoolean() {
+        return CustomField.FieldType.BOOLEAN.convertValue("Yes", null);
+    }
+
+    @Benchmark
+    public Object convertListOption() {
+        return CustomField.FieldType.LIST.convertValue("monthly", OPTIONS);
+    }
+}
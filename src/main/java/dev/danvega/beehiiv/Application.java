@@ -1,10 +1,23 @@
 package dev.danvega.beehiiv;
 
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.DiskCacheProperties;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.HttpClientProperties;
+import dev.danvega.beehiiv.core.MeteredToolCallback;
+import dev.danvega.beehiiv.core.MetricsProperties;
+import dev.danvega.beehiiv.core.RateLimitProperties;
+import dev.danvega.beehiiv.core.ResilienceProperties;
+import dev.danvega.beehiiv.core.SyncProperties;
+import dev.danvega.beehiiv.core.TabularToolCallback;
+import dev.danvega.beehiiv.post.PostSearchService;
 import dev.danvega.beehiiv.post.PostService;
+import dev.danvega.beehiiv.post.PostSyncService;
 import dev.danvega.beehiiv.publication.PublicationService;
 import dev.danvega.beehiiv.subscription.SubscriptionService;
 import dev.danvega.beehiiv.subscription.CustomFieldService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.support.ToolCallbacks;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.boot.SpringApplication;
@@ -17,7 +30,9 @@ import java.util.Arrays;
 import java.util.List;
 
 @SpringBootApplication
-@EnableConfigurationProperties(BeehiivProperties.class)
+@EnableConfigurationProperties({BeehiivProperties.class, HttpClientProperties.class, RateLimitProperties.class,
+        ResilienceProperties.class, CacheProperties.class, DiskCacheProperties.class, ExecutionProperties.class,
+        MetricsProperties.class, SyncProperties.class})
 public class Application {
 
     public static void main(String[] args) {
@@ -26,20 +41,33 @@ public class Application {
 
     @Bean
     public List<ToolCallback> beehiivToolCallbacks(PostService postService,
+                                                   PostSyncService postSyncService,
+                                                   PostSearchService postSearchService,
                                                    PublicationService publicationService,
                                                    SubscriptionService subscriptionService,
-                                                   CustomFieldService customFieldService) {
+                                                   CustomFieldService customFieldService,
+                                                   MeterRegistry meterRegistry,
+                                                   MetricsProperties metricsProperties) {
         var postCallbacks = ToolCallbacks.from(postService);
+        var postSyncCallbacks = ToolCallbacks.from(postSyncService);
+        var postSearchCallbacks = ToolCallbacks.from(postSearchService);
         var publicationCallbacks = ToolCallbacks.from(publicationService);
         var subscriptionCallbacks = ToolCallbacks.from(subscriptionService);
         var customFieldCallbacks = ToolCallbacks.from(customFieldService);
         
         List<ToolCallback> allCallbacks = new ArrayList<>();
         allCallbacks.addAll(Arrays.asList(postCallbacks));
+        allCallbacks.addAll(Arrays.asList(postSyncCallbacks));
+        allCallbacks.addAll(Arrays.asList(postSearchCallbacks));
         allCallbacks.addAll(Arrays.asList(publicationCallbacks));
         allCallbacks.addAll(Arrays.asList(subscriptionCallbacks));
         allCallbacks.addAll(Arrays.asList(customFieldCallbacks));
         
-        return allCallbacks;
+        // Let list tools return the compact tabular encoding, and time every tool invocation, tagged by tool name and outcome
+        return allCallbacks.stream()
+                .map(callback -> TabularToolCallback.LIST_TOOLS.contains(callback.getToolDefinition().name())
+                        ? new TabularToolCallback(callback) : callback)
+                .<ToolCallback>map(callback -> new MeteredToolCallback(callback, meterRegistry, metricsProperties))
+                .toList();
     }
 }
@@ -0,0 +1,303 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Entry point the services use for every Beehiiv API call.
+ * <p>
+ * Transport concerns (pooling, rate limiting) live in the RestClient pipeline; this class adds the
+ * call-level concerns on top of it: response caching, coalescing of identical in-flight GETs, retries
+ * and per-endpoint circuit breakers.
+ * <p>
+ * The {@code *Async} methods apply the same call-level concerns over {@link AsyncHttpTransport}, so a
+ * caller can compose several upstream calls without holding a thread while they are in flight.
+ */
+public class ApiClient {
+
+    /**
+     * Request attribute carrying the endpoint template, for interceptors that tag metrics by endpoint.
+     */
+    public static final String ENDPOINT_ATTRIBUTE = ApiClient.class.getName() + ".endpoint";
+
+    private final RestClient restClient;
+    private final ResilienceExecutor resilience;
+    private final SingleFlight singleFlight;
+    private final ResponseCache cache;
+    private final ObjectMapper objectMapper;
+    private final PageFanOut pageFanOut;
+    private final AsyncHttpTransport asyncTransport;
+    private final ClientMetrics metrics;
+    private final DefaultResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+
+    public ApiClient(RestClient restClient, ResilienceExecutor resilience, SingleFlight singleFlight,
+                     ResponseCache cache, ObjectMapper objectMapper, PageFanOut pageFanOut,
+                     AsyncHttpTransport asyncTransport, ClientMetrics metrics) {
+        this.restClient = restClient;
+        this.resilience = resilience;
+        this.singleFlight = singleFlight;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.pageFanOut = pageFanOut;
+        this.asyncTransport = asyncTransport;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Performs an idempotent GET. Concurrent GETs for the same URI share one upstream call and result.
+     * @param endpoint endpoint template the URI was built from, e.g. {@link ApiConstants#POSTS_ENDPOINT}
+     * @param uri the request URI relative to the Beehiiv base URL
+     * @param responseType type to deserialize the response body into
+     */
+    public <T> T get(String endpoint, String uri, Class<T> responseType) {
+        return get(endpoint, uri, responseType, FieldProjection.ALL);
+    }
+
+    /**
+     * Performs an idempotent GET, reading only the projected fields of the response records.
+     * Concurrent GETs for the same URI and projection share one upstream call and result.
+     */
+    public <T> T get(String endpoint, String uri, Class<T> responseType, FieldProjection projection) {
+        // Read the body before binding it, so deserialization is timed apart from the body read
+        return singleFlight.execute(endpoint, projection.key(uri), () -> resilience.execute(endpoint, true, () -> deserialize(endpoint,
+                restClient.get()
+                        .uri(uri)
+                        .attribute(ENDPOINT_ATTRIBUTE, endpoint)
+                        .retrieve()
+                        .body(byte[].class),
+                responseType, projection)));
+    }
+
+    /**
+     * Performs an idempotent GET, answering from the response cache while the cached response is fresh.
+     * A stale cached response is revalidated with a conditional GET and reused when upstream answers
+     * 304 Not Modified, or when the body it sends is byte-for-byte the one cached.
+     * @param region cache region the response belongs to; it decides the time-to-live
+     */
+    public <T> T get(String endpoint, String uri, Class<T> responseType, CacheRegion region) {
+        return get(endpoint, uri, responseType, region, FieldProjection.ALL);
+    }
+
+    /**
+     * Cached GET reading only the projected fields of the response records; each projection of a URI
+     * is cached apart.
+     */
+    public <T> T get(String endpoint, String uri, Class<T> responseType, CacheRegion region, FieldProjection projection) {
+        String key = projection.key(uri);
+        CachedResponse cached = cache.lookup(region, key);
+        T cachedValue = cached == null ? null : cached.value(responseType);
+        if (cachedValue != null && cached.fresh()) {
+            return cachedValue;
+        }
+        ResponseValidators validators = cachedValue == null ? ResponseValidators.NONE : cached.validators();
+        return singleFlight.execute(endpoint, key, () -> resilience.execute(endpoint, true,
+                () -> fetch(endpoint, uri, responseType, region, projection, cachedValue, validators)));
+    }
+
+    /**
+     * Non-blocking {@link #get(String, String, Class)}.
+     * @return a future of the deserialized body; concurrent identical GETs, blocking or not, share one call
+     */
+    public <T> CompletableFuture<T> getAsync(String endpoint, String uri, Class<T> responseType) {
+        return singleFlight.executeAsync(endpoint, uri, () -> resilience.executeAsync(endpoint, true,
+                () -> asyncTransport.exchange(HttpMethod.GET, endpoint, uri, HttpHeaders.EMPTY, null)
+                        .thenApply(response -> deserialize(endpoint, response.getBody(), responseType))));
+    }
+
+    /**
+     * Non-blocking {@link #get(String, String, Class, CacheRegion)}; a fresh cached response completes
+     * the future immediately.
+     */
+    public <T> CompletableFuture<T> getAsync(String endpoint, String uri, Class<T> responseType, CacheRegion region) {
+        CachedResponse cached = cache.lookup(region, uri);
+        T cachedValue = cached == null ? null : cached.value(responseType);
+        if (cachedValue != null && cached.fresh()) {
+            return CompletableFuture.completedFuture(cachedValue);
+        }
+        ResponseValidators validators = cachedValue == null ? ResponseValidators.NONE : cached.validators();
+        HttpHeaders conditional = new HttpHeaders();
+        validators.applyTo(conditional);
+        return singleFlight.executeAsync(endpoint, uri, () -> resilience.executeAsync(endpoint, true,
+                () -> asyncTransport.exchange(HttpMethod.GET, endpoint, uri, conditional, null)
+                        .thenApply(response -> revalidate(endpoint, uri, responseType, region, FieldProjection.ALL, cachedValue,
+                                validators, response))));
+    }
+
+    /**
+     * Performs a non-idempotent POST; it is only retried when explicitly opted in.
+     * @param endpoint endpoint template the URI was built from
+     * @param uri the request URI relative to the Beehiiv base URL
+     * @param body request body, serialized as JSON
+     * @param responseType type to deserialize the response body into
+     */
+    public <T> T post(String endpoint, String uri, Object body, Class<T> responseType) {
+        return resilience.execute(endpoint, false, () -> deserialize(endpoint,
+                restClient.post()
+                        .uri(uri)
+                        .attribute(ENDPOINT_ATTRIBUTE, endpoint)
+                        .body(body)
+                        .retrieve()
+                        .body(byte[].class),
+                responseType));
+    }
+
+    /**
+     * Non-blocking {@link #post}; it is only retried when explicitly opted in.
+     */
+    public <T> CompletableFuture<T> postAsync(String endpoint, String uri, Object body, Class<T> responseType) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Could not write request body", e));
+        }
+        return resilience.executeAsync(endpoint, false,
+                () -> asyncTransport.exchange(HttpMethod.POST, endpoint, uri, HttpHeaders.EMPTY, json)
+                        .thenApply(response -> deserialize(endpoint, response.getBody(), responseType)));
+    }
+
+    /**
+     * Waits for an asynchronous call, rethrowing its failure as thrown rather than wrapped in a
+     * {@link CompletionException}; for synchronous callers such as tool methods.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ApiException("Beehiiv call failed", e.getCause());
+        }
+    }
+
+    /**
+     * Drops every cached response of the region, e.g. after a write that changes what it returns.
+     */
+    public void invalidate(CacheRegion region) {
+        cache.invalidate(region);
+    }
+
+    /**
+     * Performs an idempotent GET and hands the response body to the reader as a streaming JSON parser,
+     * so the body is never materialized as a whole. Responses are neither cached nor shared between
+     * callers; the reader runs again from the start of the body when the call is retried.
+     * @param reader reads the body; error responses never reach it
+     */
+    public <T> T stream(String endpoint, String uri, StreamReader<T> reader) {
+        return resilience.execute(endpoint, true, () -> restClient.get()
+                .uri(uri)
+                .attribute(ENDPOINT_ATTRIBUTE, endpoint)
+                .exchange((request, response) -> {
+                    if (errorHandler.hasError(response)) {
+                        errorHandler.handleError(URI.create(uri), HttpMethod.GET, response);
+                    }
+                    try (InputStream body = response.getBody(); JsonParser parser = objectMapper.createParser(body)) {
+                        return reader.read(parser);
+                    }
+                }));
+    }
+
+    /**
+     * Fetches pages {@code firstPage..lastPage} of a listing concurrently, within the configured
+     * parallelism, and returns them in page order.
+     * @param fetchPage fetches one page by number, typically through {@link #get}
+     */
+    public <T> List<T> getPages(int firstPage, int lastPage, IntFunction<T> fetchPage) {
+        return pageFanOut.fetch(firstPage, lastPage, fetchPage);
+    }
+
+    /**
+     * Iterates the pages of a listing of unknown length from {@code firstPage} on, keeping the configured
+     * number of page requests in flight ahead of consumption. Close it to stop early.
+     * @param isLastPage tells whether a page is the last one; requests for later pages that have not started are then cancelled
+     */
+    public <T> PrefetchingPageIterator<T> prefetchPages(int firstPage, IntFunction<T> fetchPage, Predicate<T> isLastPage) {
+        return pageFanOut.prefetch(firstPage, fetchPage, isLastPage);
+    }
+
+    /**
+     * Reads a response body from a streaming parser whose codec is the application ObjectMapper.
+     */
+    @FunctionalInterface
+    public interface StreamReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private <T> T fetch(String endpoint, String uri, Class<T> responseType, CacheRegion region,
+                        FieldProjection projection, T cachedValue, ResponseValidators validators) {
+        ResponseEntity<byte[]> response = restClient.get()
+                .uri(uri)
+                .attribute(ENDPOINT_ATTRIBUTE, endpoint)
+                .headers(validators::applyTo)
+                .retrieve()
+                .toEntity(byte[].class);
+        return revalidate(endpoint, uri, responseType, region, projection, cachedValue, validators, response);
+    }
+
+    /**
+     * Resolves a (conditional) GET response against the cached value and updates the cache.
+     */
+    private <T> T revalidate(String endpoint, String uri, Class<T> responseType, CacheRegion region,
+                             FieldProjection projection, T cachedValue, ResponseValidators validators,
+                             ResponseEntity<byte[]> response) {
+        String key = projection.key(uri);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cachedValue != null) {
+            cache.put(region, key, cachedValue, validators);
+            return cachedValue;
+        }
+
+        byte[] body = response.getBody();
+        ResponseValidators received = ResponseValidators.of(response.getHeaders(), body);
+        if (cachedValue != null && validators.matchesContent(received)) {
+            cache.put(region, key, cachedValue, received);
+            return cachedValue;
+        }
+
+        T value = deserialize(endpoint, body, responseType, projection);
+        cache.put(region, key, value, received);
+        return value;
+    }
+
+    private <T> T deserialize(String endpoint, byte[] body, Class<T> responseType) {
+        return deserialize(endpoint, body, responseType, FieldProjection.ALL);
+    }
+
+    private <T> T deserialize(String endpoint, byte[] body, Class<T> responseType, FieldProjection projection) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            if (projection.isAll()) {
+                return objectMapper.readValue(body, responseType);
+            }
+            try (JsonParser parser = projection.filter(objectMapper.createParser(body))) {
+                return objectMapper.readValue(parser, responseType);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + responseType.getSimpleName() + " response", e);
+        } finally {
+            metrics.recordPhase(endpoint, ClientMetrics.DESERIALIZATION, System.nanoTime() - start);
+        }
+    }
+}
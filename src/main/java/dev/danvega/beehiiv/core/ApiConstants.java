@@ -15,12 +15,19 @@ public final class ApiConstants {
     public static final int MIN_LIMIT = 1;
     public static final String DEFAULT_ORDER_BY = "publish_date";
     public static final String DEFAULT_DIRECTION = "desc";
+    public static final String ORDER_BY_CREATED = "created";
+    public static final String ORDER_BY_DISPLAYED_DATE = "displayed_date";
     
     // API Endpoints
     public static final String POSTS_ENDPOINT = "/publications/{publicationId}/posts";
     public static final String SINGLE_POST_ENDPOINT = "/publications/{publicationId}/posts/{postId}";
     public static final String PUBLICATIONS_ENDPOINT = "/publications";
     public static final String SINGLE_PUBLICATION_ENDPOINT = "/publications/{publicationId}";
+    public static final String SUBSCRIPTIONS_ENDPOINT = "/publications/{publicationId}/subscriptions";
+    public static final String SINGLE_SUBSCRIPTION_ENDPOINT = "/publications/{publicationId}/subscriptions/{subscriptionId}";
+    public static final String SUBSCRIPTION_BY_EMAIL_ENDPOINT = "/publications/{publicationId}/subscriptions/by_email/{email}";
+    public static final String CUSTOM_FIELDS_ENDPOINT = "/publications/{publicationId}/custom_fields";
+    public static final String SINGLE_CUSTOM_FIELD_ENDPOINT = "/publications/{publicationId}/custom_fields/{customFieldId}";
     
     // Expand Options
     public static final String EXPAND_FREE_EMAIL_CONTENT = "free_email_content";
@@ -43,6 +50,7 @@ public final class ApiConstants {
     public static final String PARAM_STATUS = "status";
     public static final String PARAM_CONTENT_TAGS = "content_tags";
     public static final String PARAM_HIDDEN_FROM_FEED = "hidden_from_feed";
+    public static final String PARAM_TIER = "tier";
     public static final String PARAM_EXPAND = "expand[]";
     
     // Error Messages
@@ -1,5 +1,7 @@
 package dev.danvega.beehiiv.core;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * Generic exception for API related errors
  */
@@ -12,4 +14,12 @@ public class ApiException extends RuntimeException {
     public ApiException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Wraps the failure of an asynchronous call, looking through the {@link CompletionException} around it.
+     */
+    public static ApiException wrap(String message, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return new ApiException(message + ": " + cause.getMessage(), cause);
+    }
 }
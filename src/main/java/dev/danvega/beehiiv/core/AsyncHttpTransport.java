@@ -0,0 +1,285 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Non-blocking counterpart of the Beehiiv RestClient pipeline, on {@link HttpClient#sendAsync}.
+ * <p>
+ * It applies the same transport policies without holding a thread while a request waits: rate limit
+ * permits and {@code Retry-After} pauses are timers, and requests beyond the per-route cap queue as
+ * callbacks instead of blocked threads. Compressed bodies are decoded and counted into the same
+ * metrics as {@link CompressionInterceptor}. Error statuses fail the future with the exceptions the
+ * RestClient raises, so retry and error handling code treats both paths alike.
+ */
+public class AsyncHttpTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncHttpTransport.class);
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final HttpClient httpClient;
+    private final DefaultUriBuilderFactory uriBuilderFactory;
+    private final String authorization;
+    private final Duration readTimeout;
+    private final boolean compression;
+    private final RateLimitProperties rateLimitProperties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ClientMetrics clientMetrics;
+    private final MeterRegistry meterRegistry;
+
+    // Per-route cap on exchanges, as in RouteLimitingClientHttpRequestFactory; guarded by this
+    private final int maxExchanges;
+    private final Queue<Runnable> waitingExchanges = new ArrayDeque<>();
+    private int exchanges;
+
+    public AsyncHttpTransport(HttpClient httpClient, HttpClientProperties httpProperties, String apiKey,
+                              RateLimitProperties rateLimitProperties, TokenBucketRateLimiter rateLimiter,
+                              ClientMetrics clientMetrics, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.uriBuilderFactory = RestClientConfig.uriBuilderFactory(httpProperties.baseUrl());
+        this.authorization = "Bearer " + apiKey;
+        this.readTimeout = httpProperties.readTimeout();
+        this.compression = httpProperties.compression();
+        this.rateLimitProperties = rateLimitProperties;
+        this.rateLimiter = rateLimiter;
+        this.clientMetrics = clientMetrics;
+        this.meterRegistry = meterRegistry;
+        this.maxExchanges = httpProperties.maxConnectionsPerRoute();
+    }
+
+    /**
+     * Sends a request and completes with the decoded response once its body has arrived.
+     * @param endpoint endpoint template the URI was built from, used to tag metrics
+     * @param uri the request URI relative to the Beehiiv base URL, encoded like RestClient URIs
+     * @param headers extra request headers, e.g. conditional GET validators
+     * @param body JSON request body, or null
+     * @return the response for 2xx and 3xx statuses; 4xx and 5xx fail with {@link HttpClientErrorException}
+     *         or {@link HttpServerErrorException}, I/O errors with {@link ResourceAccessException}
+     */
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String endpoint, String uri,
+                                                             HttpHeaders headers, byte[] body) {
+        URI target = uriBuilderFactory.expand(uri);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .timeout(readTimeout)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .method(method.name(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (compression) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+        headers.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        HttpRequest request = builder.build();
+
+        return throttled(request, endpoint, 0)
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        throw new CompletionException(translate(method, target, failure));
+                    }
+                    try {
+                        return toEntity(response, endpoint);
+                    } catch (UncheckedIOException e) {
+                        throw new CompletionException(translate(method, target, e));
+                    }
+                });
+    }
+
+    /**
+     * Sends the request under the rate limit, re-sending it after the {@code Retry-After} pause on 429.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> throttled(HttpRequest request, String endpoint, int throttleRetries) {
+        if (!rateLimitProperties.enabled()) {
+            return withExchangePermit(() -> send(request, endpoint));
+        }
+
+        return rateLimiter.acquireAsync()
+                .thenCompose(permit -> withExchangePermit(() -> send(request, endpoint)))
+                .thenCompose(response -> {
+                    HttpHeaders headers = headers(response);
+                    RateLimitInterceptor.applyRateLimitHeaders(rateLimiter, headers);
+                    if (response.statusCode() != HttpStatus.TOO_MANY_REQUESTS.value()
+                            || throttleRetries >= rateLimitProperties.maxThrottleRetries()) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    Duration retryAfter = RateLimitInterceptor.retryAfter(headers);
+                    logger.warn("Beehiiv API throttled {} {} - retrying in {} ms (attempt {} of {})",
+                            request.method(), request.uri().getPath(), retryAfter.toMillis(),
+                            throttleRetries + 1, rateLimitProperties.maxThrottleRetries());
+                    rateLimiter.pause(retryAfter);
+                    return throttled(request, endpoint, throttleRetries + 1);
+                });
+    }
+
+    /**
+     * Sends one exchange, timing it into the client metrics; the body handler marks when the headers
+     * arrived and when the body was complete.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, String endpoint) {
+        AtomicInteger inFlight = clientMetrics.inFlight(endpoint);
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, responseInfo -> {
+                    long headersReceived = System.nanoTime();
+                    clientMetrics.recordPhase(endpoint, ClientMetrics.TIME_TO_FIRST_BYTE, headersReceived - start);
+                    return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+                        clientMetrics.recordPhase(endpoint, ClientMetrics.BODY_READ, System.nanoTime() - headersReceived);
+                        return body;
+                    });
+                })
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    if (failure != null) {
+                        clientMetrics.recordFailure(endpoint, request.method(),
+                                failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                    } else {
+                        clientMetrics.recordExchange(endpoint, request.method(), response.statusCode(), System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<T> withExchangePermit(Supplier<CompletableFuture<T>> exchange) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> started;
+            try {
+                started = exchange.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, failure) -> {
+                releaseExchangePermit();
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        boolean startNow;
+        synchronized (this) {
+            startNow = exchanges < maxExchanges;
+            if (startNow) {
+                exchanges++;
+            } else {
+                waitingExchanges.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    private void releaseExchangePermit() {
+        Runnable next;
+        synchronized (this) {
+            // The permit passes straight to the next waiting exchange, if any
+            next = waitingExchanges.poll();
+            if (next == null) {
+                exchanges--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    private ResponseEntity<byte[]> toEntity(HttpResponse<byte[]> response, String endpoint) {
+        HttpHeaders headers = headers(response);
+        byte[] wire = response.body() == null ? new byte[0] : response.body();
+        meterRegistry.counter(CompressionInterceptor.WIRE_BYTES_METRIC, "endpoint", endpoint).increment(wire.length);
+
+        byte[] body = wire;
+        String encoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding != null && wire.length > 0) {
+            body = decode(encoding.trim().toLowerCase(), wire);
+            if (body != wire) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+        meterRegistry.counter(CompressionInterceptor.DECODED_BYTES_METRIC, "endpoint", endpoint).increment(body.length);
+
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, reasonPhrase(status), headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(status, reasonPhrase(status), headers, body, StandardCharsets.UTF_8);
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private static byte[] decode(String encoding, byte[] wire) {
+        try {
+            InputStream decoded = switch (encoding) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(wire));
+                case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(wire));
+                default -> null;
+            };
+            if (decoded == null) {
+                return wire;
+            }
+            try (decoded) {
+                return decoded.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode " + encoding + " response body", e);
+        }
+    }
+
+    private static HttpHeaders headers(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return headers;
+    }
+
+    private static String reasonPhrase(HttpStatusCode status) {
+        HttpStatus known = HttpStatus.resolve(status.value());
+        return known == null ? "" : known.getReasonPhrase();
+    }
+
+    private static Throwable translate(HttpMethod method, URI target, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof IOException e) {
+            return new ResourceAccessException("I/O error on " + method + " request for \"" + target + "\": " + e.getMessage(), e);
+        }
+        if (cause instanceof UncheckedIOException e) {
+            return new ResourceAccessException("I/O error on " + method + " request for \"" + target + "\": " + e.getMessage(), e.getCause());
+        }
+        return cause;
+    }
+}
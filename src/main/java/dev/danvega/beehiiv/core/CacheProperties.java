@@ -0,0 +1,54 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * In-memory response cache settings.
+ *
+ * @param enabled whether read tools are served from the cache at all
+ * @param maxEntries maximum number of cached responses
+ * @param maxWeight maximum estimated heap size of all cached responses
+ * @param publicationTtl time-to-live of publication responses
+ * @param postTtl time-to-live of post responses
+ * @param customFieldTtl time-to-live of custom field responses
+ */
+@ConfigurationProperties(prefix = "beehiiv.cache")
+public record CacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("64MB") DataSize maxWeight,
+        @DefaultValue("10m") Duration publicationTtl,
+        @DefaultValue("1m") Duration postTtl,
+        @DefaultValue("10m") Duration customFieldTtl) {
+
+    @ConstructorBinding
+    public CacheProperties {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Beehiiv cache max entries must be positive");
+        }
+    }
+
+    /**
+     * @return the default cache settings
+     */
+    public static CacheProperties defaults() {
+        return new CacheProperties(true, 1000, DataSize.ofMegabytes(64),
+                Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    /**
+     * @return the time-to-live of entries in the given region
+     */
+    public Duration ttl(CacheRegion region) {
+        return switch (region) {
+            case PUBLICATIONS -> publicationTtl;
+            case POSTS -> postTtl;
+            case CUSTOM_FIELDS -> customFieldTtl;
+        };
+    }
+}
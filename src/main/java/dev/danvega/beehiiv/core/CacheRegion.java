@@ -0,0 +1,10 @@
+package dev.danvega.beehiiv.core;
+
+/**
+ * Groups of cached Beehiiv responses that share a time-to-live and are invalidated together.
+ */
+public enum CacheRegion {
+    PUBLICATIONS,
+    POSTS,
+    CUSTOM_FIELDS
+}
@@ -0,0 +1,24 @@
+package dev.danvega.beehiiv.core;
+
+/**
+ * Point-in-time statistics of a {@link ResponseCache}.
+ *
+ * @param hits lookups answered from the cache
+ * @param misses lookups that had to go upstream
+ * @param revalidations stale entries renewed without replacing the cached object
+ * @param evictions entries removed to stay within the size or weight bound
+ * @param entries entries currently cached
+ * @param weight estimated heap bytes currently cached
+ */
+public record CacheStats(long hits, long misses, long revalidations, long evictions, long entries, long weight) {
+
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * @return fraction of lookups answered from the cache, or 0 if there were none
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.danvega.beehiiv.core;
+
+/**
+ * A response held by a {@link ResponseCache}, fresh or past its time-to-live.
+ *
+ * @param value the deserialized response
+ * @param validators validators to revalidate a stale response with
+ * @param fresh whether the response is still within its time-to-live
+ */
+public record CachedResponse(Object value, ResponseValidators validators, boolean fresh) {
+
+    /**
+     * @return the value if it is of the given type, otherwise null
+     */
+    public <T> T value(Class<T> type) {
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
@@ -0,0 +1,106 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for upstream Beehiiv calls, tagged by endpoint template.
+ * <p>
+ * Each exchange is timed as a whole ({@link #REQUESTS_METRIC}, tagged with method and status) and per
+ * phase ({@link #PHASE_METRIC}): time to the response headers, body read and JSON deserialization.
+ * The JDK HttpClient does not report connection setup separately, so a new connection's connect and
+ * TLS handshake count towards the time to first byte. Responses with an error status and exchanges
+ * that failed without a response are counted in {@link #ERRORS_METRIC}.
+ */
+public class ClientMetrics {
+
+    static final String REQUESTS_METRIC = "beehiiv.client.requests";
+    static final String PHASE_METRIC = "beehiiv.client.phase";
+    static final String ERRORS_METRIC = "beehiiv.client.errors";
+    static final String IN_FLIGHT_METRIC = "beehiiv.client.in.flight";
+
+    public static final String TIME_TO_FIRST_BYTE = "time_to_first_byte";
+    public static final String BODY_READ = "body_read";
+    public static final String DESERIALIZATION = "deserialization";
+
+    // Fixed bucket bounds: registries without percentile histogram support (e.g. the simple registry)
+    // still publish these, so the Prometheus export has buckets either way
+    private static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10)};
+
+    // Status tag of exchanges that ended without a response
+    private static final String NO_RESPONSE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histograms;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ClientMetrics(MeterRegistry meterRegistry, MetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.histograms = properties.histograms();
+    }
+
+    /**
+     * Records one phase of an exchange.
+     * @param phase {@link #TIME_TO_FIRST_BYTE}, {@link #BODY_READ} or {@link #DESERIALIZATION}
+     */
+    public void recordPhase(String endpoint, String phase, long nanos) {
+        latencyHistogram(Timer.builder(PHASE_METRIC)
+                        .description("Phases of Beehiiv API calls")
+                        .tags("endpoint", endpoint, "phase", phase), histograms)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a completed exchange, counting it as an error if upstream answered with 4xx or 5xx.
+     */
+    public void recordExchange(String endpoint, String method, int status, long nanos) {
+        latencyHistogram(Timer.builder(REQUESTS_METRIC)
+                        .description("Beehiiv API exchanges, from sending the request to the end of the response body")
+                        .tags("endpoint", endpoint, "method", method, "status", String.valueOf(status)), histograms)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (status >= 400) {
+            meterRegistry.counter(ERRORS_METRIC, "endpoint", endpoint, "status", String.valueOf(status)).increment();
+        }
+    }
+
+    /**
+     * Records an exchange that failed without a response, e.g. on a timeout or refused connection.
+     */
+    public void recordFailure(String endpoint, String method, Throwable failure) {
+        meterRegistry.counter(ERRORS_METRIC, "endpoint", endpoint, "status", NO_RESPONSE,
+                "exception", failure.getClass().getSimpleName()).increment();
+    }
+
+    /**
+     * @return the counter of exchanges in flight to the endpoint, backing its gauge
+     */
+    public AtomicInteger inFlight(String endpoint) {
+        return inFlight.computeIfAbsent(endpoint, key -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder(IN_FLIGHT_METRIC, count, AtomicInteger::get)
+                    .description("Beehiiv API exchanges in flight")
+                    .tag("endpoint", key)
+                    .register(meterRegistry);
+            return count;
+        });
+    }
+
+    /**
+     * Adds latency buckets to a timer when histograms are enabled.
+     */
+    static Timer.Builder latencyHistogram(Timer.Builder builder, boolean histograms) {
+        return histograms ? builder.publishPercentileHistogram().serviceLevelObjectives(LATENCY_BUCKETS) : builder;
+    }
+}
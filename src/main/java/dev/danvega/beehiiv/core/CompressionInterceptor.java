@@ -0,0 +1,171 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates compressed responses and decodes them while the body is read.
+ * <p>
+ * Every response body is counted twice, as it came over the wire and as decoded, into the
+ * {@link #WIRE_BYTES_METRIC} and {@link #DECODED_BYTES_METRIC} counters tagged by endpoint, so the
+ * bandwidth saved by compression is visible per endpoint.
+ * <p>
+ * Must run before {@link RateLimitInterceptor}, which re-executes throttled requests below it.
+ */
+public class CompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String WIRE_BYTES_METRIC = "beehiiv.client.bytes.wire";
+    static final String DECODED_BYTES_METRIC = "beehiiv.client.bytes.decoded";
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final MeterRegistry meterRegistry;
+
+    public CompressionInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+        Object endpoint = request.getAttributes().getOrDefault(ApiClient.ENDPOINT_ATTRIBUTE, request.getURI().getPath());
+        return new DecodingResponse(execution.execute(request, body),
+                meterRegistry.counter(WIRE_BYTES_METRIC, "endpoint", endpoint.toString()),
+                meterRegistry.counter(DECODED_BYTES_METRIC, "endpoint", endpoint.toString()));
+    }
+
+    private static final class DecodingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String encoding;
+        private final HttpHeaders headers;
+        private final Counter wireBytes;
+        private final Counter decodedBytes;
+        private InputStream body;
+
+        DecodingResponse(ClientHttpResponse delegate, Counter wireBytes, Counter decodedBytes) {
+            this.delegate = delegate;
+            this.wireBytes = wireBytes;
+            this.decodedBytes = decodedBytes;
+            String contentEncoding = delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            this.encoding = contentEncoding == null ? null : contentEncoding.trim().toLowerCase();
+            if (isDecodable()) {
+                // The length and encoding of the wire body do not describe the body callers read
+                HttpHeaders decoded = new HttpHeaders();
+                decoded.putAll(delegate.getHeaders());
+                decoded.remove(HttpHeaders.CONTENT_ENCODING);
+                decoded.remove(HttpHeaders.CONTENT_LENGTH);
+                this.headers = HttpHeaders.readOnlyHttpHeaders(decoded);
+            } else {
+                this.headers = delegate.getHeaders();
+            }
+        }
+
+        private boolean isDecodable() {
+            return "gzip".equals(encoding) || "x-gzip".equals(encoding) || "deflate".equals(encoding);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                CountingInputStream wire = new CountingInputStream(delegate.getBody(), wireBytes);
+                body = isDecodable() ? new CountingInputStream(decode(wire), decodedBytes) : new CountingInputStream(wire, decodedBytes);
+            }
+            return body;
+        }
+
+        private InputStream decode(InputStream wire) throws IOException {
+            // Bodiless responses (304, HEAD) may still carry Content-Encoding
+            PushbackInputStream pushback = new PushbackInputStream(wire, 1);
+            int first = pushback.read();
+            if (first == -1) {
+                return InputStream.nullInputStream();
+            }
+            pushback.unread(first);
+            return "deflate".equals(encoding) ? new InflaterInputStream(pushback) : new GZIPInputStream(pushback, GZIP_BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // The delegate is closed below either way
+                }
+            }
+            delegate.close();
+        }
+    }
+
+    /**
+     * Adds the bytes read through it to a counter.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final Counter counter;
+
+        CountingInputStream(InputStream in, Counter counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.increment(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                counter.increment(skipped);
+            }
+            return skipped;
+        }
+    }
+}
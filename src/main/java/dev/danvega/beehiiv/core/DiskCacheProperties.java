@@ -0,0 +1,50 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * On-disk tier of the response cache, which keeps cached responses across server restarts.
+ *
+ * @param enabled whether responses are also written to, and read back from, disk
+ * @param directory directory the cache files live in, one subdirectory per API key; defaults to
+ *                  {@code ~/.cache/beehiiv-mcp}
+ * @param maxSize maximum size of all segment files; the oldest segments are deleted beyond it
+ * @param segmentSize size at which the segment being appended to is closed and a new one started
+ * @param indexSlots initial number of slots of the memory-mapped index; it grows when it fills up
+ */
+@ConfigurationProperties(prefix = "beehiiv.cache.disk")
+public record DiskCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        Path directory,
+        @DefaultValue("256MB") DataSize maxSize,
+        @DefaultValue("16MB") DataSize segmentSize,
+        @DefaultValue("4096") int indexSlots) {
+
+    @ConstructorBinding
+    public DiskCacheProperties {
+        if (segmentSize.toBytes() < 1024 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Beehiiv disk cache segment size must be between 1KB and 2GB");
+        }
+        if (maxSize.toBytes() < 2 * segmentSize.toBytes()) {
+            throw new IllegalArgumentException("Beehiiv disk cache max size must be at least two segments");
+        }
+        if (indexSlots < 16) {
+            throw new IllegalArgumentException("Beehiiv disk cache index must have at least 16 slots");
+        }
+        if (directory == null) {
+            directory = Path.of(System.getProperty("user.home"), ".cache", "beehiiv-mcp");
+        }
+    }
+
+    /**
+     * @return the default disk cache settings (disabled)
+     */
+    public static DiskCacheProperties defaults() {
+        return new DiskCacheProperties(false, null, DataSize.ofMegabytes(256), DataSize.ofMegabytes(16), 4096);
+    }
+}
@@ -0,0 +1,229 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier response cache: the {@link InMemoryResponseCache} in front of a {@link SegmentLog} on disk,
+ * so a new server process, such as the one an MCP client launches for every stdio session, starts
+ * with the responses earlier processes cached.
+ * <p>
+ * Every stored response is also appended to disk as JSON, with its validators and expiry. A lookup
+ * the memory tier cannot answer is read back from disk and kept in memory, fresh for what is left of
+ * its time-to-live or stale for revalidation. A revalidation that leaves the response and its
+ * validators as they are only renews the expiry on disk instead of writing the response again. Only
+ * the Beehiiv response models are written and read back, so a tampered file cannot name an arbitrary class.
+ * <p>
+ * Disk errors are logged and the response is served as if it was not on disk; the cache never fails a call.
+ */
+public class DiskResponseCache implements ResponseCache, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskResponseCache.class);
+
+    private static final String MODEL_PACKAGE = "dev.danvega.beehiiv.";
+
+    private final InMemoryResponseCache memory;
+    private final SegmentLog log;
+    private final CacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private DiskResponseCache(InMemoryResponseCache memory, SegmentLog log, CacheProperties properties,
+                              ObjectMapper objectMapper, Clock clock) {
+        this.memory = memory;
+        this.log = log;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens the disk tier for the API key; responses of different API keys are kept in separate
+     * directories, named by a hash of the key.
+     * @throws IOException if the directory cannot be used, or another server process has it open
+     */
+    public static DiskResponseCache open(InMemoryResponseCache memory, CacheProperties properties,
+                                         DiskCacheProperties diskProperties, String apiKey,
+                                         ObjectMapper objectMapper, Clock clock) throws IOException {
+        Path directory = diskProperties.directory().resolve(namespace(apiKey));
+        return new DiskResponseCache(memory, SegmentLog.open(directory, diskProperties), properties, objectMapper, clock);
+    }
+
+    @Override
+    public CachedResponse lookup(CacheRegion region, String key) {
+        CachedResponse cached = memory.lookup(region, key);
+        if (cached != null) {
+            return cached;
+        }
+        CachedResponse stored = read(region, key);
+        if (stored == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return stored;
+    }
+
+    @Override
+    public void put(CacheRegion region, String key, Object value, ResponseValidators validators) {
+        Instant expiresAt = clock.instant().plus(properties.ttl(region));
+        ResponseValidators renewed = memory.put(region, key, value, validators, expiresAt);
+        if (value == null || !value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+            return;
+        }
+        try {
+            // Revalidated unchanged: the record on disk already holds this value with these validators
+            if (!validators.equals(renewed) || !log.renew(region, key, expiresAt.toEpochMilli())) {
+                log.append(region, key, expiresAt.toEpochMilli(), encode(value, validators));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write {} response {} to the disk cache: {}", region, key, e.toString());
+        }
+    }
+
+    @Override
+    public void invalidate(CacheRegion region) {
+        memory.invalidate(region);
+        try {
+            log.invalidate(region);
+        } catch (IOException e) {
+            logger.warn("Could not invalidate {} in the disk cache: {}", region, e.toString());
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return memory.stats();
+    }
+
+    /**
+     * @return statistics of the disk tier: lookups it answered or missed after the memory tier missed,
+     * records dropped with deleted segments, keys on disk and bytes of the segment files
+     */
+    public CacheStats diskStats() {
+        return new CacheStats(hits.get(), misses.get(), 0, log.evictions(), log.entries(), log.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Reads responses still within their time-to-live into the memory tier, so the first calls of a new
+     * process neither wait for the disk nor for Jackson to build its deserializers. Publications and
+     * custom fields go first, then the most recently written post pages, until half of the memory
+     * tier's bounds are taken.
+     * @return the number of responses read
+     */
+    public int preload() {
+        List<SegmentLog.Location> locations = new ArrayList<>(log.unexpired(clock.millis()));
+        locations.sort(Comparator.comparing(location -> location.region() == CacheRegion.POSTS));
+        int loaded = 0;
+        for (SegmentLog.Location location : locations) {
+            CacheStats stats = memory.stats();
+            if (stats.entries() >= properties.maxEntries() / 2 || stats.weight() >= properties.maxWeight().toBytes() / 2) {
+                break;
+            }
+            try {
+                SegmentLog.Entry entry = log.read(location);
+                if (entry != null && decode(entry) != null) {
+                    loaded++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not preload the disk cache: {}", e.toString());
+                break;
+            }
+        }
+        return loaded;
+    }
+
+    private CachedResponse read(CacheRegion region, String key) {
+        try {
+            SegmentLog.Entry entry = log.read(region, key);
+            return entry == null ? null : decode(entry);
+        } catch (IOException e) {
+            logger.warn("Could not read {} response {} from the disk cache: {}", region, key, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * @return the response of the entry, also kept in the memory tier, or null if it cannot be read
+     */
+    private CachedResponse decode(SegmentLog.Entry entry) {
+        CacheRegion region = entry.region();
+        String key = entry.key();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry.payload()));
+            ResponseValidators validators = new ResponseValidators(readNullable(in), readNullable(in), readNullable(in));
+            String typeName = in.readUTF();
+            if (!typeName.startsWith(MODEL_PACKAGE)) {
+                return null;
+            }
+            Class<?> type = Class.forName(typeName, false, DiskResponseCache.class.getClassLoader());
+            Object value = objectMapper.readValue((InputStream) in, type);
+            Instant expiresAt = Instant.ofEpochMilli(entry.expiresAt());
+            // A stale response is kept too, so revalidating it leaves the memory tier holding it as it is
+            memory.put(region, key, value, validators, expiresAt);
+            return new CachedResponse(value, validators, clock.instant().isBefore(expiresAt));
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            // E.g. written by a version with other models; it is fetched again and overwritten
+            logger.warn("Could not read {} response {} from the disk cache: {}", region, key, e.toString());
+            return null;
+        }
+    }
+
+    private byte[] encode(Object value, ResponseValidators validators) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeNullable(out, validators.etag());
+        writeNullable(out, validators.lastModified());
+        writeNullable(out, validators.contentHash());
+        out.writeUTF(value.getClass().getName());
+        out.write(objectMapper.writeValueAsBytes(value));
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String namespace(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
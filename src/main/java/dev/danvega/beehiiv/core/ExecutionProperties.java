@@ -0,0 +1,37 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Threading of tool invocations and upstream calls.
+ *
+ * @param virtualThreads whether tool invocations and HttpClient tasks run on virtual threads
+ * @param maxConcurrentToolCalls maximum number of tool invocations running at once; further calls queue
+ * @param maxParallelPages maximum number of pages of one listing fetched at once; for listings without
+ *                         a page count this is how many pages are prefetched ahead
+ */
+@ConfigurationProperties(prefix = "beehiiv.execution")
+public record ExecutionProperties(
+        @DefaultValue("false") boolean virtualThreads,
+        @DefaultValue("256") int maxConcurrentToolCalls,
+        @DefaultValue("4") int maxParallelPages) {
+
+    @ConstructorBinding
+    public ExecutionProperties {
+        if (maxConcurrentToolCalls < 1) {
+            throw new IllegalArgumentException("Beehiiv max concurrent tool calls must be positive");
+        }
+        if (maxParallelPages < 1) {
+            throw new IllegalArgumentException("Beehiiv max parallel pages must be positive");
+        }
+    }
+
+    /**
+     * @return the default execution settings (platform threads)
+     */
+    public static ExecutionProperties defaults() {
+        return new ExecutionProperties(false, 256, 4);
+    }
+}
@@ -0,0 +1,182 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * The fields a caller wants of the records in a response's {@code data}, e.g. {@code title,stats.email}.
+ * <p>
+ * A projected response is parsed through {@link #filter}, which skips every other field of the records
+ * token by token, so unrequested content is never turned into strings or bound. The rest of the body,
+ * such as {@code pagination}, is kept whole. The record {@code id} is always included.
+ * <p>
+ * Field names are the JSON names of the API, and a dotted path selects inside an object; selecting an
+ * object keeps all of it.
+ */
+public final class FieldProjection {
+
+    /**
+     * No projection: every field is read.
+     */
+    public static final FieldProjection ALL = new FieldProjection(Collections.emptySortedSet());
+
+    private static final Pattern FIELD_PATH = Pattern.compile("[a-z0-9_]+(\\.[a-z0-9_]+)*");
+    private static final String DATA = "data";
+    private static final String ID = "id";
+
+    private final SortedSet<String> paths;
+    private final TokenFilter envelopeFilter;
+
+    private FieldProjection(SortedSet<String> paths) {
+        this.paths = Collections.unmodifiableSortedSet(paths);
+        this.envelopeFilter = new EnvelopeFilter(PathFilter.of(paths));
+    }
+
+    /**
+     * Parses a comma-separated list of field paths.
+     * @return the projection, or {@link #ALL} when the list is null or blank
+     * @throws IllegalArgumentException if a path is not made of lowercase JSON field names
+     */
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        SortedSet<String> paths = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (!FIELD_PATH.matcher(path).matches()) {
+                throw new IllegalArgumentException("Invalid field '" + path
+                        + "': use JSON field names such as publish_date, optionally dotted like stats.email");
+            }
+            paths.add(path);
+        }
+        if (paths.isEmpty()) {
+            return ALL;
+        }
+        paths.add(ID);
+        return new FieldProjection(paths);
+    }
+
+    /**
+     * @return true if every field is read
+     */
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    /**
+     * @return the requested field paths in sorted order, including {@code id}; empty for {@link #ALL}
+     */
+    public SortedSet<String> paths() {
+        return paths;
+    }
+
+    /**
+     * @return true if the field at the dotted path is read, whole or in part
+     */
+    public boolean includes(String path) {
+        if (isAll()) {
+            return true;
+        }
+        for (String projected : paths) {
+            if (projected.equals(path) || path.startsWith(projected + ".") || projected.startsWith(path + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Key a projected response is cached and coalesced under. Responses of one URI differ per projection,
+     * so the canonical field list is appended as a fragment, which is never sent upstream.
+     */
+    public String key(String uri) {
+        return isAll() ? uri : uri + "#fields=" + String.join(",", paths);
+    }
+
+    /**
+     * @return the parser, filtered to the projected fields unless every field is read
+     */
+    public JsonParser filter(JsonParser parser) {
+        if (isAll()) {
+            return parser;
+        }
+        return new FilteringParserDelegate(parser, envelopeFilter, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", paths);
+    }
+
+    /**
+     * Keeps the response envelope whole and projects the records under {@code data}.
+     */
+    private static final class EnvelopeFilter extends TokenFilter {
+
+        private final TokenFilter records;
+
+        EnvelopeFilter(TokenFilter records) {
+            this.records = records;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return DATA.equals(name) ? records : TokenFilter.INCLUDE_ALL;
+        }
+    }
+
+    /**
+     * One level of the projected paths; a field without sub-paths is included whole. Array elements
+     * are projected like the array itself, so {@code data} may hold one record or a list of them.
+     */
+    private static final class PathFilter extends TokenFilter {
+
+        private final Map<String, TokenFilter> fields;
+
+        private PathFilter(Map<String, TokenFilter> fields) {
+            this.fields = fields;
+        }
+
+        static PathFilter of(Iterable<String> paths) {
+            Map<String, SortedSet<String>> children = new HashMap<>();
+            for (String path : paths) {
+                int dot = path.indexOf('.');
+                String field = dot < 0 ? path : path.substring(0, dot);
+                SortedSet<String> rest = children.computeIfAbsent(field, name -> new TreeSet<>());
+                rest.add(dot < 0 ? "" : path.substring(dot + 1));
+            }
+            Map<String, TokenFilter> fields = new HashMap<>();
+            children.forEach((field, rest) -> fields.put(field,
+                    rest.contains("") ? TokenFilter.INCLUDE_ALL : of(rest)));
+            return new PathFilter(fields);
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return fields.get(name);
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return this;
+        }
+
+        // Keeps a record, or an object on a projected path, that has none of the projected fields
+        @Override
+        public boolean includeEmptyObject(boolean contentsFiltered) {
+            return true;
+        }
+    }
+}
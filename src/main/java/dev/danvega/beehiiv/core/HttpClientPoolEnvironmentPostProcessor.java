@@ -0,0 +1,43 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Sizes the JDK HttpClient connection pool from {@code beehiiv.http.max-connections} and
+ * {@code beehiiv.http.idle-timeout}.
+ * <p>
+ * The JDK reads the pool size and keep-alive timeout from system properties once per JVM, when its
+ * connection pool class initializes, so they are set here, before the context starts and before any
+ * client is built. Explicit JVM flags win.
+ */
+public class HttpClientPoolEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        HttpClientProperties http = Binder.get(environment)
+                .bind("beehiiv.http", HttpClientProperties.class)
+                .orElseGet(HttpClientProperties::defaults);
+        setIfAbsent(POOL_SIZE_PROPERTY, poolSize(http));
+        setIfAbsent(KEEP_ALIVE_PROPERTY, keepAlive(http));
+    }
+
+    static String poolSize(HttpClientProperties http) {
+        return String.valueOf(http.maxConnections());
+    }
+
+    static String keepAlive(HttpClientProperties http) {
+        return String.valueOf(Math.max(1, http.idleTimeout().toSeconds()));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
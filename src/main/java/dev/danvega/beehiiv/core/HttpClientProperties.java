@@ -0,0 +1,53 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Transport settings for the HTTP client behind the Beehiiv RestClient.
+ *
+ * @param baseUrl base URL of the Beehiiv API (override to point at a local stand-in server)
+ * @param version preferred HTTP version; HTTP_2 multiplexes concurrent calls over one connection
+ * @param connectTimeout maximum time to establish a TCP/TLS connection
+ * @param readTimeout maximum time to wait for a response
+ * @param maxConnections maximum number of idle connections kept in the pool
+ * @param maxConnectionsPerRoute maximum number of concurrent exchanges per upstream host
+ * @param idleTimeout how long an idle pooled connection is kept alive before it is evicted
+ * @param compression whether to ask for gzip/deflate encoded responses and decode them on the fly
+ */
+@ConfigurationProperties(prefix = "beehiiv.http")
+public record HttpClientProperties(
+        @DefaultValue(ApiConstants.BEEHIIV_API_BASE_URL) String baseUrl,
+        @DefaultValue("HTTP_2") HttpClient.Version version,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("64") int maxConnections,
+        @DefaultValue("16") int maxConnectionsPerRoute,
+        @DefaultValue("60s") Duration idleTimeout,
+        @DefaultValue("true") boolean compression) {
+
+    @ConstructorBinding
+    public HttpClientProperties {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            throw new IllegalArgumentException("Beehiiv HTTP base URL must not be null or blank");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Beehiiv HTTP max connections must be positive");
+        }
+        if (maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("Beehiiv HTTP max connections per route must be positive");
+        }
+    }
+
+    /**
+     * @return the default transport settings
+     */
+    public static HttpClientProperties defaults() {
+        return new HttpClientProperties(ApiConstants.BEEHIIV_API_BASE_URL, HttpClient.Version.HTTP_2,
+                Duration.ofSeconds(5), Duration.ofSeconds(30), 64, 16, Duration.ofSeconds(60), true);
+    }
+}
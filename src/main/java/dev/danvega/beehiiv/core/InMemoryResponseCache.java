@@ -0,0 +1,129 @@
+package dev.danvega.beehiiv.core;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU response cache bounded by entry count and by estimated heap weight, with a time-to-live per
+ * {@link CacheRegion}.
+ * <p>
+ * Weight is estimated when an entry is stored, so one post page with expanded content counts for
+ * far more than a publication record. Responses heavier than the whole bound are not cached.
+ * Expired entries stay until evicted so they can be revalidated with their {@link ResponseValidators}.
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private final CacheProperties properties;
+    private final long maxWeight;
+    private final Clock clock;
+
+    // Access-ordered, eldest first; guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    public InMemoryResponseCache(CacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.maxWeight = properties.maxWeight().toBytes();
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized CachedResponse lookup(CacheRegion region, String key) {
+        Entry entry = entries.get(new Key(region, key));
+        boolean fresh = entry != null && clock.instant().isBefore(entry.expiresAt());
+        if (fresh) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry == null ? null : new CachedResponse(entry.value(), entry.validators(), fresh);
+    }
+
+    @Override
+    public void put(CacheRegion region, String key, Object value, ResponseValidators validators) {
+        put(region, key, value, validators, clock.instant().plus(properties.ttl(region)));
+    }
+
+    /**
+     * Stores a response that expires at the given instant, e.g. one read back from another cache tier
+     * with part of its time-to-live used up.
+     * @return the validators the value was cached with if it was already cached under the key, so only
+     * its expiry and validators were renewed; otherwise null
+     */
+    ResponseValidators put(CacheRegion region, String key, Object value, ResponseValidators validators, Instant expiresAt) {
+        if (value == null) {
+            return null;
+        }
+        Key cacheKey = new Key(region, key);
+
+        synchronized (this) {
+            Entry existing = entries.get(cacheKey);
+            if (existing != null && existing.value() == value) {
+                // Revalidated: same object, new validators and expiry, no need to weigh it again
+                entries.put(cacheKey, new Entry(value, validators, existing.weight(), expiresAt));
+                revalidations++;
+                return existing.validators();
+            }
+        }
+
+        // Weigh outside the lock, large post pages take a moment to walk
+        long entryWeight = ObjectWeigher.weigh(value) + ObjectWeigher.weigh(validators) + 2L * key.length();
+
+        synchronized (this) {
+            remove(cacheKey);
+            if (entryWeight > maxWeight) {
+                return null;
+            }
+            entries.put(cacheKey, new Entry(value, validators, entryWeight, expiresAt));
+            weight += entryWeight;
+            evictToBounds();
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(CacheRegion region) {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> next = iterator.next();
+            if (next.getKey().region() == region) {
+                weight -= next.getValue().weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, revalidations, evictions, entries.size(), weight);
+    }
+
+    private void evictToBounds() {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while ((entries.size() > properties.maxEntries() || weight > maxWeight) && eldestFirst.hasNext()) {
+            weight -= eldestFirst.next().weight();
+            eldestFirst.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    private record Key(CacheRegion region, String key) {
+    }
+
+    private record Entry(Object value, ResponseValidators validators, long weight, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,193 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every exchange of the RestClient pipeline into {@link ClientMetrics}: time to the response
+ * headers, body read, and the whole exchange until the response is closed.
+ * <p>
+ * Sits below {@link RouteLimitingClientHttpRequestFactory}, so waiting for a route permit is not
+ * counted as upstream latency.
+ */
+public class MeteredClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+
+    private final ClientMetrics metrics;
+
+    public MeteredClientHttpRequestFactory(ClientHttpRequestFactory delegate, ClientMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) throws IOException {
+        return new MeteredRequest(requestFactory.createRequest(uri, httpMethod), metrics);
+    }
+
+    private record MeteredRequest(ClientHttpRequest delegate, ClientMetrics metrics) implements ClientHttpRequest {
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            String endpoint = getAttributes().getOrDefault(ApiClient.ENDPOINT_ATTRIBUTE, getURI().getPath()).toString();
+            AtomicInteger inFlight = metrics.inFlight(endpoint);
+            inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = delegate.execute();
+            } catch (IOException | RuntimeException e) {
+                inFlight.decrementAndGet();
+                metrics.recordFailure(endpoint, getMethod().name(), e);
+                throw e;
+            }
+            long headersReceived = System.nanoTime();
+            metrics.recordPhase(endpoint, ClientMetrics.TIME_TO_FIRST_BYTE, headersReceived - start);
+            return new MeteredResponse(response, metrics, endpoint, getMethod().name(), inFlight, start, headersReceived);
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private static final class MeteredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ClientMetrics metrics;
+        private final String endpoint;
+        private final String method;
+        private final AtomicInteger inFlight;
+        private final long start;
+        private final long headersReceived;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private InputStream body;
+        private volatile long bodyRead;
+
+        private MeteredResponse(ClientHttpResponse delegate, ClientMetrics metrics, String endpoint, String method,
+                                AtomicInteger inFlight, long start, long headersReceived) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+            this.endpoint = endpoint;
+            this.method = method;
+            this.inFlight = inFlight;
+            this.start = start;
+            this.headersReceived = headersReceived;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new EndOfBodyStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    long end = System.nanoTime();
+                    inFlight.decrementAndGet();
+                    if (body != null) {
+                        metrics.recordPhase(endpoint, ClientMetrics.BODY_READ, (bodyRead != 0 ? bodyRead : end) - headersReceived);
+                    }
+                    metrics.recordExchange(endpoint, method, status(), end - start);
+                }
+            }
+        }
+
+        private int status() {
+            try {
+                return delegate.getStatusCode().value();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        /**
+         * Notes when the body has been read to the end, which may be well before the response is closed.
+         */
+        private final class EndOfBodyStream extends FilterInputStream {
+
+            EndOfBodyStream(InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b == -1) {
+                    endOfBody();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n == -1) {
+                    endOfBody();
+                }
+                return n;
+            }
+
+            private void endOfBody() {
+                if (bodyRead == 0) {
+                    bodyRead = System.nanoTime();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every invocation of a tool into {@link #CALLS_METRIC}, tagged by tool name and outcome, and
+ * gauges the tool's invocations in flight.
+ */
+public class MeteredToolCallback implements ToolCallback {
+
+    static final String CALLS_METRIC = "beehiiv.tool.calls";
+    static final String ACTIVE_METRIC = "beehiiv.tool.active";
+
+    private final ToolCallback delegate;
+    private final MeterRegistry meterRegistry;
+    private final boolean histograms;
+    private final String toolName;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public MeteredToolCallback(ToolCallback delegate, MeterRegistry meterRegistry, MetricsProperties properties) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.histograms = properties.histograms();
+        this.toolName = delegate.getToolDefinition().name();
+        Gauge.builder(ACTIVE_METRIC, active, AtomicInteger::get)
+                .description("Tool invocations in flight")
+                .tag("tool", toolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+        } catch (RuntimeException | Error e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            ClientMetrics.latencyHistogram(Timer.builder(CALLS_METRIC)
+                            .description("Tool invocations")
+                            .tags("tool", toolName, "outcome", outcome, "exception", exception), histograms)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
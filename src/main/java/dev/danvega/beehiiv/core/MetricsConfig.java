@@ -0,0 +1,23 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ClientMetrics beehiivClientMetrics(MeterRegistry meterRegistry, MetricsProperties metricsProperties) {
+        return new ClientMetrics(meterRegistry, metricsProperties);
+    }
+
+    @Bean
+    public PrometheusExporter beehiivPrometheusExporter(MeterRegistry meterRegistry, MetricsProperties metricsProperties) throws IOException {
+        PrometheusExporter exporter = new PrometheusExporter(meterRegistry, metricsProperties);
+        exporter.start();
+        return exporter;
+    }
+}
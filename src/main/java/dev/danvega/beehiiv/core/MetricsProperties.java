@@ -0,0 +1,42 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tool and upstream call metrics, and their Prometheus export.
+ *
+ * @param histograms whether timers publish histogram buckets, so percentiles can be aggregated
+ * @param prometheusFile file the Prometheus text exposition is written to periodically, e.g. for the
+ *                       node exporter textfile collector; not written when unset
+ * @param prometheusInterval how often the scrape file is rewritten
+ * @param prometheusPort local port serving the exposition at {@code /metrics}; 0 disables the endpoint
+ */
+@ConfigurationProperties(prefix = "beehiiv.metrics")
+public record MetricsProperties(
+        @DefaultValue("true") boolean histograms,
+        Path prometheusFile,
+        @DefaultValue("15s") Duration prometheusInterval,
+        @DefaultValue("0") int prometheusPort) {
+
+    @ConstructorBinding
+    public MetricsProperties {
+        if (prometheusInterval.isNegative() || prometheusInterval.isZero()) {
+            throw new IllegalArgumentException("Beehiiv Prometheus export interval must be positive");
+        }
+        if (prometheusPort < 0 || prometheusPort > 65535) {
+            throw new IllegalArgumentException("Beehiiv Prometheus port must be between 0 and 65535");
+        }
+    }
+
+    /**
+     * @return the default metrics settings (histograms on, no Prometheus export)
+     */
+    public static MetricsProperties defaults() {
+        return new MetricsProperties(true, null, Duration.ofSeconds(15), 0);
+    }
+}
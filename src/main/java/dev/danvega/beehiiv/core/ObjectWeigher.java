@@ -0,0 +1,87 @@
+package dev.danvega.beehiiv.core;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the heap footprint of deserialized Beehiiv responses.
+ * <p>
+ * Estimates are deliberately rough; what matters is that large strings such as {@code content_html}
+ * or {@code free_email_content} dominate the weight of the response that holds them.
+ */
+final class ObjectWeigher {
+
+    private static final long OBJECT_HEADER = 16;
+    private static final long REFERENCE = 8;
+    private static final long STRING_OVERHEAD = 40;
+    private static final int MAX_DEPTH = 16;
+
+    private static final Map<Class<?>, Method[]> RECORD_ACCESSORS = new ConcurrentHashMap<>();
+
+    private ObjectWeigher() {
+        // Utility class
+    }
+
+    static long weigh(Object value) {
+        return weigh(value, 0);
+    }
+
+    private static long weigh(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return STRING_OVERHEAD + 2L * text.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?> || value instanceof Temporal) {
+            return OBJECT_HEADER + REFERENCE;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Collection<?> collection) {
+            long weight = OBJECT_HEADER * 2;
+            for (Object element : collection) {
+                weight += REFERENCE + weigh(element, depth + 1);
+            }
+            return weight;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long weight = OBJECT_HEADER * 3;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                weight += OBJECT_HEADER * 2 + weigh(entry.getKey(), depth + 1) + weigh(entry.getValue(), depth + 1);
+            }
+            return weight;
+        }
+        if (value instanceof Record record) {
+            long weight = OBJECT_HEADER;
+            for (Method accessor : RECORD_ACCESSORS.computeIfAbsent(record.getClass(), ObjectWeigher::accessors)) {
+                weight += REFERENCE + weigh(invoke(accessor, record), depth + 1);
+            }
+            return weight;
+        }
+        return OBJECT_HEADER;
+    }
+
+    private static Method[] accessors(Class<?> recordClass) {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        Method[] accessors = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            accessors[i].setAccessible(true);
+        }
+        return accessors;
+    }
+
+    private static Object invoke(Method accessor, Object target) {
+        try {
+            return accessor.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.danvega.beehiiv.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Fetches pages of one listing concurrently: a known range at once, or an open-ended listing through
+ * a {@link PrefetchingPageIterator}.
+ * <p>
+ * At most {@link ExecutionProperties#maxParallelPages()} pages of a call are in flight at once. Each
+ * page is a regular {@link ApiClient} call, so the shared rate limit and per-route cap still apply.
+ */
+public class PageFanOut implements AutoCloseable {
+
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public PageFanOut(ExecutionProperties executionProperties) {
+        this.parallelism = executionProperties.maxParallelPages();
+        this.executor = executionProperties.virtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("beehiiv-page-", 0).factory());
+    }
+
+    /**
+     * Fetches pages {@code firstPage..lastPage} (inclusive). If any page fails, no further page is
+     * requested, the pages in flight are cancelled and the failure is rethrown.
+     * @param fetchPage fetches one page by number
+     * @return the pages in order; empty if the range is empty
+     */
+    public <T> List<T> fetch(int firstPage, int lastPage, IntFunction<T> fetchPage) {
+        List<Future<T>> pages = new ArrayList<>();
+        Semaphore window = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            for (int page = firstPage; page <= lastPage && !failed.get(); page++) {
+                window.acquire();
+                if (failed.get()) {
+                    // A failed page frees its slot only after raising the flag
+                    window.release();
+                    break;
+                }
+                int pageNumber = page;
+                pages.add(executor.submit(() -> {
+                    try {
+                        return fetchPage.apply(pageNumber);
+                    } catch (RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        window.release();
+                    }
+                }));
+            }
+
+            List<T> results = new ArrayList<>(pages.size());
+            for (Future<T> page : pages) {
+                results.add(page.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while fetching pages " + firstPage + ".." + lastPage, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ApiException("Fetching pages " + firstPage + ".." + lastPage + " failed", e.getCause());
+        } finally {
+            pages.forEach(page -> page.cancel(true));
+        }
+    }
+
+    /**
+     * Iterates pages from {@code firstPage} on, prefetching up to the configured number of pages
+     * ahead, until a page is null or matches {@code isLastPage}.
+     */
+    public <T> PrefetchingPageIterator<T> prefetch(int firstPage, IntFunction<T> fetchPage, Predicate<T> isLastPage) {
+        return new PrefetchingPageIterator<>(executor, firstPage, parallelism, fetchPage, isLastPage);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
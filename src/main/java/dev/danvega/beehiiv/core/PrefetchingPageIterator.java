@@ -0,0 +1,125 @@
+package dev.danvega.beehiiv.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the pages of a listing whose length is unknown up front, keeping a window of page
+ * requests in flight ahead of the page being consumed.
+ * <p>
+ * The window opens at one page and doubles, up to its size, with every page that is not the last one,
+ * so a listing of one page costs one request. Once a page turns out to be the last one, or the iterator
+ * is closed, requests for later pages that have not started are cancelled. Requests already on the wire
+ * are not interrupted, which would count against the endpoint's circuit breaker and fail callers sharing
+ * them; their pages are discarded. Pages are only referenced until they are handed out, so
+ * consumed pages can be collected.
+ */
+public class PrefetchingPageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final ExecutorService executor;
+    private final IntFunction<T> fetchPage;
+    private final Predicate<T> isLastPage;
+    private final int window;
+    private final Deque<Future<T>> inFlight = new ArrayDeque<>();
+    private int openWindow = 1;
+    private int nextPage;
+    private volatile boolean done;
+
+    PrefetchingPageIterator(ExecutorService executor, int firstPage, int window,
+                            IntFunction<T> fetchPage, Predicate<T> isLastPage) {
+        this.executor = executor;
+        this.fetchPage = fetchPage;
+        this.isLastPage = isLastPage;
+        this.window = window;
+        this.nextPage = firstPage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !done;
+    }
+
+    @Override
+    public T next() {
+        if (done) {
+            throw new NoSuchElementException();
+        }
+        // The head page and up to openWindow - 1 pages after it are in flight while waiting
+        fillWindow();
+        T page = await(inFlight.removeFirst());
+        if (page == null || isLastPage.test(page)) {
+            close();
+        } else {
+            openWindow = Math.min(openWindow * 2, window);
+        }
+        return page;
+    }
+
+    /**
+     * Flattens the pages into a lazy stream of their items. Pages are fetched as the stream is consumed
+     * and dropped once their items have been handed out; short-circuiting operations such as
+     * {@code limit} or {@code findFirst} stop fetching. A null page, such as the answer to an empty body,
+     * contributes no items. Closing the stream closes this iterator.
+     * @param items extracts the items of a page; may return null for a page without items
+     */
+    public <E> Stream<E> stream(Function<? super T, ? extends List<E>> items) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .filter(Objects::nonNull)
+                .flatMap(page -> {
+                    List<E> pageItems = items.apply(page);
+                    return pageItems == null ? Stream.empty() : pageItems.stream();
+                })
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops iterating and cancels every page request that has not started.
+     */
+    @Override
+    public void close() {
+        done = true;
+        inFlight.forEach(page -> page.cancel(false));
+        inFlight.clear();
+    }
+
+    private void fillWindow() {
+        while (inFlight.size() < openWindow) {
+            int page = nextPage++;
+            // A request that starts after the iterator was closed is skipped
+            inFlight.addLast(executor.submit(() -> done ? null : fetchPage.apply(page)));
+        }
+    }
+
+    private T await(Future<T> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while fetching page", e);
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ApiException("Fetching page failed", e.getCause());
+        }
+    }
+}
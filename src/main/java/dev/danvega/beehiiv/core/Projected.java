@@ -0,0 +1,21 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The result of a tool call that takes a {@link FieldProjection}, with whether the call selected fields.
+ * It is written as the result itself; {@link ProjectedResultConverter} leaves out its null fields when
+ * it is projected.
+ *
+ * @param value the result
+ * @param projected whether the call selected fields, so the fields it skipped are null
+ */
+public record Projected<T>(@JsonValue T value, boolean projected) {
+
+    /**
+     * @return the result, projected unless the projection is {@link FieldProjection#ALL}
+     */
+    public static <T> Projected<T> of(T value, FieldProjection projection) {
+        return new Projected<>(value, !projection.isAll());
+    }
+}
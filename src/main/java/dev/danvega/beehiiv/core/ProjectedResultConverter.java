@@ -0,0 +1,45 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import org.springframework.ai.util.JacksonUtils;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+
+/**
+ * Tool result converter for tools that take a {@link FieldProjection}: results are written like the
+ * default converter does. When the tool returned a {@link Projected} result of a call that selected
+ * fields, null fields are left out as well, so the fields the projection skipped do not reach the MCP
+ * client as a list of nulls; a full result keeps its nulls.
+ */
+public class ProjectedResultConverter implements ToolCallResultConverter {
+
+    private static final ObjectMapper OBJECT_MAPPER = objectMapper(JsonInclude.Include.USE_DEFAULTS);
+    private static final ObjectMapper PROJECTED_OBJECT_MAPPER = objectMapper(JsonInclude.Include.NON_NULL);
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        boolean projected = result instanceof Projected<?> projectedResult && projectedResult.projected();
+        try {
+            return (projected ? PROJECTED_OBJECT_MAPPER : OBJECT_MAPPER)
+                    .writeValueAsString(returnType == Void.TYPE ? "Done" : result);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not write tool result", e);
+        }
+    }
+
+    private static ObjectMapper objectMapper(JsonInclude.Include inclusion) {
+        return JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .serializationInclusion(inclusion)
+                .addModules(JacksonUtils.instantiateAvailableModules())
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package dev.danvega.beehiiv.core;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the meter registry in the Prometheus text exposition format, to a scrape file that is
+ * rewritten periodically and/or to a local {@code /metrics} endpoint.
+ * <p>
+ * The server talks MCP over STDIO and runs no web server of its own, so both exports are opt-in
+ * through {@link MetricsProperties}. Timers are exported in seconds, with {@code _bucket} series when
+ * they publish a histogram.
+ */
+public class PrometheusExporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusExporter.class);
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsProperties properties;
+    private ScheduledExecutorService fileWriter;
+    private HttpServer server;
+
+    public PrometheusExporter(MeterRegistry meterRegistry, MetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the configured exports; does nothing if neither a file nor a port is configured.
+     */
+    public void start() throws IOException {
+        if (properties.prometheusFile() != null) {
+            fileWriter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("beehiiv-prometheus").factory());
+            long interval = properties.prometheusInterval().toMillis();
+            fileWriter.scheduleAtFixedRate(this::writeFile, 0, interval, TimeUnit.MILLISECONDS);
+            logger.info("Writing Prometheus metrics to {} every {}", properties.prometheusFile(), properties.prometheusInterval());
+        }
+        if (properties.prometheusPort() > 0) {
+            // Loopback only: the metrics are for a local scraper
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.prometheusPort()), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            logger.info("Serving Prometheus metrics at http://{}:{}/metrics",
+                    server.getAddress().getHostString(), server.getAddress().getPort());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            writeFile();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Rewrites the scrape file atomically, so a scraper never reads a half-written file.
+     */
+    void writeFile() {
+        Path file = properties.prometheusFile();
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, scrape(), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write Prometheus metrics to {}", file, e);
+        }
+    }
+
+    /**
+     * @return every meter of the registry in the Prometheus text exposition format
+     */
+    public String scrape() {
+        // Series of one metric name must be contiguous, under a single TYPE line
+        Map<String, List<Meter>> byName = new TreeMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            byName.computeIfAbsent(meter.getId().getName(), name -> new ArrayList<>()).add(meter);
+        }
+
+        StringBuilder out = new StringBuilder();
+        byName.forEach((name, meters) -> {
+            meters.sort(Comparator.comparing(meter -> meter.getId().getTags().toString()));
+            Meter first = meters.get(0);
+            String metric = sanitize(name);
+            String baseUnit = first.getId().getBaseUnit();
+            if (first instanceof Timer || first instanceof FunctionTimer || first instanceof LongTaskTimer || first instanceof TimeGauge) {
+                metric += "_seconds";
+            } else if (baseUnit != null && !baseUnit.isBlank() && !metric.endsWith("_" + sanitize(baseUnit))) {
+                metric += "_" + sanitize(baseUnit);
+            }
+            if (first.getId().getDescription() != null) {
+                out.append("# HELP ").append(metric).append(' ').append(escapeHelp(first.getId().getDescription())).append('\n');
+            }
+            out.append("# TYPE ").append(metric).append(' ').append(type(first)).append('\n');
+            for (Meter meter : meters) {
+                write(out, metric, meter);
+            }
+        });
+        return out.toString();
+    }
+
+    private static String type(Meter meter) {
+        if (meter instanceof Counter || meter instanceof FunctionCounter) {
+            return "counter";
+        }
+        if (meter instanceof Gauge || meter instanceof TimeGauge) {
+            return "gauge";
+        }
+        if (meter instanceof Timer || meter instanceof DistributionSummary) {
+            return "histogram";
+        }
+        if (meter instanceof FunctionTimer) {
+            return "summary";
+        }
+        return "untyped";
+    }
+
+    private static void write(StringBuilder out, String metric, Meter meter) {
+        List<Tag> tags = meter.getId().getTags();
+        switch (meter) {
+            case Counter counter -> sample(out, metric + "_total", tags, null, counter.count());
+            case FunctionCounter counter -> sample(out, metric + "_total", tags, null, counter.count());
+            case TimeGauge gauge -> sample(out, metric, tags, null, gauge.value(TimeUnit.SECONDS));
+            case Gauge gauge -> sample(out, metric, tags, null, gauge.value());
+            case Timer timer -> histogram(out, metric, tags, timer.takeSnapshot(), true);
+            case DistributionSummary summary -> histogram(out, metric, tags, summary.takeSnapshot(), false);
+            case FunctionTimer timer -> {
+                sample(out, metric + "_count", tags, null, timer.count());
+                sample(out, metric + "_sum", tags, null, timer.totalTime(TimeUnit.SECONDS));
+            }
+            case LongTaskTimer timer -> {
+                sample(out, metric + "_active_count", tags, null, timer.activeTasks());
+                sample(out, metric + "_duration_sum", tags, null, timer.duration(TimeUnit.SECONDS));
+            }
+            default -> meter.measure().forEach(measurement -> sample(out,
+                    metric + "_" + measurement.getStatistic().getTagValueRepresentation(), tags, null, measurement.getValue()));
+        }
+    }
+
+    private static void histogram(StringBuilder out, String metric, List<Tag> tags, HistogramSnapshot snapshot, boolean seconds) {
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            double bound = seconds ? bucket.bucket(TimeUnit.SECONDS) : bucket.bucket();
+            sample(out, metric + "_bucket", tags, format(bound), bucket.count());
+        }
+        if (snapshot.histogramCounts().length > 0) {
+            sample(out, metric + "_bucket", tags, "+Inf", snapshot.count());
+        }
+        sample(out, metric + "_count", tags, null, snapshot.count());
+        sample(out, metric + "_sum", tags, null, seconds ? snapshot.total(TimeUnit.SECONDS) : snapshot.total());
+        sample(out, metric + "_max", tags, null, seconds ? snapshot.max(TimeUnit.SECONDS) : snapshot.max());
+    }
+
+    private static void sample(StringBuilder out, String metric, List<Tag> tags, String le, double value) {
+        out.append(metric);
+        if (!tags.isEmpty() || le != null) {
+            out.append('{');
+            String separator = "";
+            for (Tag tag : tags) {
+                out.append(separator).append(sanitize(tag.getKey())).append("=\"").append(escapeLabel(tag.getValue())).append('"');
+                separator = ",";
+            }
+            if (le != null) {
+                out.append(separator).append("le=\"").append(le).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    static String sanitize(String name) {
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_:]", "_");
+        return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,128 @@
+package dev.danvega.beehiiv.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Sends every Beehiiv request through the shared {@link TokenBucketRateLimiter}.
+ * <p>
+ * Rate limit headers on each response feed back into the bucket. A 429 pauses the bucket for the
+ * {@code Retry-After} period and the request is queued again instead of failing the caller.
+ * <p>
+ * This interceptor re-executes the request on 429, so it must be the last interceptor in the chain.
+ */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+    // X-RateLimit-Reset values above this are epoch seconds rather than seconds from now
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int maxThrottleRetries;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter rateLimiter, int maxThrottleRetries) {
+        this.rateLimiter = rateLimiter;
+        this.maxThrottleRetries = maxThrottleRetries;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        int throttleRetries = 0;
+        while (true) {
+            rateLimiter.acquire();
+            ClientHttpResponse response = execution.execute(request, body);
+            HttpHeaders headers = response.getHeaders();
+            applyRateLimitHeaders(headers);
+
+            if (response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value() || throttleRetries >= maxThrottleRetries) {
+                return response;
+            }
+
+            Duration retryAfter = retryAfter(headers);
+            response.close();
+            throttleRetries++;
+            logger.warn("Beehiiv API throttled {} {} - retrying in {} ms (attempt {} of {})",
+                    request.getMethod(), request.getURI().getPath(), retryAfter.toMillis(), throttleRetries, maxThrottleRetries);
+            rateLimiter.pause(retryAfter);
+        }
+    }
+
+    private void applyRateLimitHeaders(HttpHeaders headers) {
+        applyRateLimitHeaders(rateLimiter, headers);
+    }
+
+    /**
+     * Feeds the server's {@code X-RateLimit-*} headers into the bucket.
+     */
+    static void applyRateLimitHeaders(TokenBucketRateLimiter rateLimiter, HttpHeaders headers) {
+        Long remaining = parseLong(headers.getFirst(RATE_LIMIT_REMAINING));
+        if (remaining != null) {
+            rateLimiter.update(remaining, resetAfter(headers));
+        }
+    }
+
+    /**
+     * Resolves the wait from {@code Retry-After} (seconds or HTTP date), then {@code X-RateLimit-Reset}.
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null && !retryAfter.isBlank()) {
+            Long seconds = parseLong(retryAfter);
+            if (seconds != null) {
+                return Duration.ofSeconds(Math.max(0, seconds));
+            }
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return positive(Duration.between(Instant.now(), date.toInstant()));
+            } catch (DateTimeParseException e) {
+                logger.debug("Ignoring unparseable Retry-After header: {}", retryAfter);
+            }
+        }
+        Duration resetAfter = resetAfter(headers);
+        return resetAfter != null ? resetAfter : DEFAULT_RETRY_AFTER;
+    }
+
+    private static Duration resetAfter(HttpHeaders headers) {
+        Long reset = parseLong(headers.getFirst(RATE_LIMIT_RESET));
+        if (reset == null) {
+            return null;
+        }
+        if (reset > EPOCH_SECONDS_THRESHOLD) {
+            return positive(Duration.between(Instant.now(), Instant.ofEpochSecond(reset)));
+        }
+        return Duration.ofSeconds(Math.max(0, reset));
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Client-side rate limit applied to every Beehiiv API call.
+ *
+ * @param enabled whether calls are throttled on the client side at all
+ * @param permitsPerSecond steady-state refill rate of the token bucket
+ * @param burst maximum number of tokens the bucket can hold
+ * @param maxWait longest a caller queues for a token before the call fails
+ * @param maxThrottleRetries how many times a 429 response is re-issued after honouring Retry-After
+ */
+@ConfigurationProperties(prefix = "beehiiv.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") double permitsPerSecond,
+        @DefaultValue("10") int burst,
+        @DefaultValue("30s") Duration maxWait,
+        @DefaultValue("3") int maxThrottleRetries) {
+
+    @ConstructorBinding
+    public RateLimitProperties {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Beehiiv rate limit permits per second must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Beehiiv rate limit burst must be positive");
+        }
+        if (maxThrottleRetries < 0) {
+            throw new IllegalArgumentException("Beehiiv rate limit max throttle retries must not be negative");
+        }
+    }
+
+    /**
+     * @return the default client-side rate limit
+     */
+    public static RateLimitProperties defaults() {
+        return new RateLimitProperties(true, 3, 10, Duration.ofSeconds(30), 3);
+    }
+}
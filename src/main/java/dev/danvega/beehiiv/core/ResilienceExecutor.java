@@ -0,0 +1,216 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries transient Beehiiv failures with full-jitter exponential backoff and guards each endpoint
+ * with its own {@link CircuitBreaker}.
+ * <p>
+ * Transient failures are 5xx responses and I/O errors. A 429 is not: the rate limiter already re-sends
+ * throttled requests after {@code Retry-After}, and one that outlived those re-sends is surfaced rather
+ * than multiplied by a second layer of retries. Every attempt is a complete RestClient call, so retries
+ * still go through the shared rate limiter.
+ * <p>
+ * A call that fails because its thread was interrupted, e.g. a prefetched page cancelled by a walk that
+ * stopped early, says nothing about upstream health: it is neither retried nor counted by the circuit.
+ */
+public class ResilienceExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceExecutor.class);
+
+    static final String RETRIES_METRIC = "beehiiv.client.retries";
+    static final String REJECTIONS_METRIC = "beehiiv.client.circuit.rejections";
+    static final String STATE_METRIC = "beehiiv.client.circuit.state";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public ResilienceExecutor(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs an upstream call under the retry policy and the endpoint's circuit breaker.
+     * @param endpoint endpoint template identifying the circuit, e.g. {@link ApiConstants#POSTS_ENDPOINT}
+     * @param idempotent whether the call may be retried without opt-in
+     * @param call the upstream call
+     * @return the call's result
+     */
+    public <T> T execute(String endpoint, boolean idempotent, Supplier<T> call) {
+        if (!properties.enabled() || (!idempotent && !properties.retryNonIdempotent())) {
+            return call.get();
+        }
+
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, this::newBreaker);
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                meterRegistry.counter(REJECTIONS_METRIC, "endpoint", endpoint).increment();
+                throw new ApiException("Beehiiv API endpoint " + endpoint + " is temporarily unavailable (circuit open)");
+            }
+
+            try {
+                T result = call.get();
+                breaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isTransient(e) || Thread.currentThread().isInterrupted()) {
+                    if (e instanceof HttpClientErrorException) {
+                        breaker.onSuccess();
+                    } else {
+                        breaker.onIgnored();
+                    }
+                    throw e;
+                }
+
+                breaker.onFailure();
+                if (attempt >= properties.maxAttempts()) {
+                    throw e;
+                }
+
+                long backoffMillis = backoffMillis(attempt);
+                retryCounter(endpoint).increment();
+                logger.warn("Transient error calling Beehiiv endpoint {} ({}), retrying in {} ms (attempt {} of {})",
+                        endpoint, e.getMessage(), backoffMillis, attempt + 1, properties.maxAttempts());
+                sleep(backoffMillis);
+            }
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #execute}: the same retry policy and circuit breaker, with
+     * backoff waits scheduled on a timer instead of sleeping on the calling thread.
+     * @param call starts one attempt of the upstream call
+     * @return a future of the call's result, failed with the last attempt's exception
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, boolean idempotent, Supplier<CompletableFuture<T>> call) {
+        if (!properties.enabled() || (!idempotent && !properties.retryNonIdempotent())) {
+            return call.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(endpoint, breakers.computeIfAbsent(endpoint, this::newBreaker), call, 1, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(String endpoint, CircuitBreaker breaker, Supplier<CompletableFuture<T>> call,
+                                  int attempt, CompletableFuture<T> result) {
+        if (!breaker.tryAcquire()) {
+            meterRegistry.counter(REJECTIONS_METRIC, "endpoint", endpoint).increment();
+            result.completeExceptionally(new ApiException("Beehiiv API endpoint " + endpoint + " is temporarily unavailable (circuit open)"));
+            return;
+        }
+
+        CompletableFuture<T> attemptResult;
+        try {
+            attemptResult = call.get();
+        } catch (RuntimeException e) {
+            attemptResult = CompletableFuture.failedFuture(e);
+        }
+
+        attemptResult.whenComplete((value, failure) -> {
+            if (failure == null) {
+                breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (!(cause instanceof RuntimeException e) || !isTransient(e)) {
+                if (cause instanceof HttpClientErrorException) {
+                    breaker.onSuccess();
+                } else {
+                    breaker.onIgnored();
+                }
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            breaker.onFailure();
+            if (attempt >= properties.maxAttempts()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long backoffMillis = backoffMillis(attempt);
+            retryCounter(endpoint).increment();
+            logger.warn("Transient error calling Beehiiv endpoint {} ({}), retrying in {} ms (attempt {} of {})",
+                    endpoint, cause.getMessage(), backoffMillis, attempt + 1, properties.maxAttempts());
+            CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(endpoint, breaker, call, attempt + 1, result));
+        });
+    }
+
+    /**
+     * @return the current circuit state of the given endpoint
+     */
+    public CircuitBreaker.State state(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof HttpServerErrorException || e instanceof ResourceAccessException && !isInterruption(e);
+    }
+
+    /**
+     * @return whether the failure was caused by interrupting the calling thread, e.g. the
+     * {@link InterruptedException} the JDK HttpClient request factory wraps in an {@link java.io.IOException}
+     */
+    static boolean isInterruption(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Full jitter: a uniformly random wait between zero and the capped exponential backoff.
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(properties.maxBackoff().toMillis(),
+                properties.initialBackoff().toMillis() << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private CircuitBreaker newBreaker(String endpoint) {
+        CircuitBreaker breaker = new CircuitBreaker(properties.failureThreshold(), properties.openDuration(), properties.halfOpenProbes());
+        Gauge.builder(STATE_METRIC, breaker, b -> b.state().ordinal())
+                .description("Circuit state per Beehiiv endpoint (0=closed, 1=open, 2=half-open)")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private Counter retryCounter(String endpoint) {
+        return meterRegistry.counter(RETRIES_METRIC, "endpoint", endpoint);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while backing off before retrying a Beehiiv call", e);
+        }
+    }
+}
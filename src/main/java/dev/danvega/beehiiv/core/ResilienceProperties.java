@@ -0,0 +1,52 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retry and circuit breaker settings for Beehiiv API calls.
+ *
+ * @param enabled whether calls go through the retry and circuit breaker layer at all
+ * @param maxAttempts total attempts per call, including the first one
+ * @param initialBackoff upper bound of the jittered wait before the first retry
+ * @param maxBackoff upper bound of the jittered wait before any retry
+ * @param failureThreshold consecutive transient failures that open an endpoint's circuit
+ * @param openDuration how long an open circuit rejects calls before a half-open probe is allowed
+ * @param halfOpenProbes number of concurrent probe calls allowed while half-open
+ * @param retryNonIdempotent opt-in to apply the layer to non-idempotent calls such as createSubscription
+ */
+@ConfigurationProperties(prefix = "beehiiv.resilience")
+public record ResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration initialBackoff,
+        @DefaultValue("5s") Duration maxBackoff,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("30s") Duration openDuration,
+        @DefaultValue("1") int halfOpenProbes,
+        @DefaultValue("false") boolean retryNonIdempotent) {
+
+    @ConstructorBinding
+    public ResilienceProperties {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Beehiiv resilience max attempts must be positive");
+        }
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Beehiiv resilience failure threshold must be positive");
+        }
+        if (halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Beehiiv resilience half-open probes must be positive");
+        }
+    }
+
+    /**
+     * @return the default retry and circuit breaker settings
+     */
+    public static ResilienceProperties defaults() {
+        return new ResilienceProperties(true, 3, Duration.ofMillis(200), Duration.ofSeconds(5),
+                5, Duration.ofSeconds(30), 1, false);
+    }
+}
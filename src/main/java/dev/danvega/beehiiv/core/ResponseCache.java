@@ -0,0 +1,69 @@
+package dev.danvega.beehiiv.core;
+
+/**
+ * Cache of deserialized Beehiiv responses, keyed by request URI within a {@link CacheRegion}.
+ * <p>
+ * Implementations decide expiry and eviction; {@link ApiClient} only reads, writes and invalidates.
+ * Expired responses may be kept so they can be revalidated instead of downloaded again.
+ */
+public interface ResponseCache {
+
+    /**
+     * @return the cached response for the key, fresh or stale, or null if there is none
+     */
+    CachedResponse lookup(CacheRegion region, String key);
+
+    /**
+     * @return the fresh cached value for the key, or null if it is absent or expired
+     */
+    default <T> T get(CacheRegion region, String key, Class<T> type) {
+        CachedResponse cached = lookup(region, key);
+        return cached != null && cached.fresh() ? cached.value(type) : null;
+    }
+
+    default void put(CacheRegion region, String key, Object value) {
+        put(region, key, value, ResponseValidators.NONE);
+    }
+
+    /**
+     * Stores a response with a fresh time-to-live. Storing the value already cached under the key
+     * renews it and counts as a revalidation.
+     */
+    void put(CacheRegion region, String key, Object value, ResponseValidators validators);
+
+    /**
+     * Drops every entry of the region.
+     */
+    void invalidate(CacheRegion region);
+
+    CacheStats stats();
+
+    /**
+     * @return a cache that never stores anything
+     */
+    static ResponseCache none() {
+        return NoOpResponseCache.INSTANCE;
+    }
+
+    enum NoOpResponseCache implements ResponseCache {
+        INSTANCE;
+
+        @Override
+        public CachedResponse lookup(CacheRegion region, String key) {
+            return null;
+        }
+
+        @Override
+        public void put(CacheRegion region, String key, Object value, ResponseValidators validators) {
+        }
+
+        @Override
+        public void invalidate(CacheRegion region) {
+        }
+
+        @Override
+        public CacheStats stats() {
+            return CacheStats.EMPTY;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.http.HttpHeaders;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Validators of a cached response, used to revalidate it once its time-to-live has passed.
+ * <p>
+ * {@code ETag} and {@code Last-Modified} are sent back as {@code If-None-Match} and
+ * {@code If-Modified-Since} so an unchanged resource costs a bodiless 304. The content hash covers
+ * upstreams that send neither: the body is downloaded again, but an unchanged one is not deserialized
+ * and the cached object is reused.
+ *
+ * @param etag the {@code ETag} response header, or null
+ * @param lastModified the {@code Last-Modified} response header, or null
+ * @param contentHash SHA-256 of the response body, or null
+ */
+public record ResponseValidators(String etag, String lastModified, String contentHash) {
+
+    public static final ResponseValidators NONE = new ResponseValidators(null, null, null);
+
+    /**
+     * @return the validators of a response with the given headers and body
+     */
+    public static ResponseValidators of(HttpHeaders headers, byte[] body) {
+        return new ResponseValidators(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                body == null ? null : sha256(body));
+    }
+
+    /**
+     * Adds the conditional request headers for these validators.
+     */
+    public void applyTo(HttpHeaders requestHeaders) {
+        if (etag != null) {
+            requestHeaders.set(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    /**
+     * @return whether the body hashes to the same content as the one these validators were taken from
+     */
+    public boolean matchesContent(ResponseValidators other) {
+        return contentHash != null && contentHash.equals(other.contentHash());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package dev.danvega.beehiiv.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class RestClientConfig {
@@ -12,19 +24,183 @@ public class RestClientConfig {
     private static final Logger logger = LoggerFactory.getLogger(RestClientConfig.class);
 
     @Bean
-    public RestClient beehiivRestClient(BeehiivProperties beehiivProperties) {
+    public HttpClient beehiivHttpClient(HttpClientProperties httpProperties, ExecutionProperties executionProperties) {
+        checkConnectionPool(httpProperties);
+
+        logger.info("Configuring Beehiiv HttpClient: version={}, connectTimeout={}, maxConnections={}, idleTimeout={}, virtualThreads={}",
+                httpProperties.version(), httpProperties.connectTimeout(),
+                httpProperties.maxConnections(), httpProperties.idleTimeout(), executionProperties.virtualThreads());
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(httpProperties.version())
+                .connectTimeout(httpProperties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (executionProperties.virtualThreads()) {
+            // Response handling and body delivery tasks; concurrency stays capped per route by the request factory
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * URI factory for the Beehiiv client. Services build fully encoded URIs with {@link UriTemplate},
+     * so they are resolved against the base URL as they are, without a second round of encoding.
+     */
+    static DefaultUriBuilderFactory uriBuilderFactory(String baseUrl) {
+        DefaultUriBuilderFactory factory = new DefaultUriBuilderFactory(baseUrl);
+        factory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.NONE);
+        return factory;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter beehiivRateLimiter(RateLimitProperties rateLimitProperties) {
+        return new TokenBucketRateLimiter(rateLimitProperties);
+    }
+
+    @Bean
+    public RestClient beehiivRestClient(BeehiivProperties beehiivProperties,
+                                        HttpClientProperties httpProperties,
+                                        RateLimitProperties rateLimitProperties,
+                                        HttpClient beehiivHttpClient,
+                                        TokenBucketRateLimiter beehiivRateLimiter,
+                                        ClientMetrics beehiivClientMetrics,
+                                        MeterRegistry meterRegistry) {
         String apiKey = beehiivProperties.api();
-        
-        logger.info("Configuring Beehiiv RestClient with API key: {}", 
+
+        logger.info("Configuring Beehiiv RestClient with API key: {}",
                 maskApiKey(apiKey));
-        
-        return RestClient.builder()
-                .baseUrl(ApiConstants.BEEHIIV_API_BASE_URL)
+
+        RestClient.Builder builder = RestClient.builder()
+                .uriBuilderFactory(uriBuilderFactory(httpProperties.baseUrl()))
+                .requestFactory(requestFactory(beehiivHttpClient, httpProperties, beehiivClientMetrics))
                 .defaultHeader("Authorization", "Bearer " + apiKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
+                .defaultHeader("Content-Type", "application/json");
+
+        if (httpProperties.compression()) {
+            builder.requestInterceptor(new CompressionInterceptor(meterRegistry));
+        }
+
+        // The rate limiter re-executes throttled requests, so it has to stay the last interceptor
+        if (rateLimitProperties.enabled()) {
+            logger.info("Beehiiv client-side rate limit: {} permits/s, burst {}",
+                    rateLimitProperties.permitsPerSecond(), rateLimitProperties.burst());
+            builder.requestInterceptor(new RateLimitInterceptor(beehiivRateLimiter, rateLimitProperties.maxThrottleRetries()));
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    public ResilienceExecutor beehiivResilienceExecutor(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        return new ResilienceExecutor(resilienceProperties, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight beehiivSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight(meterRegistry);
     }
-    
+
+    @Bean
+    public ResponseCache beehiivResponseCache(CacheProperties cacheProperties, DiskCacheProperties diskCacheProperties,
+                                              BeehiivProperties beehiivProperties, ObjectMapper objectMapper,
+                                              MeterRegistry meterRegistry) {
+        if (!cacheProperties.enabled()) {
+            return ResponseCache.none();
+        }
+
+        logger.info("Beehiiv response cache: maxEntries={}, maxWeight={}", cacheProperties.maxEntries(), cacheProperties.maxWeight());
+
+        InMemoryResponseCache memory = new InMemoryResponseCache(cacheProperties, Clock.systemUTC());
+        ResponseCache cache = memory;
+        if (diskCacheProperties.enabled()) {
+            try {
+                DiskResponseCache disk = DiskResponseCache.open(memory, cacheProperties, diskCacheProperties,
+                        beehiivProperties.api(), objectMapper, Clock.systemUTC());
+                logger.info("Beehiiv disk cache: directory={}, maxSize={}", diskCacheProperties.directory(), diskCacheProperties.maxSize());
+                // Read what is still fresh into memory while the MCP client is connecting
+                Thread.ofVirtual().name("beehiiv-disk-cache-preload")
+                        .start(() -> logger.info("Beehiiv disk cache: preloaded {} responses", disk.preload()));
+                FunctionCounter.builder("beehiiv.cache.disk.hits", disk, c -> c.diskStats().hits()).register(meterRegistry);
+                FunctionCounter.builder("beehiiv.cache.disk.misses", disk, c -> c.diskStats().misses()).register(meterRegistry);
+                FunctionCounter.builder("beehiiv.cache.disk.evictions", disk, c -> c.diskStats().evictions()).register(meterRegistry);
+                Gauge.builder("beehiiv.cache.disk.entries", disk, c -> c.diskStats().entries()).register(meterRegistry);
+                Gauge.builder("beehiiv.cache.disk.size", disk, c -> c.diskStats().weight()).baseUnit("bytes").register(meterRegistry);
+                cache = disk;
+            } catch (IOException e) {
+                // E.g. another session's server holds the directory; this one caches in memory only
+                logger.warn("Beehiiv disk cache not available, caching in memory only: {}", e.getMessage());
+            }
+        }
+        FunctionCounter.builder("beehiiv.cache.hits", cache, c -> c.stats().hits()).register(meterRegistry);
+        FunctionCounter.builder("beehiiv.cache.misses", cache, c -> c.stats().misses()).register(meterRegistry);
+        FunctionCounter.builder("beehiiv.cache.revalidations", cache, c -> c.stats().revalidations()).register(meterRegistry);
+        FunctionCounter.builder("beehiiv.cache.evictions", cache, c -> c.stats().evictions()).register(meterRegistry);
+        Gauge.builder("beehiiv.cache.entries", cache, c -> c.stats().entries()).register(meterRegistry);
+        Gauge.builder("beehiiv.cache.weight", cache, c -> c.stats().weight()).baseUnit("bytes").register(meterRegistry);
+        return cache;
+    }
+
+    @Bean
+    public PageFanOut beehiivPageFanOut(ExecutionProperties executionProperties) {
+        return new PageFanOut(executionProperties);
+    }
+
+    @Bean
+    public AsyncHttpTransport beehiivAsyncTransport(BeehiivProperties beehiivProperties,
+                                                    HttpClientProperties httpProperties,
+                                                    RateLimitProperties rateLimitProperties,
+                                                    HttpClient beehiivHttpClient,
+                                                    TokenBucketRateLimiter beehiivRateLimiter,
+                                                    ClientMetrics beehiivClientMetrics,
+                                                    MeterRegistry meterRegistry) {
+        return new AsyncHttpTransport(beehiivHttpClient, httpProperties, beehiivProperties.api(),
+                rateLimitProperties, beehiivRateLimiter, beehiivClientMetrics, meterRegistry);
+    }
+
+    @Bean
+    public ApiClient beehiivApiClient(RestClient beehiivRestClient,
+                                      ResilienceExecutor beehiivResilienceExecutor,
+                                      SingleFlight beehiivSingleFlight,
+                                      ResponseCache beehiivResponseCache,
+                                      ObjectMapper objectMapper,
+                                      PageFanOut beehiivPageFanOut,
+                                      AsyncHttpTransport beehiivAsyncTransport,
+                                      ClientMetrics beehiivClientMetrics) {
+        return new ApiClient(beehiivRestClient, beehiivResilienceExecutor, beehiivSingleFlight, beehiivResponseCache,
+                objectMapper, beehiivPageFanOut, beehiivAsyncTransport, beehiivClientMetrics);
+    }
+
+    /**
+     * Builds the request factory shared by every Beehiiv call: a pooled, keep-alive JDK HttpClient
+     * with a read timeout and a per-route cap on concurrent exchanges, timed into the client metrics.
+     */
+    static ClientHttpRequestFactory requestFactory(HttpClient httpClient, HttpClientProperties httpProperties,
+                                                   ClientMetrics clientMetrics) {
+        JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(httpClient);
+        jdkFactory.setReadTimeout(httpProperties.readTimeout());
+        return new RouteLimitingClientHttpRequestFactory(new MeteredClientHttpRequestFactory(jdkFactory, clientMetrics),
+                httpProperties.maxConnectionsPerRoute());
+    }
+
+    /**
+     * The JDK HttpClient sizes its keep-alive pool from system properties, which
+     * {@link HttpClientPoolEnvironmentPostProcessor} sets before the context starts. Explicit JVM flags,
+     * or an earlier context in the same JVM, win over the configured values, so say when they differ.
+     */
+    private static void checkConnectionPool(HttpClientProperties httpProperties) {
+        checkPoolProperty(HttpClientPoolEnvironmentPostProcessor.POOL_SIZE_PROPERTY,
+                HttpClientPoolEnvironmentPostProcessor.poolSize(httpProperties), "beehiiv.http.max-connections");
+        checkPoolProperty(HttpClientPoolEnvironmentPostProcessor.KEEP_ALIVE_PROPERTY,
+                HttpClientPoolEnvironmentPostProcessor.keepAlive(httpProperties), "beehiiv.http.idle-timeout");
+    }
+
+    private static void checkPoolProperty(String key, String configured, String property) {
+        String actual = System.getProperty(key);
+        if (actual != null && !actual.equals(configured)) {
+            logger.warn("HttpClient pool uses {}={}, not {} from {}", key, actual, configured, property);
+        }
+    }
+
     private String maskApiKey(String apiKey) {
         if (apiKey == null || apiKey.length() <= 8) {
             return "***masked***";
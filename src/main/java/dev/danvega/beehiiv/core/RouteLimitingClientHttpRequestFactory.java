@@ -0,0 +1,144 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of concurrent exchanges per upstream host (route).
+ * <p>
+ * The JDK HttpClient has no per-route connection limit of its own, so a fair semaphore per
+ * host is held from the moment a request is sent until its response is closed.
+ */
+public class RouteLimitingClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+
+    private final int maxPerRoute;
+    private final Map<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+    public RouteLimitingClientHttpRequestFactory(ClientHttpRequestFactory delegate, int maxPerRoute) {
+        super(delegate);
+        if (maxPerRoute < 1) {
+            throw new IllegalArgumentException("Max connections per route must be positive");
+        }
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) throws IOException {
+        Semaphore permits = routes.computeIfAbsent(routeKey(uri), key -> new Semaphore(maxPerRoute, true));
+        return new RouteLimitedRequest(requestFactory.createRequest(uri, httpMethod), permits);
+    }
+
+    /**
+     * @return number of exchanges currently in flight for the host of the given URI
+     */
+    public int inFlight(URI uri) {
+        Semaphore permits = routes.get(routeKey(uri));
+        return permits == null ? 0 : maxPerRoute - permits.availablePermits();
+    }
+
+    private static String routeKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private record RouteLimitedRequest(ClientHttpRequest delegate, Semaphore permits) implements ClientHttpRequest {
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection to " + getURI().getHost());
+            }
+            try {
+                return new PermitReleasingResponse(delegate.execute(), permits);
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,644 @@
+package dev.danvega.beehiiv.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of cache records in segment files, with a memory-mapped hash index from key to the
+ * latest record. Used by {@link DiskResponseCache}, which owns the payload format.
+ * <p>
+ * Records are never rewritten: a newer record for a key, or a region invalidation, supersedes older
+ * ones, and space is reclaimed by deleting whole segments, oldest first, once the log outgrows its
+ * maximum size. A {@link #renew renewed} time-to-live is only kept in the index. Each record carries a CRC32C of its contents, so a torn or corrupted record reads as
+ * absent rather than as a wrong response.
+ * <p>
+ * The index is trusted on open only if it was last written for the current end of the log; otherwise,
+ * e.g. after the process was killed mid-append, it is rebuilt by scanning the segments and the torn
+ * tail is cut off. A lock file keeps two processes from appending to the same log.
+ */
+final class SegmentLog implements Closeable {
+
+    private static final int RECORD_MAGIC = 0xBEE1CAC4;
+    private static final int RECORD_HEADER = 12;
+    private static final byte PUT = 0;
+    private static final byte INVALIDATE = 1;
+
+    private static final int INDEX_MAGIC = 0xBEE11DE5;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER = 32;
+    private static final int SLOT = 32;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private static final String INDEX_FILE = "index";
+    private static final String LOCK_FILE = "lock";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxSize;
+    private final long segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    // A lock rather than a monitor: every operation does file I/O, which must not pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeMap<Integer, FileChannel> segments = new TreeMap<>();
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int slots;
+    private int live;
+    private int used;
+    private int activeSegment;
+    private long activeLength;
+    private long evictions;
+
+    private SegmentLog(Path directory, DiskCacheProperties properties, FileChannel lockChannel, FileLock fileLock) {
+        this.directory = directory;
+        this.maxSize = properties.maxSize().toBytes();
+        this.segmentSize = properties.segmentSize().toBytes();
+        this.lockChannel = lockChannel;
+        this.fileLock = fileLock;
+    }
+
+    /**
+     * A record read back from the log.
+     *
+     * @param region region of the key
+     * @param key the cache key
+     * @param expiresAt epoch millisecond the record's time-to-live ends at
+     * @param payload the bytes it was appended with
+     */
+    record Entry(CacheRegion region, String key, long expiresAt, byte[] payload) {
+    }
+
+    /**
+     * Where a record is in the log, with the expiry the index holds for it.
+     */
+    record Location(CacheRegion region, int segment, long offset, long expiresAt) {
+    }
+
+    /**
+     * Opens the log in the directory, creating it if needed.
+     * @throws IOException if the directory cannot be used, or another process has the log open
+     */
+    static SegmentLog open(Path directory, DiskCacheProperties properties) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Disk cache " + directory + " is in use by another process");
+        }
+        SegmentLog log = new SegmentLog(directory, properties, lockChannel, lock);
+        try {
+            log.load(properties.indexSlots());
+            return log;
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the latest record for the key, or null if there is none or it does not read back intact
+     */
+    Entry read(CacheRegion region, String key) throws IOException {
+        lock.lock();
+        try {
+            long hash = hash(region, key);
+            int slot = find(hash);
+            if (slot < 0) {
+                return null;
+            }
+            int segment = index.getInt(slotPosition(slot) + 8);
+            long offset = index.getLong(slotPosition(slot) + 16);
+            Record record = readRecord(segment, offset);
+            if (record == null) {
+                // Corrupted on disk: forget it rather than reading it again
+                delete(slot);
+                writeHeader();
+                return null;
+            }
+            if (record.region() != region || !record.key().equals(key)) {
+                return null;
+            }
+            return new Entry(region, key, index.getLong(slotPosition(slot) + 24), record.payload());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return where the latest records of the keys whose time-to-live ends after the given epoch
+     * millisecond are, most recently written first
+     */
+    List<Location> unexpired(long now) {
+        lock.lock();
+        try {
+            List<Location> locations = new ArrayList<>();
+            for (int i = 0; i < slots; i++) {
+                int position = slotPosition(i);
+                int segment = index.getInt(position + 8);
+                if (segment != EMPTY && segment != DELETED && index.getLong(position + 24) > now) {
+                    locations.add(new Location(CacheRegion.values()[index.getInt(position + 12)], segment,
+                            index.getLong(position + 16), index.getLong(position + 24)));
+                }
+            }
+            locations.sort(Comparator.comparingInt(Location::segment).thenComparingLong(Location::offset).reversed());
+            return locations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the record at the location, or null if it is no longer there or does not read back intact
+     */
+    Entry read(Location location) throws IOException {
+        lock.lock();
+        try {
+            Record record = readRecord(location.segment(), location.offset());
+            return record == null || record.kind() != PUT ? null
+                    : new Entry(record.region(), record.key(), location.expiresAt(), record.payload());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record for the key, superseding any earlier one.
+     * @return false if the record is larger than a segment and was not written
+     */
+    boolean append(CacheRegion region, String key, long expiresAt, byte[] payload) throws IOException {
+        lock.lock();
+        try {
+            long offset = write(encode(PUT, region, key, expiresAt, payload));
+            if (offset < 0) {
+                return false;
+            }
+            put(hash(region, key), region, activeSegment, offset, expiresAt);
+            writeHeader();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Renews the time-to-live of the key's latest record in the index, without appending to the log.
+     * The renewal lasts as long as the index: an index rebuilt after a crash has the record's own
+     * expiry again, and the response is revalidated once more.
+     * @return false if the log has no record for the key
+     */
+    boolean renew(CacheRegion region, String key, long expiresAt) {
+        lock.lock();
+        try {
+            int slot = find(hash(region, key));
+            if (slot < 0) {
+                return false;
+            }
+            index.putLong(slotPosition(slot) + 24, expiresAt);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an invalidation of the region, which supersedes every earlier record of it.
+     */
+    void invalidate(CacheRegion region) throws IOException {
+        lock.lock();
+        try {
+            write(encode(INVALIDATE, region, "", 0, new byte[0]));
+            clear(region);
+            writeHeader();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return keys the index currently points at
+     */
+    int entries() {
+        lock.lock();
+        try {
+            return live;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return bytes of all segment files
+     */
+    long size() {
+        lock.lock();
+        try {
+            long size = 0;
+            for (FileChannel channel : segments.values()) {
+                try {
+                    size += channel.size();
+                } catch (IOException e) {
+                    // Closed under us; counts as empty
+                }
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return records dropped with deleted segments
+     */
+    long evictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (index != null) {
+                writeHeader();
+                index.force();
+            }
+            for (FileChannel channel : segments.values()) {
+                channel.close();
+            }
+            segments.clear();
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        } finally {
+            try {
+                fileLock.release();
+                lockChannel.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void load(int initialSlots) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    int id = Integer.parseInt(name, SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length(), 10);
+                    segments.put(id, openSegment(id));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(1, openSegment(1));
+        }
+        activeSegment = segments.lastKey();
+        activeLength = segments.lastEntry().getValue().size();
+
+        if (!mapIndex()) {
+            rebuild(initialSlots);
+        }
+    }
+
+    /**
+     * Maps the index file if it was written for the current end of the log.
+     */
+    private boolean mapIndex() throws IOException {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file) || Files.size(file) < INDEX_HEADER) {
+            return false;
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        int mappedSlots = mapped.getInt(8);
+        boolean current = mapped.getInt(0) == INDEX_MAGIC
+                && mapped.getInt(4) == INDEX_VERSION
+                && mappedSlots > 0 && Integer.bitCount(mappedSlots) == 1
+                && channel.size() == INDEX_HEADER + (long) mappedSlots * SLOT
+                && mapped.getInt(12) == activeSegment
+                && mapped.getLong(16) == activeLength;
+        if (!current) {
+            channel.close();
+            return false;
+        }
+        indexChannel = channel;
+        index = mapped;
+        slots = mappedSlots;
+        live = mapped.getInt(24);
+        used = mapped.getInt(28);
+        return true;
+    }
+
+    /**
+     * Rebuilds the index from the segments, oldest first, cutting off a torn tail of the last one.
+     */
+    private void rebuild(int initialSlots) throws IOException {
+        createIndex(Math.max(16, Integer.highestOneBit(initialSlots - 1) << 1));
+        for (Map.Entry<Integer, FileChannel> segment : segments.entrySet()) {
+            long offset = 0;
+            long size = segment.getValue().size();
+            while (offset < size) {
+                Record record = readRecord(segment.getKey(), offset);
+                if (record == null) {
+                    break;
+                }
+                if (record.kind() == INVALIDATE) {
+                    clear(record.region());
+                } else {
+                    put(hash(record.region(), record.key()), record.region(), segment.getKey(), offset, record.expiresAt());
+                }
+                offset += record.length();
+            }
+            if (offset < size && segment.getKey() == activeSegment) {
+                segment.getValue().truncate(offset);
+                activeLength = offset;
+            }
+        }
+        writeHeader();
+    }
+
+    private void createIndex(int slotCount) throws IOException {
+        Path file = directory.resolve(INDEX_FILE + ".tmp");
+        Files.deleteIfExists(file);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER + (long) slotCount * SLOT);
+        Files.move(file, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        indexChannel = channel;
+        index = mapped;
+        slots = slotCount;
+        live = 0;
+        used = 0;
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, INDEX_VERSION);
+        index.putInt(8, slots);
+    }
+
+    private void writeHeader() {
+        index.putInt(12, activeSegment);
+        index.putLong(16, activeLength);
+        index.putInt(24, live);
+        index.putInt(28, used);
+    }
+
+    private int find(long hash) {
+        int mask = slots - 1;
+        for (int i = (int) hash & mask, probes = 0; probes < slots; i = (i + 1) & mask, probes++) {
+            int segment = index.getInt(slotPosition(i) + 8);
+            if (segment == EMPTY) {
+                return -1;
+            }
+            if (segment != DELETED && index.getLong(slotPosition(i)) == hash) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void put(long hash, CacheRegion region, int segment, long offset, long expiresAt) throws IOException {
+        int mask = slots - 1;
+        int target = -1;
+        for (int i = (int) hash & mask, probes = 0; probes < slots; i = (i + 1) & mask, probes++) {
+            int slotSegment = index.getInt(slotPosition(i) + 8);
+            if (slotSegment == EMPTY) {
+                if (target < 0) {
+                    target = i;
+                    used++;
+                }
+                live++;
+                break;
+            }
+            if (slotSegment == DELETED) {
+                if (target < 0) {
+                    target = i;
+                }
+            } else if (index.getLong(slotPosition(i)) == hash) {
+                target = i;
+                break;
+            }
+        }
+        int position = slotPosition(target);
+        index.putLong(position, hash);
+        index.putInt(position + 8, segment);
+        index.putInt(position + 12, region.ordinal());
+        index.putLong(position + 16, offset);
+        index.putLong(position + 24, expiresAt);
+        if (used > slots * 3L / 4) {
+            grow();
+        }
+    }
+
+    /**
+     * Moves the live slots into an index twice the size, leaving the deleted ones behind.
+     */
+    private void grow() throws IOException {
+        MappedByteBuffer old = index;
+        int oldSlots = slots;
+        createIndex(oldSlots * 2);
+        for (int i = 0; i < oldSlots; i++) {
+            int position = INDEX_HEADER + i * SLOT;
+            int segment = old.getInt(position + 8);
+            if (segment != EMPTY && segment != DELETED) {
+                put(old.getLong(position), CacheRegion.values()[old.getInt(position + 12)], segment,
+                        old.getLong(position + 16), old.getLong(position + 24));
+            }
+        }
+        writeHeader();
+    }
+
+    private void clear(CacheRegion region) {
+        for (int i = 0; i < slots; i++) {
+            int segment = index.getInt(slotPosition(i) + 8);
+            if (segment != EMPTY && segment != DELETED && index.getInt(slotPosition(i) + 12) == region.ordinal()) {
+                delete(i);
+            }
+        }
+    }
+
+    private void delete(int slot) {
+        index.putInt(slotPosition(slot) + 8, DELETED);
+        live--;
+    }
+
+    private static int slotPosition(int slot) {
+        return INDEX_HEADER + slot * SLOT;
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new one when it is full.
+     * @return the offset the record was written at, or -1 if it is larger than a segment
+     */
+    private long write(ByteBuffer record) throws IOException {
+        if (record.remaining() > segmentSize) {
+            return -1;
+        }
+        if (activeLength > 0 && activeLength + record.remaining() > segmentSize) {
+            roll();
+        }
+        long offset = activeLength;
+        FileChannel channel = segments.get(activeSegment);
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        activeLength = position;
+        return offset;
+    }
+
+    private void roll() throws IOException {
+        activeSegment++;
+        activeLength = 0;
+        segments.put(activeSegment, openSegment(activeSegment));
+        // Make room for the new segment to fill up within the maximum size
+        long size = size();
+        while (size + segmentSize > maxSize && segments.size() > 1) {
+            Map.Entry<Integer, FileChannel> oldest = segments.pollFirstEntry();
+            size -= oldest.getValue().size();
+            oldest.getValue().close();
+            Files.deleteIfExists(segmentFile(oldest.getKey()));
+            for (int i = 0; i < slots; i++) {
+                if (index.getInt(slotPosition(i) + 8) == oldest.getKey()) {
+                    delete(i);
+                    evictions++;
+                }
+            }
+        }
+    }
+
+    private FileChannel openSegment(int id) throws IOException {
+        return FileChannel.open(segmentFile(id), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    private Path segmentFile(int id) {
+        return directory.resolve(SEGMENT_PREFIX + "%010d".formatted(id) + SEGMENT_SUFFIX);
+    }
+
+    private static ByteBuffer encode(byte kind, CacheRegion region, String key, long expiresAt, byte[] payload)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER + 64 + key.length() + payload.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(RECORD_MAGIC);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeByte(kind);
+        out.writeByte(region.ordinal());
+        out.writeLong(expiresAt);
+        out.writeUTF(key);
+        out.write(payload);
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        int length = record.capacity() - RECORD_HEADER;
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), RECORD_HEADER, length);
+        record.putInt(4, length);
+        record.putInt(8, (int) crc.getValue());
+        return record;
+    }
+
+    /**
+     * @return the record at the offset, or null if it is torn, corrupted or its segment is gone
+     */
+    private Record readRecord(int segment, long offset) throws IOException {
+        FileChannel channel = segments.get(segment);
+        if (channel == null) {
+            return null;
+        }
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+            if (!readFully(channel, header, offset) || header.getInt(0) != RECORD_MAGIC) {
+                return null;
+            }
+            int length = header.getInt(4);
+            if (length < 12 || offset + RECORD_HEADER + length > channel.size()) {
+                return null;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            if (!readFully(channel, body, offset + RECORD_HEADER)) {
+                return null;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(body.array());
+            if ((int) crc.getValue() != header.getInt(8)) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+            byte kind = in.readByte();
+            int region = in.readByte();
+            if (region < 0 || region >= CacheRegion.values().length) {
+                return null;
+            }
+            long expiresAt = in.readLong();
+            String key = in.readUTF();
+            byte[] payload = in.readAllBytes();
+            return new Record(kind, CacheRegion.values()[region], key, expiresAt, payload, RECORD_HEADER + length);
+        } catch (EOFException | NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over the region and key; 0 is kept free so a zeroed slot never matches.
+     */
+    static long hash(CacheRegion region, String key) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ region.ordinal()) * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private record Record(byte kind, CacheRegion region, String key, long expiresAt, byte[] payload, int length) {
+    }
+}
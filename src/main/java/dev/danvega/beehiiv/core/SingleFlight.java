@@ -0,0 +1,113 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one.
+ * <p>
+ * The first caller for a key runs the call; callers arriving while it is in flight wait for it and
+ * receive the same result (or the same exception). Nothing is remembered once the call completes.
+ */
+public class SingleFlight {
+
+    static final String COALESCED_METRIC = "beehiiv.client.coalesced";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the call unless an identical one is already in flight, in which case its result is shared.
+     * @param endpoint endpoint template, used to tag the coalesced-calls counter
+     * @param key normalized request key, e.g. the request URI
+     * @param call the upstream call
+     * @return the result of this call or of the in-flight call it was collapsed into
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String endpoint, String key, Supplier<T> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            meterRegistry.counter(COALESCED_METRIC, "endpoint", endpoint).increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #execute}. Blocking and asynchronous callers of the same key
+     * share one flight.
+     * @param call starts the upstream call
+     * @return a future of this call's result or of the in-flight call it was collapsed into
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String endpoint, String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            meterRegistry.counter(COALESCED_METRIC, "endpoint", endpoint).increment();
+            // A dependent future, so one caller cancelling does not cancel the others
+            return existing.thenApply(value -> (T) value);
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, failure) -> {
+            inFlight.remove(key, flight);
+            if (failure == null) {
+                flight.complete(value);
+            } else {
+                flight.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            }
+        });
+    }
+
+    /**
+     * @return total number of calls that were collapsed into an in-flight call
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ApiException("Coalesced Beehiiv call failed", e.getCause());
+        }
+    }
+}
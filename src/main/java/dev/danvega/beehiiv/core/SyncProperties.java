@@ -0,0 +1,41 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Local replicas of publications' posts, kept current by delta syncs.
+ *
+ * @param fullSyncInterval time after which a sync pulls every post again instead of only the newest ones,
+ *                         which picks up edits to older posts and deleted posts; zero makes every sync full
+ * @param incrementalPageSize posts per page while walking back to the watermark; most delta syncs end
+ *                            on the first page
+ * @param expand comma-separated expand options of the pulled posts; their content is passed to the
+ *               listeners of a sync, such as the search index, but not held in the replica
+ */
+@ConfigurationProperties(prefix = "beehiiv.sync")
+public record SyncProperties(
+        @DefaultValue("6h") Duration fullSyncInterval,
+        @DefaultValue("10") int incrementalPageSize,
+        @DefaultValue(ApiConstants.EXPAND_FREE_WEB_CONTENT) String expand) {
+
+    @ConstructorBinding
+    public SyncProperties {
+        if (fullSyncInterval.isNegative()) {
+            throw new IllegalArgumentException("Beehiiv full sync interval must not be negative");
+        }
+        if (incrementalPageSize < ApiConstants.MIN_LIMIT || incrementalPageSize > ApiConstants.MAX_LIMIT) {
+            throw new IllegalArgumentException("Beehiiv incremental sync page size must be between 1 and 100");
+        }
+    }
+
+    /**
+     * @return the default sync settings
+     */
+    public static SyncProperties defaults() {
+        return new SyncProperties(Duration.ofHours(6), 10, ApiConstants.EXPAND_FREE_WEB_CONTENT);
+    }
+}
@@ -0,0 +1,206 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact tabular encoding of list-shaped tool results: a header row of {@code columns} and one value
+ * row per record in {@code rows}, in place of one JSON object per record.
+ * <p>
+ * Nested objects are flattened into dotted columns such as {@code stats.email.opens}. Nulls are left
+ * out: a column only exists if some record has a value for it, and each row ends at its last value.
+ * The rest of a response envelope, such as {@code pagination}, is kept with its nulls removed.
+ * <pre>
+ * {"columns": ["id", "title", "stats.email.opens"],
+ *  "rows": [["post_1", "First", 3], ["post_2", "Second"]],
+ *  "pagination": {"page": 1, "total_results": 2}}
+ * </pre>
+ * The result stays JSON, so MCP clients read it without a special parser.
+ */
+public final class TabularEncoder {
+
+    static final String COLUMNS = "columns";
+    static final String ROWS = "rows";
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
+    private static final String DATA = "data";
+
+    private TabularEncoder() {
+    }
+
+    /**
+     * Encodes a JSON result that is a list of records, or an envelope with the records under {@code data}.
+     * @return the tabular encoding, or the result unchanged if it is not list-shaped
+     */
+    public static String encode(String json) {
+        JsonNode root;
+        try {
+            root = OBJECT_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return json;
+        }
+        JsonNode records = root != null && root.isObject() ? root.get(DATA) : root;
+        if (!isRecordList(records)) {
+            return json;
+        }
+        StringWriter writer = new StringWriter(json.length() / 2);
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            generator.writeStartObject();
+            if (root.isArray()) {
+                writeTable((ArrayNode) records, generator);
+            } else {
+                for (Iterator<Map.Entry<String, JsonNode>> fields = root.fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (DATA.equals(field.getKey())) {
+                        writeTable((ArrayNode) records, generator);
+                    } else if (!field.getValue().isNull()) {
+                        generator.writeFieldName(field.getKey());
+                        writeWithoutNulls(field.getValue(), generator);
+                    }
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode tool result", e);
+        }
+        return writer.toString();
+    }
+
+    private static boolean isRecordList(JsonNode records) {
+        if (records == null || !records.isArray()) {
+            return false;
+        }
+        for (JsonNode record : records) {
+            if (!record.isObject()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeTable(ArrayNode records, JsonGenerator generator) throws IOException {
+        // One pass to find the columns, in first-seen order, and to flatten each record into its cells
+        Column table = new Column(null);
+        List<String> columns = new ArrayList<>();
+        List<JsonNode[]> rows = new ArrayList<>(records.size());
+        JsonNode[] cells = new JsonNode[16];
+        for (JsonNode record : records) {
+            Arrays.fill(cells, null);
+            cells = flatten(record, table, columns, cells);
+            rows.add(Arrays.copyOf(cells, length(cells)));
+        }
+
+        generator.writeArrayFieldStart(COLUMNS);
+        for (String column : columns) {
+            generator.writeString(column);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart(ROWS);
+        for (JsonNode[] row : rows) {
+            generator.writeStartArray();
+            for (JsonNode cell : row) {
+                if (cell == null) {
+                    generator.writeNull();
+                } else {
+                    writeWithoutNulls(cell, generator);
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+    }
+
+    private static JsonNode[] flatten(JsonNode object, Column parent, List<String> columns, JsonNode[] cells) {
+        for (Iterator<Map.Entry<String, JsonNode>> fields = object.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                continue;
+            }
+            Column column = parent.child(field.getKey());
+            if (value.isObject() && !value.isEmpty()) {
+                cells = flatten(value, column, columns, cells);
+                continue;
+            }
+            if (column.index < 0) {
+                column.index = columns.size();
+                columns.add(column.name);
+            }
+            if (column.index >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(cells.length * 2, column.index + 1));
+            }
+            cells[column.index] = value;
+        }
+        return cells;
+    }
+
+    // Rows end at their last value
+    private static int length(JsonNode[] cells) {
+        int length = cells.length;
+        while (length > 0 && cells[length - 1] == null) {
+            length--;
+        }
+        return length;
+    }
+
+    private static void writeWithoutNulls(JsonNode value, JsonGenerator generator) throws IOException {
+        if (value.isObject()) {
+            generator.writeStartObject();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = value.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    generator.writeFieldName(field.getKey());
+                    writeWithoutNulls(field.getValue(), generator);
+                }
+            }
+            generator.writeEndObject();
+        } else if (value.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode element : value) {
+                writeWithoutNulls(element, generator);
+            }
+            generator.writeEndArray();
+        } else if (value.isNull()) {
+            generator.writeNull();
+        } else {
+            // Value nodes other than null write themselves without a serializer provider
+            value.serialize(generator, null);
+        }
+    }
+
+    /**
+     * A field path of the records; the names of nested fields are dotted once, not per record.
+     */
+    private static final class Column {
+
+        private final String name;
+        private int index = -1;
+        private Map<String, Column> children;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        Column child(String field) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(field, key -> new Column(name == null ? key : name + "." + key));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Gives a list tool an optional {@value #FORMAT_ARGUMENT} argument: {@code json}, the default, returns the
+ * tool's result as it is, and {@code table} returns it in the {@link TabularEncoder compact tabular encoding}.
+ */
+public class TabularToolCallback implements ToolCallback {
+
+    /**
+     * Tools whose results are lists of records.
+     */
+    public static final Set<String> LIST_TOOLS = Set.of(
+            "beehiiv_get_posts",
+            "beehiiv_get_posts_by_status",
+            "beehiiv_get_posts_by_platform",
+            "beehiiv_get_posts_by_tags",
+            "beehiiv_search_posts",
+            "beehiiv_get_publications",
+            "beehiiv_search_publications",
+            "beehiiv_list_accessible_publications",
+            "beehiiv_list_custom_fields");
+
+    static final String FORMAT_ARGUMENT = "format";
+    static final String JSON = "json";
+    static final String TABLE = "table";
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
+    private static final String FORMAT_DESCRIPTION = "Result encoding: json (default), or table for a compact "
+            + "header row of columns plus one value row per record, with nested fields as dotted columns and nulls left out";
+
+    private final ToolCallback delegate;
+    private final ToolDefinition toolDefinition;
+
+    public TabularToolCallback(ToolCallback delegate) {
+        this.delegate = delegate;
+        ToolDefinition definition = delegate.getToolDefinition();
+        this.toolDefinition = ToolDefinition.builder()
+                .name(definition.name())
+                .description(definition.description())
+                .inputSchema(withFormatArgument(definition.inputSchema()))
+                .build();
+    }
+
+    private static String withFormatArgument(String inputSchema) {
+        try {
+            ObjectNode schema = (ObjectNode) OBJECT_MAPPER.readTree(inputSchema);
+            ObjectNode properties = schema.has("properties") ? (ObjectNode) schema.get("properties") : schema.putObject("properties");
+            properties.putObject(FORMAT_ARGUMENT)
+                    .put("type", "string")
+                    .put("description", FORMAT_DESCRIPTION);
+            return OBJECT_MAPPER.writeValueAsString(schema);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not read the input schema of " + inputSchema, e);
+        }
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return toolDefinition;
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        ObjectNode arguments = arguments(toolInput);
+        JsonNode format = arguments == null ? null : arguments.remove(FORMAT_ARGUMENT);
+        if (format == null || format.isNull()) {
+            return invoke(toolInput, toolContext);
+        }
+        String value = format.asText().trim().toLowerCase();
+        if (!value.isEmpty() && !JSON.equals(value) && !TABLE.equals(value)) {
+            throw new IllegalArgumentException("Invalid format '" + format.asText() + "': use json or table");
+        }
+        String result = invoke(arguments.toString(), toolContext);
+        return TABLE.equals(value) ? TabularEncoder.encode(result) : result;
+    }
+
+    private String invoke(String toolInput, ToolContext toolContext) {
+        return toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+    }
+
+    private static ObjectNode arguments(String toolInput) {
+        try {
+            return toolInput != null && OBJECT_MAPPER.readTree(toolInput) instanceof ObjectNode arguments ? arguments : null;
+        } catch (JsonProcessingException e) {
+            // Left to the tool to reject
+            return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package dev.danvega.beehiiv.core;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shared by every Beehiiv call.
+ * <p>
+ * Callers queue on a fair lock, so permits are handed out in arrival order and a burst of tool
+ * calls turns into added latency instead of errors. The bucket can be paused (after a 429 with
+ * {@code Retry-After}) and clamped to what the server reports in its {@code X-RateLimit-*} headers.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final int capacity;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    // Only the caller at the head of the queue holds this lock, the rest wait in FIFO order
+    private final ReentrantLock queue = new ReentrantLock(true);
+
+    // Bucket state, guarded by this
+    private double tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties) {
+        this(properties.permitsPerSecond(), properties.burst(), properties.maxWait(), System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int capacity, Duration maxWait, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.blockedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Blocks until a permit is available, queueing fairly behind earlier callers.
+     * @throws ApiException if no permit becomes available within the configured maximum wait
+     */
+    public void acquire() {
+        long deadline = nanoClock.getAsLong() + maxWaitNanos;
+        try {
+            if (!queue.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new ApiException("Timed out waiting for a Beehiiv rate limit permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for a Beehiiv rate limit permit", e);
+        }
+
+        try {
+            long waitNanos;
+            while ((waitNanos = tryTake()) > 0) {
+                if (nanoClock.getAsLong() + waitNanos > deadline) {
+                    throw new ApiException("Timed out waiting for a Beehiiv rate limit permit");
+                }
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for a Beehiiv rate limit permit", e);
+        } finally {
+            queue.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit without blocking the caller: while the bucket is empty, the attempt is retried
+     * on a timer when the next token is due.
+     * <p>
+     * Asynchronous callers do not queue on the fair lock, they race for tokens as they refill.
+     * @return a future completed once a permit was taken, or failed with {@link ApiException} if none
+     *         became available within the configured maximum wait
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        acquireAsync(permit, nanoClock.getAsLong() + maxWaitNanos);
+        return permit;
+    }
+
+    private void acquireAsync(CompletableFuture<Void> permit, long deadline) {
+        long waitNanos = tryTake();
+        if (waitNanos == 0) {
+            permit.complete(null);
+        } else if (nanoClock.getAsLong() + waitNanos > deadline) {
+            permit.completeExceptionally(new ApiException("Timed out waiting for a Beehiiv rate limit permit"));
+        } else {
+            CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> acquireAsync(permit, deadline));
+        }
+    }
+
+    /**
+     * Stops handing out permits for the given duration, e.g. after a 429 with {@code Retry-After}.
+     */
+    public synchronized void pause(Duration duration) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        tokens = 0;
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + duration.toNanos());
+    }
+
+    /**
+     * Adapts the bucket to the server's view of the remaining quota.
+     * @param remaining requests left in the current server window
+     * @param resetAfter time until the server window resets, or null if unknown
+     */
+    public synchronized void update(long remaining, Duration resetAfter) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        tokens = Math.min(tokens, Math.max(0, remaining));
+        if (remaining <= 0 && resetAfter != null) {
+            blockedUntilNanos = Math.max(blockedUntilNanos, now + resetAfter.toNanos());
+        }
+    }
+
+    /**
+     * @return number of whole permits currently available
+     */
+    public synchronized int availablePermits() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        return now < blockedUntilNanos ? 0 : (int) tokens;
+    }
+
+    /**
+     * Takes a permit if one is available.
+     * @return 0 if a permit was taken, otherwise the nanoseconds to wait before trying again
+     */
+    private synchronized long tryTake() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        if (now < blockedUntilNanos) {
+            return blockedUntilNanos - now;
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerNano));
+    }
+
+    private void refill(long now) {
+        long from = Math.max(lastRefillNanos, blockedUntilNanos);
+        if (now > from) {
+            tokens = Math.min(capacity, tokens + (now - from) * permitsPerNano);
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, now);
+    }
+}
@@ -0,0 +1,245 @@
+package dev.danvega.beehiiv.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Beehiiv endpoint template such as {@link ApiConstants#POSTS_ENDPOINT}, compiled once into its
+ * literal and variable parts and expanded into request URIs.
+ * <p>
+ * Path variables and query values are percent-encoded (RFC 3986), so emails, tags or ids with
+ * reserved characters reach the API intact; the RestClient and {@link AsyncHttpTransport} pass the
+ * result through without encoding it again. Query parameters are emitted sorted by name, then value,
+ * so equivalent requests produce the same URI and share a cache entry and single-flight key.
+ * <p>
+ * Expansion writes into a builder reused by the calling thread, so building a URI allocates little
+ * beyond the resulting string. A thread must build one URI at a time: {@link #expand} resets the
+ * builder, and {@link UriBuilder#build()} must be called before the next expansion.
+ * <pre>
+ * String uri = POSTS.expand(publicationId)
+ *         .query(ApiConstants.PARAM_LIMIT, limit)
+ *         .queryList(ApiConstants.PARAM_CONTENT_TAGS, contentTags)
+ *         .build();
+ * </pre>
+ */
+public final class UriTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // Characters left as they are: unreserved everywhere, plus '@' and ':' in path segments
+    private static final boolean[] UNRESERVED = new boolean[128];
+    private static final boolean[] PATH_SAFE = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c : "-._~".toCharArray()) {
+            UNRESERVED[c] = true;
+        }
+        System.arraycopy(UNRESERVED, 0, PATH_SAFE, 0, UNRESERVED.length);
+        PATH_SAFE['@'] = true;
+        PATH_SAFE[':'] = true;
+    }
+
+    // Builders that grew past this are dropped instead of being kept by the thread
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private static final ThreadLocal<UriBuilder> BUILDERS = ThreadLocal.withInitial(UriBuilder::new);
+
+    private final String template;
+    private final String[] literals;
+    private final String[] variables;
+
+    private UriTemplate(String template, String[] literals, String[] variables) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Compiles a template with {@code {name}} path variables.
+     * @throws IllegalArgumentException if a variable is not closed
+     */
+    public static UriTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in URI template: " + template);
+            }
+            literals.add(template.substring(start, open));
+            variables.add(template.substring(open + 1, close));
+            start = close + 1;
+        }
+        literals.add(template.substring(start));
+        return new UriTemplate(template, literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * @return the template this was compiled from, e.g. to tag metrics
+     */
+    public String template() {
+        return template;
+    }
+
+    /**
+     * Starts a URI on the calling thread's builder.
+     * @param values path variable values, in template order
+     * @throws IllegalArgumentException if the number of values does not match, or a value is null
+     */
+    public UriBuilder expand(String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException("URI template " + template + " expects " + variables.length
+                    + " values but got " + values.length);
+        }
+        UriBuilder builder = BUILDERS.get();
+        if (builder.uri.capacity() > MAX_RETAINED_CAPACITY) {
+            builder = new UriBuilder();
+            BUILDERS.set(builder);
+        }
+        builder.reset();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("URI template variable " + variables[i] + " must not be null");
+            }
+            builder.uri.append(literals[i]);
+            encode(values[i], PATH_SAFE, builder.uri);
+        }
+        builder.uri.append(literals[values.length]);
+        return builder;
+    }
+
+    /**
+     * Appends the value percent-encoded, leaving characters marked safe as they are.
+     */
+    static void encode(String value, boolean[] safe, StringBuilder out) {
+        int length = value.length();
+        int i = 0;
+        // Common case: nothing to encode, no allocation
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c >= 128 || !safe[c]) {
+                break;
+            }
+            i++;
+        }
+        out.append(value, 0, i);
+        if (i == length) {
+            return;
+        }
+        byte[] bytes = value.substring(i).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            int unsigned = b & 0xFF;
+            if (unsigned < 128 && safe[unsigned]) {
+                out.append((char) unsigned);
+            } else {
+                out.append('%').append(HEX[unsigned >> 4]).append(HEX[unsigned & 0xF]);
+            }
+        }
+    }
+
+    /**
+     * Collects the query of one URI. Parameters are added in any order; {@link #build()} sorts them.
+     */
+    public static final class UriBuilder {
+
+        private final StringBuilder uri = new StringBuilder(128);
+        private String[] names = new String[8];
+        private String[] values = new String[8];
+        private int size;
+
+        private UriBuilder() {
+        }
+
+        private void reset() {
+            uri.setLength(0);
+            for (int i = 0; i < size; i++) {
+                names[i] = null;
+                values[i] = null;
+            }
+            size = 0;
+        }
+
+        /**
+         * Adds a query parameter, unless the value is null. Strings are trimmed; blank ones are skipped.
+         */
+        public UriBuilder query(String name, Object value) {
+            if (value == null) {
+                return this;
+            }
+            String text = value.toString().trim();
+            if (!text.isEmpty()) {
+                add(name, text);
+            }
+            return this;
+        }
+
+        /**
+         * Adds one query parameter per entry of a comma-separated list, skipping blank entries.
+         */
+        public UriBuilder queryList(String name, String commaSeparated) {
+            if (commaSeparated == null || commaSeparated.isBlank()) {
+                return this;
+            }
+            int start = 0;
+            while (start <= commaSeparated.length()) {
+                int comma = commaSeparated.indexOf(',', start);
+                int end = comma < 0 ? commaSeparated.length() : comma;
+                String entry = commaSeparated.substring(start, end).trim();
+                if (!entry.isEmpty()) {
+                    add(name, entry);
+                }
+                start = end + 1;
+            }
+            return this;
+        }
+
+        private void add(String name, String value) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            // Insertion sort by name, then value: queries have a handful of parameters
+            int i = size++;
+            while (i > 0 && compare(names[i - 1], values[i - 1], name, value) > 0) {
+                names[i] = names[i - 1];
+                values[i] = values[i - 1];
+                i--;
+            }
+            names[i] = name;
+            values[i] = value;
+        }
+
+        private static int compare(String name, String value, String otherName, String otherValue) {
+            int byName = name.compareTo(otherName);
+            return byName != 0 ? byName : value.compareTo(otherValue);
+        }
+
+        /**
+         * @return the encoded URI, relative to the Beehiiv base URL
+         */
+        public String build() {
+            for (int i = 0; i < size; i++) {
+                uri.append(i == 0 ? '?' : '&');
+                encode(names[i], UNRESERVED, uri);
+                uri.append('=');
+                encode(values[i], UNRESERVED, uri);
+            }
+            String result = uri.toString();
+            reset();
+            return result;
+        }
+    }
+}
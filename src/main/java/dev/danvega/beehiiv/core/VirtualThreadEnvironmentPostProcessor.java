@@ -0,0 +1,38 @@
+package dev.danvega.beehiiv.core;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Moves MCP tool invocations onto virtual threads when {@code beehiiv.execution.virtual-threads} is set.
+ * <p>
+ * The MCP server runs every tool call on Reactor's bounded elastic scheduler. Reactor reads whether
+ * that scheduler uses virtual threads, and how many tasks it runs at once, from system properties
+ * when its {@code Schedulers} class initializes, so they are set here, before the context starts.
+ * Explicit JVM flags win.
+ */
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String VIRTUAL_THREADS_PROPERTY = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+    static final String BOUNDED_ELASTIC_SIZE_PROPERTY = "reactor.schedulers.defaultBoundedElasticSize";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        ExecutionProperties execution = Binder.get(environment)
+                .bind("beehiiv.execution", ExecutionProperties.class)
+                .orElseGet(ExecutionProperties::defaults);
+        if (!execution.virtualThreads()) {
+            return;
+        }
+        setIfAbsent(VIRTUAL_THREADS_PROPERTY, "true");
+        setIfAbsent(BOUNDED_ELASTIC_SIZE_PROPERTY, String.valueOf(execution.maxConcurrentToolCalls()));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
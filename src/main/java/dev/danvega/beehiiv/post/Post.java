@@ -32,10 +32,10 @@ public record Post(
     String status,
     
     @JsonProperty("free_unlock")
-    boolean freeUnlock,
+    Boolean freeUnlock,
     
     @JsonProperty("split_tested")
-    boolean splitTested,
+    Boolean splitTested,
     
     List<String> authors,
     
@@ -62,7 +62,7 @@ public record Post(
     List<String> contentTags,
     
     @JsonProperty("hidden_from_feed")
-    boolean hiddenFromFeed,
+    Boolean hiddenFromFeed,
     
     @JsonProperty("meta_default_description")
     String metaDefaultDescription,
@@ -131,4 +131,16 @@ public record Post(
     public Post {
         // No validation needed for now, but this is where we would add it if needed
     }
+
+    /**
+     * @return this post without its email, web and RSS content, e.g. to hold many posts in memory
+     */
+    public Post withoutContent() {
+        return new Post(id, title, subtitle, slug, created, createdAt, publishDate, displayedDate, publishedAt,
+                updatedAt, status, freeUnlock, splitTested, authors, subjectLine, previewText, thumbnailUrl, webUrl,
+                audience, platform, audienceTypes, contentTags, hiddenFromFeed, metaDefaultDescription,
+                metaDefaultTitle, null, stats, clicks, null, null, contentSummary, null, null, null, null,
+                scheduledAt, emailSentAt, webPublishedAt, emailDeliveredCount, emailOpenCount, emailClickCount,
+                webViewCount, totalClickCount, postTemplateId, publicationId);
+    }
 }
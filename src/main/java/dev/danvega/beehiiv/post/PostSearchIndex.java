@@ -0,0 +1,419 @@
+package dev.danvega.beehiiv.post;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the text of posts, ranked with BM25.
+ * <p>
+ * A post's title, subtitle, preview text, content tags and the text of its free web content are
+ * indexed as one document; a term in the title counts three times, and in the subtitle or a tag twice,
+ * so posts about a subject outrank posts that mention it. Terms are lower-cased, stripped of accents
+ * and split on anything that is not a letter or digit; a short list of English stop words is dropped.
+ * <p>
+ * Postings are sorted arrays of document numbers with weighted term frequencies and their BM25 impact,
+ * the term frequency component of the score, so a query only multiplies impacts by the inverse document
+ * frequency of its terms. Impacts are computed for the average document length, and computed again
+ * when the average moves by more than 5%, so scores stay within a few percent of exact BM25 while
+ * adding a post costs time in proportion to its own terms.
+ * <p>
+ * Replacing or removing a post removes its document from the postings of the terms it had, so the index
+ * follows a replica post by post. Document numbers of removed posts are reclaimed when the arrays would
+ * otherwise grow. A query adds up scores in a per-thread array and keeps the best in a heap of the
+ * requested size, so it costs time in proportion to the postings it reads.
+ * <p>
+ * Thread-safe: queries run concurrently, changes are exclusive.
+ */
+final class PostSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUBTITLE_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+    private static final float IMPACT_TOLERANCE = 0.05f;
+
+    private static final Pattern SCRIPTS = Pattern.compile("(?is)<(script|style)\\b.*?</\\1\\s*>");
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "has", "in", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "was", "were",
+            "will", "with");
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<String, Integer> documents = new HashMap<>();
+    private Post[] posts = new Post[64];
+    private int[] lengths = new int[64];
+    private int[][] documentTerms = new int[64][];
+    private int nextDocument;
+    private int liveDocuments;
+    private long totalLength;
+    private float impactAverageLength;
+
+    /**
+     * A post found by a query, with its BM25 score
+     */
+    record Hit(Post post, double score) {
+    }
+
+    /**
+     * Adds the post, or replaces the post with the same ID. The index keeps the post
+     * {@link Post#withoutContent() without content}.
+     */
+    void index(Post post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, post.title(), TITLE_WEIGHT)
+                + addTerms(frequencies, post.subtitle(), SUBTITLE_WEIGHT)
+                + addTerms(frequencies, post.previewText(), TEXT_WEIGHT)
+                + addTerms(frequencies, webText(post), TEXT_WEIGHT);
+        if (post.contentTags() != null) {
+            for (String tag : post.contentTags()) {
+                length += addTerms(frequencies, tag, TAG_WEIGHT);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(post.id());
+            if (nextDocument == posts.length && nextDocument > 2 * liveDocuments) {
+                compact();
+            }
+            int document = nextDocument++;
+            ensureCapacity(document + 1);
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(frequency.getKey(), term -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).append(document, frequency.getValue(), impact(frequency.getValue(), length));
+                terms[i++] = termId;
+            }
+            posts[document] = post.withoutContent();
+            lengths[document] = length;
+            documentTerms[document] = terms;
+            documents.put(post.id(), document);
+            liveDocuments++;
+            totalLength += length;
+            float averageLength = (float) totalLength / liveDocuments;
+            if (Math.abs(averageLength - impactAverageLength) > IMPACT_TOLERANCE * impactAverageLength) {
+                impactAverageLength = averageLength;
+                for (Postings termPostings : postings) {
+                    for (int p = 0; p < termPostings.size; p++) {
+                        termPostings.impacts[p] = impact(termPostings.frequencies[p], lengths[termPostings.documents[p]]);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the post with the ID, if the index has it
+     */
+    void remove(String postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of posts indexed
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the posts with any of the terms of the query, best match first
+     * @param limit maximum number of hits
+     */
+    List<Hit> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveDocuments == 0) {
+                return List.of();
+            }
+            Scratch scratch = SCRATCH.get().ensureCapacity(nextDocument);
+            float[] scores = scratch.scores;
+            int[] matched = scratch.matched;
+            int matches = 0;
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+                Postings termPostings = postings.get(termId);
+                float idf = (float) Math.log(1 + (liveDocuments - termPostings.size + 0.5) / (termPostings.size + 0.5));
+                int[] documents = termPostings.documents;
+                float[] impacts = termPostings.impacts;
+                for (int i = 0; i < termPostings.size; i++) {
+                    int document = documents[i];
+                    if (scores[document] == 0) {
+                        matched[matches++] = document;
+                    }
+                    scores[document] += idf * impacts[i];
+                }
+            }
+            // Min-heap of the best documents so far; most documents score below its root and are skipped
+            int[] best = new int[Math.min(limit, matches)];
+            int size = 0;
+            for (int i = 0; i < matches; i++) {
+                int document = matched[i];
+                if (size < best.length) {
+                    best[size] = document;
+                    siftUp(best, size++, scores);
+                } else if (scores[document] > scores[best[0]]) {
+                    best[0] = document;
+                    siftDown(best, size, scores);
+                }
+            }
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                int document = best[0];
+                hits[--size] = new Hit(posts[document], scores[document]);
+                best[0] = best[size];
+                siftDown(best, size, scores);
+            }
+            for (int i = 0; i < matches; i++) {
+                scores[matched[i]] = 0;
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the BM25 term frequency component of a term in a document, for the average document length
+     * the impacts are computed for
+     */
+    private float impact(int frequency, int length) {
+        float averageLength = impactAverageLength > 0 ? impactAverageLength : Math.max(length, 1);
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int document = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[document]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = document;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int document = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[document] <= scores[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = document;
+    }
+
+    private void removeDocument(String postId) {
+        Integer document = documents.remove(postId);
+        if (document == null) {
+            return;
+        }
+        for (int termId : documentTerms[document]) {
+            postings.get(termId).remove(document);
+        }
+        liveDocuments--;
+        totalLength -= lengths[document];
+        posts[document] = null;
+        documentTerms[document] = null;
+    }
+
+    /**
+     * Renumbers the documents without the gaps removed posts left, keeping their order, so the arrays
+     * a query allocates stay in proportion to the posts indexed
+     */
+    private void compact() {
+        int[] renumbered = new int[nextDocument];
+        int live = 0;
+        for (int document = 0; document < nextDocument; document++) {
+            if (posts[document] != null) {
+                renumbered[document] = live;
+                posts[live] = posts[document];
+                lengths[live] = lengths[document];
+                documentTerms[live] = documentTerms[document];
+                documents.put(posts[live].id(), live);
+                live++;
+            }
+        }
+        Arrays.fill(posts, live, nextDocument, null);
+        Arrays.fill(documentTerms, live, nextDocument, null);
+        for (Postings termPostings : postings) {
+            for (int i = 0; i < termPostings.size; i++) {
+                termPostings.documents[i] = renumbered[termPostings.documents[i]];
+            }
+        }
+        nextDocument = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > posts.length) {
+            int grown = Math.max(capacity, posts.length * 2);
+            posts = Arrays.copyOf(posts, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            documentTerms = Arrays.copyOf(documentTerms, grown);
+        }
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> terms = tokenize(text);
+        for (String term : terms) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * @return the free web content of the post, or else its free email content, as plain text
+     */
+    private static String webText(Post post) {
+        String html = post.freeWebContent();
+        if (html == null && post.content() != null && post.content().get("free") != null) {
+            Map<String, String> free = post.content().get("free");
+            html = free.get("web") != null ? free.get("web") : free.get("email");
+        }
+        return html == null ? null : stripHtml(html);
+    }
+
+    /**
+     * Drops scripts, styles and tags, and decodes the common character references
+     */
+    static String stripHtml(String html) {
+        String text = TAGS.matcher(SCRIPTS.matcher(html).replaceAll(" ")).replaceAll(" ");
+        return text.indexOf('&') < 0 ? text : text
+                .replace("&nbsp;", " ")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&apos;", "'")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    /**
+     * Splits text into lower-case terms without accents, dropping stop words
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                String word = term.toString();
+                if (!STOP_WORDS.contains(word)) {
+                    terms.add(word);
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Documents of a term in ascending order, with the weighted frequency of the term in each
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        int[] frequencies = new int[4];
+        float[] impacts = new float[4];
+        int size;
+
+        void append(int document, int frequency, float impact) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                impacts = Arrays.copyOf(impacts, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            impacts[size] = impact;
+            size++;
+        }
+
+        void remove(int document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            if (index >= 0) {
+                System.arraycopy(documents, index + 1, documents, index, size - index - 1);
+                System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+                System.arraycopy(impacts, index + 1, impacts, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Score accumulators of a thread's queries, all zero between queries
+     */
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] matched = new int[0];
+
+        Scratch ensureCapacity(int documents) {
+            if (scores.length < documents) {
+                scores = new float[Math.max(documents, scores.length * 2)];
+                matched = new int[scores.length];
+            }
+            return this;
+        }
+    }
+}
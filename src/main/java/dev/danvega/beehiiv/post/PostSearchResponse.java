@@ -0,0 +1,37 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Posts matching a full-text search, best match first.
+ *
+ * @param query the query as given
+ * @param data the matching posts
+ * @param indexedPosts posts of the publication the index holds
+ * @param syncedAt time the index was last brought up to date with the API
+ */
+public record PostSearchResponse(
+        String query,
+        List<Hit> data,
+        @JsonProperty("indexed_posts") int indexedPosts,
+        @JsonProperty("synced_at") Instant syncedAt) {
+
+    /**
+     * A matching post; fetch it with {@code beehiiv_get_post} for its content and stats.
+     *
+     * @param score BM25 relevance of the post to the query
+     */
+    public record Hit(
+            String id,
+            String title,
+            String subtitle,
+            String status,
+            @JsonProperty("publish_date") Long publishDate,
+            @JsonProperty("web_url") String webUrl,
+            @JsonProperty("content_tags") List<String> contentTags,
+            double score) {
+    }
+}
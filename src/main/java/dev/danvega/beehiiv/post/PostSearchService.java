@@ -0,0 +1,92 @@
+package dev.danvega.beehiiv.post;
+
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.CacheRegion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Full-text search over the posts of a publication, answered from a {@link PostSearchIndex} that follows
+ * the {@link PostSyncService replica}: every post a sync pulls as new or changed is indexed with its
+ * content as it streams in, and posts a full sync finds removed are dropped.
+ * <p>
+ * A search first runs a delta sync when the publication was last synced longer ago than the post
+ * cache's time-to-live, so results are as fresh as post listings; the first search of a publication
+ * waits for its full sync.
+ */
+@Service
+public class PostSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+
+    private final PostSyncService postSyncService;
+    private final Duration refreshInterval;
+    private final Indexes indexes = new Indexes();
+
+    public PostSearchService(PostSyncService postSyncService, CacheProperties cacheProperties) {
+        this.postSyncService = postSyncService;
+        this.refreshInterval = cacheProperties.ttl(CacheRegion.POSTS);
+        postSyncService.addListener(indexes);
+    }
+
+    @Tool(name = "beehiiv_search_posts", description = "Search posts by text in their title, subtitle, preview text, tags and web content. " +
+            "Returns the best matching posts first, ranked by relevance.")
+    public PostSearchResponse searchPosts(
+            @ToolParam(description = "Words to search for; posts with more of the words, and with them in the title, rank higher") String query,
+            @ToolParam(description = "Number of posts to return (1-100, default 10)", required = false) Integer limit,
+            @ToolParam(description = "Publication ID to search (optional, uses default if not provided)", required = false) String publicationId) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_NULL_BLANK_SEARCH_TERM);
+        }
+        if (limit != null && (limit < ApiConstants.MIN_LIMIT || limit > ApiConstants.MAX_LIMIT)) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_LIMIT);
+        }
+        String key = postSyncService.replicaKey(publicationId);
+        PostSyncResult.Watermark watermark = postSyncService.watermark(key);
+        if (watermark == null || !Instant.now().isBefore(watermark.syncedAt().plus(refreshInterval))) {
+            watermark = postSyncService.sync(key, false).watermark();
+        }
+
+        PostSearchIndex index = indexes.index(key);
+        long start = System.nanoTime();
+        var hits = index.search(query, limit != null ? limit : ApiConstants.DEFAULT_LIMIT).stream()
+                .map(hit -> new PostSearchResponse.Hit(hit.post().id(), hit.post().title(), hit.post().subtitle(),
+                        hit.post().status(), hit.post().publishDate(), hit.post().webUrl(),
+                        hit.post().contentTags(), hit.score()))
+                .toList();
+        logger.debug("Searched {} posts of {} for '{}' in {} µs: {} hits", index.size(), key, query,
+                (System.nanoTime() - start) / 1_000, hits.size());
+        return new PostSearchResponse(query, hits, index.size(), watermark.syncedAt());
+    }
+
+    /**
+     * The search index of each publication, kept up to date by the sync service
+     */
+    private static final class Indexes implements PostSyncService.Listener {
+
+        private final ConcurrentMap<String, PostSearchIndex> indexes = new ConcurrentHashMap<>();
+
+        @Override
+        public void postChanged(String publicationId, Post post) {
+            index(publicationId).index(post);
+        }
+
+        @Override
+        public void postRemoved(String publicationId, String postId) {
+            index(publicationId).remove(postId);
+        }
+
+        PostSearchIndex index(String publicationId) {
+            return indexes.computeIfAbsent(publicationId, id -> new PostSearchIndex());
+        }
+    }
+}
@@ -1,38 +1,70 @@
 package dev.danvega.beehiiv.post;
 
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.ApiClient;
 import dev.danvega.beehiiv.core.ApiException;
+import dev.danvega.beehiiv.core.CacheRegion;
+import dev.danvega.beehiiv.core.FieldProjection;
 import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.PrefetchingPageIterator;
+import dev.danvega.beehiiv.core.Projected;
+import dev.danvega.beehiiv.core.ProjectedResultConverter;
+import dev.danvega.beehiiv.core.UriTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public final class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
-    private final RestClient restClient;
+    private static final UriTemplate POSTS_URI = UriTemplate.compile(ApiConstants.POSTS_ENDPOINT);
+    private static final UriTemplate SINGLE_POST_URI = UriTemplate.compile(ApiConstants.SINGLE_POST_ENDPOINT);
+    private static final String DEFAULT_EXPAND = String.join(",", ApiConstants.DEFAULT_POST_EXPAND);
+    private static final List<String> EXPAND_OPTIONS = List.of(
+            ApiConstants.EXPAND_FREE_EMAIL_CONTENT, ApiConstants.EXPAND_PREMIUM_EMAIL_CONTENT,
+            ApiConstants.EXPAND_FREE_WEB_CONTENT, ApiConstants.EXPAND_PREMIUM_WEB_CONTENT,
+            ApiConstants.EXPAND_FREE_RSS_CONTENT, ApiConstants.EXPAND_STATS);
+    private final ApiClient apiClient;
     private final String defaultPublicationId;
     private final BeehiivProperties beehiivProperties;
 
-    public PostService(RestClient restClient, BeehiivProperties beehiivProperties) {
-        this.restClient = restClient;
+    public PostService(ApiClient apiClient, BeehiivProperties beehiivProperties) {
+        this.apiClient = apiClient;
         this.defaultPublicationId = beehiivProperties.defaultPublicationId();
         this.beehiivProperties = beehiivProperties;
         logger.info("Initializing PostService with default publication ID: {}", 
                 defaultPublicationId != null ? defaultPublicationId : "none");
     }
 
-    @Tool(name = "beehiiv_get_posts", description = "Get posts from Beehiiv newsletter with comprehensive filtering options.")
-    public PostsResponse getAllPosts(
+    /**
+     * Gets a page of posts with every field.
+     */
+    public PostsResponse getAllPosts(Integer limit, Integer page, String orderBy, String sortOrder,
+                                     String audience, String platform, String status,
+                                     String contentTags, String hiddenFromFeed, String publicationId) {
+        return getAllPosts(limit, page, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed,
+                publicationId, null).value();
+    }
+
+    @Tool(name = "beehiiv_get_posts", description = "Get posts from Beehiiv newsletter with comprehensive filtering options.",
+            resultConverter = ProjectedResultConverter.class)
+    public Projected<PostsResponse> getAllPosts(
             @ToolParam(description = "Number of posts to return (1-100, default 10)", required = false) Integer limit,
             @ToolParam(description = "Page number for pagination (1+, default 1)", required = false) Integer page,
             @ToolParam(description = "Field to order by: publish_date, created, displayed_date (default: publish_date)", required = false) String orderBy,
@@ -42,20 +74,26 @@ public final class PostService {
             @ToolParam(description = "Filter by status: draft, confirmed, archived, all (default: all)", required = false) String status,
             @ToolParam(description = "Comma-separated list of content tags to filter by", required = false) String contentTags,
             @ToolParam(description = "Filter by hidden from feed: true, false, all (default: all)", required = false) String hiddenFromFeed,
-            @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId) {
+            @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId,
+            @ToolParam(description = "Comma-separated fields to return, e.g. title,publish_date,stats; dotted paths like content.free.web select inside objects. Omit for all fields; stats and content are expanded when selected", required = false) String fields) {
         validatePaginationParams(limit, page);
         validateFilterParams(audience, platform, status, hiddenFromFeed);
         
         String resolvedPublicationId = resolvePublicationId(publicationId);
-        String uri = buildPostsUri(resolvedPublicationId, limit, page, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed);
-        
+        FieldProjection projection = projection(fields);
+        String uri = buildPostsUri(resolvedPublicationId, limit, page, orderBy, sortOrder, audience, platform, status,
+                contentTags, hiddenFromFeed, projection.isAll() ? null : projectedExpand(projection));
+        return Projected.of(fetchPosts(uri, projection), projection);
+    }
+
+    /**
+     * Gets a page of posts from the posts URI, read through the post cache
+     */
+    private PostsResponse fetchPosts(String uri, FieldProjection projection) {
         try {
             logger.info("Making request to Beehiiv API: {}", uri);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(PostsResponse.class);
+            return apiClient.get(ApiConstants.POSTS_ENDPOINT, uri, PostsResponse.class, CacheRegion.POSTS, projection);
         } catch (HttpClientErrorException e) {
             logger.error("Error calling Beehiiv API: {} - Status: {}, Body: {}", 
                     uri, e.getStatusCode(), e.getResponseBodyAsString());
@@ -67,24 +105,32 @@ public final class PostService {
         }
     }
 
-    @Tool(name = "beehiiv_get_post", description = "Get a single post from the Beehiiv Newsletter API by post ID.")
-    public PostResponse getPostById(
+    /**
+     * Gets a post with every field.
+     */
+    public PostResponse getPostById(String postId, String expand, String publicationId) {
+        return getPostById(postId, expand, publicationId, null).value();
+    }
+
+    @Tool(name = "beehiiv_get_post", description = "Get a single post from the Beehiiv Newsletter API by post ID.",
+            resultConverter = ProjectedResultConverter.class)
+    public Projected<PostResponse> getPostById(
             @ToolParam(description = "Post ID to retrieve (required)") String postId,
             @ToolParam(description = "Comma-separated expand options: free_email_content, premium_email_content, free_web_content, premium_web_content, free_rss_content, stats", required = false) String expand,
-            @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId) {
+            @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId,
+            @ToolParam(description = "Comma-separated fields to return, e.g. title,publish_date,stats; dotted paths like content.free.web select inside objects. Omit for all fields; when set, expand options are derived from it", required = false) String fields) {
         if (postId == null || postId.isBlank()) {
             throw new IllegalArgumentException(ApiConstants.ERROR_NULL_BLANK_POST_ID);
         }
+        FieldProjection projection = projection(fields);
         
         try {
             String resolvedPublicationId = resolvePublicationId(publicationId);
-            String uri = buildSinglePostUri(resolvedPublicationId, postId, expand);
+            String uri = buildSinglePostUri(resolvedPublicationId, postId, expand, projection);
             logger.info("Making request to Beehiiv API for post: {}", uri);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(PostResponse.class);
+            return Projected.of(apiClient.get(ApiConstants.SINGLE_POST_ENDPOINT, uri, PostResponse.class,
+                    CacheRegion.POSTS, projection), projection);
         } catch (HttpClientErrorException e) {
             logger.error("Error calling Beehiiv API for post {}: Status: {}, Body: {}", 
                     postId, e.getStatusCode(), e.getResponseBodyAsString());
@@ -97,73 +143,116 @@ public final class PostService {
     }
 
     /**
-     * Helper method to build the URI for posts endpoint with query parameters
+     * Non-blocking {@link #getAllPosts}.
      */
-    private String buildPostsUri(String publicationId, Integer limit, Integer page, String orderBy, String sortOrder,
-                                String audience, String platform, String status, 
-                                String contentTags, String hiddenFromFeed) {
-        String uri = "/publications/" + publicationId + "/posts";
-        StringBuilder queryParams = new StringBuilder("?");
-        boolean hasParam = false;
-        
-        // Add parameters if they are provided
-        if (limit != null) {
-            queryParams.append("limit=").append(limit);
-            hasParam = true;
-        }
-        
-        if (page != null) {
-            if (hasParam) queryParams.append("&");
-            queryParams.append("page=").append(page);
-            hasParam = true;
-        }
-        
-        // Add ordering parameter with default
-        if (hasParam) queryParams.append("&");
-        queryParams.append("order_by=");
-        if (orderBy != null) {
-            queryParams.append(orderBy);
-        } else {
-            queryParams.append("publish_date");
-        }
-        
-        // Add direction parameter with default
-        queryParams.append("&direction=");
-        if (sortOrder != null) {
-            queryParams.append(sortOrder);
-        } else {
-            queryParams.append("desc");
-        }
+    public CompletableFuture<PostsResponse> getAllPostsAsync(Integer limit, Integer page, String orderBy, String sortOrder,
+                                                            String audience, String platform, String status,
+                                                            String contentTags, String hiddenFromFeed, String publicationId) {
+        validatePaginationParams(limit, page);
+        validateFilterParams(audience, platform, status, hiddenFromFeed);
         
-        // Add audience filter
-        if (audience != null && !"all".equalsIgnoreCase(audience)) {
-            queryParams.append("&audience=").append(audience);
-        }
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildPostsUri(resolvedPublicationId, limit, page, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed);
+        logger.info("Making request to Beehiiv API: {}", uri);
         
-        // Add platform filter
-        if (platform != null && !"all".equalsIgnoreCase(platform)) {
-            queryParams.append("&platform=").append(platform);
+        return apiClient.getAsync(ApiConstants.POSTS_ENDPOINT, uri, PostsResponse.class, CacheRegion.POSTS)
+                .exceptionally(failure -> {
+                    logger.error("Error calling Beehiiv API: {}", uri, failure);
+                    throw ApiException.wrap("Error calling Beehiiv API", failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getPostById}.
+     */
+    public CompletableFuture<PostResponse> getPostByIdAsync(String postId, String expand, String publicationId) {
+        if (postId == null || postId.isBlank()) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_NULL_BLANK_POST_ID);
         }
         
-        // Add status filter
-        if (status != null && !"all".equalsIgnoreCase(status)) {
-            queryParams.append("&status=").append(status);
-        }
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildSinglePostUri(resolvedPublicationId, postId, expand);
+        logger.info("Making request to Beehiiv API for post: {}", uri);
         
-        // Add content tags filter
-        if (contentTags != null && !contentTags.isBlank()) {
-            String[] tags = contentTags.split(",");
-            for (String tag : tags) {
-                queryParams.append("&content_tags=").append(tag.trim());
+        return apiClient.getAsync(ApiConstants.SINGLE_POST_ENDPOINT, uri, PostResponse.class, CacheRegion.POSTS)
+                .exceptionally(failure -> {
+                    logger.error("Error calling Beehiiv API for post: {}", postId, failure);
+                    throw ApiException.wrap("Error retrieving post with ID " + postId, failure);
+                });
+    }
+
+    /**
+     * Helper method to build the URI for posts endpoint with query parameters
+     */
+    String buildPostsUri(String publicationId, Integer limit, Integer page, String orderBy, String sortOrder,
+                        String audience, String platform, String status, 
+                        String contentTags, String hiddenFromFeed) {
+        return buildPostsUri(publicationId, limit, page, orderBy, sortOrder, audience, platform, status,
+                contentTags, hiddenFromFeed, null);
+    }
+
+    /**
+     * Helper method to build the URI for posts endpoint with query parameters and expand options
+     */
+    String buildPostsUri(String publicationId, Integer limit, Integer page, String orderBy, String sortOrder,
+                        String audience, String platform, String status,
+                        String contentTags, String hiddenFromFeed, String expand) {
+        return POSTS_URI.expand(publicationId)
+                .query(ApiConstants.PARAM_LIMIT, limit)
+                .query(ApiConstants.PARAM_PAGE, page)
+                .query(ApiConstants.PARAM_ORDER_BY, orderBy != null ? orderBy : ApiConstants.DEFAULT_ORDER_BY)
+                .query(ApiConstants.PARAM_DIRECTION, sortOrder != null ? sortOrder : ApiConstants.DEFAULT_DIRECTION)
+                .query(ApiConstants.PARAM_AUDIENCE, unlessAll(audience))
+                .query(ApiConstants.PARAM_PLATFORM, unlessAll(platform))
+                .query(ApiConstants.PARAM_STATUS, unlessAll(status))
+                .queryList(ApiConstants.PARAM_CONTENT_TAGS, contentTags)
+                .query(ApiConstants.PARAM_HIDDEN_FROM_FEED, unlessAll(hiddenFromFeed))
+                .queryList(ApiConstants.PARAM_EXPAND, expand)
+                .build();
+    }
+
+    /**
+     * Parses the fields of a post projection. Content requested by its expand option name, e.g.
+     * {@code free_email_content}, is also read where the API returns it, under {@code content.free.email}.
+     */
+    static FieldProjection projection(String fields) {
+        FieldProjection projection = FieldProjection.parse(fields);
+        StringJoiner contentPaths = new StringJoiner(",");
+        for (String option : EXPAND_OPTIONS) {
+            if (projection.paths().contains(option) && isContentOption(option)) {
+                contentPaths.add(contentPath(option));
             }
         }
-        
-        // Add hidden from feed filter
-        if (hiddenFromFeed != null && !"all".equalsIgnoreCase(hiddenFromFeed)) {
-            queryParams.append("&hidden_from_feed=").append(hiddenFromFeed);
+        return contentPaths.length() == 0 ? projection : FieldProjection.parse(fields + "," + contentPaths);
+    }
+
+    /**
+     * expand[] options for the content and stats a projection reads; none for a projection of plain fields.
+     */
+    static String projectedExpand(FieldProjection projection) {
+        StringJoiner expand = new StringJoiner(",");
+        for (String option : EXPAND_OPTIONS) {
+            if (projection.includes(option) || (isContentOption(option) && projection.includes(contentPath(option)))) {
+                expand.add(option);
+            }
         }
-        
-        return uri + queryParams.toString();
+        return expand.toString();
+    }
+
+    private static boolean isContentOption(String option) {
+        return option.endsWith("_content");
+    }
+
+    /**
+     * @return the path of {@code <tier>_<channel>_content} in the post's content object
+     */
+    private static String contentPath(String option) {
+        String[] parts = option.split("_");
+        return "content." + parts[0] + "." + parts[1];
+    }
+
+    private static String unlessAll(String filter) {
+        return "all".equalsIgnoreCase(filter) ? null : filter;
     }
     
     /**
@@ -201,8 +290,10 @@ public final class PostService {
     }
     
     /**
-     * Fetches all pages of posts with pagination handling
-     * @param limit Maximum number of posts per page
+     * Fetches all pages of posts with pagination handling.
+     * Pages are requested ahead of consumption, up to the configured prefetch window, and requests sent
+     * past the last page are cancelled. Prefer {@link #postStream} for large archives.
+     * @param limit Number of posts per page; defaults to {@link ApiConstants#MAX_LIMIT} to minimize round trips
      * @param orderBy Field to order by
      * @param sortOrder Sort direction
      * @param audience Audience filter
@@ -215,21 +306,137 @@ public final class PostService {
     public List<Post> getAllPostsWithPagination(Integer limit, String orderBy, String sortOrder,
                                               String audience, String platform, String status,
                                               String contentTags, String hiddenFromFeed, String publicationId) {
-        List<Post> allPosts = new ArrayList<>();
-        int currentPage = 1;
-        PostsResponse response;
-        
-        do {
-            response = getAllPosts(limit, currentPage, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed, publicationId);
-            if (response != null && response.data() != null) {
-                allPosts.addAll(response.data());
-            }
-            currentPage++;
-        } while (response != null && response.pagination() != null && response.pagination().nextPage() != null);
+        try (Stream<Post> posts = postStream(limit, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed, publicationId)) {
+            return posts.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+    
+    /**
+     * Lazily walks all posts matching the filters, fetching pages as the stream is consumed.
+     * Only the pages in the prefetch window are held in memory, pages are read past the post cache and
+     * parsed post by post, so searching, aggregating or exporting a whole archive runs in constant memory. Close the stream (try-with-resources) when stopping early
+     * so prefetched page requests are cancelled.
+     * @param limit Number of posts per page; defaults to {@link ApiConstants#MAX_LIMIT}
+     * @return Stream of posts in page order
+     */
+    public Stream<Post> postStream(Integer limit, String orderBy, String sortOrder,
+                                   String audience, String platform, String status,
+                                   String contentTags, String hiddenFromFeed, String publicationId) {
+        return postStream(limit, orderBy, sortOrder, audience, platform, status, contentTags, hiddenFromFeed, null,
+                publicationId);
+    }
+    
+    /**
+     * Lazily walks all posts matching the filters, with the content and stats of the expand options.
+     * @param expand Comma-separated expand options, e.g. free_web_content,stats; none when null
+     * @see #postStream(Integer, String, String, String, String, String, String, String, String)
+     */
+    public Stream<Post> postStream(Integer limit, String orderBy, String sortOrder,
+                                   String audience, String platform, String status,
+                                   String contentTags, String hiddenFromFeed, String expand, String publicationId) {
+        Integer pageSize = limit != null ? limit : ApiConstants.MAX_LIMIT;
+        validatePaginationParams(pageSize, 1);
+        validateFilterParams(audience, platform, status, hiddenFromFeed);
         
-        return allPosts;
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        Set<String> expandOptions = parseExpand(expand);
+        PrefetchingPageIterator<PostsResponse> pages = apiClient.prefetchPages(1,
+                page -> streamPostsPage(buildPostsUri(resolvedPublicationId, pageSize, page, orderBy, sortOrder, audience,
+                        platform, status, contentTags, hiddenFromFeed, String.join(",", expandOptions)), expandOptions),
+                PostService::isLastPage);
+        return pages.stream(PostsResponse::data);
     }
     
+    /**
+     * Reads a page of posts straight from the API, bypassing the post cache: a walk reads each page once,
+     * and holding its pages in the cache would defeat the walk's constant memory. The page is parsed post
+     * by post, so content that was not requested is never materialized.
+     */
+    private PostsResponse streamPostsPage(String uri, Set<String> expandOptions) {
+        List<Post> posts = new ArrayList<>();
+        PostsResponse.Pagination pagination = readPosts(uri, expandOptions, posts::add);
+        return new PostsResponse(posts, pagination);
+    }
+
+    /**
+     * A page is the last one when it has no posts or no next page
+     */
+    private static boolean isLastPage(PostsResponse response) {
+        return response.data() == null || response.data().isEmpty()
+                || response.pagination() == null || response.pagination().nextPage() == null;
+    }
+    
+    /**
+     * Streams one page of posts to the consumer without materializing the page.
+     * Content fields are only read when requested through {@code expand}; all other content in the
+     * response is skipped while parsing, so peak memory is bounded by a single post.
+     * @param expand Comma-separated expand options, e.g. free_web_content,stats
+     * @param consumer Receives the posts of the page in order
+     * @return Pagination of the page, or null if the response has none
+     */
+    public PostsResponse.Pagination streamPosts(Integer limit, Integer page, String orderBy, String sortOrder,
+                                                String audience, String platform, String status,
+                                                String contentTags, String hiddenFromFeed, String expand,
+                                                String publicationId, Consumer<Post> consumer) {
+        validatePaginationParams(limit, page);
+        validateFilterParams(audience, platform, status, hiddenFromFeed);
+
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        Set<String> expandOptions = parseExpand(expand);
+        String uri = buildPostsUri(resolvedPublicationId, limit, page, orderBy, sortOrder, audience, platform, status,
+                contentTags, hiddenFromFeed, String.join(",", expandOptions));
+        return readPosts(uri, expandOptions, consumer);
+    }
+
+    /**
+     * Parses the posts page at the URI, emitting each post once even when the call is retried
+     * @return Pagination of the page, or null if the response has none
+     */
+    private PostsResponse.Pagination readPosts(String uri, Set<String> expandOptions, Consumer<Post> consumer) {
+        PostStreamParser parser = new PostStreamParser(expandOptions);
+        // A retried call reads the page again from the start; posts already emitted are not repeated
+        AtomicInteger emitted = new AtomicInteger();
+
+        try {
+            logger.info("Streaming posts from Beehiiv API: {}", uri);
+
+            return apiClient.stream(ApiConstants.POSTS_ENDPOINT, uri, json -> {
+                AtomicInteger position = new AtomicInteger();
+                return parser.parse(json, post -> {
+                    if (position.getAndIncrement() >= emitted.get()) {
+                        emitted.incrementAndGet();
+                        consumer.accept(post);
+                    }
+                });
+            });
+        } catch (HttpClientErrorException e) {
+            logger.error("Error streaming posts from Beehiiv API: {} - Status: {}, Body: {}",
+                    uri, e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ApiException("Error calling Beehiiv API: " + e.getMessage(), e);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled, e.g. on shutdown; not an error of this page
+                logger.debug("Streaming posts from Beehiiv API interrupted: {}", uri);
+            } else {
+                logger.error("Unexpected error streaming posts from Beehiiv API: {}", uri, e);
+            }
+            throw new ApiException("Unexpected error calling Beehiiv API", e);
+        }
+    }
+
+    /**
+     * Splits comma-separated expand options into a set, dropping blanks
+     */
+    private Set<String> parseExpand(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(option -> !option.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     /**
      * Convenience method for getting posts by status
      */
@@ -302,30 +509,20 @@ public final class PostService {
     /**
      * Helper method to build URI for single post with expand options
      */
-    private String buildSinglePostUri(String publicationId, String postId, String expand) {
-        StringBuilder uri = new StringBuilder("/publications/" + publicationId + "/posts/" + postId);
-        
-        if (expand != null && !expand.isBlank()) {
-            uri.append("?");
-            String[] expandOptions = expand.split(",");
-            boolean first = true;
-            
-            for (String option : expandOptions) {
-                String trimmedOption = option.trim();
-                if (!trimmedOption.isEmpty()) {
-                    if (!first) {
-                        uri.append("&");
-                    }
-                    uri.append("expand[]=").append(trimmedOption);
-                    first = false;
-                }
-            }
-        } else {
-            // Default expand options for better data retrieval
-            uri.append("?expand[]=free_email_content&expand[]=stats");
-        }
-        
-        return uri.toString();
+    String buildSinglePostUri(String publicationId, String postId, String expand) {
+        return buildSinglePostUri(publicationId, postId, expand, FieldProjection.ALL);
+    }
+
+    /**
+     * Helper method to build URI for single post; a projection decides the expand options
+     */
+    String buildSinglePostUri(String publicationId, String postId, String expand, FieldProjection projection) {
+        // Default expand options for better data retrieval
+        String options = !projection.isAll() ? projectedExpand(projection)
+                : expand != null && !expand.isBlank() ? expand : DEFAULT_EXPAND;
+        return SINGLE_POST_URI.expand(publicationId, postId)
+                .queryList(ApiConstants.PARAM_EXPAND, options)
+                .build();
     }
     
 }
@@ -0,0 +1,120 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads a posts page one post at a time from a streaming parser.
+ * <p>
+ * Content the caller did not ask for is skipped token by token and never becomes a String, and each
+ * post is handed to the consumer before the next one is read, so the heap holds at most one post of
+ * the page.
+ */
+final class PostStreamParser {
+
+    // Flat content fields of a post, named like the expand[] option that returns them
+    private static final Set<String> CONTENT_FIELDS = Set.of(
+            "free_web_content", "free_email_content", "free_rss_content",
+            "premium_web_content", "premium_email_content",
+            "content_html", "content_markdown");
+    private static final String CONTENT_OBJECT = "content";
+
+    private final Set<String> requestedContent;
+
+    /**
+     * @param requestedContent content fields to keep, as expand[] option names, e.g. {@code free_web_content}
+     */
+    PostStreamParser(Set<String> requestedContent) {
+        this.requestedContent = requestedContent;
+    }
+
+    /**
+     * Emits every post of the page's {@code data} array to the consumer.
+     * @return the page's pagination, or null if the body has none
+     */
+    PostsResponse.Pagination parse(JsonParser parser, Consumer<Post> consumer) throws IOException {
+        PostsResponse.Pagination pagination = null;
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(readPost(parser));
+                }
+            } else if ("pagination".equals(field) && value == JsonToken.START_OBJECT) {
+                pagination = parser.readValueAs(PostsResponse.Pagination.class);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return pagination;
+    }
+
+    /**
+     * Copies the kept fields of the post the parser is positioned on and binds them to a {@link Post}.
+     */
+    private Post readPost(JsonParser parser) throws IOException {
+        ObjectCodec codec = parser.getCodec();
+        TokenBuffer post = new TokenBuffer(codec, false);
+        post.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (CONTENT_FIELDS.contains(field) && !requestedContent.contains(field)) {
+                parser.skipChildren();
+            } else if (CONTENT_OBJECT.equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                post.writeFieldName(field);
+                copyContent(parser, post);
+            } else {
+                post.writeFieldName(field);
+                post.copyCurrentStructure(parser);
+            }
+        }
+        post.writeEndObject();
+
+        try (JsonParser buffered = post.asParser(codec)) {
+            return codec.readValue(buffered, Post.class);
+        }
+    }
+
+    /**
+     * Copies {@code content.<tier>.<channel>} entries that were requested as {@code <tier>_<channel>_content}.
+     */
+    private void copyContent(JsonParser parser, TokenBuffer post) throws IOException {
+        post.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String tier = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            post.writeFieldName(tier);
+            post.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String channel = parser.currentName();
+                parser.nextToken();
+                if (requestedContent.contains(tier + "_" + channel + "_content")) {
+                    post.writeFieldName(channel);
+                    post.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            post.writeEndObject();
+        }
+        post.writeEndObject();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " in posts response but found " + actual);
+        }
+    }
+}
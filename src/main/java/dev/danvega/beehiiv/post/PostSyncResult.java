@@ -0,0 +1,52 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of syncing the local replica of a publication's posts.
+ *
+ * @param publicationId publication the replica holds posts of
+ * @param full whether every post was pulled, rather than only those past the watermark
+ * @param added posts the replica did not hold before
+ * @param updated held posts whose update time, publish or displayed date, or status moved
+ * @param removed held posts the API no longer returns; only a full sync detects them
+ * @param unchanged posts pulled that the replica already held as they are
+ * @param postsFetched posts read from the API
+ * @param durationMillis time the sync took
+ * @param replicaSize posts the replica holds after the sync
+ * @param changedPostIds IDs of the first 100 added and updated posts, newest first
+ * @param watermark position the next delta sync walks back to
+ */
+public record PostSyncResult(
+        @JsonProperty("publication_id") String publicationId,
+        boolean full,
+        int added,
+        int updated,
+        int removed,
+        int unchanged,
+        @JsonProperty("posts_fetched") int postsFetched,
+        @JsonProperty("duration_millis") long durationMillis,
+        @JsonProperty("replica_size") int replicaSize,
+        @JsonProperty("changed_post_ids") List<String> changedPostIds,
+        Watermark watermark) {
+
+    /**
+     * Newest creation and displayed dates a replica holds; a delta sync stops walking each ordering
+     * at the first post it reaches that is not past them.
+     *
+     * @param createdAt creation time of the newest post
+     * @param displayedDate newest displayed date, in epoch seconds
+     * @param syncedAt time of the last sync
+     * @param fullSyncedAt time of the last full sync
+     */
+    public record Watermark(
+            @JsonProperty("created_at") LocalDateTime createdAt,
+            @JsonProperty("displayed_date") Long displayedDate,
+            @JsonProperty("synced_at") Instant syncedAt,
+            @JsonProperty("full_synced_at") Instant fullSyncedAt) {
+    }
+}
@@ -0,0 +1,279 @@
+package dev.danvega.beehiiv.post;
+
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.SyncProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a local replica of each publication's posts, so post state can be read without paging
+ * through the whole archive again.
+ * <p>
+ * The first sync of a publication pulls every post. Later syncs are deltas: they walk the posts by
+ * creation date and by displayed date, newest first, and stop at the first post that is not past the
+ * {@link PostSyncResult.Watermark watermark} and that the replica already holds as it is. New posts,
+ * and posts that were scheduled or published since, are past the watermark of one of the two orderings.
+ * The API cannot order by update time, so edits to older posts and deleted posts are picked up by a
+ * full sync, which runs again once {@link SyncProperties#fullSyncInterval()} has passed.
+ * <p>
+ * Pages are read through {@link PostService#postStream}, fresh from the API rather than from the post
+ * cache; as its prefetch window opens at one page, a delta sync that finds nothing new costs one page
+ * request per ordering. Posts are pulled with the content of {@link SyncProperties#expand()}, which {@link Listener listeners} receive as the posts stream in; the
+ * replica holds posts {@link Post#withoutContent() without content}.
+ */
+@Service
+public class PostSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSyncService.class);
+    private static final int MAX_CHANGED_POST_IDS = 100;
+
+    private final PostService postService;
+    private final BeehiivProperties beehiivProperties;
+    private final SyncProperties syncProperties;
+    private final Clock clock = Clock.systemUTC();
+    private final ConcurrentMap<String, Replica> replicas = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public PostSyncService(PostService postService, BeehiivProperties beehiivProperties, SyncProperties syncProperties) {
+        this.postService = postService;
+        this.beehiivProperties = beehiivProperties;
+        this.syncProperties = syncProperties;
+    }
+
+    @Tool(name = "beehiiv_sync_posts", description = "Sync the local replica of a publication's posts and report what changed since the last sync. " +
+            "After the first sync only new, scheduled, published and edited posts are pulled.")
+    public PostSyncResult sync(
+            @ToolParam(description = "Publication ID to sync (optional, uses default if not provided)", required = false) String publicationId,
+            @ToolParam(description = "Pull every post again, which also detects edits to older posts and deleted posts (default: false)", required = false) Boolean full) {
+        String key = replicaKey(publicationId);
+        Replica replica = replicas.computeIfAbsent(key, id -> new Replica());
+        // A lock rather than a monitor: a sync blocks on page requests, which must not pin a virtual thread's carrier
+        replica.lock.lock();
+        try {
+            Instant now = clock.instant();
+            PostSyncResult.Watermark watermark = replica.watermark;
+            boolean fullSync = Boolean.TRUE.equals(full) || watermark == null
+                    || !now.isBefore(watermark.fullSyncedAt().plus(syncProperties.fullSyncInterval()));
+            long start = System.nanoTime();
+            Tally tally = fullSync ? fullSync(replica, key) : deltaSync(replica, key, watermark);
+
+            replica.watermark = new PostSyncResult.Watermark(newestCreatedAt(replica.posts.values()),
+                    newestDisplayedDate(replica.posts.values()), now, fullSync ? now : watermark.fullSyncedAt());
+            long durationMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Synced posts of {} ({}): {} added, {} updated, {} removed, {} fetched in {} ms", key,
+                    fullSync ? "full" : "delta", tally.added, tally.updated, tally.removed, tally.fetched, durationMillis);
+            return new PostSyncResult(key, fullSync, tally.added, tally.updated, tally.removed, tally.unchanged,
+                    tally.fetched, durationMillis, replica.posts.size(), List.copyOf(tally.changedPostIds),
+                    replica.watermark);
+        } finally {
+            replica.lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a listener for the changes of every later sync
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return the posts the replica of the publication holds, in no particular order; empty before its first sync
+     */
+    public Collection<Post> posts(String publicationId) {
+        Replica replica = replicas.get(replicaKey(publicationId));
+        return replica == null ? List.of() : Collections.unmodifiableCollection(replica.posts.values());
+    }
+
+    /**
+     * @return the watermark of the publication's replica, or null before its first sync
+     */
+    public PostSyncResult.Watermark watermark(String publicationId) {
+        Replica replica = replicas.get(replicaKey(publicationId));
+        return replica == null ? null : replica.watermark;
+    }
+
+    private Tally fullSync(Replica replica, String publicationId) {
+        Tally tally = new Tally();
+        Map<String, Post> pulled = new ConcurrentHashMap<>();
+        try (Stream<Post> posts = postService.postStream(ApiConstants.MAX_LIMIT, ApiConstants.ORDER_BY_CREATED,
+                ApiConstants.DEFAULT_DIRECTION, null, null, null, null, null, syncProperties.expand(), publicationId)) {
+            posts.forEach(post -> {
+                tally.fetched++;
+                if (pulled.putIfAbsent(post.id(), post.withoutContent()) == null
+                        && tally.record(post, replica.posts.get(post.id()))) {
+                    listeners.forEach(listener -> listener.postChanged(publicationId, post));
+                }
+            });
+        }
+        for (String id : replica.posts.keySet()) {
+            if (!pulled.containsKey(id)) {
+                tally.removed++;
+                listeners.forEach(listener -> listener.postRemoved(publicationId, id));
+            }
+        }
+        replica.posts = pulled;
+        return tally;
+    }
+
+    private Tally deltaSync(Replica replica, String publicationId, PostSyncResult.Watermark watermark) {
+        Tally tally = new Tally();
+        walk(replica, publicationId, ApiConstants.ORDER_BY_CREATED, PostSyncService::createdKey,
+                createdKey(watermark.createdAt()), tally);
+        walk(replica, publicationId, ApiConstants.ORDER_BY_DISPLAYED_DATE, PostSyncService::displayedKey,
+                displayedKey(watermark.displayedDate()), tally);
+        return tally;
+    }
+
+    /**
+     * Walks the posts in descending order of the key, storing changed posts in the replica, until the
+     * first post older than the watermark or at it and held as it is. Pages prefetched past that post
+     * are cancelled when the stream closes.
+     */
+    private void walk(Replica replica, String publicationId, String orderBy, ToLongFunction<Post> key,
+                      long watermark, Tally tally) {
+        try (Stream<Post> posts = postService.postStream(syncProperties.incrementalPageSize(), orderBy,
+                ApiConstants.DEFAULT_DIRECTION, null, null, null, null, null, syncProperties.expand(), publicationId)) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                tally.fetched++;
+                Post held = replica.posts.get(post.id());
+                boolean changed = tally.seen.add(post.id()) && tally.record(post, held);
+                if (changed) {
+                    replica.posts.put(post.id(), post.withoutContent());
+                    listeners.forEach(listener -> listener.postChanged(publicationId, post));
+                }
+                long position = key.applyAsLong(post);
+                if (position < watermark || (position == watermark && !changed && held != null)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the publication ID, or the default publication ID when none is given
+     */
+    String replicaKey(String publicationId) {
+        if (publicationId != null && !publicationId.isBlank()) {
+            return publicationId;
+        }
+        if (beehiivProperties.hasDefaultPublicationId()) {
+            return beehiivProperties.defaultPublicationId();
+        }
+        throw new IllegalArgumentException("No publication ID provided and no default publication ID configured. " +
+                "Please provide a publication ID or configure BEEHIIV_PUBLICATION_ID environment variable.");
+    }
+
+    private static LocalDateTime newestCreatedAt(Collection<Post> posts) {
+        return posts.stream().map(Post::createdAt).filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo).orElse(null);
+    }
+
+    private static Long newestDisplayedDate(Collection<Post> posts) {
+        return posts.stream().map(Post::displayedDate).filter(Objects::nonNull)
+                .max(Long::compareTo).orElse(null);
+    }
+
+    private static long createdKey(Post post) {
+        return createdKey(post.createdAt());
+    }
+
+    private static long createdKey(LocalDateTime createdAt) {
+        return createdAt == null ? Long.MIN_VALUE : createdAt.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long displayedKey(Post post) {
+        return displayedKey(post.displayedDate());
+    }
+
+    private static long displayedKey(Long displayedDate) {
+        return displayedDate == null ? Long.MIN_VALUE : displayedDate;
+    }
+
+    /**
+     * A post changed when it was edited, or its publication moved
+     */
+    private static boolean changed(Post post, Post held) {
+        return !Objects.equals(post.updatedAt(), held.updatedAt())
+                || !Objects.equals(post.publishDate(), held.publishDate())
+                || !Objects.equals(post.displayedDate(), held.displayedDate())
+                || !Objects.equals(post.status(), held.status());
+    }
+
+    /**
+     * Receives the changes syncs find, as they are pulled
+     */
+    public interface Listener {
+
+        /**
+         * A post was added or changed; it carries the content of the expand options
+         */
+        void postChanged(String publicationId, Post post);
+
+        /**
+         * A full sync found that the post was removed
+         */
+        void postRemoved(String publicationId, String postId);
+    }
+
+    private static final class Replica {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Map<String, Post> posts = new ConcurrentHashMap<>();
+        volatile PostSyncResult.Watermark watermark;
+    }
+
+    private static final class Tally {
+        int added;
+        int updated;
+        int removed;
+        int unchanged;
+        int fetched;
+        final Set<String> seen = new HashSet<>();
+        final List<String> changedPostIds = new ArrayList<>();
+
+        /**
+         * Counts the pulled post against the one the replica held
+         * @return whether the post is new or changed
+         */
+        boolean record(Post post, Post held) {
+            if (held == null) {
+                added++;
+            } else if (changed(post, held)) {
+                updated++;
+            } else {
+                unchanged++;
+                return false;
+            }
+            if (changedPostIds.size() < MAX_CHANGED_POST_IDS) {
+                changedPostIds.add(post.id());
+            }
+            return true;
+        }
+    }
+}
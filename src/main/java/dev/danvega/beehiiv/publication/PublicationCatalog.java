@@ -0,0 +1,244 @@
+package dev.danvega.beehiiv.publication;
+
+import dev.danvega.beehiiv.core.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Every publication of the API key, loaded across all pages and indexed by name, so a name search is
+ * complete and answered without a request.
+ * <p>
+ * Names are normalized: lower-cased, stripped of accents, with runs of whitespace collapsed. Each
+ * normalized name is indexed under every substring of one to three characters. A search term of up
+ * to three characters is looked up directly; a longer term intersects the postings of its trigrams and
+ * checks the few remaining names for the whole term, so matching stays a case-insensitive "contains".
+ * <p>
+ * The catalog is loaded on first use and again once it is older than its time-to-live. One search at a
+ * time loads it, without holding a lock: searches arriving meanwhile keep searching the older catalog,
+ * or wait for the load when there is none yet. If loading fails while an older catalog is held, the
+ * older catalog keeps being used until a later load succeeds.
+ */
+final class PublicationCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicationCatalog.class);
+
+    private static final int GRAM = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int[] NONE = new int[0];
+
+    private final Supplier<List<Publication>> loader;
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicReference<CompletableFuture<Snapshot>> reload = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    PublicationCatalog(Supplier<List<Publication>> loader, Duration ttl, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * How a publication's name matched a search term; lower is better
+     */
+    enum Match {
+        EXACT, PREFIX, WORD_PREFIX, SUBSTRING
+    }
+
+    /**
+     * A publication whose name contains the search term
+     */
+    record Result(Publication publication, Match match) {
+    }
+
+    /**
+     * Finds the publications whose names contain the term, ignoring case, accents and repeated whitespace
+     * @return the matches, exact names first, then names starting with the term, then names with a word
+     * starting with it, then the rest; by name within each group
+     */
+    List<Result> search(String term) {
+        Snapshot current = current();
+        String query = normalize(term);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        List<Result> results = new ArrayList<>();
+        for (int index : current.candidates(query)) {
+            String name = current.names[index];
+            int at = name.indexOf(query);
+            if (at >= 0) {
+                Match match = name.length() == query.length() ? Match.EXACT
+                        : at == 0 ? Match.PREFIX
+                        : name.charAt(at - 1) == ' ' || name.contains(" " + query) ? Match.WORD_PREFIX
+                        : Match.SUBSTRING;
+                results.add(new Result(current.publications[index], match));
+            }
+        }
+        // Candidates come in name order, which the stable sort keeps within each group
+        results.sort(Comparator.comparing(Result::match));
+        return results;
+    }
+
+    /**
+     * @return the number of publications in the catalog, loading it if needed
+     */
+    int size() {
+        return current().publications.length;
+    }
+
+    /**
+     * Drops the catalog; the next search loads it again
+     */
+    void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        while (true) {
+            Snapshot current = snapshot;
+            if (current != null && clock.instant().isBefore(current.expiresAt)) {
+                return current;
+            }
+            CompletableFuture<Snapshot> inFlight = reload.get();
+            if (inFlight != null) {
+                // Another search is loading the catalog: keep searching the older one, or wait for the first
+                return current != null ? current : ApiClient.await(inFlight);
+            }
+            CompletableFuture<Snapshot> load = new CompletableFuture<>();
+            if (reload.compareAndSet(null, load)) {
+                try {
+                    return load(current, load);
+                } finally {
+                    reload.compareAndSet(load, null);
+                }
+            }
+        }
+    }
+
+    private Snapshot load(Snapshot current, CompletableFuture<Snapshot> load) {
+        try {
+            List<Publication> publications = loader.get();
+            Snapshot loaded = new Snapshot(publications, clock.instant().plus(ttl));
+            snapshot = loaded;
+            load.complete(loaded);
+            logger.info("Loaded catalog of {} publications", publications.size());
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            if (current == null) {
+                throw e;
+            }
+            logger.warn("Could not reload the publication catalog, searching the one loaded before: {}", e.toString());
+            return current;
+        }
+    }
+
+    /**
+     * @return the text lower-cased, without accents, and with single spaces between words
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Publications ordered by their normalized names, with the positions of the names containing each
+     * substring of up to three characters, in ascending order
+     */
+    private static final class Snapshot {
+        final Publication[] publications;
+        final String[] names;
+        final Map<String, int[]> grams = new HashMap<>();
+        final Instant expiresAt;
+
+        Snapshot(List<Publication> publications, Instant expiresAt) {
+            this.publications = publications.stream()
+                    .sorted(Comparator.comparing((Publication publication) -> normalize(publication.name())))
+                    .toArray(Publication[]::new);
+            this.names = new String[this.publications.length];
+            this.expiresAt = expiresAt;
+            Map<String, List<Integer>> postings = new HashMap<>();
+            for (int index = 0; index < names.length; index++) {
+                String name = normalize(this.publications[index].name());
+                names[index] = name;
+                for (int length = 1; length <= GRAM; length++) {
+                    for (int start = 0; start + length <= name.length(); start++) {
+                        List<Integer> positions = postings.computeIfAbsent(name.substring(start, start + length),
+                                gram -> new ArrayList<>());
+                        if (positions.isEmpty() || positions.get(positions.size() - 1) != index) {
+                            positions.add(index);
+                        }
+                    }
+                }
+            }
+            postings.forEach((gram, positions) ->
+                    grams.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        /**
+         * @return positions of the names that contain every trigram of the query, or the query itself
+         * when it is no longer than a trigram
+         */
+        int[] candidates(String query) {
+            if (query.length() <= GRAM) {
+                return grams.getOrDefault(query, NONE);
+            }
+            int[][] lists = new int[query.length() - GRAM + 1][];
+            for (int start = 0; start < lists.length; start++) {
+                lists[start] = grams.getOrDefault(query.substring(start, start + GRAM), NONE);
+                if (lists[start].length == 0) {
+                    return NONE;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            int[] candidates = lists[0];
+            for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+                candidates = intersect(candidates, lists[i]);
+            }
+            return candidates;
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] both = new int[Math.min(left.length, right.length)];
+            int size = 0;
+            for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    both[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(both, size);
+        }
+    }
+}
@@ -1,30 +1,43 @@
 package dev.danvega.beehiiv.publication;
 
+import dev.danvega.beehiiv.core.ApiClient;
 import dev.danvega.beehiiv.core.ApiException;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.CacheRegion;
 import dev.danvega.beehiiv.core.BeehiivProperties;
 import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.UriTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public final class PublicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(PublicationService.class);
-    private final RestClient restClient;
+    private static final UriTemplate PUBLICATIONS_URI = UriTemplate.compile(ApiConstants.PUBLICATIONS_ENDPOINT);
+    private static final UriTemplate SINGLE_PUBLICATION_URI = UriTemplate.compile(ApiConstants.SINGLE_PUBLICATION_ENDPOINT);
+    private final ApiClient apiClient;
     private final String defaultPublicationId;
     private final BeehiivProperties beehiivProperties;
+    private final PublicationCatalog catalog;
 
-    public PublicationService(RestClient restClient, BeehiivProperties beehiivProperties) {
-        this.restClient = restClient;
+    public PublicationService(ApiClient apiClient, BeehiivProperties beehiivProperties, CacheProperties cacheProperties) {
+        this.apiClient = apiClient;
         this.defaultPublicationId = beehiivProperties.defaultPublicationId();
         this.beehiivProperties = beehiivProperties;
+        this.catalog = new PublicationCatalog(
+                () -> getAllPublicationsWithPagination(ApiConstants.MAX_LIMIT, ApiConstants.ORDER_BY_CREATED, "asc"),
+                cacheProperties.ttl(CacheRegion.PUBLICATIONS), Clock.systemUTC());
         logger.info("Initializing PublicationService with default publication ID: {}", 
                 defaultPublicationId != null ? defaultPublicationId : "none");
     }
@@ -42,10 +55,7 @@ public final class PublicationService {
         try {
             logger.info("Making request to Beehiiv API: {}", uri);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(PublicationsResponse.class);
+            return apiClient.get(ApiConstants.PUBLICATIONS_ENDPOINT, uri, PublicationsResponse.class, CacheRegion.PUBLICATIONS);
         } catch (HttpClientErrorException e) {
             logger.error("Error calling Beehiiv API: {} - Status: {}, Body: {}", 
                     uri, e.getStatusCode(), e.getResponseBodyAsString());
@@ -69,13 +79,10 @@ public final class PublicationService {
         }
         
         try {
-            String uri = "/publications/" + publicationId;
+            String uri = SINGLE_PUBLICATION_URI.expand(publicationId).build();
             logger.info("Making request to Beehiiv API for publication: {}", uri);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(PublicationResponse.class);
+            return apiClient.get(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, uri, PublicationResponse.class, CacheRegion.PUBLICATIONS);
         } catch (HttpClientErrorException e) {
             logger.error("Error calling Beehiiv API for publication {}: Status: {}, Body: {}", 
                     publicationId, e.getStatusCode(), e.getResponseBodyAsString());
@@ -88,43 +95,54 @@ public final class PublicationService {
     }
 
     /**
-     * Helper method to build the URI for publications endpoint with query parameters
+     * Non-blocking {@link #getAllPublications}.
      */
-    private String buildPublicationsUri(Integer limit, Integer page, String orderBy, String direction) {
-        StringBuilder queryParams = new StringBuilder("?");
-        boolean hasParam = false;
-        
-        // Add parameters if they are provided
-        if (limit != null) {
-            queryParams.append("limit=").append(limit);
-            hasParam = true;
-        }
+    public CompletableFuture<PublicationsResponse> getAllPublicationsAsync(Integer limit, Integer page, String orderBy,
+                                                                          String direction) {
+        validatePaginationParams(limit, page);
         
-        if (page != null) {
-            if (hasParam) queryParams.append("&");
-            queryParams.append("page=").append(page);
-            hasParam = true;
-        }
+        String uri = buildPublicationsUri(limit, page, orderBy, direction);
+        logger.info("Making request to Beehiiv API: {}", uri);
         
-        // Add ordering parameter with default
-        if (orderBy != null) {
-            if (hasParam) queryParams.append("&");
-            queryParams.append("order_by=").append(orderBy);
-            hasParam = true;
+        return apiClient.getAsync(ApiConstants.PUBLICATIONS_ENDPOINT, uri, PublicationsResponse.class, CacheRegion.PUBLICATIONS)
+                .exceptionally(failure -> {
+                    logger.error("Error calling Beehiiv API: {}", uri, failure);
+                    throw ApiException.wrap("Error calling Beehiiv API", failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getPublicationById}.
+     */
+    public CompletableFuture<PublicationResponse> getPublicationByIdAsync(String publicationId) {
+        if (publicationId == null || publicationId.isBlank()) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_NULL_BLANK_PUBLICATION_ID);
         }
         
-        // Add direction parameter with default
-        if (direction != null) {
-            if (hasParam) queryParams.append("&");
-            queryParams.append("direction=").append(direction);
+        if (!publicationId.startsWith("pub_")) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_PUBLICATION_ID_FORMAT);
         }
         
-        String uri = "/publications";
-        if (hasParam) {
-            uri += queryParams.toString();
-        }
+        String uri = SINGLE_PUBLICATION_URI.expand(publicationId).build();
+        logger.info("Making request to Beehiiv API for publication: {}", uri);
         
-        return uri;
+        return apiClient.getAsync(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, uri, PublicationResponse.class, CacheRegion.PUBLICATIONS)
+                .exceptionally(failure -> {
+                    logger.error("Error calling Beehiiv API for publication: {}", publicationId, failure);
+                    throw ApiException.wrap("Error retrieving publication with ID " + publicationId, failure);
+                });
+    }
+
+    /**
+     * Helper method to build the URI for publications endpoint with query parameters
+     */
+    private String buildPublicationsUri(Integer limit, Integer page, String orderBy, String direction) {
+        return PUBLICATIONS_URI.expand()
+                .query(ApiConstants.PARAM_LIMIT, limit)
+                .query(ApiConstants.PARAM_PAGE, page)
+                .query(ApiConstants.PARAM_ORDER_BY, orderBy)
+                .query(ApiConstants.PARAM_DIRECTION, direction)
+                .build();
     }
     
     /**
@@ -141,16 +159,31 @@ public final class PublicationService {
     }
 
     /**
-     * Returns all publications without pagination in a single list
+     * Returns the publications of every page in a single list.
+     * Page 1 tells how many pages there are; pages 2..N are then fetched concurrently and merged in order.
      */
     public List<Publication> getAllPublicationsWithPagination(Integer limit, String orderBy, String direction) {
-        PublicationsResponse response = getAllPublications(limit, 1, orderBy, direction);
+        PublicationsResponse firstPage = getAllPublications(limit, 1, orderBy, direction);
         
-        if (response == null || response.data() == null) {
+        if (firstPage == null || firstPage.data() == null) {
             return List.of();
         }
         
-        return response.data();
+        int totalPages = firstPage.totalPages() != null ? firstPage.totalPages() : 1;
+        if (totalPages <= 1) {
+            return firstPage.data();
+        }
+        
+        List<Publication> allPublications = new ArrayList<>(firstPage.data());
+        List<PublicationsResponse> remainingPages = apiClient.getPages(2, totalPages,
+                page -> getAllPublications(limit, page, orderBy, direction));
+        for (PublicationsResponse response : remainingPages) {
+            if (response != null && response.data() != null) {
+                allPublications.addAll(response.data());
+            }
+        }
+        
+        return allPublications;
     }
     
     /**
@@ -165,28 +198,47 @@ public final class PublicationService {
     }
     
     /**
-     * Search publications by name (case-insensitive partial match)
+     * Search publications by name (case-insensitive partial match).
+     * Every publication is searched, from a {@link PublicationCatalog catalog} loaded across all pages and
+     * kept for the publication cache's time-to-live.
      */
-    @Tool(name = "beehiiv_search_publications", description = "Search publications by name using case-insensitive partial matching.")
+    @Tool(name = "beehiiv_search_publications", description = "Search all publications by name using case-insensitive partial matching. " +
+            "Without an order, exact names come first, then names starting with the search term.")
     public List<Publication> searchPublicationsByName(
             @ToolParam(description = "Search term to match against publication names (case-insensitive)") String searchTerm,
             @ToolParam(description = "Number of publications to return (1-100, default 10)", required = false) Integer limit,
-            @ToolParam(description = "Field to order by: created, name", required = false) String orderBy,
-            @ToolParam(description = "Sort direction: asc or desc", required = false) String direction) {
+            @ToolParam(description = "Field to order by: created, name (default: best match)", required = false) String orderBy,
+            @ToolParam(description = "Sort direction: asc or desc (default: desc)", required = false) String direction) {
         if (searchTerm == null || searchTerm.isBlank()) {
             throw new IllegalArgumentException(ApiConstants.ERROR_NULL_BLANK_SEARCH_TERM);
         }
+        validatePaginationParams(limit, null);
+        Comparator<Publication> order = order(orderBy, direction);
         
-        PublicationsResponse response = getAllPublications(limit, 1, orderBy, direction);
-        
-        if (response == null || response.data() == null) {
-            return List.of();
+        var matches = catalog.search(searchTerm).stream().map(PublicationCatalog.Result::publication);
+        if (order != null) {
+            matches = matches.sorted(order);
         }
-        
-        return response.data().stream()
-                .filter(pub -> pub.name() != null && 
-                        pub.name().toLowerCase().contains(searchTerm.toLowerCase()))
-                .collect(java.util.stream.Collectors.toList());
+        return matches.limit(limit != null ? limit : ApiConstants.DEFAULT_LIMIT).toList();
+    }
+    
+    /**
+     * @return the order of the publications, or null to keep the best matches first
+     */
+    private static Comparator<Publication> order(String orderBy, String direction) {
+        if (direction != null && !direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("Invalid direction: " + direction + ". Use asc or desc");
+        }
+        if (orderBy == null || orderBy.isBlank()) {
+            return null;
+        }
+        Comparator<Publication> order = switch (orderBy.toLowerCase()) {
+            case ApiConstants.ORDER_BY_CREATED -> Comparator.comparing(Publication::created,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "name" -> Comparator.comparing(publication -> PublicationCatalog.normalize(publication.name()));
+            default -> throw new IllegalArgumentException("Invalid order by: " + orderBy + ". Use created or name");
+        };
+        return "asc".equalsIgnoreCase(direction) ? order : order.reversed();
     }
     
     /**
@@ -0,0 +1,177 @@
+package dev.danvega.beehiiv.subscription;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The custom fields of each publication, loaded across all pages, {@link CustomFieldValidator compiled}
+ * and indexed by name and by ID, so resolving a field is a map lookup instead of a request.
+ * <p>
+ * A publication's schema is loaded on first use and again once it is older than its time-to-live, or
+ * after {@link #invalidate}. Concurrent callers share one load. If a reload fails while an older schema
+ * is held, the older schema keeps being used.
+ * <p>
+ * An identifier that names no field reloads the schema once, in case the field was created since, unless
+ * the schema was loaded less than {@link #MIN_RELOAD_INTERVAL} ago. It is then remembered as unknown
+ * until the schema is replaced, so looking it up again makes no request either.
+ */
+final class CustomFieldSchemaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomFieldSchemaCache.class);
+
+    /**
+     * Minimum age of a schema before an unknown identifier reloads it
+     */
+    static final Duration MIN_RELOAD_INTERVAL = Duration.ofSeconds(30);
+
+    private static final int MAX_UNKNOWN_IDENTIFIERS = 1_000;
+
+    private final Function<String, CompletableFuture<List<CustomField>>> loader;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ConcurrentMap<String, CompletableFuture<Schema>> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader loads every custom field of a publication, by publication ID
+     */
+    CustomFieldSchemaCache(Function<String, CompletableFuture<List<CustomField>>> loader, Duration ttl, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the field with this name, or null if the publication has none
+     */
+    CompletableFuture<CustomField> byName(String publicationId, String name) {
+        return resolve(publicationId, name, false).thenApply(validator -> validator == null ? null : validator.field());
+    }
+
+    /**
+     * @return the validator of the field with this name, else of the field with this ID, or null if the
+     * publication has neither
+     */
+    CompletableFuture<CustomFieldValidator> validator(String publicationId, String identifier) {
+        return resolve(publicationId, identifier, true);
+    }
+
+    /**
+     * Drops the publication's schema; the next lookup loads it again
+     */
+    void invalidate(String publicationId) {
+        schemas.remove(publicationId);
+    }
+
+    private CompletableFuture<CustomFieldValidator> resolve(String publicationId, String identifier, boolean byId) {
+        return schema(publicationId, null).thenCompose(schema -> {
+            CustomFieldValidator field = schema.find(identifier, byId);
+            if (field != null || schema.unknown.contains(identifier)) {
+                return CompletableFuture.completedFuture(field);
+            }
+            if (clock.instant().isBefore(schema.loadedAt.plus(MIN_RELOAD_INTERVAL))) {
+                return CompletableFuture.completedFuture(schema.rememberUnknown(identifier));
+            }
+            return schema(publicationId, schema).thenApply(reloaded -> {
+                CustomFieldValidator found = reloaded.find(identifier, byId);
+                return found != null ? found : reloaded.rememberUnknown(identifier);
+            });
+        });
+    }
+
+    /**
+     * @param outdated a schema to reload even if it has not expired, or null
+     * @return the publication's schema, loading it when there is none, it has expired or it is outdated
+     */
+    private CompletableFuture<Schema> schema(String publicationId, Schema outdated) {
+        while (true) {
+            CompletableFuture<Schema> current = schemas.get(publicationId);
+            Schema held = current == null || current.isCompletedExceptionally() ? null : current.getNow(null);
+            if (current != null && (!current.isDone() || held != null && held != outdated
+                    && clock.instant().isBefore(held.expiresAt))) {
+                return current;
+            }
+            CompletableFuture<Schema> next = new CompletableFuture<>();
+            if (current == null ? schemas.putIfAbsent(publicationId, next) == null
+                    : schemas.replace(publicationId, current, next)) {
+                load(publicationId, held, next);
+                return next;
+            }
+        }
+    }
+
+    private void load(String publicationId, Schema stale, CompletableFuture<Schema> next) {
+        CompletableFuture<List<CustomField>> fields;
+        try {
+            fields = loader.apply(publicationId);
+        } catch (RuntimeException e) {
+            fields = CompletableFuture.failedFuture(e);
+        }
+        fields.whenComplete((loaded, failure) -> {
+            if (failure == null) {
+                Instant now = clock.instant();
+                next.complete(new Schema(loaded, now, now.plus(ttl)));
+                logger.debug("Loaded {} custom fields of publication {}", loaded.size(), publicationId);
+            } else if (stale != null) {
+                logger.warn("Could not reload the custom fields of publication {}, using the ones loaded before: {}",
+                        publicationId, failure.toString());
+                next.complete(stale);
+            } else {
+                schemas.remove(publicationId, next);
+                next.completeExceptionally(failure);
+            }
+        });
+    }
+
+    /**
+     * The compiled custom fields of a publication by name and by ID, with the identifiers looked up in vain
+     */
+    private static final class Schema {
+        final Map<String, CustomFieldValidator> byName = new HashMap<>();
+        final Map<String, CustomFieldValidator> byId = new HashMap<>();
+        final Set<String> unknown = ConcurrentHashMap.newKeySet();
+        final Instant loadedAt;
+        final Instant expiresAt;
+
+        Schema(List<CustomField> fields, Instant loadedAt, Instant expiresAt) {
+            for (CustomField field : fields) {
+                CustomFieldValidator validator = CustomFieldValidator.compile(field);
+                // The first of two fields with one name wins, as in the listing order
+                if (field.name() != null) {
+                    byName.putIfAbsent(field.name(), validator);
+                }
+                if (field.id() != null) {
+                    byId.putIfAbsent(field.id(), validator);
+                }
+            }
+            this.loadedAt = loadedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        CustomFieldValidator find(String identifier, boolean byId) {
+            CustomFieldValidator field = byName.get(identifier);
+            return field != null || !byId ? field : this.byId.get(identifier);
+        }
+
+        /**
+         * @return null, as the identifier names no field
+         */
+        CustomFieldValidator rememberUnknown(String identifier) {
+            if (unknown.size() < MAX_UNKNOWN_IDENTIFIERS) {
+                unknown.add(identifier);
+            }
+            return null;
+        }
+    }
+}
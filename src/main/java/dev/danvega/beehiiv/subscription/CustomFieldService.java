@@ -1,30 +1,43 @@
 package dev.danvega.beehiiv.subscription;
 
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.ApiClient;
 import dev.danvega.beehiiv.core.ApiException;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.CacheRegion;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.UriTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 @Service
 public final class CustomFieldService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomFieldService.class);
-    private final RestClient restClient;
+    private static final UriTemplate CUSTOM_FIELDS_URI = UriTemplate.compile(ApiConstants.CUSTOM_FIELDS_ENDPOINT);
+    private static final UriTemplate SINGLE_CUSTOM_FIELD_URI = UriTemplate.compile(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT);
+    private final ApiClient apiClient;
     private final String defaultPublicationId;
     private final BeehiivProperties beehiivProperties;
+    private final CustomFieldSchemaCache schemaCache;
 
-    public CustomFieldService(RestClient restClient, BeehiivProperties beehiivProperties) {
-        this.restClient = restClient;
+    public CustomFieldService(ApiClient apiClient, BeehiivProperties beehiivProperties, CacheProperties cacheProperties) {
+        this.apiClient = apiClient;
         this.defaultPublicationId = beehiivProperties.defaultPublicationId();
         this.beehiivProperties = beehiivProperties;
+        this.schemaCache = new CustomFieldSchemaCache(this::loadAllCustomFieldsAsync,
+                cacheProperties.ttl(CacheRegion.CUSTOM_FIELDS), Clock.systemUTC());
         logger.info("Initializing CustomFieldService with default publication ID: {}", 
                 defaultPublicationId != null ? defaultPublicationId : "none");
     }
@@ -41,10 +54,7 @@ public final class CustomFieldService {
             String uri = buildCustomFieldsUri(resolvedPublicationId, limit, page);
             logger.info("Listing custom fields for publication: {}", resolvedPublicationId);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(CustomFieldsResponse.class);
+            return apiClient.get(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri, CustomFieldsResponse.class, CacheRegion.CUSTOM_FIELDS);
                     
         } catch (HttpClientErrorException e) {
             logger.error("Error listing custom fields for publication {}: Status: {}, Body: {}", 
@@ -68,13 +78,10 @@ public final class CustomFieldService {
         String resolvedPublicationId = resolvePublicationId(publicationId);
         
         try {
-            String uri = "/publications/" + resolvedPublicationId + "/custom_fields/" + customFieldId;
+            String uri = SINGLE_CUSTOM_FIELD_URI.expand(resolvedPublicationId, customFieldId).build();
             logger.info("Retrieving custom field {} for publication: {}", customFieldId, resolvedPublicationId);
             
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(CustomFieldResponse.class);
+            return apiClient.get(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT, uri, CustomFieldResponse.class, CacheRegion.CUSTOM_FIELDS);
                     
         } catch (HttpClientErrorException e) {
             logger.error("Error retrieving custom field {} for publication {}: Status: {}, Body: {}", 
@@ -91,21 +98,7 @@ public final class CustomFieldService {
             @ToolParam(description = "Custom field name to search for (required)") String fieldName,
             @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId) {
         
-        if (fieldName == null || fieldName.isBlank()) {
-            throw new IllegalArgumentException("Custom field name is required");
-        }
-        
-        // Get all custom fields and search by name
-        CustomFieldsResponse response = listCustomFields(100, 1, publicationId);
-        
-        if (response != null && response.data() != null) {
-            return response.data().stream()
-                    .filter(field -> fieldName.equals(field.name()))
-                    .findFirst()
-                    .orElse(null);
-        }
-        
-        return null;
+        return ApiClient.await(getCustomFieldByNameAsync(fieldName, publicationId));
     }
 
     @Tool(name = "beehiiv_validate_custom_field_value", description = "Validate a value against a custom field's type and constraints.")
@@ -114,47 +107,117 @@ public final class CustomFieldService {
             @ToolParam(description = "Value to validate (required)") String value,
             @ToolParam(description = "Publication ID to query (optional, uses default if not provided)", required = false) String publicationId) {
         
-        if (fieldIdentifier == null || fieldIdentifier.isBlank()) {
-            throw new IllegalArgumentException("Custom field identifier is required");
+        return ApiClient.await(validateCustomFieldValueAsync(fieldIdentifier, value, publicationId));
+    }
+
+    /**
+     * Non-blocking {@link #listCustomFields}.
+     */
+    public CompletableFuture<CustomFieldsResponse> listCustomFieldsAsync(Integer limit, Integer page, String publicationId) {
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildCustomFieldsUri(resolvedPublicationId, limit, page);
+        logger.info("Listing custom fields for publication: {}", resolvedPublicationId);
+        
+        return apiClient.getAsync(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri, CustomFieldsResponse.class, CacheRegion.CUSTOM_FIELDS)
+                .exceptionally(failure -> {
+                    logger.error("Error listing custom fields for publication: {}", resolvedPublicationId, failure);
+                    throw ApiException.wrap("Error listing custom fields for publication " + resolvedPublicationId, failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getCustomField}.
+     */
+    public CompletableFuture<CustomFieldResponse> getCustomFieldAsync(String customFieldId, String publicationId) {
+        if (customFieldId == null || customFieldId.isBlank()) {
+            throw new IllegalArgumentException("Custom field ID is required");
         }
         
-        // Try to get field by name first, then by ID
-        CustomField field = getCustomFieldByName(fieldIdentifier, publicationId);
-        if (field == null) {
-            // Try by ID
-            try {
-                CustomFieldResponse response = getCustomField(fieldIdentifier, publicationId);
-                field = response != null ? response.data() : null;
-            } catch (Exception e) {
-                // Field not found
-            }
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = SINGLE_CUSTOM_FIELD_URI.expand(resolvedPublicationId, customFieldId).build();
+        logger.info("Retrieving custom field {} for publication: {}", customFieldId, resolvedPublicationId);
+        
+        return apiClient.getAsync(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT, uri, CustomFieldResponse.class, CacheRegion.CUSTOM_FIELDS)
+                .exceptionally(failure -> {
+                    logger.error("Error retrieving custom field {} for publication: {}", customFieldId, resolvedPublicationId, failure);
+                    throw ApiException.wrap("Error retrieving custom field " + customFieldId, failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getCustomFieldByName}, answered from the publication's cached
+     * {@link CustomFieldSchemaCache schema} of every custom field.
+     */
+    public CompletableFuture<CustomField> getCustomFieldByNameAsync(String fieldName, String publicationId) {
+        if (fieldName == null || fieldName.isBlank()) {
+            throw new IllegalArgumentException("Custom field name is required");
         }
         
-        if (field == null) {
-            return Map.of(
-                "valid", false,
-                "error", "Custom field not found: " + fieldIdentifier
-            );
+        return schemaCache.byName(resolvePublicationId(publicationId), fieldName);
+    }
+
+    /**
+     * Non-blocking {@link #validateCustomFieldValue}: the field is resolved by name, then by ID, from the
+     * publication's cached schema, so validating against a known field makes no request, and the value is
+     * checked by the field's compiled {@link CustomFieldValidator}.
+     */
+    public CompletableFuture<Map<String, Object>> validateCustomFieldValueAsync(String fieldIdentifier, String value,
+                                                                            String publicationId) {
+        if (fieldIdentifier == null || fieldIdentifier.isBlank()) {
+            throw new IllegalArgumentException("Custom field identifier is required");
         }
         
-        try {
-            Object convertedValue = field.convertValue(value);
-            boolean isValid = field.isValidValue(convertedValue);
-            
-            return Map.of(
-                "valid", isValid,
-                "convertedValue", convertedValue,
-                "fieldType", field.type(),
-                "fieldName", field.name()
-            );
-        } catch (Exception e) {
-            return Map.of(
-                "valid", false,
-                "error", e.getMessage(),
-                "fieldType", field.type(),
-                "fieldName", field.name()
-            );
-        }
+        return schemaCache.validator(resolvePublicationId(publicationId), fieldIdentifier)
+                .thenApply(validator -> validator != null ? validator.validate(value) : Map.of(
+                        "valid", false,
+                        "error", "Custom field not found: " + fieldIdentifier
+                ));
+    }
+
+    /**
+     * Drops the cached custom field schema of a publication, e.g. after its custom fields were changed
+     * outside this server; the next lookup loads every field again.
+     */
+    public void invalidateCustomFields(String publicationId) {
+        schemaCache.invalidate(resolvePublicationId(publicationId));
+    }
+
+    /**
+     * Loads every page of a publication's custom fields for the schema cache. The pages bypass the
+     * response cache, since the schema cache keeps them instead.
+     * Page 1 tells how many fields there are; pages 2..N are then requested together.
+     */
+    private CompletableFuture<List<CustomField>> loadAllCustomFieldsAsync(String publicationId) {
+        return fetchCustomFieldsPageAsync(publicationId, 1).thenCompose(firstPage -> {
+            List<CustomField> first = firstPage == null || firstPage.data() == null ? List.of() : firstPage.data();
+            int totalPages = firstPage == null || firstPage.totalResults() == null ? 1
+                    : (firstPage.totalResults() + ApiConstants.MAX_LIMIT - 1) / ApiConstants.MAX_LIMIT;
+            if (totalPages <= 1) {
+                return CompletableFuture.completedFuture(first);
+            }
+            List<CompletableFuture<CustomFieldsResponse>> pages = IntStream.rangeClosed(2, totalPages)
+                    .mapToObj(page -> fetchCustomFieldsPageAsync(publicationId, page))
+                    .toList();
+            return CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new)).thenApply(done -> {
+                List<CustomField> fields = new ArrayList<>(first);
+                for (CompletableFuture<CustomFieldsResponse> page : pages) {
+                    CustomFieldsResponse response = page.join();
+                    if (response != null && response.data() != null) {
+                        fields.addAll(response.data());
+                    }
+                }
+                return fields;
+            });
+        });
+    }
+
+    private CompletableFuture<CustomFieldsResponse> fetchCustomFieldsPageAsync(String publicationId, int page) {
+        String uri = buildCustomFieldsUri(publicationId, ApiConstants.MAX_LIMIT, page);
+        return apiClient.getAsync(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri, CustomFieldsResponse.class)
+                .exceptionally(failure -> {
+                    logger.error("Error loading custom fields for publication: {}", publicationId, failure);
+                    throw ApiException.wrap("Error loading custom fields for publication " + publicationId, failure);
+                });
     }
 
     /**
@@ -183,23 +246,9 @@ public final class CustomFieldService {
      * Build URI for listing custom fields
      */
     private String buildCustomFieldsUri(String publicationId, Integer limit, Integer page) {
-        StringBuilder uri = new StringBuilder("/publications/" + publicationId + "/custom_fields");
-        
-        if (limit != null || page != null) {
-            uri.append("?");
-            boolean hasParam = false;
-            
-            if (limit != null) {
-                uri.append("limit=").append(limit);
-                hasParam = true;
-            }
-            
-            if (page != null) {
-                if (hasParam) uri.append("&");
-                uri.append("page=").append(page);
-            }
-        }
-        
-        return uri.toString();
+        return CUSTOM_FIELDS_URI.expand(publicationId)
+                .query(ApiConstants.PARAM_LIMIT, limit)
+                .query(ApiConstants.PARAM_PAGE, page)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package dev.danvega.beehiiv.subscription;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A custom field compiled for validating values: its type resolved once, its list options hashed, and
+ * numbers and booleans parsed without exceptions. It accepts and converts exactly the values
+ * {@link CustomField#convertValue} and {@link CustomField#isValidValue} do.
+ */
+final class CustomFieldValidator {
+
+    private static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private final CustomField field;
+    private final CustomField.FieldType fieldType;
+    private final String typeError;
+    private final String typeName;
+    private final Set<String> options;
+    private final boolean required;
+
+    private CustomFieldValidator(CustomField field) {
+        this.field = field;
+        CustomField.FieldType resolved = null;
+        String error = null;
+        try {
+            resolved = CustomField.FieldType.fromString(field.type());
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+        this.fieldType = resolved;
+        this.typeError = error;
+        this.typeName = field.type() != null ? field.type() : CustomField.FieldType.TEXT.getValue();
+        this.options = field.options() == null ? null : new HashSet<>(field.options());
+        this.required = Boolean.TRUE.equals(field.isRequired());
+    }
+
+    /**
+     * @return the field compiled for validation; a field of an unknown type rejects every value but a blank one
+     */
+    static CustomFieldValidator compile(CustomField field) {
+        return new CustomFieldValidator(field);
+    }
+
+    CustomField field() {
+        return field;
+    }
+
+    /**
+     * @return whether the value, as a string, converts to a valid value of the field
+     */
+    boolean isValid(String value) {
+        if (value == null || value.isBlank()) {
+            return !required;
+        }
+        if (fieldType == null) {
+            return false;
+        }
+        return switch (fieldType) {
+            case TEXT, DATE, DATETIME -> true;
+            case NUMBER -> value.indexOf('.') >= 0 ? isDouble(value) : parseInt(value) != NOT_AN_INT;
+            case BOOLEAN -> parseBoolean(value) != null;
+            case LIST -> options == null || options.contains(value);
+        };
+    }
+
+    /**
+     * Validates a value given as a string
+     * @return whether it is valid, with the converted value or the error, and the field's type and name
+     */
+    Map<String, Object> validate(String value) {
+        if (value == null || value.isBlank()) {
+            return Map.of("valid", !required, "fieldType", typeName, "fieldName", field.name());
+        }
+        if (fieldType == null) {
+            return Map.of("valid", false, "error", typeError, "fieldType", typeName, "fieldName", field.name());
+        }
+        Object converted = convert(value);
+        if (converted == null) {
+            return Map.of("valid", false, "error", error(value), "fieldType", typeName, "fieldName", field.name());
+        }
+        return Map.of("valid", true, "convertedValue", converted, "fieldType", typeName, "fieldName", field.name());
+    }
+
+    /**
+     * @return the value converted to the field's type, or null if it does not convert
+     */
+    private Object convert(String value) {
+        return switch (fieldType) {
+            case TEXT, DATE, DATETIME -> value;
+            case NUMBER -> {
+                if (value.indexOf('.') >= 0) {
+                    yield isDouble(value) ? Double.parseDouble(value) : null;
+                }
+                long parsed = parseInt(value);
+                yield parsed == NOT_AN_INT ? null : Integer.valueOf((int) parsed);
+            }
+            case BOOLEAN -> parseBoolean(value);
+            case LIST -> options == null || options.contains(value) ? value : null;
+        };
+    }
+
+    private String error(String value) {
+        return switch (fieldType) {
+            case NUMBER -> "Invalid number format: " + value;
+            case BOOLEAN -> "Invalid boolean format: " + value;
+            case LIST -> "Invalid list option: " + value + ". Valid options: " + String.join(", ", field.options());
+            default -> throw new IllegalStateException("Every " + fieldType + " value converts");
+        };
+    }
+
+    /**
+     * {@link Integer#parseInt} without the exception
+     * @return the value, or {@link #NOT_AN_INT}
+     */
+    static long parseInt(String value) {
+        int length = value.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            start = 1;
+        }
+        if (start == length) {
+            return NOT_AN_INT;
+        }
+        long result = 0;
+        for (int i = start; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+            result = result * 10 + digit;
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                return NOT_AN_INT;
+            }
+        }
+        result = negative ? -result : result;
+        return result > Integer.MAX_VALUE ? NOT_AN_INT : result;
+    }
+
+    /**
+     * @return whether {@link Double#parseDouble} accepts the value: optional surrounding whitespace and
+     * sign, then NaN, Infinity, a decimal or a hexadecimal floating-point literal with an optional
+     * float or double suffix
+     */
+    static boolean isDouble(String value) {
+        String text = value.trim();
+        int i = 0;
+        int length = text.length();
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+        }
+        if (text.startsWith("NaN", i)) {
+            return i + 3 == length;
+        }
+        if (text.startsWith("Infinity", i)) {
+            return i + 8 == length;
+        }
+        boolean hex = text.startsWith("0x", i) || text.startsWith("0X", i);
+        if (hex) {
+            i += 2;
+        }
+        int digits = 0;
+        while (i < length && isDigit(text.charAt(i), hex)) {
+            i++;
+            digits++;
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(text.charAt(i), hex)) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        char exponent = hex ? 'p' : 'e';
+        if (i < length && Character.toLowerCase(text.charAt(i)) == exponent) {
+            i++;
+            if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isDigit(text.charAt(i), false)) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        } else if (hex) {
+            // A hexadecimal literal needs its binary exponent
+            return false;
+        }
+        if (i < length && "fFdD".indexOf(text.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c, boolean hex) {
+        return c >= '0' && c <= '9' || hex && (c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * The booleans {@link CustomField.FieldType#convertValue} accepts, ignoring case
+     * @return the value, or null if it is not a boolean
+     */
+    static Boolean parseBoolean(String value) {
+        return switch (value.length()) {
+            case 1 -> value.charAt(0) == '1' ? Boolean.TRUE : value.charAt(0) == '0' ? Boolean.FALSE : null;
+            case 2 -> equalsIgnoreAsciiCase(value, "no") ? Boolean.FALSE : null;
+            case 3 -> equalsIgnoreAsciiCase(value, "yes") ? Boolean.TRUE : null;
+            case 4 -> equalsIgnoreAsciiCase(value, "true") ? Boolean.TRUE : null;
+            case 5 -> equalsIgnoreAsciiCase(value, "false") ? Boolean.FALSE : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * Compares with a lower-case ASCII word. Unlike {@link String#equalsIgnoreCase}, it matches exactly
+     * the strings whose {@link String#toLowerCase} is the word, e.g. not "yeſ" for "yes".
+     */
+    private static boolean equalsIgnoreAsciiCase(String value, String lowerCaseWord) {
+        for (int i = 0; i < lowerCaseWord.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != lowerCaseWord.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,36 +3,53 @@ package dev.danvega.beehiiv.subscription;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.ApiClient;
 import dev.danvega.beehiiv.core.ApiException;
+import dev.danvega.beehiiv.core.CacheRegion;
+import dev.danvega.beehiiv.core.FieldProjection;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.PrefetchingPageIterator;
+import dev.danvega.beehiiv.core.Projected;
+import dev.danvega.beehiiv.core.ProjectedResultConverter;
+import dev.danvega.beehiiv.core.UriTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public final class SubscriptionService {
 
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionService.class);
-    private final RestClient restClient;
+    private static final UriTemplate SUBSCRIPTIONS_URI = UriTemplate.compile(ApiConstants.SUBSCRIPTIONS_ENDPOINT);
+    private static final UriTemplate SINGLE_SUBSCRIPTION_URI = UriTemplate.compile(ApiConstants.SINGLE_SUBSCRIPTION_ENDPOINT);
+    private static final UriTemplate SUBSCRIPTION_BY_EMAIL_URI = UriTemplate.compile(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT);
+    private static final List<String> EXPAND_OPTIONS = List.of("stats", "custom_fields", "referrals", "subscription_premium_tiers");
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. email,status,stats; dotted paths like "
+            + "stats.opens select inside objects. Omit for all fields; when set, expand options are derived from it";
+
+    private final ApiClient apiClient;
     private final String defaultPublicationId;
     private final BeehiivProperties beehiivProperties;
     private final ObjectMapper objectMapper;
     
     // Email validation pattern
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+    static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+@[a-zA-Z0-9](?:[a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?(?:\\.[a-zA-Z0-9](?:[a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?)*$"
     );
 
-    public SubscriptionService(RestClient restClient, BeehiivProperties beehiivProperties, ObjectMapper objectMapper) {
-        this.restClient = restClient;
+    public SubscriptionService(ApiClient apiClient, BeehiivProperties beehiivProperties, ObjectMapper objectMapper) {
+        this.apiClient = apiClient;
         this.defaultPublicationId = beehiivProperties.defaultPublicationId();
         this.beehiivProperties = beehiivProperties;
         this.objectMapper = objectMapper;
@@ -70,14 +87,13 @@ public final class SubscriptionService {
                 utmSource, utmMedium, utmCampaign, referringSite
             );
             
-            String uri = "/publications/" + resolvedPublicationId + "/subscriptions";
+            String uri = SUBSCRIPTIONS_URI.expand(resolvedPublicationId).build();
             logger.info("Creating subscription for email: {} in publication: {}", email, resolvedPublicationId);
             
-            return restClient.post()
-                    .uri(uri)
-                    .body(requestBody)
-                    .retrieve()
-                    .body(SubscriptionResponse.class);
+            SubscriptionResponse response = apiClient.post(ApiConstants.SUBSCRIPTIONS_ENDPOINT, uri, requestBody, SubscriptionResponse.class);
+            // Cached publication stats (subscriber counts) are stale now
+            apiClient.invalidate(CacheRegion.PUBLICATIONS);
+            return response;
                     
         } catch (HttpClientErrorException e) {
             logger.error("Error creating subscription for {}: Status: {}, Body: {}", 
@@ -89,30 +105,38 @@ public final class SubscriptionService {
         }
     }
 
-    @Tool(name = "beehiiv_get_subscription_by_email", description = "Retrieve a subscription by email address.")
-    public SubscriptionResponse getSubscriptionByEmail(
+    /**
+     * Gets a subscription by email with every field.
+     */
+    public SubscriptionResponse getSubscriptionByEmail(String email, String expand, String publicationId) {
+        return getSubscriptionByEmail(email, expand, publicationId, null).value();
+    }
+
+    @Tool(name = "beehiiv_get_subscription_by_email", description = "Retrieve a subscription by email address.",
+            resultConverter = ProjectedResultConverter.class)
+    public Projected<SubscriptionResponse> getSubscriptionByEmail(
             @ToolParam(description = "Email address to search for (required)") String email,
             @ToolParam(description = "Comma-separated expand options: stats, custom_fields, referrals, subscription_premium_tiers", required = false) String expand,
-            @ToolParam(description = "Publication ID to search in (optional, uses default if not provided)", required = false) String publicationId) {
-        
+            @ToolParam(description = "Publication ID to search in (optional, uses default if not provided)", required = false) String publicationId,
+            @ToolParam(description = FIELDS_DESCRIPTION, required = false) String fields) {
+
         if (email == null || email.isBlank()) {
             throw new IllegalArgumentException("Email address is required");
         }
-        
+
         if (!EMAIL_PATTERN.matcher(email).matches()) {
             throw new IllegalArgumentException("Invalid email address format");
         }
-        
+
         String resolvedPublicationId = resolvePublicationId(publicationId);
-        
+        FieldProjection projection = FieldProjection.parse(fields);
+
         try {
-            String uri = buildGetByEmailUri(resolvedPublicationId, email, expand);
+            String uri = buildGetByEmailUri(resolvedPublicationId, email, projectedExpand(projection, expand));
             logger.info("Retrieving subscription for email: {} in publication: {}", email, resolvedPublicationId);
-            
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(SubscriptionResponse.class);
+
+            return Projected.of(apiClient.get(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT, uri,
+                    SubscriptionResponse.class, projection), projection);
                     
         } catch (HttpClientErrorException e) {
             logger.error("Error retrieving subscription for {}: Status: {}, Body: {}", 
@@ -124,26 +148,34 @@ public final class SubscriptionService {
         }
     }
 
-    @Tool(name = "beehiiv_get_subscription_by_id", description = "Retrieve a subscription by ID.")
-    public SubscriptionResponse getSubscriptionById(
+    /**
+     * Gets a subscription by ID with every field.
+     */
+    public SubscriptionResponse getSubscriptionById(String subscriptionId, String expand, String publicationId) {
+        return getSubscriptionById(subscriptionId, expand, publicationId, null).value();
+    }
+
+    @Tool(name = "beehiiv_get_subscription_by_id", description = "Retrieve a subscription by ID.",
+            resultConverter = ProjectedResultConverter.class)
+    public Projected<SubscriptionResponse> getSubscriptionById(
             @ToolParam(description = "Subscription ID to retrieve (required)") String subscriptionId,
             @ToolParam(description = "Comma-separated expand options: stats, custom_fields, referrals, subscription_premium_tiers", required = false) String expand,
-            @ToolParam(description = "Publication ID to search in (optional, uses default if not provided)", required = false) String publicationId) {
-        
+            @ToolParam(description = "Publication ID to search in (optional, uses default if not provided)", required = false) String publicationId,
+            @ToolParam(description = FIELDS_DESCRIPTION, required = false) String fields) {
+
         if (subscriptionId == null || subscriptionId.isBlank()) {
             throw new IllegalArgumentException("Subscription ID is required");
         }
-        
+
         String resolvedPublicationId = resolvePublicationId(publicationId);
-        
+        FieldProjection projection = FieldProjection.parse(fields);
+
         try {
-            String uri = buildGetByIdUri(resolvedPublicationId, subscriptionId, expand);
+            String uri = buildGetByIdUri(resolvedPublicationId, subscriptionId, projectedExpand(projection, expand));
             logger.info("Retrieving subscription ID: {} in publication: {}", subscriptionId, resolvedPublicationId);
-            
-            return restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(SubscriptionResponse.class);
+
+            return Projected.of(apiClient.get(ApiConstants.SINGLE_SUBSCRIPTION_ENDPOINT, uri,
+                    SubscriptionResponse.class, projection), projection);
                     
         } catch (HttpClientErrorException e) {
             logger.error("Error retrieving subscription {}: Status: {}, Body: {}", 
@@ -155,6 +187,141 @@ public final class SubscriptionService {
         }
     }
 
+    /**
+     * Non-blocking {@link #createSubscription}.
+     */
+    public CompletableFuture<SubscriptionResponse> createSubscriptionAsync(String email, String customFields, Boolean reactivated,
+                                                                          Boolean sendWelcomeEmail, Boolean doubleOptOverride,
+                                                                          String utmSource, String utmMedium, String utmCampaign,
+                                                                          String referringSite, String publicationId) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email address is required");
+        }
+        
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email address format");
+        }
+        
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        Map<String, Object> requestBody = buildCreateSubscriptionRequest(
+            email, customFields, reactivated, sendWelcomeEmail, doubleOptOverride,
+            utmSource, utmMedium, utmCampaign, referringSite
+        );
+        
+        String uri = SUBSCRIPTIONS_URI.expand(resolvedPublicationId).build();
+        logger.info("Creating subscription for email: {} in publication: {}", email, resolvedPublicationId);
+        
+        return apiClient.postAsync(ApiConstants.SUBSCRIPTIONS_ENDPOINT, uri, requestBody, SubscriptionResponse.class)
+                .whenComplete((response, failure) -> {
+                    if (failure == null) {
+                        // Cached publication stats (subscriber counts) are stale now
+                        apiClient.invalidate(CacheRegion.PUBLICATIONS);
+                    }
+                })
+                .exceptionally(failure -> {
+                    logger.error("Error creating subscription for: {}", email, failure);
+                    throw ApiException.wrap("Error creating subscription for " + email, failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getSubscriptionByEmail}.
+     */
+    public CompletableFuture<SubscriptionResponse> getSubscriptionByEmailAsync(String email, String expand, String publicationId) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email address is required");
+        }
+        
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email address format");
+        }
+        
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildGetByEmailUri(resolvedPublicationId, email, expand);
+        logger.info("Retrieving subscription for email: {} in publication: {}", email, resolvedPublicationId);
+        
+        return apiClient.getAsync(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT, uri, SubscriptionResponse.class)
+                .exceptionally(failure -> {
+                    logger.error("Error retrieving subscription for: {}", email, failure);
+                    throw ApiException.wrap("Error retrieving subscription for " + email, failure);
+                });
+    }
+
+    /**
+     * Non-blocking {@link #getSubscriptionById}.
+     */
+    public CompletableFuture<SubscriptionResponse> getSubscriptionByIdAsync(String subscriptionId, String expand, String publicationId) {
+        if (subscriptionId == null || subscriptionId.isBlank()) {
+            throw new IllegalArgumentException("Subscription ID is required");
+        }
+        
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildGetByIdUri(resolvedPublicationId, subscriptionId, expand);
+        logger.info("Retrieving subscription ID: {} in publication: {}", subscriptionId, resolvedPublicationId);
+        
+        return apiClient.getAsync(ApiConstants.SINGLE_SUBSCRIPTION_ENDPOINT, uri, SubscriptionResponse.class)
+                .exceptionally(failure -> {
+                    logger.error("Error retrieving subscription: {}", subscriptionId, failure);
+                    throw ApiException.wrap("Error retrieving subscription " + subscriptionId, failure);
+                });
+    }
+
+    /**
+     * Retrieves one page of subscriptions
+     * @param limit Number of subscriptions per page (1-100)
+     * @param page Page number (1+)
+     * @param status Optional status filter, e.g. active
+     * @param tier Optional tier filter: free, premium
+     * @param expand Comma-separated expand options: stats, custom_fields, referrals, subscription_premium_tiers
+     */
+    public SubscriptionsResponse listSubscriptions(Integer limit, Integer page, String status, String tier,
+                                                   String expand, String publicationId) {
+        if (limit != null && (limit < ApiConstants.MIN_LIMIT || limit > ApiConstants.MAX_LIMIT)) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_LIMIT);
+        }
+        if (page != null && page < 1) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_PAGE);
+        }
+        
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        String uri = buildSubscriptionsUri(resolvedPublicationId, limit, page, status, tier, expand);
+        
+        try {
+            logger.info("Listing subscriptions: {}", uri);
+            
+            return apiClient.get(ApiConstants.SUBSCRIPTIONS_ENDPOINT, uri, SubscriptionsResponse.class);
+        } catch (HttpClientErrorException e) {
+            logger.error("Error listing subscriptions: {} - Status: {}, Body: {}", 
+                    uri, e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ApiException("Error listing subscriptions: " + e.getMessage(), e);
+        } catch (Exception e) {
+            logger.error("Unexpected error listing subscriptions: {}", uri, e);
+            throw new ApiException("Unexpected error listing subscriptions", e);
+        }
+    }
+
+    /**
+     * Lazily walks all subscriptions matching the filters, fetching pages as the stream is consumed.
+     * Only the pages in the prefetch window are held in memory. Close the stream (try-with-resources)
+     * when stopping early so prefetched page requests are cancelled.
+     * @param limit Number of subscriptions per page; defaults to {@link ApiConstants#MAX_LIMIT}
+     * @return Stream of subscriptions in page order
+     */
+    public Stream<Subscription> subscriptionStream(Integer limit, String status, String tier, String expand,
+                                                   String publicationId) {
+        int pageSize = limit != null ? limit : ApiConstants.MAX_LIMIT;
+        if (pageSize < ApiConstants.MIN_LIMIT || pageSize > ApiConstants.MAX_LIMIT) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_LIMIT);
+        }
+        String resolvedPublicationId = resolvePublicationId(publicationId);
+        
+        PrefetchingPageIterator<SubscriptionsResponse> pages = apiClient.prefetchPages(1,
+                page -> listSubscriptions(pageSize, page, status, tier, expand, resolvedPublicationId),
+                // The response has no page count; a short page is the last one
+                response -> response.data() == null || response.data().size() < pageSize);
+        return pages.stream(SubscriptionsResponse::data);
+    }
+
     /**
      * Helper method to resolve the publication ID to use
      */
@@ -229,55 +396,47 @@ public final class SubscriptionService {
     }
 
     /**
-     * Build URI for getting subscription by email
+     * expand[] options for a lookup: the expandable fields a projection reads, or the requested ones
      */
-    private String buildGetByEmailUri(String publicationId, String email, String expand) {
-        StringBuilder uri = new StringBuilder("/publications/" + publicationId + "/subscriptions/by_email/" + email);
-        
-        if (expand != null && !expand.isBlank()) {
-            uri.append("?");
-            String[] expandOptions = expand.split(",");
-            boolean first = true;
-            
-            for (String option : expandOptions) {
-                String trimmedOption = option.trim();
-                if (!trimmedOption.isEmpty()) {
-                    if (!first) {
-                        uri.append("&");
-                    }
-                    uri.append("expand[]=").append(trimmedOption);
-                    first = false;
-                }
-            }
+    static String projectedExpand(FieldProjection projection, String expand) {
+        if (projection.isAll()) {
+            return expand;
         }
-        
-        return uri.toString();
+        return EXPAND_OPTIONS.stream()
+                .filter(projection::includes)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Build URI for getting subscription by email
+     */
+    String buildGetByEmailUri(String publicationId, String email, String expand) {
+        return SUBSCRIPTION_BY_EMAIL_URI.expand(publicationId, email)
+                .queryList(ApiConstants.PARAM_EXPAND, expand)
+                .build();
+    }
+
+    /**
+     * Build URI for listing subscriptions
+     */
+    private String buildSubscriptionsUri(String publicationId, Integer limit, Integer page, String status,
+                                         String tier, String expand) {
+        return SUBSCRIPTIONS_URI.expand(publicationId)
+                .query(ApiConstants.PARAM_LIMIT, limit)
+                .query(ApiConstants.PARAM_PAGE, page)
+                .query(ApiConstants.PARAM_STATUS, status)
+                .query(ApiConstants.PARAM_TIER, tier)
+                .queryList(ApiConstants.PARAM_EXPAND, expand)
+                .build();
     }
 
     /**
      * Build URI for getting subscription by ID
      */
     private String buildGetByIdUri(String publicationId, String subscriptionId, String expand) {
-        StringBuilder uri = new StringBuilder("/publications/" + publicationId + "/subscriptions/" + subscriptionId);
-        
-        if (expand != null && !expand.isBlank()) {
-            uri.append("?");
-            String[] expandOptions = expand.split(",");
-            boolean first = true;
-            
-            for (String option : expandOptions) {
-                String trimmedOption = option.trim();
-                if (!trimmedOption.isEmpty()) {
-                    if (!first) {
-                        uri.append("&");
-                    }
-                    uri.append("expand[]=").append(trimmedOption);
-                    first = false;
-                }
-            }
-        }
-        
-        return uri.toString();
+        return SINGLE_SUBSCRIPTION_URI.expand(publicationId, subscriptionId)
+                .queryList(ApiConstants.PARAM_EXPAND, expand)
+                .build();
     }
     
 }
\ No newline at end of file
@@ -1,7 +1,18 @@
 package dev.danvega.beehiiv;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.AsyncHttpTransport;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.ClientMetrics;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.MetricsProperties;
+import dev.danvega.beehiiv.core.PageFanOut;
+import dev.danvega.beehiiv.core.ResilienceExecutor;
+import dev.danvega.beehiiv.core.ResilienceProperties;
+import dev.danvega.beehiiv.core.ResponseCache;
+import dev.danvega.beehiiv.core.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -14,16 +25,30 @@ import static org.mockito.Mockito.mock;
 public abstract class BaseServiceTest {
 
     protected RestClient mockRestClient;
+    protected ApiClient apiClient;
     protected BeehiivProperties testProperties;
     protected ObjectMapper mockObjectMapper;
     
     @BeforeEach
     void setUp() {
         mockRestClient = mock(RestClient.class);
+        apiClient = createApiClient(mockRestClient);
         testProperties = new BeehiivProperties("test-api-key-12345", "pub_test123");
         mockObjectMapper = new ObjectMapper(); // Use real ObjectMapper for JSON testing
     }
     
+    /**
+     * Helper method to create the API client the services use, backed by the given RestClient.
+     * Responses are not cached so every call reaches the mock; asynchronous calls reach an unstubbed transport.
+     */
+    protected ApiClient createApiClient(RestClient restClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new ApiClient(restClient, new ResilienceExecutor(ResilienceProperties.defaults(), meterRegistry),
+                new SingleFlight(meterRegistry), ResponseCache.none(), new ObjectMapper(),
+                new PageFanOut(ExecutionProperties.defaults()), mock(AsyncHttpTransport.class),
+                new ClientMetrics(meterRegistry, MetricsProperties.defaults()));
+    }
+    
     /**
      * Helper method to create test properties with custom values
      */
@@ -0,0 +1,150 @@
+package dev.danvega.beehiiv.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.danvega.beehiiv.subscription.CustomFieldsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares blocking and asynchronous tool calls under the same load against a local stand-in for
+ * the Beehiiv API: {@value #TOOL_CALLS} concurrent calls, {@value #UPSTREAM_LATENCY_MILLIS} ms upstream
+ * latency. Results are logged; only correctness and the thread footprint are asserted.
+ */
+class AsyncClientLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncClientLoadTest.class);
+    private static final int TOOL_CALLS = 500;
+    private static final int MAX_PER_ROUTE = 64;
+    private static final long UPSTREAM_LATENCY_MILLIS = 50;
+    private static final byte[] BODY = "{\"data\":[],\"total_results\":0}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+    private ScheduledExecutorService latency;
+    private HttpClientProperties httpProperties;
+
+    @BeforeEach
+    void startStandInServer() throws IOException {
+        latency = Executors.newSingleThreadScheduledExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), TOOL_CALLS);
+        // Responses are delayed on a timer, so the stand-in itself never limits concurrency
+        server.createContext("/publications", exchange ->
+                latency.schedule(() -> respond(exchange), UPSTREAM_LATENCY_MILLIS, TimeUnit.MILLISECONDS));
+        server.start();
+
+        httpProperties = new HttpClientProperties("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2), Duration.ofSeconds(30),
+                MAX_PER_ROUTE, MAX_PER_ROUTE, Duration.ofSeconds(30), true);
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            exchange.getResponseBody().write(BODY);
+        } catch (IOException e) {
+            logger.warn("Stand-in server could not respond", e);
+        }
+    }
+
+    @AfterEach
+    void stopStandInServer() {
+        server.stop(0);
+        latency.shutdownNow();
+    }
+
+    private ApiClient apiClient() {
+        HttpClient httpClient = new RestClientConfig().beehiivHttpClient(httpProperties, ExecutionProperties.defaults());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+        RestClient restClient = RestClient.builder()
+                .baseUrl(httpProperties.baseUrl())
+                .requestFactory(RestClientConfig.requestFactory(httpClient, httpProperties, clientMetrics))
+                .build();
+        RateLimitProperties noRateLimit = new RateLimitProperties(false, 3, 10, Duration.ofSeconds(30), 3);
+        return new ApiClient(restClient, new ResilienceExecutor(ResilienceProperties.defaults(), meterRegistry),
+                new SingleFlight(meterRegistry), ResponseCache.none(), Jackson2ObjectMapperBuilder.json().build(),
+                new PageFanOut(ExecutionProperties.defaults()),
+                new AsyncHttpTransport(httpClient, httpProperties, "test-api-key", noRateLimit,
+                        new TokenBucketRateLimiter(noRateLimit), clientMetrics, meterRegistry),
+                clientMetrics);
+    }
+
+    // Distinct URIs, so single-flight does not collapse the load
+    private static String uri(int call) {
+        return "/publications/pub_test123/custom_fields?page=" + call;
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent tool calls asynchronously without a thread per call")
+    void shouldCompareBlockingAndAsyncModes() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        ApiClient blockingClient = apiClient();
+        int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        try (ExecutorService toolCalls = Executors.newCachedThreadPool()) {
+            List<Future<CustomFieldsResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < TOOL_CALLS; i++) {
+                String uri = uri(i);
+                calls.add(toolCalls.submit(() -> blockingClient.get(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri, CustomFieldsResponse.class)));
+            }
+            for (Future<CustomFieldsResponse> call : calls) {
+                assertNotNull(call.get());
+            }
+        }
+        long blockingMillis = (System.nanoTime() - start) / 1_000_000;
+        int blockingThreadGrowth = threads.getPeakThreadCount() - threadsBefore;
+
+        ApiClient asyncClient = apiClient();
+        threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        start = System.nanoTime();
+        List<CompletableFuture<CustomFieldsResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < TOOL_CALLS; i++) {
+            calls.add(asyncClient.getAsync(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri(i), CustomFieldsResponse.class));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        long asyncMillis = (System.nanoTime() - start) / 1_000_000;
+        int asyncThreadGrowth = threads.getPeakThreadCount() - threadsBefore;
+
+        logger.info("{} concurrent tool calls, {} ms upstream latency, {} exchanges per route: blocking {} ms with {} extra threads, async {} ms with {} extra threads",
+                TOOL_CALLS, UPSTREAM_LATENCY_MILLIS, MAX_PER_ROUTE, blockingMillis, blockingThreadGrowth, asyncMillis, asyncThreadGrowth);
+
+        for (CompletableFuture<CustomFieldsResponse> call : calls) {
+            assertNotNull(call.join());
+        }
+        assertTrue(asyncThreadGrowth < blockingThreadGrowth / 2,
+                "async calls must not need a thread each (async " + asyncThreadGrowth + ", blocking " + blockingThreadGrowth + ")");
+    }
+}
@@ -0,0 +1,151 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncHttpTransportTest {
+
+    private static final String BODY = "{\"data\":{\"id\":\"pub_test123\",\"name\":\"Test\"}}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+    private final AtomicInteger throttledRequests = new AtomicInteger();
+    private final AtomicInteger failingRequests = new AtomicInteger();
+    private HttpServer server;
+    private AsyncHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/publications/pub_test123", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+                body = compressed.toByteArray();
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/publications/pub_throttled", exchange -> {
+            if (throttledRequests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(429, -1);
+            } else {
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.createContext("/publications/pub_missing", exchange -> {
+            byte[] body = "{\"errors\":[{\"message\":\"Not found\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/publications/pub_failing", exchange -> {
+            failingRequests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+
+        HttpClientProperties httpProperties = new HttpClientProperties("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2), Duration.ofSeconds(5), 8, 8, Duration.ofSeconds(30), true);
+        transport = new AsyncHttpTransport(HttpClient.newHttpClient(), httpProperties, "test-api-key",
+                RateLimitProperties.defaults(), new TokenBucketRateLimiter(RateLimitProperties.defaults()), clientMetrics, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private ResponseEntity<byte[]> get(String uri) {
+        return transport.exchange(HttpMethod.GET, ApiConstants.SINGLE_PUBLICATION_ENDPOINT, uri, HttpHeaders.EMPTY, null).join();
+    }
+
+    private Throwable failure(String uri) {
+        CompletionException e = assertThrows(CompletionException.class, () -> get(uri));
+        return e.getCause();
+    }
+
+    @Test
+    @DisplayName("Should decode a gzip response and count wire and decoded bytes")
+    void shouldDecodeGzip() {
+        ResponseEntity<byte[]> response = get("/publications/pub_test123");
+
+        assertEquals(BODY, new String(response.getBody(), StandardCharsets.UTF_8));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        double wire = meterRegistry.counter(CompressionInterceptor.WIRE_BYTES_METRIC,
+                "endpoint", ApiConstants.SINGLE_PUBLICATION_ENDPOINT).count();
+        double decoded = meterRegistry.counter(CompressionInterceptor.DECODED_BYTES_METRIC,
+                "endpoint", ApiConstants.SINGLE_PUBLICATION_ENDPOINT).count();
+        assertEquals(BODY.length(), decoded);
+        assertTrue(wire > 0 && wire != decoded);
+    }
+
+    @Test
+    @DisplayName("Should re-send a throttled request after Retry-After")
+    void shouldRetryThrottledRequest() {
+        ResponseEntity<byte[]> response = get("/publications/pub_throttled");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, throttledRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should fail with the RestClient's exception types for error statuses")
+    void shouldTranslateErrorStatuses() {
+        assertInstanceOf(HttpClientErrorException.NotFound.class, failure("/publications/pub_missing"));
+        assertInstanceOf(HttpServerErrorException.ServiceUnavailable.class, failure("/publications/pub_failing"));
+    }
+
+    @Test
+    @DisplayName("Should retry transient failures through the asynchronous API client")
+    void shouldRetryThroughApiClient() {
+        ApiClient apiClient = new ApiClient(RestClient.create(), new ResilienceExecutor(
+                new ResilienceProperties(true, 3, Duration.ofMillis(1), Duration.ofMillis(5), 10, Duration.ofSeconds(30), 1, false),
+                meterRegistry), new SingleFlight(meterRegistry), ResponseCache.none(), new ObjectMapper(),
+                new PageFanOut(ExecutionProperties.defaults()), transport, clientMetrics);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> apiClient.getAsync(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, "/publications/pub_failing", Map.class).join());
+
+        assertInstanceOf(HttpServerErrorException.class, e.getCause());
+        assertEquals(3, failingRequests.get());
+        assertEquals("Test", ((Map<?, ?>) apiClient.getAsync(ApiConstants.SINGLE_PUBLICATION_ENDPOINT,
+                "/publications/pub_test123", Map.class).join().get("data")).get("name"));
+    }
+}
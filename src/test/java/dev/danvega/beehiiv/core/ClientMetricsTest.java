@@ -0,0 +1,161 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientMetricsTest {
+
+    private static final String ENDPOINT = ApiConstants.SINGLE_PUBLICATION_ENDPOINT;
+    private static final String BODY = "{\"data\":{\"id\":\"pub_test123\",\"name\":\"Test\"}}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/publications/pub_test123", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/publications/pub_missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        HttpClientProperties httpProperties = new HttpClientProperties("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2), Duration.ofSeconds(5), 8, 8, Duration.ofSeconds(30), true);
+        HttpClient httpClient = HttpClient.newHttpClient();
+        ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+        RestClient restClient = RestClient.builder()
+                .baseUrl(httpProperties.baseUrl())
+                .requestFactory(RestClientConfig.requestFactory(httpClient, httpProperties, clientMetrics))
+                .build();
+        RateLimitProperties noRateLimit = new RateLimitProperties(false, 3, 10, Duration.ofSeconds(30), 3);
+        ResilienceProperties noRetries = new ResilienceProperties(true, 1, Duration.ofMillis(1), Duration.ofMillis(5),
+                10, Duration.ofSeconds(30), 1, false);
+        apiClient = new ApiClient(restClient, new ResilienceExecutor(noRetries, meterRegistry),
+                new SingleFlight(meterRegistry), ResponseCache.none(), new ObjectMapper(),
+                new PageFanOut(ExecutionProperties.defaults()),
+                new AsyncHttpTransport(httpClient, httpProperties, "test-api-key", noRateLimit,
+                        new TokenBucketRateLimiter(noRateLimit), clientMetrics, meterRegistry),
+                clientMetrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private long phaseCount(String phase) {
+        Timer timer = meterRegistry.find(ClientMetrics.PHASE_METRIC).tags("endpoint", ENDPOINT, "phase", phase).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long requestCount(String status) {
+        Timer timer = meterRegistry.find(ClientMetrics.REQUESTS_METRIC).tags("endpoint", ENDPOINT, "status", status).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errorCount(String status) {
+        return meterRegistry.counter(ClientMetrics.ERRORS_METRIC, "endpoint", ENDPOINT, "status", status).count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get(ClientMetrics.IN_FLIGHT_METRIC).tag("endpoint", ENDPOINT).gauge().value();
+    }
+
+    private void assertPhasesRecorded() {
+        assertEquals(1, phaseCount(ClientMetrics.TIME_TO_FIRST_BYTE));
+        assertEquals(1, phaseCount(ClientMetrics.BODY_READ));
+        assertEquals(1, phaseCount(ClientMetrics.DESERIALIZATION));
+        assertEquals(1, requestCount("200"));
+        assertEquals(0, inFlight());
+    }
+
+    @Nested
+    @DisplayName("Blocking calls")
+    class BlockingCallTests {
+
+        @Test
+        @DisplayName("Should time each phase of an exchange under the endpoint template")
+        void shouldTimePhases() {
+            Map<?, ?> response = apiClient.get(ENDPOINT, "/publications/pub_test123", Map.class);
+
+            assertNotNull(response);
+            assertPhasesRecorded();
+        }
+
+        @Test
+        @DisplayName("Should count error statuses")
+        void shouldCountErrorStatuses() {
+            assertThrows(HttpClientErrorException.NotFound.class,
+                    () -> apiClient.get(ENDPOINT, "/publications/pub_missing", Map.class));
+
+            assertEquals(1, requestCount("404"));
+            assertEquals(1, errorCount("404"));
+            assertEquals(0, inFlight());
+        }
+    }
+
+    @Nested
+    @DisplayName("Asynchronous calls")
+    class AsyncCallTests {
+
+        @Test
+        @DisplayName("Should time each phase of an exchange under the endpoint template")
+        void shouldTimePhases() {
+            Map<?, ?> response = apiClient.getAsync(ENDPOINT, "/publications/pub_test123", Map.class).join();
+
+            assertNotNull(response);
+            assertPhasesRecorded();
+        }
+
+        @Test
+        @DisplayName("Should count error statuses")
+        void shouldCountErrorStatuses() {
+            assertThrows(CompletionException.class,
+                    () -> apiClient.getAsync(ENDPOINT, "/publications/pub_missing", Map.class).join());
+
+            assertEquals(1, requestCount("404"));
+            assertEquals(1, errorCount("404"));
+            assertEquals(0, inFlight());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count exchanges that failed without a response")
+    void shouldCountFailuresWithoutResponse() {
+        server.stop(0);
+
+        assertThrows(RuntimeException.class, () -> apiClient.get(ENDPOINT, "/publications/pub_test123", Map.class));
+
+        assertEquals(1, meterRegistry.find(ClientMetrics.ERRORS_METRIC).tags("endpoint", ENDPOINT, "status", "none")
+                .counter().count());
+        assertEquals(0, inFlight());
+    }
+}
@@ -0,0 +1,108 @@
+package dev.danvega.beehiiv.core;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionInterceptorTest {
+
+    private static final String ENDPOINT = ApiConstants.POSTS_ENDPOINT;
+    private static final String BODY = "{\"data\":[{\"id\":\"post_1\",\"content_html\":\"" + "<p>newsletter</p>".repeat(2_000) + "\"}]}";
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private RestClient restClient;
+    private volatile String acceptEncoding;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] gzipped = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/publications", exchange -> {
+            acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            if (exchange.getRequestURI().getPath().endsWith("/not-modified")) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(200, gzipped.length);
+                exchange.getResponseBody().write(gzipped);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        restClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .requestInterceptor(new CompressionInterceptor(meterRegistry))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should negotiate gzip and decode the body transparently")
+    void shouldDecodeGzipBody() {
+        ResponseEntity<String> response = restClient.get()
+                .uri("/publications/pub_test123/posts")
+                .attribute(ApiClient.ENDPOINT_ATTRIBUTE, ENDPOINT)
+                .retrieve()
+                .toEntity(String.class);
+
+        assertEquals("gzip, deflate", acceptEncoding);
+        assertEquals(BODY, response.getBody());
+        assertNull(response.getHeaders().getFirst("Content-Encoding"));
+    }
+
+    @Test
+    @DisplayName("Should count wire and decoded bytes per endpoint")
+    void shouldCountWireAndDecodedBytes() {
+        restClient.get().uri("/publications/pub_test123/posts")
+                .attribute(ApiClient.ENDPOINT_ATTRIBUTE, ENDPOINT)
+                .retrieve()
+                .body(String.class);
+
+        double wire = meterRegistry.counter(CompressionInterceptor.WIRE_BYTES_METRIC, "endpoint", ENDPOINT).count();
+        double decoded = meterRegistry.counter(CompressionInterceptor.DECODED_BYTES_METRIC, "endpoint", ENDPOINT).count();
+
+        assertEquals(BODY.length(), decoded);
+        assertTrue(wire > 0 && wire < decoded / 10, "gzip should shrink the repetitive body on the wire");
+    }
+
+    @Test
+    @DisplayName("Should accept an encoded response without a body")
+    void shouldAcceptBodilessEncodedResponse() {
+        ResponseEntity<byte[]> response = restClient.get()
+                .uri("/publications/pub_test123/not-modified")
+                .retrieve()
+                .toEntity(byte[].class);
+
+        assertEquals(304, response.getStatusCode().value());
+        assertNull(response.getBody());
+    }
+}
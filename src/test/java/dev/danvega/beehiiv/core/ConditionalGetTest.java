@@ -0,0 +1,128 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.publication.PublicationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetTest {
+
+    private static final String URI = "/publications/pub_test123";
+    private static final String ETAG = "\"v1\"";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<String> ifNoneMatchHeaders = new CopyOnWriteArrayList<>();
+    private final MutableClock clock = new MutableClock();
+    private HttpServer server;
+    private volatile boolean sendValidators = true;
+    private ResponseCache cache;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(MockApiResponses.createSamplePublicationResponse());
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/publications", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatchHeaders.add(String.valueOf(ifNoneMatch));
+            if (sendValidators) {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+            }
+            if (sendValidators && ETAG.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        RestClient restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .build();
+        cache = new InMemoryResponseCache(new CacheProperties(true, 100, DataSize.ofMegabytes(1),
+                Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1)), clock);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+        HttpClientProperties httpProperties = new HttpClientProperties(baseUrl, HttpClient.Version.HTTP_1_1,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), 8, 8, Duration.ofSeconds(30), true);
+        AsyncHttpTransport asyncTransport = new AsyncHttpTransport(HttpClient.newHttpClient(), httpProperties, "test-api-key",
+                RateLimitProperties.defaults(), new TokenBucketRateLimiter(RateLimitProperties.defaults()), clientMetrics, meterRegistry);
+        apiClient = new ApiClient(restClient, new ResilienceExecutor(ResilienceProperties.defaults(), meterRegistry),
+                new SingleFlight(meterRegistry), cache, objectMapper,
+                new PageFanOut(ExecutionProperties.defaults()), asyncTransport, clientMetrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private PublicationResponse getPublication() {
+        return apiClient.get(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, URI, PublicationResponse.class, CacheRegion.PUBLICATIONS);
+    }
+
+    @Test
+    @DisplayName("Should revalidate a stale response with If-None-Match and reuse it on 304")
+    void shouldReuseResponseOnNotModified() {
+        PublicationResponse first = getPublication();
+        assertSame(first, getPublication());
+
+        clock.advance(Duration.ofMinutes(2));
+        PublicationResponse revalidated = getPublication();
+
+        assertSame(first, revalidated);
+        assertEquals(List.of("null", ETAG), ifNoneMatchHeaders);
+        assertEquals(1, cache.stats().revalidations());
+        assertEquals("pub_test123", revalidated.data().id());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the content hash when upstream sends no validators")
+    void shouldReuseResponseWithUnchangedContent() {
+        sendValidators = false;
+        PublicationResponse first = getPublication();
+
+        clock.advance(Duration.ofMinutes(2));
+        PublicationResponse refetched = getPublication();
+
+        assertSame(first, refetched);
+        assertEquals(List.of("null", "null"), ifNoneMatchHeaders);
+        assertEquals(1, cache.stats().revalidations());
+    }
+
+    @Test
+    @DisplayName("Should revalidate through the asynchronous client the same way")
+    void shouldReuseResponseOnNotModifiedAsync() {
+        PublicationResponse first = apiClient.getAsync(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, URI,
+                PublicationResponse.class, CacheRegion.PUBLICATIONS).join();
+
+        clock.advance(Duration.ofMinutes(2));
+        PublicationResponse revalidated = apiClient.getAsync(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, URI,
+                PublicationResponse.class, CacheRegion.PUBLICATIONS).join();
+
+        assertSame(first, revalidated);
+        assertEquals(List.of("null", ETAG), ifNoneMatchHeaders);
+        assertEquals(1, cache.stats().revalidations());
+    }
+}
@@ -0,0 +1,316 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.post.PostsResponse;
+import dev.danvega.beehiiv.publication.PublicationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskResponseCacheTest {
+
+    private static final String API_KEY = "test-api-key";
+    private static final String PUBLICATION_URI = "/publications/pub_test123";
+    private static final String POSTS_URI = "/publications/pub_test123/posts?limit=10&page=1";
+    private static final ResponseValidators VALIDATORS = new ResponseValidators("\"v1\"", null, "abc123");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CacheProperties cacheProperties = CacheProperties.defaults();
+    private final List<DiskResponseCache> opened = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+    }
+
+    @AfterEach
+    void closeCaches() throws IOException {
+        for (DiskResponseCache cache : opened) {
+            cache.close();
+        }
+    }
+
+    private DiskCacheProperties diskProperties(DataSize maxSize, DataSize segmentSize, int indexSlots) {
+        return new DiskCacheProperties(true, directory, maxSize, segmentSize, indexSlots);
+    }
+
+    private DiskResponseCache open(DiskCacheProperties diskProperties, String apiKey) throws IOException {
+        DiskResponseCache cache = DiskResponseCache.open(new InMemoryResponseCache(cacheProperties, clock),
+                cacheProperties, diskProperties, apiKey, objectMapper, clock);
+        opened.add(cache);
+        return cache;
+    }
+
+    private DiskResponseCache open() throws IOException {
+        return open(diskProperties(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1), 64), API_KEY);
+    }
+
+    // A new process: the previous one closed its cache and a new one opens the same directory
+    private DiskResponseCache restart(DiskResponseCache cache) throws IOException {
+        cache.close();
+        opened.remove(cache);
+        return open();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Restarts")
+    class RestartTests {
+
+        @Test
+        @DisplayName("Should answer a new process from disk and keep the response in memory after")
+        void shouldServeFromDiskAfterRestart() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse(), VALIDATORS);
+            cache.put(CacheRegion.POSTS, POSTS_URI, MockApiResponses.createSamplePostsResponse());
+
+            DiskResponseCache restarted = restart(cache);
+            PublicationResponse publication = restarted.get(CacheRegion.PUBLICATIONS, PUBLICATION_URI, PublicationResponse.class);
+            PostsResponse posts = restarted.get(CacheRegion.POSTS, POSTS_URI, PostsResponse.class);
+            restarted.get(CacheRegion.PUBLICATIONS, PUBLICATION_URI, PublicationResponse.class);
+
+            assertEquals(MockApiResponses.createSamplePublication(), publication.data());
+            assertEquals(2, posts.data().size());
+            assertEquals(MockApiResponses.createSamplePost().title(), posts.data().get(0).title());
+            assertEquals(VALIDATORS, restarted.lookup(CacheRegion.PUBLICATIONS, PUBLICATION_URI).validators());
+            assertEquals(2, restarted.diskStats().hits());
+            assertEquals(2, restarted.stats().hits());
+        }
+
+        @Test
+        @DisplayName("Should preload fresh responses into memory, publications first, within half the memory bounds")
+        void shouldPreloadFreshResponses() throws IOException {
+            DiskResponseCache cache = open();
+            for (int page = 1; page <= 4; page++) {
+                cache.put(CacheRegion.POSTS, "/posts?page=" + page, MockApiResponses.createSamplePostsResponse());
+            }
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse());
+            cache.put(CacheRegion.POSTS, "/posts?page=5", MockApiResponses.createSamplePostsResponse());
+            cache.close();
+            opened.remove(cache);
+
+            CacheProperties smallMemory = new CacheProperties(true, 6, DataSize.ofMegabytes(1),
+                    Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(10));
+            DiskResponseCache restarted = DiskResponseCache.open(new InMemoryResponseCache(smallMemory, clock),
+                    smallMemory, diskProperties(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1), 64), API_KEY,
+                    objectMapper, clock);
+            opened.add(restarted);
+
+            assertEquals(3, restarted.preload());
+            assertNotNull(restarted.lookup(CacheRegion.PUBLICATIONS, PUBLICATION_URI));
+            assertNotNull(restarted.lookup(CacheRegion.POSTS, "/posts?page=5"));
+            assertNotNull(restarted.lookup(CacheRegion.POSTS, "/posts?page=4"));
+            assertEquals(0, restarted.diskStats().hits());
+            assertEquals(3, restarted.stats().hits());
+        }
+
+        @Test
+        @DisplayName("Should keep the time-to-live across restarts and return expired responses for revalidation")
+        void shouldKeepTtlAcrossRestarts() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.POSTS, POSTS_URI, MockApiResponses.createSamplePostsResponse(), VALIDATORS);
+
+            clock.advance(Duration.ofSeconds(30));
+            DiskResponseCache restarted = restart(cache);
+            assertNotNull(restarted.get(CacheRegion.POSTS, POSTS_URI, PostsResponse.class));
+
+            clock.advance(Duration.ofSeconds(30));
+            DiskResponseCache expired = restart(restarted);
+            CachedResponse stale = expired.lookup(CacheRegion.POSTS, POSTS_URI);
+
+            assertFalse(stale.fresh());
+            assertEquals(VALIDATORS, stale.validators());
+            assertNull(expired.get(CacheRegion.POSTS, POSTS_URI, PostsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should renew an unchanged revalidated response without writing it again")
+        void shouldRenewUnchangedResponseInPlace() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.POSTS, POSTS_URI, MockApiResponses.createSamplePostsResponse(), VALIDATORS);
+            long written = Files.size(segments().get(0));
+
+            clock.advance(Duration.ofMinutes(2));
+            DiskResponseCache restarted = restart(cache);
+            CachedResponse stale = restarted.lookup(CacheRegion.POSTS, POSTS_URI);
+            assertFalse(stale.fresh());
+            // Upstream answered 304: the same value is stored again with the same validators
+            restarted.put(CacheRegion.POSTS, POSTS_URI, stale.value(PostsResponse.class), VALIDATORS);
+
+            assertEquals(written, Files.size(segments().get(0)));
+            assertEquals(1, restarted.stats().revalidations());
+            assertNotNull(restart(restarted).get(CacheRegion.POSTS, POSTS_URI, PostsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should write a revalidated response again when its validators changed")
+        void shouldRewriteResponseWithNewValidators() throws IOException {
+            DiskResponseCache cache = open();
+            PostsResponse posts = MockApiResponses.createSamplePostsResponse();
+            cache.put(CacheRegion.POSTS, POSTS_URI, posts, VALIDATORS);
+            long written = Files.size(segments().get(0));
+
+            ResponseValidators changed = new ResponseValidators("\"v2\"", null, "abc123");
+            cache.put(CacheRegion.POSTS, POSTS_URI, posts, changed);
+
+            assertTrue(Files.size(segments().get(0)) > written);
+            assertEquals(changed, restart(cache).lookup(CacheRegion.POSTS, POSTS_URI).validators());
+        }
+
+        @Test
+        @DisplayName("Should not answer from a region invalidated before the restart")
+        void shouldKeepInvalidationsAcrossRestarts() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse());
+            cache.put(CacheRegion.POSTS, POSTS_URI, MockApiResponses.createSamplePostsResponse());
+            cache.invalidate(CacheRegion.POSTS);
+
+            DiskResponseCache restarted = restart(cache);
+
+            assertNull(restarted.lookup(CacheRegion.POSTS, POSTS_URI));
+            assertNotNull(restarted.lookup(CacheRegion.PUBLICATIONS, PUBLICATION_URI));
+        }
+
+        @Test
+        @DisplayName("Should keep the responses of other API keys apart")
+        void shouldSeparateApiKeys() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse());
+            cache.close();
+            opened.remove(cache);
+
+            DiskResponseCache other = open(diskProperties(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1), 64), "other-key");
+
+            assertNull(other.lookup(CacheRegion.PUBLICATIONS, PUBLICATION_URI));
+        }
+
+        @Test
+        @DisplayName("Should refuse a directory another process has open")
+        void shouldLockDirectory() throws IOException {
+            open();
+
+            assertThrows(IOException.class, DiskResponseCacheTest.this::open);
+        }
+    }
+
+    @Nested
+    @DisplayName("Integrity")
+    class IntegrityTests {
+
+        @Test
+        @DisplayName("Should treat a corrupted record as absent")
+        void shouldRejectCorruptedRecord() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse());
+            cache.close();
+            opened.remove(cache);
+            try (FileChannel segment = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+                segment.write(ByteBuffer.wrap(new byte[] {'X'}), segment.size() - 10);
+            }
+
+            DiskResponseCache restarted = open();
+
+            assertNull(restarted.lookup(CacheRegion.PUBLICATIONS, PUBLICATION_URI));
+        }
+
+        @Test
+        @DisplayName("Should cut off a torn record and rebuild the index after a crash")
+        void shouldRecoverFromTornAppend() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.PUBLICATIONS, PUBLICATION_URI, MockApiResponses.createSamplePublicationResponse());
+            cache.put(CacheRegion.POSTS, POSTS_URI, MockApiResponses.createSamplePostsResponse());
+            cache.close();
+            opened.remove(cache);
+            // Killed halfway through appending a third record
+            Path segment = segments().get(0);
+            long intact = Files.size(segment);
+            Files.write(segment, new byte[] {(byte) 0xBE, (byte) 0xE1, (byte) 0xCA, (byte) 0xC4, 0, 0, 0x10}, StandardOpenOption.APPEND);
+
+            DiskResponseCache restarted = open();
+
+            assertEquals(intact, Files.size(segment));
+            assertNotNull(restarted.get(CacheRegion.PUBLICATIONS, PUBLICATION_URI, PublicationResponse.class));
+            assertNotNull(restarted.get(CacheRegion.POSTS, POSTS_URI, PostsResponse.class));
+            restarted.put(CacheRegion.POSTS, "/posts?page=2", MockApiResponses.createEmptyPostsResponse());
+            assertNotNull(restart(restarted).get(CacheRegion.POSTS, "/posts?page=2", PostsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should not write values other than the Beehiiv models")
+        void shouldOnlyWriteModels() throws IOException {
+            DiskResponseCache cache = open();
+            cache.put(CacheRegion.POSTS, POSTS_URI, "posts");
+
+            assertEquals("posts", cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+            assertNull(restart(cache).lookup(CacheRegion.POSTS, POSTS_URI));
+        }
+    }
+
+    @Nested
+    @DisplayName("Size")
+    class SizeTests {
+
+        @Test
+        @DisplayName("Should grow the index past its initial slots")
+        void shouldGrowIndex() throws IOException {
+            DiskResponseCache cache = open(diskProperties(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1), 16), API_KEY);
+            for (int i = 0; i < 100; i++) {
+                cache.put(CacheRegion.PUBLICATIONS, "/publications/pub_" + i, MockApiResponses.createSamplePublicationResponse());
+            }
+            cache.close();
+            opened.remove(cache);
+
+            DiskResponseCache restarted = open(diskProperties(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1), 16), API_KEY);
+
+            assertEquals(100, restarted.diskStats().entries());
+            for (int i = 0; i < 100; i++) {
+                assertNotNull(restarted.lookup(CacheRegion.PUBLICATIONS, "/publications/pub_" + i), "pub_" + i);
+            }
+        }
+
+        @Test
+        @DisplayName("Should roll segments and delete the oldest beyond the maximum size")
+        void shouldDeleteOldestSegments() throws IOException {
+            DiskResponseCache cache = open(diskProperties(DataSize.ofKilobytes(16), DataSize.ofKilobytes(8), 64), API_KEY);
+            for (int i = 0; i < 40; i++) {
+                cache.put(CacheRegion.PUBLICATIONS, "/publications/pub_" + i, MockApiResponses.createSamplePublicationResponse());
+            }
+
+            CacheStats stats = cache.diskStats();
+            assertTrue(stats.weight() <= DataSize.ofKilobytes(16).toBytes(), stats.weight() + " bytes on disk");
+            assertTrue(stats.evictions() > 0);
+            assertEquals(40 - stats.evictions(), stats.entries());
+            assertTrue(segments().size() > 1);
+            assertNull(restart(cache).lookup(CacheRegion.PUBLICATIONS, "/publications/pub_0"));
+        }
+    }
+}
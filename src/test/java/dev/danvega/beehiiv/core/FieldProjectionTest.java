@@ -0,0 +1,129 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldProjectionTest {
+
+    private static final String POSTS_PAGE = """
+            {"data": [
+              {"id": "post_1", "title": "First", "content_html": "<p>long</p>", "stats": {"email": {"opens": 3}, "web": {"views": 9}},
+               "content": {"free": {"web": "<p>web</p>", "email": "<p>email</p>"}}},
+              {"id": "post_2", "title": "Second", "content_html": "<p>longer</p>", "stats": {"email": {"opens": 5}}}
+            ],
+            "pagination": {"count": 2, "next_page": null}}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode read(FieldProjection projection, String json) throws IOException {
+        try (JsonParser parser = projection.filter(objectMapper.createParser(json))) {
+            return objectMapper.readTree(parser);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Should read every field without a field list")
+        void shouldReadAllWithoutFields() {
+            assertSame(FieldProjection.ALL, FieldProjection.parse(null));
+            assertSame(FieldProjection.ALL, FieldProjection.parse(" , "));
+            assertTrue(FieldProjection.ALL.includes("content_html"));
+        }
+
+        @Test
+        @DisplayName("Should sort paths and always include the id")
+        void shouldIncludeId() {
+            FieldProjection projection = FieldProjection.parse(" title, stats.email ,title");
+
+            assertEquals(List.of("id", "stats.email", "title"), List.copyOf(projection.paths()));
+        }
+
+        @Test
+        @DisplayName("Should reject paths that are not JSON field names")
+        void shouldRejectInvalidPaths() {
+            assertThrows(IllegalArgumentException.class, () -> FieldProjection.parse("title,Content-HTML"));
+            assertThrows(IllegalArgumentException.class, () -> FieldProjection.parse("stats..email"));
+        }
+
+        @Test
+        @DisplayName("Should tell whether a path is read whole or in part")
+        void shouldMatchPaths() {
+            FieldProjection projection = FieldProjection.parse("content,stats.email");
+
+            assertTrue(projection.includes("content.free.web"));
+            assertTrue(projection.includes("stats"));
+            assertTrue(projection.includes("stats.email.opens"));
+            assertFalse(projection.includes("stats.web"));
+            assertFalse(projection.includes("content_html"));
+        }
+
+        @Test
+        @DisplayName("Should key projections of one URI apart and independent of field order")
+        void shouldKeyByCanonicalFields() {
+            String uri = "/publications/pub_1/posts?limit=10";
+
+            assertEquals(uri, FieldProjection.ALL.key(uri));
+            assertEquals(FieldProjection.parse("title,stats").key(uri), FieldProjection.parse("stats, title").key(uri));
+            assertNotEquals(FieldProjection.parse("title").key(uri), FieldProjection.parse("stats").key(uri));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtering")
+    class FilteringTests {
+
+        @Test
+        @DisplayName("Should keep only projected fields of every record and the whole envelope")
+        void shouldProjectRecords() throws IOException {
+            JsonNode page = read(FieldProjection.parse("title"), POSTS_PAGE);
+
+            assertEquals(2, page.path("data").size());
+            for (JsonNode post : page.path("data")) {
+                List<String> fields = new ArrayList<>();
+                post.fieldNames().forEachRemaining(fields::add);
+                assertEquals(List.of("id", "title"), fields);
+            }
+            assertEquals(2, page.path("pagination").path("count").asInt());
+            assertTrue(page.path("pagination").has("next_page"));
+        }
+
+        @Test
+        @DisplayName("Should select inside objects with dotted paths")
+        void shouldProjectNestedPaths() throws IOException {
+            JsonNode post = read(FieldProjection.parse("stats.email,content.free.web"), POSTS_PAGE).path("data").get(0);
+
+            assertEquals(3, post.path("stats").path("email").path("opens").asInt());
+            assertFalse(post.path("stats").has("web"));
+            assertEquals("<p>web</p>", post.path("content").path("free").path("web").asText());
+            assertFalse(post.path("content").path("free").has("email"));
+            assertFalse(post.has("title"));
+        }
+
+        @Test
+        @DisplayName("Should project a single record and keep records without projected fields")
+        void shouldProjectSingleRecord() throws IOException {
+            JsonNode single = read(FieldProjection.parse("subtitle"), """
+                    {"data": {"id": "post_1", "title": "First"}}
+                    """);
+            JsonNode page = read(FieldProjection.parse("content"), POSTS_PAGE);
+
+            assertEquals("post_1", single.path("data").path("id").asText());
+            assertFalse(single.path("data").has("title"));
+            assertEquals(2, page.path("data").size());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredToolCallbackTest {
+
+    private static final String TOOL = "beehiiv_get_posts";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ToolCallback tool(Function<String, String> behaviour) {
+        ToolDefinition definition = ToolDefinition.builder().name(TOOL).description("Test tool").inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return behaviour.apply(toolInput);
+            }
+        };
+    }
+
+    private long calls(String outcome, String exception) {
+        Timer timer = meterRegistry.find(MeteredToolCallback.CALLS_METRIC)
+                .tags("tool", TOOL, "outcome", outcome, "exception", exception).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double active() {
+        return meterRegistry.get(MeteredToolCallback.ACTIVE_METRIC).tag("tool", TOOL).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should time successful invocations and gauge them while in flight")
+    void shouldTimeSuccessfulInvocations() {
+        AtomicReference<Double> activeDuringCall = new AtomicReference<>();
+        MeteredToolCallback callback = new MeteredToolCallback(tool(input -> {
+            activeDuringCall.set(active());
+            return "[]";
+        }), meterRegistry, MetricsProperties.defaults());
+
+        assertEquals("[]", callback.call("{}"));
+
+        assertEquals(TOOL, callback.getToolDefinition().name());
+        assertEquals(1, activeDuringCall.get());
+        assertEquals(0, active());
+        assertEquals(1, calls("success", "none"));
+    }
+
+    @Test
+    @DisplayName("Should tag failed invocations with the exception")
+    void shouldTagFailedInvocations() {
+        MeteredToolCallback callback = new MeteredToolCallback(tool(input -> {
+            throw new ApiException("Beehiiv API unavailable");
+        }), meterRegistry, MetricsProperties.defaults());
+
+        assertThrows(ApiException.class, () -> callback.call("{}"));
+
+        assertEquals(0, active());
+        assertEquals(1, calls("error", "ApiException"));
+        assertEquals(0, calls("success", "none"));
+    }
+}
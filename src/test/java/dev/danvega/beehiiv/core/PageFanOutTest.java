@@ -0,0 +1,110 @@
+package dev.danvega.beehiiv.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageFanOutTest {
+
+    private static final int PARALLELISM = 3;
+
+    private final PageFanOut pageFanOut = new PageFanOut(new ExecutionProperties(false, 256, PARALLELISM));
+
+    @AfterEach
+    void tearDown() {
+        pageFanOut.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return pages in order regardless of completion order")
+    void shouldReturnPagesInOrder() {
+        List<Integer> pages = pageFanOut.fetch(2, 12, page -> {
+            sleep(ThreadLocalRandom.current().nextInt(20));
+            return page;
+        });
+
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12), pages);
+    }
+
+    @Test
+    @DisplayName("Should keep at most the configured number of pages in flight")
+    void shouldCapParallelism() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        pageFanOut.fetch(1, 20, page -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(10);
+            inFlight.decrementAndGet();
+            return page;
+        });
+
+        assertTrue(maxInFlight.get() > 1, "pages should be fetched concurrently");
+        assertTrue(maxInFlight.get() <= PARALLELISM);
+    }
+
+    @Test
+    @DisplayName("Should fetch in roughly one page latency per parallelism window")
+    void shouldOverlapPageLatency() {
+        long start = System.nanoTime();
+        pageFanOut.fetch(1, PARALLELISM, page -> {
+            sleep(100);
+            return page;
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 100 * PARALLELISM, "pages should overlap, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure of a page")
+    void shouldRethrowPageFailure() {
+        ApiException failure = new ApiException("page 4 failed");
+
+        ApiException thrown = assertThrows(ApiException.class, () -> pageFanOut.fetch(1, 6, page -> {
+            if (page == 4) {
+                throw failure;
+            }
+            return page;
+        }));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    @DisplayName("Should request no further pages once a page fails")
+    void shouldStopRequestingAfterFailure() {
+        AtomicInteger requests = new AtomicInteger();
+
+        assertThrows(ApiException.class, () -> pageFanOut.fetch(1, 20, page -> {
+            requests.incrementAndGet();
+            if (page == 2) {
+                throw new ApiException("page 2 failed");
+            }
+            sleep(50);
+            return page;
+        }));
+
+        assertTrue(requests.get() <= PARALLELISM, "requested " + requests.get() + " pages");
+    }
+
+    @Test
+    @DisplayName("Should return no pages for an empty range")
+    void shouldHandleEmptyRange() {
+        assertEquals(List.of(), pageFanOut.fetch(2, 1, page -> page));
+    }
+}
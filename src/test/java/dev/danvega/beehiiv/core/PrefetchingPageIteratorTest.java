@@ -0,0 +1,207 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchingPageIteratorTest {
+
+    private static final int WINDOW = 4;
+    private static final int LAST_PAGE = 10;
+
+    private final PageFanOut pageFanOut = new PageFanOut(new ExecutionProperties(false, 256, WINDOW));
+
+    @AfterEach
+    void tearDown() {
+        pageFanOut.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out pages in order and stop at the last page")
+    void shouldIterateUntilLastPage() {
+        List<Integer> pages = new ArrayList<>();
+        try (PrefetchingPageIterator<Integer> iterator = pageFanOut.prefetch(1, page -> page, page -> page == LAST_PAGE)) {
+            iterator.forEachRemaining(pages::add);
+        }
+
+        assertEquals(LAST_PAGE, pages.size());
+        assertEquals(1, pages.get(0));
+        assertEquals(LAST_PAGE, pages.get(LAST_PAGE - 1));
+    }
+
+    @Test
+    @DisplayName("Should keep the window of page requests in flight ahead of consumption")
+    void shouldKeepWindowInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        try (PrefetchingPageIterator<Integer> iterator = pageFanOut.prefetch(1, page -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(20);
+            inFlight.decrementAndGet();
+            return page;
+        }, page -> page == 4 * WINDOW)) {
+            iterator.forEachRemaining(page -> { });
+        }
+
+        assertEquals(WINDOW, maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Should request only the first page of a single-page listing")
+    void shouldOpenWindowWithOnePage() {
+        AtomicInteger fetched = new AtomicInteger();
+
+        try (PrefetchingPageIterator<Integer> iterator = pageFanOut.prefetch(1, page -> {
+            fetched.incrementAndGet();
+            return page;
+        }, page -> page == 1)) {
+            iterator.forEachRemaining(page -> { });
+        }
+
+        assertEquals(1, fetched.get());
+    }
+
+    @Test
+    @DisplayName("Should discard page requests sent past the last page without interrupting them")
+    void shouldDiscardOvershoot() throws InterruptedException {
+        // After a full first page the window opens to two pages: the last page and one past it
+        CountDownLatch overshootStarted = new CountDownLatch(1);
+        CountDownLatch overshootFinished = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+
+        try (PrefetchingPageIterator<Integer> iterator = pageFanOut.prefetch(1, page -> {
+            try {
+                if (page == 2) {
+                    // Answer the last page only once the prefetched page is in flight
+                    overshootStarted.await(5, TimeUnit.SECONDS);
+                } else if (page > 2) {
+                    overshootStarted.countDown();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            } finally {
+                if (page > 2) {
+                    overshootFinished.countDown();
+                }
+            }
+            return page;
+        }, page -> page == 2)) {
+            assertEquals(1, iterator.next());
+            assertEquals(2, iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+
+        assertTrue(overshootFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(0, interrupted.get(), "requests on the wire must not be interrupted");
+    }
+
+    @Test
+    @DisplayName("Should leave the circuit closed when a stream is closed early")
+    void shouldKeepCircuitClosedWhenClosedEarly() throws InterruptedException {
+        ResilienceExecutor resilience = new ResilienceExecutor(new ResilienceProperties(true, 3, Duration.ofMillis(1),
+                Duration.ofMillis(5), 1, Duration.ofSeconds(30), 1, false), new SimpleMeterRegistry());
+        // Pages 2 and 3 are sent once page 1 is full; page 3 is still on the wire when the stream closes
+        CountDownLatch overshootStarted = new CountDownLatch(1);
+        CountDownLatch overshootFinished = new CountDownLatch(1);
+
+        try (Stream<Integer> items = pageFanOut.prefetch(1, page -> resilience.execute(ApiConstants.POSTS_ENDPOINT, true, () -> {
+            try {
+                if (page < 3) {
+                    if (page == 2) {
+                        overshootStarted.await(5, TimeUnit.SECONDS);
+                    }
+                    return page;
+                }
+                overshootStarted.countDown();
+                Thread.sleep(100);
+                return page;
+            } catch (InterruptedException e) {
+                // What RestClient throws for an interrupted JDK HttpClient exchange
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("I/O error", new IOException("Request was interrupted", e));
+            } finally {
+                if (page == 3) {
+                    overshootFinished.countDown();
+                }
+            }
+        }), page -> false).stream(List::of)) {
+            assertEquals(List.of(1, 2), items.limit(2).toList());
+        }
+
+        assertTrue(overshootFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.state(ApiConstants.POSTS_ENDPOINT));
+    }
+
+    @Test
+    @DisplayName("Should stream page items lazily and stop fetching when the stream short-circuits")
+    void shouldStreamLazily() {
+        AtomicInteger fetched = new AtomicInteger();
+
+        List<Integer> firstItems;
+        try (Stream<Integer> items = pageFanOut.prefetch(1, page -> {
+            fetched.incrementAndGet();
+            return page;
+        }, page -> false).stream(page -> IntStream.range(0, 10).map(i -> page * 10 + i).boxed().toList())) {
+            firstItems = items.limit(15).toList();
+        }
+
+        assertEquals(15, firstItems.size());
+        assertEquals(10, firstItems.get(0));
+        assertEquals(24, firstItems.get(14));
+        // Two pages consumed plus at most a window of prefetched pages, never the endless remainder
+        assertTrue(fetched.get() <= 2 + WINDOW, "fetched " + fetched.get() + " pages");
+    }
+
+    @Test
+    @DisplayName("Should stream a null page as the end without items")
+    void shouldStreamNullPageAsEnd() {
+        List<Integer> items;
+        try (Stream<Integer> stream = pageFanOut.prefetch(1, page -> page < 3 ? page : null, page -> false)
+                .stream(page -> List.of(page * 10))) {
+            items = stream.toList();
+        }
+
+        assertEquals(List.of(10, 20), items);
+    }
+
+    @Test
+    @DisplayName("Should rethrow a page failure and stop")
+    void shouldRethrowFailure() {
+        ApiException failure = new ApiException("page 3 failed");
+        try (PrefetchingPageIterator<Integer> iterator = pageFanOut.prefetch(1, page -> {
+            if (page == 3) {
+                throw failure;
+            }
+            return page;
+        }, page -> false)) {
+            iterator.next();
+            iterator.next();
+            assertSame(failure, assertThrows(ApiException.class, iterator::next));
+            assertFalse(iterator.hasNext());
+        }
+    }
+}
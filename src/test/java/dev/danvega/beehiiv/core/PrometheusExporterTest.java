@@ -0,0 +1,95 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusExporterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private void recordCalls() {
+        ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+        clientMetrics.recordExchange(ApiConstants.POSTS_ENDPOINT, "GET", 200, TimeUnit.MILLISECONDS.toNanos(120));
+        clientMetrics.recordExchange(ApiConstants.POSTS_ENDPOINT, "GET", 503, TimeUnit.MILLISECONDS.toNanos(40));
+        clientMetrics.inFlight(ApiConstants.POSTS_ENDPOINT).set(2);
+    }
+
+    @Test
+    @DisplayName("Should render timers as histograms in seconds, counters as totals and gauges as values")
+    void shouldRenderTextExposition() {
+        recordCalls();
+
+        String scrape = new PrometheusExporter(meterRegistry, MetricsProperties.defaults()).scrape();
+
+        assertTrue(scrape.contains("# TYPE beehiiv_client_requests_seconds histogram\n"));
+        assertTrue(scrape.contains("beehiiv_client_requests_seconds_count{endpoint=\"/publications/{publicationId}/posts\",method=\"GET\",status=\"200\"} 1\n"));
+        assertTrue(scrape.contains("beehiiv_client_requests_seconds_sum{endpoint=\"/publications/{publicationId}/posts\",method=\"GET\",status=\"200\"} 0.12\n"));
+        assertTrue(scrape.contains("beehiiv_client_requests_seconds_bucket{endpoint=\"/publications/{publicationId}/posts\",method=\"GET\",status=\"200\",le=\"0.1\"} 0\n"));
+        assertTrue(scrape.contains("beehiiv_client_requests_seconds_bucket{endpoint=\"/publications/{publicationId}/posts\",method=\"GET\",status=\"200\",le=\"0.25\"} 1\n"));
+        assertTrue(scrape.contains("beehiiv_client_requests_seconds_bucket{endpoint=\"/publications/{publicationId}/posts\",method=\"GET\",status=\"200\",le=\"+Inf\"} 1\n"));
+        assertTrue(scrape.contains("# TYPE beehiiv_client_errors counter\n"));
+        assertTrue(scrape.contains("beehiiv_client_errors_total{endpoint=\"/publications/{publicationId}/posts\",status=\"503\"} 1\n"));
+        assertTrue(scrape.contains("beehiiv_client_in_flight{endpoint=\"/publications/{publicationId}/posts\"} 2\n"));
+    }
+
+    @Test
+    @DisplayName("Should leave out buckets when histograms are disabled")
+    void shouldOmitBucketsWithoutHistograms() {
+        MetricsProperties noHistograms = new MetricsProperties(false, null, Duration.ofSeconds(15), 0);
+        new ClientMetrics(meterRegistry, noHistograms).recordPhase(ApiConstants.POSTS_ENDPOINT,
+                ClientMetrics.DESERIALIZATION, 1_000);
+
+        String scrape = new PrometheusExporter(meterRegistry, noHistograms).scrape();
+
+        assertTrue(scrape.contains("beehiiv_client_phase_seconds_count{"));
+        assertFalse(scrape.contains("_bucket{"));
+    }
+
+    @Test
+    @DisplayName("Should write the scrape file")
+    void shouldWriteScrapeFile(@TempDir Path directory) throws IOException {
+        recordCalls();
+        Path file = directory.resolve("metrics").resolve("beehiiv.prom");
+
+        new PrometheusExporter(meterRegistry, new MetricsProperties(true, file, Duration.ofSeconds(15), 0)).writeFile();
+
+        assertTrue(Files.readString(file).contains("beehiiv_client_errors_total{"));
+    }
+
+    @Test
+    @DisplayName("Should serve the exposition on the loopback metrics endpoint")
+    void shouldServeMetricsEndpoint() throws Exception {
+        recordCalls();
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        try (PrometheusExporter exporter = new PrometheusExporter(meterRegistry,
+                new MetricsProperties(true, null, Duration.ofSeconds(15), port))) {
+            exporter.start();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElseThrow());
+            assertTrue(response.body().contains("beehiiv_client_in_flight{"));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.danvega.beehiiv.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private TokenBucketRateLimiter limiter(double permitsPerSecond, int burst, Duration maxWait) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst, maxWait, System::nanoTime);
+    }
+
+    @Nested
+    @DisplayName("Token Bucket Tests")
+    class TokenBucketTests {
+
+        @Test
+        @DisplayName("Should serve a full burst immediately and then throttle")
+        void shouldServeBurstThenThrottle() {
+            TokenBucketRateLimiter limiter = limiter(20, 5, Duration.ofSeconds(5));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                limiter.acquire();
+            }
+            long burstMillis = (System.nanoTime() - start) / 1_000_000;
+            limiter.acquire();
+            long throttledMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(burstMillis < 40, "Burst should not wait but took " + burstMillis + " ms");
+            assertTrue(throttledMillis >= 40, "Sixth permit should wait for a refill but took " + throttledMillis + " ms");
+        }
+
+        @Test
+        @DisplayName("Should hand out no permits while paused")
+        void shouldHandOutNoPermitsWhilePaused() {
+            TokenBucketRateLimiter limiter = limiter(100, 10, Duration.ofSeconds(5));
+
+            limiter.pause(Duration.ofMillis(150));
+            assertEquals(0, limiter.availablePermits());
+
+            long start = System.nanoTime();
+            limiter.acquire();
+            assertTrue((System.nanoTime() - start) / 1_000_000 >= 100);
+        }
+
+        @Test
+        @DisplayName("Should clamp tokens to the server reported remaining quota")
+        void shouldClampTokensToRemainingQuota() {
+            TokenBucketRateLimiter limiter = limiter(0.1, 10, Duration.ofSeconds(5));
+
+            limiter.update(2, null);
+            assertEquals(2, limiter.availablePermits());
+
+            limiter.update(0, Duration.ofSeconds(30));
+            assertEquals(0, limiter.availablePermits());
+        }
+
+        @Test
+        @DisplayName("Should fail callers that would wait longer than the maximum wait")
+        void shouldFailCallersBeyondMaxWait() {
+            TokenBucketRateLimiter limiter = limiter(0.5, 1, Duration.ofMillis(50));
+
+            limiter.acquire();
+            assertThrows(ApiException.class, limiter::acquire);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rate Limit Interceptor Tests")
+    class RateLimitInterceptorTests {
+
+        @Test
+        @DisplayName("Should queue and re-issue a throttled request instead of failing it")
+        void shouldReissueThrottledRequest() throws Exception {
+            TokenBucketRateLimiter limiter = limiter(100, 10, Duration.ofSeconds(5));
+            RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, 3);
+
+            MockClientHttpResponse throttled = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+            throttled.getHeaders().add(HttpHeaders.RETRY_AFTER, "0");
+            Deque<ClientHttpResponse> responses = new ArrayDeque<>();
+            responses.add(throttled);
+            responses.add(new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK));
+            AtomicInteger calls = new AtomicInteger();
+            ClientHttpRequestExecution execution = (request, body) -> {
+                calls.incrementAndGet();
+                return responses.poll();
+            };
+
+            ClientHttpResponse response = interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, URI.create("/publications")), new byte[0], execution);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should surface the 429 once throttle retries are exhausted")
+        void shouldSurfaceThrottleWhenRetriesExhausted() throws Exception {
+            TokenBucketRateLimiter limiter = limiter(100, 10, Duration.ofSeconds(5));
+            RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, 0);
+
+            ClientHttpResponse response = interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, URI.create("/publications")), new byte[0],
+                    (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS));
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        }
+
+        @Test
+        @DisplayName("Should parse Retry-After seconds, HTTP dates and X-RateLimit-Reset")
+        void shouldParseRetryAfter() {
+            HttpHeaders seconds = new HttpHeaders();
+            seconds.add(HttpHeaders.RETRY_AFTER, "7");
+            assertEquals(Duration.ofSeconds(7), RateLimitInterceptor.retryAfter(seconds));
+
+            HttpHeaders date = new HttpHeaders();
+            date.add(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30)));
+            Duration fromDate = RateLimitInterceptor.retryAfter(date);
+            assertTrue(fromDate.toSeconds() > 20 && fromDate.toSeconds() <= 30);
+
+            HttpHeaders reset = new HttpHeaders();
+            reset.add(RateLimitInterceptor.RATE_LIMIT_RESET, "12");
+            assertEquals(Duration.ofSeconds(12), RateLimitInterceptor.retryAfter(reset));
+
+            assertEquals(Duration.ofSeconds(1), RateLimitInterceptor.retryAfter(new HttpHeaders()));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceExecutorTest {
+
+    private static final String ENDPOINT = ApiConstants.POSTS_ENDPOINT;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ResilienceExecutor executor(int maxAttempts, int failureThreshold, boolean retryNonIdempotent) {
+        return new ResilienceExecutor(new ResilienceProperties(true, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5),
+                failureThreshold, Duration.ofSeconds(30), 1, retryNonIdempotent), meterRegistry);
+    }
+
+    private static HttpServerErrorException serviceUnavailable() {
+        return new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Nested
+    @DisplayName("Retry Tests")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should retry transient failures and return the eventual result")
+        void shouldRetryTransientFailures() {
+            ResilienceExecutor executor = executor(3, 10, false);
+            AtomicInteger calls = new AtomicInteger();
+
+            String result = executor.execute(ENDPOINT, true, () -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw serviceUnavailable();
+                }
+                return "ok";
+            });
+
+            assertEquals("ok", result);
+            assertEquals(3, calls.get());
+            assertEquals(2.0, meterRegistry.counter(ResilienceExecutor.RETRIES_METRIC, "endpoint", ENDPOINT).count());
+        }
+
+        @Test
+        @DisplayName("Should retry I/O errors but leave throttling to the rate limiter")
+        void shouldRetryIoErrorsButNotThrottling() {
+            assertTrue(ResilienceExecutor.isTransient(new ResourceAccessException("timeout")));
+            assertFalse(ResilienceExecutor.isTransient(
+                    HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null)));
+            assertFalse(ResilienceExecutor.isTransient(
+                    HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null)));
+            assertFalse(ResilienceExecutor.isTransient(new IllegalStateException()));
+        }
+
+        @Test
+        @DisplayName("Should not retry client errors")
+        void shouldNotRetryClientErrors() {
+            ResilienceExecutor executor = executor(3, 10, false);
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThrows(HttpClientErrorException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                calls.incrementAndGet();
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }));
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should give up after the maximum number of attempts")
+        void shouldGiveUpAfterMaxAttempts() {
+            ResilienceExecutor executor = executor(2, 10, false);
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThrows(HttpServerErrorException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                calls.incrementAndGet();
+                throw serviceUnavailable();
+            }));
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should only retry non-idempotent calls when opted in")
+        void shouldOnlyRetryNonIdempotentCallsWhenOptedIn() {
+            AtomicInteger calls = new AtomicInteger();
+            assertThrows(HttpServerErrorException.class, () -> executor(3, 10, false).execute(
+                    ApiConstants.SUBSCRIPTIONS_ENDPOINT, false, () -> {
+                        calls.incrementAndGet();
+                        throw serviceUnavailable();
+                    }));
+            assertEquals(1, calls.get());
+
+            calls.set(0);
+            assertThrows(HttpServerErrorException.class, () -> executor(3, 10, true).execute(
+                    ApiConstants.SUBSCRIPTIONS_ENDPOINT, false, () -> {
+                        calls.incrementAndGet();
+                        throw serviceUnavailable();
+                    }));
+            assertEquals(3, calls.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit Breaker Tests")
+    class CircuitBreakerTests {
+
+        @Test
+        @DisplayName("Should open after consecutive failures and reject calls without reaching upstream")
+        void shouldOpenAndRejectCalls() {
+            ResilienceExecutor executor = executor(1, 2, false);
+            AtomicInteger calls = new AtomicInteger();
+
+            for (int i = 0; i < 2; i++) {
+                assertThrows(HttpServerErrorException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                    calls.incrementAndGet();
+                    throw serviceUnavailable();
+                }));
+            }
+
+            assertEquals(CircuitBreaker.State.OPEN, executor.state(ENDPOINT));
+            ApiException rejected = assertThrows(ApiException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                calls.incrementAndGet();
+                return "ok";
+            }));
+            assertTrue(rejected.getMessage().contains("circuit open"));
+            assertEquals(2, calls.get());
+            assertEquals(1.0, meterRegistry.counter(ResilienceExecutor.REJECTIONS_METRIC, "endpoint", ENDPOINT).count());
+            assertEquals(1.0, meterRegistry.get(ResilienceExecutor.STATE_METRIC).tag("endpoint", ENDPOINT).gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should neither retry nor count calls failed by an interrupt")
+        void shouldIgnoreInterruptedCalls() {
+            ResilienceExecutor executor = executor(3, 2, false);
+            AtomicInteger calls = new AtomicInteger();
+
+            for (int i = 0; i < 2; i++) {
+                assertThrows(ResourceAccessException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                    calls.incrementAndGet();
+                    // How RestClient reports a JDK HttpClient exchange whose thread was interrupted
+                    Thread.currentThread().interrupt();
+                    throw new ResourceAccessException("I/O error on GET request",
+                            new IOException("Request was interrupted", new InterruptedException()));
+                }));
+                assertTrue(Thread.interrupted());
+            }
+
+            assertEquals(2, calls.get());
+            assertEquals(CircuitBreaker.State.CLOSED, executor.state(ENDPOINT));
+            assertEquals(0.0, meterRegistry.counter(ResilienceExecutor.RETRIES_METRIC, "endpoint", ENDPOINT).count());
+            assertFalse(ResilienceExecutor.isTransient(new ResourceAccessException("interrupted", new InterruptedIOException())));
+        }
+
+        @Test
+        @DisplayName("Should keep circuits independent per endpoint")
+        void shouldKeepCircuitsIndependentPerEndpoint() {
+            ResilienceExecutor executor = executor(1, 1, false);
+
+            assertThrows(HttpServerErrorException.class, () -> executor.execute(ENDPOINT, true, () -> {
+                throw serviceUnavailable();
+            }));
+
+            assertEquals(CircuitBreaker.State.OPEN, executor.state(ENDPOINT));
+            assertEquals("ok", executor.execute(ApiConstants.PUBLICATIONS_ENDPOINT, true, () -> "ok"));
+        }
+
+        @Test
+        @DisplayName("Should allow a half-open probe after the open duration")
+        void shouldProbeWhenHalfOpen() {
+            AtomicLong now = new AtomicLong();
+            CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), 1, now::get);
+
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+            assertFalse(breaker.tryAcquire());
+
+            now.addAndGet(Duration.ofSeconds(10).toNanos());
+            assertTrue(breaker.tryAcquire());
+            assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+            assertFalse(breaker.tryAcquire(), "Only one probe should be allowed while half-open");
+
+            breaker.onSuccess();
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+            assertTrue(breaker.tryAcquire());
+        }
+
+        @Test
+        @DisplayName("Should reopen when the half-open probe fails")
+        void shouldReopenWhenProbeFails() {
+            AtomicLong now = new AtomicLong();
+            CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), 1, now::get);
+
+            breaker.tryAcquire();
+            breaker.onFailure();
+            now.addAndGet(Duration.ofSeconds(10).toNanos());
+            assertTrue(breaker.tryAcquire());
+
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+            assertFalse(breaker.tryAcquire());
+        }
+    }
+}
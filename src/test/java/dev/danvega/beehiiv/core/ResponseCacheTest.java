@@ -0,0 +1,132 @@
+package dev.danvega.beehiiv.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final String POSTS_URI = "/publications/pub_test123/posts?limit=10&page=1";
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+    }
+
+    private InMemoryResponseCache cache(int maxEntries, DataSize maxWeight) {
+        return new InMemoryResponseCache(new CacheProperties(true, maxEntries, maxWeight,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(10)), clock);
+    }
+
+    @Nested
+    @DisplayName("Expiry")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should serve an entry until its region's time-to-live has passed")
+        void shouldExpireAfterRegionTtl() {
+            InMemoryResponseCache cache = cache(10, DataSize.ofMegabytes(1));
+            cache.put(CacheRegion.POSTS, POSTS_URI, "posts");
+            cache.put(CacheRegion.PUBLICATIONS, "/publications", "publications");
+
+            clock.advance(Duration.ofSeconds(59));
+            assertEquals("posts", cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+
+            clock.advance(Duration.ofSeconds(1));
+            assertNull(cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+            assertEquals("publications", cache.get(CacheRegion.PUBLICATIONS, "/publications", String.class));
+        }
+
+        @Test
+        @DisplayName("Should count hits and misses")
+        void shouldCountHitsAndMisses() {
+            InMemoryResponseCache cache = cache(10, DataSize.ofMegabytes(1));
+
+            assertNull(cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+            cache.put(CacheRegion.POSTS, POSTS_URI, "posts");
+            cache.get(CacheRegion.POSTS, POSTS_URI, String.class);
+            cache.get(CacheRegion.POSTS, POSTS_URI, String.class);
+
+            CacheStats stats = cache.stats();
+            assertEquals(2, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void shouldEvictLeastRecentlyUsed() {
+            InMemoryResponseCache cache = cache(2, DataSize.ofMegabytes(1));
+            cache.put(CacheRegion.POSTS, "a", "a");
+            cache.put(CacheRegion.POSTS, "b", "b");
+            cache.get(CacheRegion.POSTS, "a", String.class);
+
+            cache.put(CacheRegion.POSTS, "c", "c");
+
+            assertEquals("a", cache.get(CacheRegion.POSTS, "a", String.class));
+            assertNull(cache.get(CacheRegion.POSTS, "b", String.class));
+            assertEquals(1, cache.stats().evictions());
+            assertEquals(2, cache.stats().entries());
+        }
+
+        @Test
+        @DisplayName("Should evict by weight so large content displaces several small entries")
+        void shouldEvictByWeight() {
+            InMemoryResponseCache cache = cache(100, DataSize.ofKilobytes(64));
+            for (int i = 0; i < 10; i++) {
+                cache.put(CacheRegion.PUBLICATIONS, "publication-" + i, "p".repeat(2_000));
+            }
+
+            String contentHtml = "<p>" + "x".repeat(15_000) + "</p>";
+            cache.put(CacheRegion.POSTS, POSTS_URI, List.of(contentHtml));
+
+            assertNotNull(cache.get(CacheRegion.POSTS, POSTS_URI, List.class));
+            assertTrue(cache.stats().weight() <= DataSize.ofKilobytes(64).toBytes());
+            assertTrue(cache.stats().evictions() > 0);
+        }
+
+        @Test
+        @DisplayName("Should not cache a response heavier than the whole cache")
+        void shouldSkipOversizedResponses() {
+            InMemoryResponseCache cache = cache(100, DataSize.ofKilobytes(1));
+            cache.put(CacheRegion.POSTS, POSTS_URI, "x".repeat(1_000));
+
+            assertNull(cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+            assertEquals(0, cache.stats().entries());
+            assertEquals(0, cache.stats().weight());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should drop only the invalidated region")
+        void shouldInvalidateRegion() {
+            InMemoryResponseCache cache = cache(10, DataSize.ofMegabytes(1));
+            cache.put(CacheRegion.PUBLICATIONS, "/publications", "publications");
+            cache.put(CacheRegion.POSTS, POSTS_URI, "posts");
+
+            cache.invalidate(CacheRegion.PUBLICATIONS);
+
+            assertNull(cache.get(CacheRegion.PUBLICATIONS, "/publications", String.class));
+            assertEquals("posts", cache.get(CacheRegion.POSTS, POSTS_URI, String.class));
+            assertEquals(1, cache.stats().entries());
+        }
+    }
+}
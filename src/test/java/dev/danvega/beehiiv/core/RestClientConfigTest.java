@@ -0,0 +1,206 @@
+package dev.danvega.beehiiv.core;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestClientConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestClientConfigTest.class);
+    private static final String BODY = "{\"data\":{\"id\":\"pub_test123\",\"name\":\"Stand-in\"}}";
+
+    static {
+        // Without TCP_NODELAY the stand-in's split header/body writes stall on delayed ACKs for reused connections
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long handlerDelayMillis;
+
+    @BeforeEach
+    void startStandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/publications", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (handlerDelayMillis > 0) {
+                    Thread.sleep(handlerDelayMillis);
+                }
+                byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStandInServer() {
+        server.stop(0);
+    }
+
+    private HttpClientProperties properties(int maxPerRoute) {
+        return new HttpClientProperties("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2), Duration.ofSeconds(5),
+                8, maxPerRoute, Duration.ofSeconds(30), true);
+    }
+
+    private RestClient restClient(HttpClient httpClient, HttpClientProperties properties) {
+        return RestClient.builder()
+                .baseUrl(properties.baseUrl())
+                .requestFactory(RestClientConfig.requestFactory(httpClient, properties,
+                        new ClientMetrics(new SimpleMeterRegistry(), MetricsProperties.defaults())))
+                .build();
+    }
+
+    private HttpClient httpClient(HttpClientProperties properties) {
+        return new RestClientConfig().beehiivHttpClient(properties, ExecutionProperties.defaults());
+    }
+
+    @Nested
+    @DisplayName("Properties Validation Tests")
+    class PropertiesValidationTests {
+
+        @Test
+        @DisplayName("Should provide sensible defaults")
+        void shouldProvideSensibleDefaults() {
+            HttpClientProperties defaults = HttpClientProperties.defaults();
+
+            assertEquals(ApiConstants.BEEHIIV_API_BASE_URL, defaults.baseUrl());
+            assertEquals(HttpClient.Version.HTTP_2, defaults.version());
+            assertTrue(defaults.maxConnectionsPerRoute() > 1);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid pool sizes")
+        void shouldRejectInvalidPoolSizes() {
+            assertThrows(IllegalArgumentException.class, () -> new HttpClientProperties(
+                    ApiConstants.BEEHIIV_API_BASE_URL, HttpClient.Version.HTTP_2,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), 0, 1, Duration.ofSeconds(1), true));
+            assertThrows(IllegalArgumentException.class, () -> new HttpClientProperties(
+                    ApiConstants.BEEHIIV_API_BASE_URL, HttpClient.Version.HTTP_2,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), 1, 0, Duration.ofSeconds(1), true));
+            assertThrows(IllegalArgumentException.class, () -> new HttpClientProperties(
+                    " ", HttpClient.Version.HTTP_2,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), 1, 1, Duration.ofSeconds(1), true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pooled Transport Tests")
+    class PooledTransportTests {
+
+        @Test
+        @DisplayName("Should reuse one keep-alive connection across sequential calls")
+        void shouldReuseKeepAliveConnection() {
+            HttpClientProperties properties = properties(4);
+            RestClient restClient = restClient(httpClient(properties), properties);
+
+            for (int i = 0; i < 20; i++) {
+                assertNotNull(restClient.get().uri("/publications/pub_test123").retrieve().body(String.class));
+            }
+
+            assertEquals(1, clientPorts.size());
+        }
+
+        @Test
+        @DisplayName("Should cap concurrent exchanges per route")
+        void shouldCapConcurrentExchangesPerRoute() throws Exception {
+            handlerDelayMillis = 50;
+            HttpClientProperties properties = properties(2);
+            RestClient restClient = restClient(httpClient(properties), properties);
+
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<String>> calls = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    calls.add(callers.submit(() -> restClient.get().uri("/publications/pub_test123").retrieve().body(String.class)));
+                }
+                for (Future<String> call : calls) {
+                    assertNotNull(call.get());
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+
+            assertTrue(maxInFlight.get() <= 2, "Expected at most 2 concurrent exchanges but saw " + maxInFlight.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Latency Benchmark Tests")
+    class LatencyBenchmarkTests {
+
+        private static final int CALLS = 200;
+
+        @Test
+        @DisplayName("Should lower per-call latency compared to a fresh connection per tool call")
+        void shouldLowerPerCallLatencyWithPooling() {
+            HttpClientProperties properties = properties(4);
+            RestClient pooled = restClient(httpClient(properties), properties);
+
+            // Warm up both paths so JIT and class loading do not skew the comparison
+            for (int i = 0; i < 20; i++) {
+                pooled.get().uri("/publications/pub_test123").retrieve().body(String.class);
+                restClient(httpClient(properties), properties).get().uri("/publications/pub_test123").retrieve().body(String.class);
+            }
+            clientPorts.clear();
+
+            long pooledStart = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                pooled.get().uri("/publications/pub_test123").retrieve().body(String.class);
+            }
+            long pooledNanos = System.nanoTime() - pooledStart;
+            int pooledConnections = clientPorts.size();
+            clientPorts.clear();
+
+            long coldStart = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                restClient(httpClient(properties), properties).get().uri("/publications/pub_test123").retrieve().body(String.class);
+            }
+            long coldNanos = System.nanoTime() - coldStart;
+            int coldConnections = clientPorts.size();
+
+            logger.info("Per tool call latency against local stand-in: pooled={}us ({} connections), cold={}us ({} connections)",
+                    pooledNanos / CALLS / 1_000, pooledConnections, coldNanos / CALLS / 1_000, coldConnections);
+
+            assertEquals(1, pooledConnections);
+            // Ports of closed cold connections can be handed out again, so they are a lower bound
+            assertTrue(coldConnections > CALLS / 2, "cold clients should open a connection per call");
+        }
+    }
+}
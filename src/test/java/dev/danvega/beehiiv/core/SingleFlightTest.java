@@ -0,0 +1,111 @@
+package dev.danvega.beehiiv.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final String ENDPOINT = ApiConstants.CUSTOM_FIELDS_ENDPOINT;
+    private static final String URI = "/publications/pub_test123/custom_fields?limit=100&page=1";
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    /**
+     * Starts {@link #CALLERS} identical calls and releases the upstream call once all followers joined it.
+     */
+    private List<Future<Object>> startIdenticalCalls(AtomicInteger upstreamCalls, Object result, RuntimeException failure) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(callers.submit(() -> singleFlight.execute(ENDPOINT, URI, () -> {
+                upstreamCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return result;
+            })));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.coalescedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return calls;
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call and one result between identical concurrent calls")
+    void shouldShareOneUpstreamCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Object result = new Object();
+
+        for (Future<Object> call : startIdenticalCalls(upstreamCalls, result, null)) {
+            assertSame(result, call.get());
+        }
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(CALLERS - 1, singleFlight.coalescedCount());
+        assertEquals(CALLERS - 1.0, meterRegistry.counter(SingleFlight.COALESCED_METRIC, "endpoint", ENDPOINT).count());
+    }
+
+    @Test
+    @DisplayName("Should share the failure of the upstream call")
+    void shouldShareFailure() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ApiException failure = new ApiException("upstream failed");
+
+        for (Future<Object> call : startIdenticalCalls(upstreamCalls, null, failure)) {
+            Exception thrown = assertThrows(Exception.class, call::get);
+            assertSame(failure, thrown.getCause());
+        }
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not reuse a result once the call has completed")
+    void shouldNotReuseCompletedCalls() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        singleFlight.execute(ENDPOINT, URI, upstreamCalls::incrementAndGet);
+        singleFlight.execute(ENDPOINT, URI, upstreamCalls::incrementAndGet);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+}
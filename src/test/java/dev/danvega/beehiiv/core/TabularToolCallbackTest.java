@@ -0,0 +1,167 @@
+package dev.danvega.beehiiv.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.post.Post;
+import dev.danvega.beehiiv.post.PostsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabularToolCallbackTest {
+
+    private static final String POSTS_PAGE = """
+            {"data": [
+              {"id": "post_1", "title": "First", "subtitle": null, "stats": {"email": {"opens": 3, "clicks": null}}},
+              {"id": "post_2", "title": "Second", "subtitle": "Two", "content_tags": ["java", null]},
+              {"id": "post_3", "title": null, "subtitle": null, "stats": {}}
+            ],
+            "pagination": {"page": 1, "next_page": null, "total_results": 3}}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ToolCallback tool(String result, AtomicReference<String> input) {
+        ToolDefinition definition = ToolDefinition.builder().name("beehiiv_get_posts").description("Test tool")
+                .inputSchema("""
+                        {"type": "object", "properties": {"limit": {"type": "integer"}}, "required": []}
+                        """)
+                .build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                input.set(toolInput);
+                return result;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should encode records as a header row and value rows without nulls")
+        void shouldEncodeRecords() throws Exception {
+            JsonNode table = objectMapper.readTree(TabularEncoder.encode(POSTS_PAGE));
+
+            assertEquals(objectMapper.readTree("""
+                    ["id", "title", "stats.email.opens", "subtitle", "content_tags", "stats"]
+                    """), table.get("columns"));
+            assertEquals(objectMapper.readTree("""
+                    [["post_1", "First", 3],
+                     ["post_2", "Second", null, "Two", ["java", null]],
+                     ["post_3", null, null, null, null, {}]]
+                    """), table.get("rows"));
+            assertEquals(objectMapper.readTree("""
+                    {"page": 1, "total_results": 3}
+                    """), table.get("pagination"));
+            assertFalse(table.has("data"));
+        }
+
+        @Test
+        @DisplayName("Should encode a top-level list of records")
+        void shouldEncodeList() throws Exception {
+            JsonNode table = objectMapper.readTree(TabularEncoder.encode("""
+                    [{"id": "pub_1", "name": "One"}, {"id": "pub_2", "name": null}]
+                    """));
+
+            assertEquals(2, table.get("columns").size());
+            assertEquals(objectMapper.readTree("[[\"pub_1\", \"One\"], [\"pub_2\"]]"), table.get("rows"));
+        }
+
+        @Test
+        @DisplayName("Should leave results that are not lists of records unchanged")
+        void shouldLeaveOtherResults() {
+            List<String> results = List.of("\"Done\"", "{\"data\": {\"id\": \"post_1\"}}", "[1, 2]", "not json");
+
+            results.forEach(result -> assertEquals(result, TabularEncoder.encode(result)));
+        }
+
+        @Test
+        @DisplayName("Should encode a 100 post page in far fewer characters than the default result")
+        void shouldShrinkPostsPage() throws Exception {
+            List<Post> posts = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                posts.add(i % 2 == 0 ? MockApiResponses.createSamplePost() : MockApiResponses.createSecondSamplePost());
+            }
+            PostsResponse page = new PostsResponse(posts, MockApiResponses.createSamplePostsResponse().pagination());
+            String json = new DefaultToolCallResultConverter().convert(page, PostsResponse.class);
+
+            String encoded = TabularEncoder.encode(json);
+
+            // Every field of the sample posts is set, so the saving is the repeated keys alone
+            assertTrue(encoded.length() < json.length() * 0.6, encoded.length() + " of " + json.length() + " characters");
+            JsonNode table = objectMapper.readTree(encoded);
+            List<String> columns = new ArrayList<>();
+            table.get("columns").forEach(column -> columns.add(column.asText()));
+            assertEquals(100, table.get("rows").size());
+            assertEquals(posts.get(1).title(), table.get("rows").get(1).get(columns.indexOf("title")).asText());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tool callback")
+    class CallbackTests {
+
+        @Test
+        @DisplayName("Should add an optional format argument to the input schema")
+        void shouldAddFormatArgument() throws Exception {
+            TabularToolCallback callback = new TabularToolCallback(tool("[]", new AtomicReference<>()));
+
+            JsonNode schema = objectMapper.readTree(callback.getToolDefinition().inputSchema());
+
+            assertEquals("beehiiv_get_posts", callback.getToolDefinition().name());
+            assertTrue(schema.path("properties").has("limit"));
+            assertEquals("string", schema.path("properties").path("format").path("type").asText());
+            assertTrue(schema.path("required").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return the tool's result unchanged by default")
+        void shouldPassThroughByDefault() {
+            AtomicReference<String> input = new AtomicReference<>();
+            TabularToolCallback callback = new TabularToolCallback(tool(POSTS_PAGE, input));
+
+            assertEquals(POSTS_PAGE, callback.call("{\"limit\": 3}"));
+            assertEquals("{\"limit\": 3}", input.get());
+            assertEquals(POSTS_PAGE, callback.call("{\"limit\": 3, \"format\": \"json\"}"));
+            assertEquals("{\"limit\":3}", input.get());
+        }
+
+        @Test
+        @DisplayName("Should encode the result as a table and not pass the format on")
+        void shouldEncodeTable() throws Exception {
+            AtomicReference<String> input = new AtomicReference<>();
+            TabularToolCallback callback = new TabularToolCallback(tool(POSTS_PAGE, input));
+
+            JsonNode result = objectMapper.readTree(callback.call("{\"limit\": 3, \"format\": \"Table\"}"));
+
+            assertEquals(3, result.get("rows").size());
+            assertEquals("{\"limit\":3}", input.get());
+        }
+
+        @Test
+        @DisplayName("Should reject unknown formats")
+        void shouldRejectUnknownFormat() {
+            TabularToolCallback callback = new TabularToolCallback(tool(POSTS_PAGE, new AtomicReference<>()));
+
+            assertThrows(IllegalArgumentException.class, () -> callback.call("{\"format\": \"csv\"}"));
+        }
+    }
+}
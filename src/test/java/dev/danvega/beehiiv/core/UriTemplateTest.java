@@ -0,0 +1,152 @@
+package dev.danvega.beehiiv.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UriTemplateTest {
+
+    private static final UriTemplate POSTS = UriTemplate.compile(ApiConstants.POSTS_ENDPOINT);
+    private static final UriTemplate BY_EMAIL = UriTemplate.compile(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT);
+
+    @Nested
+    @DisplayName("Expansion")
+    class ExpansionTests {
+
+        @Test
+        @DisplayName("Should expand path variables in template order")
+        void shouldExpandPathVariables() {
+            UriTemplate template = UriTemplate.compile(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT);
+
+            assertEquals("/publications/pub_1/custom_fields/cf_2", template.expand("pub_1", "cf_2").build());
+            assertEquals("/publications", UriTemplate.compile(ApiConstants.PUBLICATIONS_ENDPOINT).expand().build());
+        }
+
+        @Test
+        @DisplayName("Should reject missing or null path variables")
+        void shouldRejectWrongVariables() {
+            assertThrows(IllegalArgumentException.class, () -> POSTS.expand());
+            assertThrows(IllegalArgumentException.class, () -> POSTS.expand("pub_1", "extra"));
+            assertThrows(IllegalArgumentException.class, () -> POSTS.expand((String) null));
+            assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("/publications/{publicationId"));
+        }
+
+        @Test
+        @DisplayName("Should skip null and blank query values and split lists")
+        void shouldSkipEmptyValues() {
+            String uri = POSTS.expand("pub_1")
+                    .query(ApiConstants.PARAM_LIMIT, null)
+                    .query(ApiConstants.PARAM_STATUS, "  ")
+                    .queryList(ApiConstants.PARAM_CONTENT_TAGS, " java, ,spring ")
+                    .build();
+
+            assertEquals("/publications/pub_1/posts?content_tags=java&content_tags=spring", uri);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should percent-encode reserved characters in emails")
+        void shouldEncodeEmails() {
+            String uri = BY_EMAIL.expand("pub_1", "jane+news letter@example.com").build();
+
+            assertEquals("/publications/pub_1/subscriptions/by_email/jane%2Bnews%20letter@example.com", uri);
+            assertEquals("/publications/pub_1/subscriptions/by_email/jane+news letter@example.com",
+                    URI.create(uri).getPath());
+        }
+
+        @Test
+        @DisplayName("Should encode query names, separators and non-ASCII values")
+        void shouldEncodeQueries() {
+            String uri = POSTS.expand("pub_1")
+                    .query(ApiConstants.PARAM_CONTENT_TAGS, "c&c=1 #2")
+                    .query(ApiConstants.PARAM_EXPAND, "stats")
+                    .query("tag", "café")
+                    .build();
+
+            assertEquals("/publications/pub_1/posts?content_tags=c%26c%3D1%20%232&expand%5B%5D=stats&tag=caf%C3%A9", uri);
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUriString(uri).build(true).getQueryParams();
+            assertEquals("c&c=1 #2", decode(params.getFirst(ApiConstants.PARAM_CONTENT_TAGS)));
+            assertEquals(List.of("expand%5B%5D"), params.keySet().stream().filter(name -> name.startsWith("expand")).toList());
+            assertEquals("café", decode(params.getFirst("tag")));
+        }
+
+        @Test
+        @DisplayName("Should leave values that need no encoding as they are")
+        void shouldKeepPlainValues() {
+            assertEquals("/publications/pub_ab-12.x~y/posts?page=3",
+                    POSTS.expand("pub_ab-12.x~y").query(ApiConstants.PARAM_PAGE, 3).build());
+        }
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Canonical order")
+    class CanonicalOrderTests {
+
+        @Test
+        @DisplayName("Should produce the same URI whatever order parameters are added in")
+        void shouldSortParameters() {
+            String first = POSTS.expand("pub_1")
+                    .query(ApiConstants.PARAM_STATUS, "confirmed")
+                    .queryList(ApiConstants.PARAM_CONTENT_TAGS, "spring,java")
+                    .query(ApiConstants.PARAM_LIMIT, 10)
+                    .build();
+            String second = POSTS.expand("pub_1")
+                    .query(ApiConstants.PARAM_LIMIT, 10)
+                    .queryList(ApiConstants.PARAM_CONTENT_TAGS, "java,spring")
+                    .query(ApiConstants.PARAM_STATUS, "confirmed")
+                    .build();
+
+            assertEquals("/publications/pub_1/posts?content_tags=java&content_tags=spring&limit=10&status=confirmed", first);
+            assertEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Should build independent URIs on many threads")
+        void shouldBuildOnManyThreads() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    int page = i;
+                    futures.add(executor.submit(() -> POSTS.expand("pub_" + page)
+                            .query(ApiConstants.PARAM_PAGE, page)
+                            .build()));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    assertEquals("/publications/pub_" + i + "/posts?page=" + i, futures.get(i).get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should start each expansion from an empty builder")
+        void shouldResetBuilder() {
+            POSTS.expand("pub_1").query(ApiConstants.PARAM_LIMIT, 5);
+
+            assertEquals("/publications/pub_2/posts", POSTS.expand("pub_2").build());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.danvega.beehiiv.core;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.danvega.beehiiv.subscription.CustomFieldsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+    private static final int TOOL_CALLS = 500;
+    private static final int MAX_PER_ROUTE = 16;
+    private static final long UPSTREAM_LATENCY_MILLIS = 20;
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startStandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), TOOL_CALLS);
+        server.setExecutor(Executors.newFixedThreadPool(MAX_PER_ROUTE));
+        server.createContext("/publications", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+                byte[] bytes = "{\"data\":[],\"total_results\":0}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStandInServer() {
+        server.stop(0);
+    }
+
+    private ApiClient apiClient() {
+        HttpClientProperties httpProperties = new HttpClientProperties("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(2), Duration.ofSeconds(30),
+                MAX_PER_ROUTE, MAX_PER_ROUTE, Duration.ofSeconds(30), true);
+        HttpClient httpClient = new RestClientConfig().beehiivHttpClient(httpProperties, new ExecutionProperties(true, TOOL_CALLS, 4));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ClientMetrics clientMetrics = new ClientMetrics(meterRegistry, MetricsProperties.defaults());
+        RestClient restClient = RestClient.builder()
+                .baseUrl(httpProperties.baseUrl())
+                .requestFactory(RestClientConfig.requestFactory(httpClient, httpProperties, clientMetrics))
+                .build();
+        return new ApiClient(restClient, new ResilienceExecutor(ResilienceProperties.defaults(), meterRegistry),
+                new SingleFlight(meterRegistry), ResponseCache.none(), Jackson2ObjectMapperBuilder.json().build(),
+                new PageFanOut(ExecutionProperties.defaults()),
+                new AsyncHttpTransport(httpClient, httpProperties, "test-api-key", RateLimitProperties.defaults(),
+                        new TokenBucketRateLimiter(RateLimitProperties.defaults()), clientMetrics, meterRegistry),
+                clientMetrics);
+    }
+
+    @Test
+    @DisplayName("Should serve hundreds of concurrent tool calls on virtual threads without pinning or platform thread growth")
+    void shouldServeConcurrentToolCallsOnVirtualThreads() throws Exception {
+        ApiClient apiClient = apiClient();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicInteger pinnedEvents = new AtomicInteger();
+
+        try (RecordingStream pinning = new RecordingStream();
+             ExecutorService toolCalls = Executors.newVirtualThreadPerTaskExecutor()) {
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                logger.warn("Virtual thread pinned: {}", event.getStackTrace());
+            });
+            pinning.startAsync();
+
+            int platformThreadsBefore = threads.getThreadCount();
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+
+            List<Future<CustomFieldsResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < TOOL_CALLS; i++) {
+                // Distinct URIs, so single-flight does not collapse the load
+                String uri = "/publications/pub_test123/custom_fields?page=" + i;
+                calls.add(toolCalls.submit(() -> apiClient.get(ApiConstants.CUSTOM_FIELDS_ENDPOINT, uri, CustomFieldsResponse.class)));
+            }
+            for (Future<CustomFieldsResponse> call : calls) {
+                assertNotNull(call.get());
+            }
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            int platformThreadGrowth = threads.getPeakThreadCount() - platformThreadsBefore;
+            pinning.stop();
+
+            logger.info("{} tool calls on virtual threads in {}ms: max upstream concurrency {}, platform thread growth {}, pinned {}",
+                    TOOL_CALLS, elapsedMillis, maxInFlight.get(), platformThreadGrowth, pinnedEvents.get());
+
+            assertTrue(maxInFlight.get() <= MAX_PER_ROUTE, "per-route cap must hold");
+            assertTrue(platformThreadGrowth < 64, "virtual tool calls must not need a platform thread each");
+            assertEquals(0, pinnedEvents.get(), "the HTTP stack must not pin carrier threads");
+        }
+    }
+}
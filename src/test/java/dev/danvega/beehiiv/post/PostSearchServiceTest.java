@@ -0,0 +1,219 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.SyncProperties;
+import dev.danvega.beehiiv.standin.StandInDataset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostSearchServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Post post(String id, String title, String subtitle, List<String> tags, String html) {
+        ObjectNode post = objectMapper.valueToTree(MockApiResponses.createSamplePost());
+        post.put("id", id);
+        post.put("title", title);
+        post.put("subtitle", subtitle);
+        post.put("preview_text", (String) null);
+        post.set("content_tags", objectMapper.valueToTree(tags));
+        post.put("free_web_content", html);
+        post.putNull("content");
+        post.set("created_at", objectMapper.valueToTree(LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(id.hashCode() & 0xFF)));
+        return objectMapper.convertValue(post, Post.class);
+    }
+
+    private static List<String> ids(List<PostSearchIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.post().id()).toList();
+    }
+
+    @Nested
+    @DisplayName("Index Tests")
+    class IndexTests {
+
+        private PostSearchIndex index;
+
+        @BeforeEach
+        void setUpIndex() {
+            index = new PostSearchIndex();
+            index.index(post("post_k8s", "Kubernetes in Production", "Running clusters", List.of("devops"),
+                    "<p>Pods and nodes</p>"));
+            index.index(post("post_java", "Java 21 Released", "Virtual threads are here", List.of("java"),
+                    "<p>We also deployed it on Kubernetes.</p>"));
+            index.index(post("post_spring", "Spring Boot Tips", "Configuration properties", List.of("spring", "java"),
+                    "<script>var kubernetes = 1;</script><p>Caf&eacute; &amp; records</p>"));
+        }
+
+        @Test
+        @DisplayName("Should rank a title match above a match in the content")
+        void shouldRankTitleAboveContent() {
+            assertEquals(List.of("post_k8s", "post_java"), ids(index.search("kubernetes", 10)));
+        }
+
+        @Test
+        @DisplayName("Should score posts with more of the query terms higher")
+        void shouldScoreMoreTermsHigher() {
+            List<PostSearchIndex.Hit> hits = index.search("java virtual threads", 10);
+
+            assertEquals("post_java", hits.get(0).post().id());
+            assertEquals(List.of("post_java", "post_spring"), ids(hits));
+            assertTrue(hits.get(0).score() > hits.get(1).score());
+        }
+
+        @Test
+        @DisplayName("Should ignore case, accents, punctuation, stop words and script content")
+        void shouldNormalizeTerms() {
+            assertEquals(List.of("post_k8s"), ids(index.search("KUBERNETES, in production!", 1)));
+            assertEquals(List.of("post_k8s"), ids(index.search("Kübernetes", 1)));
+            assertTrue(index.search("the of and", 10).isEmpty());
+            assertTrue(index.search("var", 10).isEmpty());
+            assertEquals(List.of("post_spring"), ids(index.search("records", 10)));
+            assertEquals(List.of("cafe", "deja", "vu"), PostSearchIndex.tokenize("Café déjà-vu"));
+        }
+
+        @Test
+        @DisplayName("Should replace a post's terms when it is indexed again, and drop removed posts")
+        void shouldReplaceAndRemovePosts() {
+            index.index(post("post_k8s", "Kotlin Coroutines", "Structured concurrency", List.of(), null));
+
+            assertEquals(List.of("post_java"), ids(index.search("kubernetes", 10)));
+            assertEquals(List.of("post_k8s"), ids(index.search("coroutines", 10)));
+            assertEquals("Kotlin Coroutines", index.search("coroutines", 1).get(0).post().title());
+
+            index.remove("post_k8s");
+            index.remove("post_unknown");
+
+            assertTrue(index.search("coroutines", 10).isEmpty());
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("Should keep results when document numbers of replaced posts are reclaimed")
+        void shouldKeepResultsAfterCompaction() {
+            for (int round = 0; round < 100; round++) {
+                index.index(post("post_java", "Java " + round, "Virtual threads", List.of("java"), null));
+            }
+
+            assertEquals(3, index.size());
+            assertEquals(List.of("post_java"), ids(index.search("99", 10)));
+            assertEquals(List.of("post_k8s"), ids(index.search("pods", 10)));
+            assertEquals(List.of("post_java", "post_spring"), ids(index.search("java", 10)));
+        }
+
+        @Test
+        @DisplayName("Should hold posts without their content")
+        void shouldHoldPostsWithoutContent() {
+            Post hit = index.search("pods", 1).get(0).post();
+
+            assertNull(hit.freeWebContent());
+            assertEquals("Kubernetes in Production", hit.title());
+        }
+
+        @Test
+        @DisplayName("Should answer queries over ten thousand posts in well under a millisecond")
+        void shouldAnswerQueriesQuickly() {
+            StandInDataset dataset = StandInDataset.generate(1, 10_000, 0, 1024, 21);
+            PostSearchIndex large = new PostSearchIndex();
+            for (ObjectNode post : dataset.posts().get("pub_00000001")) {
+                large.index(objectMapper.convertValue(post, Post.class));
+            }
+            String[] queries = {"spring boot performance", "virtual threads", "graalvm native cache", "kotlin"};
+            for (int i = 0; i < 2_000; i++) {
+                large.search(queries[i % queries.length], 10);
+            }
+
+            int runs = 2_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                assertEquals(10, large.search(queries[i % queries.length], 10).size());
+            }
+            double averageMicros = (System.nanoTime() - start) / 1_000.0 / runs;
+
+            assertTrue(averageMicros < 1_000, "Average query took " + averageMicros + " µs");
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tool Tests")
+    class SearchToolTests {
+
+        private final List<Post> archive = new CopyOnWriteArrayList<>();
+        private PostService postService;
+        private PostSearchService searchService;
+
+        @BeforeEach
+        void setUpSearchService() {
+            archive.add(post("post_k8s", "Kubernetes in Production", "Running clusters", List.of("devops"),
+                    "<p>Pods and nodes</p>"));
+            archive.add(post("post_java", "Java 21 Released", "Virtual threads are here", List.of("java"),
+                    "<p>We also deployed it on Kubernetes.</p>"));
+            postService = mock(PostService.class);
+            when(postService.postStream(anyInt(), anyString(), anyString(), any(), any(), any(), any(), any(), any(), any()))
+                    .thenAnswer(invocation -> archive.stream());
+            PostSyncService syncService = new PostSyncService(postService, new BeehiivProperties("test-api-key-12345", "pub_test123"),
+                    SyncProperties.defaults());
+            searchService = new PostSearchService(syncService, new CacheProperties(true, 1000, DataSize.ofMegabytes(64),
+                    Duration.ofMinutes(10), Duration.ZERO, Duration.ofMinutes(10)));
+        }
+
+        @Test
+        @DisplayName("Should sync the publication on the first search and find posts by their content")
+        void shouldSyncAndSearch() {
+            PostSearchResponse response = searchService.searchPosts("kubernetes", null, null);
+
+            assertEquals("kubernetes", response.query());
+            assertEquals(2, response.indexedPosts());
+            assertEquals(List.of("post_k8s", "post_java"), response.data().stream().map(PostSearchResponse.Hit::id).toList());
+            assertEquals("Kubernetes in Production", response.data().get(0).title());
+            assertNotNull(response.syncedAt());
+            verify(postService).postStream(eq(ApiConstants.MAX_LIMIT), eq(ApiConstants.ORDER_BY_CREATED), anyString(),
+                    any(), any(), any(), any(), any(), eq(ApiConstants.EXPAND_FREE_WEB_CONTENT), eq("pub_test123"));
+        }
+
+        @Test
+        @DisplayName("Should index posts a later sync pulls")
+        void shouldIndexPostsOfLaterSyncs() {
+            searchService.searchPosts("kubernetes", 10, null);
+            archive.add(0, post("post_helm", "Helm Charts for Kubernetes", "Packaging", List.of("devops"), null));
+
+            PostSearchResponse response = searchService.searchPosts("helm", 10, null);
+
+            assertEquals(3, response.indexedPosts());
+            assertEquals("post_helm", response.data().get(0).id());
+        }
+
+        @Test
+        @DisplayName("Should limit the number of hits")
+        void shouldLimitHits() {
+            assertEquals(1, searchService.searchPosts("kubernetes", 1, null).data().size());
+        }
+
+        @Test
+        @DisplayName("Should reject blank queries and invalid limits")
+        void shouldRejectInvalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> searchService.searchPosts(" ", null, null));
+            assertThrows(IllegalArgumentException.class, () -> searchService.searchPosts(null, null, null));
+            assertThrows(IllegalArgumentException.class, () -> searchService.searchPosts("java", 0, null));
+            assertThrows(IllegalArgumentException.class, () -> searchService.searchPosts("java", 101, null));
+            verifyNoInteractions(postService);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package dev.danvega.beehiiv.post;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.danvega.beehiiv.BaseServiceTest;
 import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.ApiConstants;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.FieldProjection;
+import dev.danvega.beehiiv.core.PageFanOut;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +19,10 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -23,7 +33,7 @@ class PostServiceTest extends BaseServiceTest {
 
     @BeforeEach
     void setUpPostService() {
-        postService = new PostService(mockRestClient, testProperties);
+        postService = new PostService(apiClient, testProperties);
     }
 
     @Nested
@@ -99,19 +109,19 @@ class PostServiceTest extends BaseServiceTest {
         @Test
         @DisplayName("Should handle service creation with default publication ID")
         void shouldHandleServiceCreationWithDefaultPublicationId() {
-            assertDoesNotThrow(() -> new PostService(mockRestClient, testProperties));
+            assertDoesNotThrow(() -> new PostService(apiClient, testProperties));
         }
 
         @Test
         @DisplayName("Should handle service creation without default publication ID")
         void shouldHandleServiceCreationWithoutDefaultPublicationId() {
-            assertDoesNotThrow(() -> new PostService(mockRestClient, createTestPropertiesNoPublication()));
+            assertDoesNotThrow(() -> new PostService(apiClient, createTestPropertiesNoPublication()));
         }
 
         @Test
         @DisplayName("Should throw exception when no publication ID available in getAllPosts")
         void shouldThrowExceptionWhenNoPublicationIdAvailable() {
-            PostService serviceWithoutDefault = new PostService(mockRestClient, createTestPropertiesNoPublication());
+            PostService serviceWithoutDefault = new PostService(apiClient, createTestPropertiesNoPublication());
             
             Exception exception = assertThrows(
                 Exception.class,
@@ -201,6 +211,46 @@ class PostServiceTest extends BaseServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Field Projection Tests")
+    class FieldProjectionTests {
+
+        @Test
+        @DisplayName("Should derive expand options from projected fields")
+        void shouldDeriveExpandFromFields() {
+            assertEquals("", PostService.projectedExpand(PostService.projection("title,publish_date")));
+            assertEquals("free_web_content,stats",
+                    PostService.projectedExpand(PostService.projection("stats.email,content.free.web")));
+            assertEquals("free_email_content,premium_email_content,free_web_content,premium_web_content,free_rss_content",
+                    PostService.projectedExpand(PostService.projection("content")));
+        }
+
+        @Test
+        @DisplayName("Should also read content requested by its expand option name")
+        void shouldAliasContentOptions() {
+            FieldProjection projection = PostService.projection("free_email_content");
+
+            assertTrue(projection.paths().contains("content.free.email"));
+            assertEquals("free_email_content", PostService.projectedExpand(projection));
+        }
+
+        @Test
+        @DisplayName("Should build the single post URI from the projection instead of the default expand")
+        void shouldExpandSinglePostFromProjection() {
+            assertEquals("/publications/pub_1/posts/post_1",
+                    postService.buildSinglePostUri("pub_1", "post_1", "stats", PostService.projection("title")));
+            assertEquals("/publications/pub_1/posts/post_1?expand%5B%5D=free_email_content&expand%5B%5D=stats",
+                    postService.buildSinglePostUri("pub_1", "post_1", null));
+        }
+
+        @Test
+        @DisplayName("Should reject invalid field names before calling the API")
+        void shouldRejectInvalidFields() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> postService.getPostById("post_1", null, null, "title;drop"));
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling Tests")
     class ErrorHandlingTests {
@@ -298,4 +348,38 @@ class PostServiceTest extends BaseServiceTest {
             });
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("All Posts With Pagination Tests")
+    class AllPostsWithPaginationTests {
+
+        @Test
+        @DisplayName("Should walk every page at the maximum page size")
+        void shouldWalkEveryPageAtMaxPageSize() {
+            ApiClient pagingApiClient = mock(ApiClient.class);
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            when(pagingApiClient.stream(eq(ApiConstants.POSTS_ENDPOINT), anyString(), any()))
+                    .thenAnswer(invocation -> {
+                        String uri = invocation.getArgument(1);
+                        String nextPage = uri.contains("page=3") ? null : "next";
+                        PostsResponse page = new PostsResponse(List.of(MockApiResponses.createSamplePost()),
+                                new PostsResponse.Pagination(1, nextPage, null));
+                        return invocation.<ApiClient.StreamReader<?>>getArgument(2)
+                                .read(objectMapper.createParser(objectMapper.writeValueAsBytes(page)));
+                    });
+            try (PageFanOut pageFanOut = new PageFanOut(ExecutionProperties.defaults())) {
+                when(pagingApiClient.prefetchPages(anyInt(), any(), any()))
+                        .thenAnswer(invocation -> pageFanOut.prefetch(invocation.getArgument(0),
+                                invocation.<IntFunction<PostsResponse>>getArgument(1),
+                                invocation.<Predicate<PostsResponse>>getArgument(2)));
+
+                List<Post> posts = new PostService(pagingApiClient, testProperties)
+                        .getAllPostsWithPagination(null, null, null, null, null, null, null, null, null);
+
+                assertEquals(3, posts.size());
+                verify(pagingApiClient, atLeast(3)).stream(eq(ApiConstants.POSTS_ENDPOINT),
+                        contains("limit=" + ApiConstants.MAX_LIMIT), any());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostStreamParserTest {
+
+    private static final String PAGE = """
+            {
+              "data": [
+                {
+                  "id": "post_1",
+                  "title": "First",
+                  "content_tags": ["java"],
+                  "content": {
+                    "free": {"web": "<p>free web</p>", "email": "<p>free email</p>", "rss": "<p>rss</p>"},
+                    "premium": {"web": "<p>premium web</p>", "email": "<p>premium email</p>"}
+                  },
+                  "content_html": "<html>big</html>",
+                  "free_web_content": "<p>flat free web</p>",
+                  "stats": {"email": {"recipients": 10}}
+                },
+                {"id": "post_2", "title": "Second", "content": {"free": {"web": "<p>two</p>"}}}
+              ],
+              "total_results": 2,
+              "pagination": {"count": 2, "next_page": "3", "prev_page": "1"}
+            }
+            """;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Post> parse(Set<String> requestedContent, List<Post> posts) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(PAGE)) {
+            new PostStreamParser(requestedContent).parse(parser, posts::add);
+        }
+        return posts;
+    }
+
+    @Nested
+    @DisplayName("Content Skipping Tests")
+    class ContentSkippingTests {
+
+        @Test
+        @DisplayName("Should skip every content field when no content is requested")
+        void shouldSkipUnrequestedContent() throws IOException {
+            List<Post> posts = parse(Set.of(), new ArrayList<>());
+
+            Post first = posts.get(0);
+            assertEquals("post_1", first.id());
+            assertEquals(List.of("java"), first.contentTags());
+            assertNull(first.contentHtml());
+            assertNull(first.freeWebContent());
+            assertTrue(first.content().get("free").isEmpty());
+            assertTrue(first.content().get("premium").isEmpty());
+            assertNotNull(first.stats());
+        }
+
+        @Test
+        @DisplayName("Should keep only the requested content")
+        void shouldKeepRequestedContent() throws IOException {
+            List<Post> posts = parse(Set.of("free_web_content"), new ArrayList<>());
+
+            Post first = posts.get(0);
+            assertEquals("<p>flat free web</p>", first.freeWebContent());
+            assertEquals(Map.of("web", "<p>free web</p>"), first.content().get("free"));
+            assertTrue(first.content().get("premium").isEmpty());
+            assertNull(first.contentHtml());
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit posts in order and return the pagination")
+    void shouldEmitPostsAndReturnPagination() throws IOException {
+        List<String> ids = new ArrayList<>();
+        PostsResponse.Pagination pagination;
+        try (JsonParser parser = objectMapper.createParser(PAGE)) {
+            pagination = new PostStreamParser(Set.of()).parse(parser, post -> ids.add(post.id()));
+        }
+
+        assertEquals(List.of("post_1", "post_2"), ids);
+        assertEquals(2, pagination.count());
+        assertEquals("3", pagination.nextPage());
+    }
+}
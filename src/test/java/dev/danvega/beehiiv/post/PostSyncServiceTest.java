@@ -0,0 +1,250 @@
+package dev.danvega.beehiiv.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.BaseServiceTest;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.PageFanOut;
+import dev.danvega.beehiiv.core.SyncProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostSyncServiceTest extends BaseServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Post> archive = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private PageFanOut pageFanOut;
+    private PostService postService;
+
+    @BeforeEach
+    void setUpArchive() {
+        for (int i = 0; i < 25; i++) {
+            archive.add(post("post_" + i, START.plusDays(i), i % 5 == 0 ? null : epochSeconds(START.plusDays(i)),
+                    START.plusDays(i), i % 5 == 0 ? "draft" : "confirmed"));
+        }
+        ApiClient pagingApiClient = mock(ApiClient.class);
+        when(pagingApiClient.stream(eq(ApiConstants.POSTS_ENDPOINT), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<ApiClient.StreamReader<?>>getArgument(2)
+                        .read(objectMapper.createParser(objectMapper.writeValueAsBytes(page(invocation.getArgument(1))))));
+        pageFanOut = new PageFanOut(ExecutionProperties.defaults());
+        when(pagingApiClient.prefetchPages(anyInt(), any(), any()))
+                .thenAnswer(invocation -> pageFanOut.prefetch(invocation.getArgument(0),
+                        invocation.<IntFunction<PostsResponse>>getArgument(1),
+                        invocation.<Predicate<PostsResponse>>getArgument(2)));
+        postService = new PostService(pagingApiClient, testProperties);
+    }
+
+    @AfterEach
+    void closePageFanOut() {
+        pageFanOut.close();
+    }
+
+    /**
+     * Answers a posts request from the archive, ordered and paged as the request asks
+     */
+    private PostsResponse page(String uri) {
+        requests.incrementAndGet();
+        Map<String, List<String>> params = UriComponentsBuilder.fromUriString(uri).build().getQueryParams();
+        int limit = Integer.parseInt(params.get(ApiConstants.PARAM_LIMIT).get(0));
+        int page = Integer.parseInt(params.get(ApiConstants.PARAM_PAGE).get(0));
+        ToLongFunction<Post> key = ApiConstants.ORDER_BY_CREATED.equals(params.get(ApiConstants.PARAM_ORDER_BY).get(0))
+                ? post -> epochSeconds(post.createdAt())
+                : post -> post.displayedDate() == null ? Long.MIN_VALUE : post.displayedDate();
+        List<Post> ordered = new ArrayList<>(archive);
+        ordered.sort(Comparator.comparingLong(key).reversed());
+        int from = Math.min((page - 1) * limit, ordered.size());
+        int to = Math.min(from + limit, ordered.size());
+        return new PostsResponse(ordered.subList(from, to),
+                new PostsResponse.Pagination(to - from, to < ordered.size() ? String.valueOf(page + 1) : null, null));
+    }
+
+    private Post post(String id, LocalDateTime createdAt, Long displayedDate, LocalDateTime updatedAt, String status) {
+        ObjectNode post = objectMapper.valueToTree(MockApiResponses.createSamplePost());
+        post.put("id", id);
+        post.set("created_at", objectMapper.valueToTree(createdAt));
+        post.set("displayed_date", objectMapper.valueToTree(displayedDate));
+        post.set("publish_date", objectMapper.valueToTree(displayedDate));
+        post.set("updated_at", objectMapper.valueToTree(updatedAt));
+        post.put("status", status);
+        return objectMapper.convertValue(post, Post.class);
+    }
+
+    private void replace(Post post) {
+        archive.replaceAll(held -> held.id().equals(post.id()) ? post : held);
+    }
+
+    private static long epochSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private PostSyncService syncService(Duration fullSyncInterval) {
+        return new PostSyncService(postService, testProperties, new SyncProperties(fullSyncInterval, 5, ApiConstants.EXPAND_FREE_WEB_CONTENT));
+    }
+
+    @Nested
+    @DisplayName("Full Sync Tests")
+    class FullSyncTests {
+
+        @Test
+        @DisplayName("Should pull every post on the first sync and set the watermark to the newest post")
+        void shouldPullEveryPostOnFirstSync() {
+            PostSyncService syncService = syncService(Duration.ofHours(6));
+            assertNull(syncService.watermark(null));
+
+            PostSyncResult result = syncService.sync(null, null);
+
+            assertTrue(result.full());
+            assertEquals("pub_test123", result.publicationId());
+            assertEquals(25, result.added());
+            assertEquals(25, result.replicaSize());
+            assertEquals(25, syncService.posts(null).size());
+            assertEquals(START.plusDays(24), result.watermark().createdAt());
+            assertEquals(epochSeconds(START.plusDays(24)), result.watermark().displayedDate());
+            assertEquals(result.watermark(), syncService.watermark("pub_test123"));
+        }
+
+        @Test
+        @DisplayName("Should detect edits to older posts and removed posts on a full sync")
+        void shouldDetectEditsAndRemovalsOnFullSync() {
+            PostSyncService syncService = syncService(Duration.ofHours(6));
+            syncService.sync(null, null);
+            replace(post("post_3", START.plusDays(3), epochSeconds(START.plusDays(3)), START.plusDays(30), "confirmed"));
+            archive.removeIf(post -> post.id().equals("post_7"));
+
+            PostSyncResult delta = syncService.sync(null, false);
+            assertEquals(0, delta.updated(), "An edit to an old post is not past the watermark");
+
+            PostSyncResult full = syncService.sync(null, true);
+            assertTrue(full.full());
+            assertEquals(1, full.updated());
+            assertEquals(1, full.removed());
+            assertEquals(23, full.unchanged());
+            assertEquals(List.of("post_3"), full.changedPostIds());
+            assertEquals(24, syncService.posts(null).size());
+        }
+
+        @Test
+        @DisplayName("Should sync fully every time when the full sync interval is zero")
+        void shouldSyncFullyWhenIntervalIsZero() {
+            PostSyncService syncService = syncService(Duration.ZERO);
+            syncService.sync(null, null);
+
+            PostSyncResult result = syncService.sync(null, null);
+
+            assertTrue(result.full());
+            assertEquals(25, result.unchanged());
+            assertEquals(result.watermark().syncedAt(), result.watermark().fullSyncedAt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta Sync Tests")
+    class DeltaSyncTests {
+
+        @Test
+        @DisplayName("Should stop at the watermark when nothing changed")
+        void shouldStopAtWatermarkWhenNothingChanged() {
+            PostSyncService syncService = syncService(Duration.ofHours(6));
+            PostSyncResult first = syncService.sync(null, null);
+            requests.set(0);
+
+            PostSyncResult result = syncService.sync(null, null);
+
+            assertFalse(result.full());
+            assertEquals(0, result.added() + result.updated() + result.removed());
+            assertEquals(2, result.postsFetched(), "One post of each ordering");
+            assertTrue(requests.get() < 10, "Delta sync read " + requests.get() + " pages");
+            assertEquals(first.watermark().fullSyncedAt(), result.watermark().fullSyncedAt());
+            assertEquals(25, result.replicaSize());
+        }
+
+        @Test
+        @DisplayName("Should pull posts created since the last sync")
+        void shouldPullNewPosts() {
+            PostSyncService syncService = syncService(Duration.ofHours(6));
+            syncService.sync(null, null);
+            for (int i = 25; i < 32; i++) {
+                archive.add(post("post_" + i, START.plusDays(i), epochSeconds(START.plusDays(i)), START.plusDays(i),
+                        "confirmed"));
+            }
+
+            PostSyncResult result = syncService.sync(null, null);
+
+            assertFalse(result.full());
+            assertEquals(7, result.added());
+            assertEquals(0, result.updated());
+            assertEquals("post_31", result.changedPostIds().get(0));
+            assertEquals(32, syncService.posts(null).size());
+            assertEquals(START.plusDays(31), result.watermark().createdAt());
+            assertTrue(result.postsFetched() < 20, "Fetched " + result.postsFetched() + " posts");
+        }
+
+        @Test
+        @DisplayName("Should pull older drafts that were published since the last sync")
+        void shouldPullPublishedDrafts() {
+            PostSyncService syncService = syncService(Duration.ofHours(6));
+            syncService.sync(null, null);
+            long now = epochSeconds(START.plusDays(40));
+            replace(post("post_10", START.plusDays(10), now, START.plusDays(40), "confirmed"));
+
+            PostSyncResult result = syncService.sync(null, null);
+
+            assertEquals(0, result.added());
+            assertEquals(1, result.updated());
+            assertEquals(List.of("post_10"), result.changedPostIds());
+            assertEquals(now, result.watermark().displayedDate());
+            assertEquals("confirmed", syncService.posts(null).stream()
+                    .filter(post -> post.id().equals("post_10")).findFirst().orElseThrow().status());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sync Properties Tests")
+    class SyncPropertiesTests {
+
+        @Test
+        @DisplayName("Should reject a negative interval and page sizes outside the API limits")
+        void shouldRejectInvalidSettings() {
+            assertThrows(IllegalArgumentException.class, () -> new SyncProperties(Duration.ofMinutes(-1), 10, null));
+            assertThrows(IllegalArgumentException.class, () -> new SyncProperties(Duration.ZERO, 0, null));
+            assertThrows(IllegalArgumentException.class, () -> new SyncProperties(Duration.ZERO, 101, null));
+            assertDoesNotThrow(SyncProperties::defaults);
+        }
+
+        @Test
+        @DisplayName("Should require a publication ID when no default is configured")
+        void shouldRequirePublicationId() {
+            PostSyncService syncService = new PostSyncService(postService, createTestPropertiesNoPublication(),
+                    SyncProperties.defaults());
+
+            assertThrows(IllegalArgumentException.class, () -> syncService.sync(null, null));
+        }
+    }
+}
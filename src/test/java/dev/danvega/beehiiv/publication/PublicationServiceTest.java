@@ -2,7 +2,13 @@ package dev.danvega.beehiiv.publication;
 
 import dev.danvega.beehiiv.BaseServiceTest;
 import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.ApiConstants;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.CacheRegion;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.PageFanOut;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,9 +17,26 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 class PublicationServiceTest extends BaseServiceTest {
 
@@ -21,7 +44,7 @@ class PublicationServiceTest extends BaseServiceTest {
 
     @BeforeEach
     void setUpPublicationService() {
-        publicationService = new PublicationService(mockRestClient, testProperties);
+        publicationService = new PublicationService(apiClient, testProperties, CacheProperties.defaults());
     }
 
     @Nested
@@ -200,7 +223,7 @@ class PublicationServiceTest extends BaseServiceTest {
         @Test
         @DisplayName("Should throw exception when no default publication ID configured")
         void shouldThrowExceptionWhenNoDefaultPublicationIdConfigured() {
-            PublicationService serviceWithoutDefault = new PublicationService(mockRestClient, createTestPropertiesNoPublication());
+            PublicationService serviceWithoutDefault = new PublicationService(apiClient, createTestPropertiesNoPublication(), CacheProperties.defaults());
             
             IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -337,6 +360,33 @@ class PublicationServiceTest extends BaseServiceTest {
             });
         }
 
+        @Test
+        @DisplayName("Should fetch every page and merge them in order")
+        void shouldFetchEveryPageInOrder() {
+            ApiClient pagingApiClient = mock(ApiClient.class);
+            Pattern pageParam = Pattern.compile("page=(\\d+)");
+            when(pagingApiClient.get(eq(ApiConstants.PUBLICATIONS_ENDPOINT), anyString(), eq(PublicationsResponse.class), eq(CacheRegion.PUBLICATIONS)))
+                    .thenAnswer(invocation -> {
+                        Matcher matcher = pageParam.matcher(invocation.<String>getArgument(1));
+                        int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+                        Publication publication = MockApiResponses.createSamplePublication();
+                        return new PublicationsResponse(List.of(publication), 1, page, 4, 4);
+                    });
+            try (PageFanOut pageFanOut = new PageFanOut(ExecutionProperties.defaults())) {
+                when(pagingApiClient.getPages(anyInt(), anyInt(), any()))
+                        .thenAnswer(invocation -> pageFanOut.fetch(invocation.getArgument(0), invocation.getArgument(1),
+                                invocation.<IntFunction<?>>getArgument(2)));
+
+                List<Publication> result = new PublicationService(pagingApiClient, testProperties, CacheProperties.defaults())
+                        .getAllPublicationsWithPagination(1, "created", "desc");
+
+                assertEquals(4, result.size());
+                verify(pagingApiClient, times(4)).get(eq(ApiConstants.PUBLICATIONS_ENDPOINT), anyString(),
+                        eq(PublicationsResponse.class), eq(CacheRegion.PUBLICATIONS));
+                verify(pagingApiClient).getPages(eq(2), eq(4), any());
+            }
+        }
+
         @Test
         @DisplayName("Should validate limit in pagination method")
         void shouldValidateLimitInPaginationMethod() {
@@ -354,7 +404,7 @@ class PublicationServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service with valid parameters")
         void shouldConstructServiceWithValidParameters() {
             assertDoesNotThrow(() -> {
-                new PublicationService(mockRestClient, testProperties);
+                new PublicationService(apiClient, testProperties, CacheProperties.defaults());
             });
         }
 
@@ -362,7 +412,7 @@ class PublicationServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service without default publication ID")
         void shouldConstructServiceWithoutDefaultPublicationId() {
             assertDoesNotThrow(() -> {
-                new PublicationService(mockRestClient, createTestPropertiesNoPublication());
+                new PublicationService(apiClient, createTestPropertiesNoPublication(), CacheProperties.defaults());
             });
         }
 
@@ -372,7 +422,7 @@ class PublicationServiceTest extends BaseServiceTest {
             BeehiivProperties customProperties = createTestProperties("custom-api-key", "pub_custom123");
             
             assertDoesNotThrow(() -> {
-                new PublicationService(mockRestClient, customProperties);
+                new PublicationService(apiClient, customProperties, CacheProperties.defaults());
             });
         }
     }
@@ -457,4 +507,191 @@ class PublicationServiceTest extends BaseServiceTest {
             });
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Catalog Search Tests")
+    class CatalogSearchTests {
+
+        private static final List<String> NAMES = List.of("Weekly Java", "Java Digest", "Café Rust", "Kotlin Weekly",
+                "The  JAVA Newsletter", "java", "Spring Notes", "Go Time", "Javascript Jabber");
+
+        private static Publication publication(int index, String name) {
+            Publication sample = MockApiResponses.createSamplePublication();
+            return new Publication("pub_" + index, name, sample.organizationName(), false, 1_700_000_000L + index,
+                    sample.stats(), null, null, null, null, null, null, null, null, null, false, false);
+        }
+
+        private ApiClient pagingApiClient;
+
+        @BeforeEach
+        void setUpPagingApiClient() {
+            // Two publications a page: the last names are only on later pages
+            pagingApiClient = mock(ApiClient.class);
+            Pattern pageParam = Pattern.compile("page=(\\d+)");
+            int totalPages = (NAMES.size() + 1) / 2;
+            when(pagingApiClient.get(eq(ApiConstants.PUBLICATIONS_ENDPOINT), anyString(), eq(PublicationsResponse.class), eq(CacheRegion.PUBLICATIONS)))
+                    .thenAnswer(invocation -> {
+                        Matcher matcher = pageParam.matcher(invocation.<String>getArgument(1));
+                        int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+                        List<Publication> data = new ArrayList<>();
+                        for (int i = (page - 1) * 2; i < Math.min(page * 2, NAMES.size()); i++) {
+                            data.add(publication(i, NAMES.get(i)));
+                        }
+                        return new PublicationsResponse(data, 2, page, NAMES.size(), totalPages);
+                    });
+            when(pagingApiClient.getPages(anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+                int from = invocation.getArgument(0);
+                int to = invocation.getArgument(1);
+                IntFunction<?> fetch = invocation.getArgument(2);
+                List<Object> pages = new ArrayList<>();
+                for (int page = from; page <= to; page++) {
+                    pages.add(fetch.apply(page));
+                }
+                return pages;
+            });
+        }
+
+        private static List<String> names(List<Publication> publications) {
+            return publications.stream().map(Publication::name).toList();
+        }
+
+        @Test
+        @DisplayName("Should find publications on every page, best matches first")
+        void shouldSearchEveryPageBestMatchesFirst() {
+            PublicationService service = new PublicationService(pagingApiClient, testProperties, CacheProperties.defaults());
+
+            List<Publication> result = service.searchPublicationsByName("Java", null, null, null);
+
+            assertEquals(List.of("java", "Java Digest", "Javascript Jabber", "The  JAVA Newsletter", "Weekly Java"),
+                    names(result));
+        }
+
+        @Test
+        @DisplayName("Should load the catalog once and answer later searches without a request")
+        void shouldLoadCatalogOnce() {
+            PublicationService service = new PublicationService(pagingApiClient, testProperties, CacheProperties.defaults());
+
+            service.searchPublicationsByName("weekly", 10, null, null);
+            clearInvocations(pagingApiClient);
+            List<Publication> result = service.searchPublicationsByName("time", 10, null, null);
+
+            assertEquals(List.of("Go Time"), names(result));
+            verifyNoInteractions(pagingApiClient);
+        }
+
+        @Test
+        @DisplayName("Should order by name or creation and apply the limit")
+        void shouldOrderAndLimit() {
+            PublicationService service = new PublicationService(pagingApiClient, testProperties, CacheProperties.defaults());
+
+            assertEquals(List.of("java", "Java Digest"),
+                    names(service.searchPublicationsByName("ja", 2, "name", "asc")));
+            assertEquals(List.of("Javascript Jabber", "java", "The  JAVA Newsletter", "Java Digest", "Weekly Java"),
+                    names(service.searchPublicationsByName("java", 10, "created", "desc")));
+            assertThrows(IllegalArgumentException.class, () -> service.searchPublicationsByName("java", 10, "subscribers", null));
+            assertThrows(IllegalArgumentException.class, () -> service.searchPublicationsByName("java", 10, "name", "up"));
+        }
+
+        @Test
+        @DisplayName("Should match across case, accents, whitespace and short terms")
+        void shouldNormalizeNames() {
+            PublicationCatalog catalog = new PublicationCatalog(
+                    () -> NAMES.stream().map(name -> publication(NAMES.indexOf(name), name)).toList(),
+                    Duration.ofMinutes(10), Clock.systemUTC());
+
+            assertEquals(List.of("Café Rust"), catalog.search("CAFE").stream().map(r -> r.publication().name()).toList());
+            assertEquals(List.of("The  JAVA Newsletter"),
+                    catalog.search("java  news").stream().map(r -> r.publication().name()).toList());
+            assertTrue(catalog.search("  ").isEmpty());
+            assertEquals(List.of("Go Time"), catalog.search("g").stream()
+                    .filter(r -> r.match() == PublicationCatalog.Match.PREFIX).map(r -> r.publication().name()).toList());
+            assertEquals(PublicationCatalog.Match.EXACT, catalog.search("JAVA").get(0).match());
+            assertEquals(PublicationCatalog.Match.WORD_PREFIX, catalog.search("java").get(3).match());
+            assertTrue(catalog.search("javaz").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reload after the time-to-live and keep the older catalog when a reload fails")
+        void shouldRefreshAndServeStaleOnError() {
+            AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+            Clock clock = new Clock() {
+                @Override
+                public ZoneOffset getZone() {
+                    return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(java.time.ZoneId zone) {
+                    return this;
+                }
+
+                @Override
+                public Instant instant() {
+                    return now.get();
+                }
+            };
+            AtomicInteger loads = new AtomicInteger();
+            List<String> names = new ArrayList<>(List.of("Weekly Java"));
+            PublicationCatalog catalog = new PublicationCatalog(() -> {
+                loads.incrementAndGet();
+                if (names.isEmpty()) {
+                    throw new RuntimeException("API unavailable");
+                }
+                return names.stream().map(name -> publication(names.indexOf(name), name)).toList();
+            }, Duration.ofMinutes(10), clock);
+
+            assertEquals(1, catalog.search("java").size());
+            names.add("Java Digest");
+            now.set(now.get().plus(Duration.ofMinutes(9)));
+            assertEquals(1, catalog.search("java").size());
+            assertEquals(1, loads.get());
+
+            now.set(now.get().plus(Duration.ofMinutes(2)));
+            assertEquals(2, catalog.search("java").size());
+            assertEquals(2, loads.get());
+
+            names.clear();
+            now.set(now.get().plus(Duration.ofMinutes(11)));
+            assertEquals(2, catalog.search("java").size());
+            assertEquals(3, loads.get());
+
+            catalog.invalidate();
+            assertThrows(RuntimeException.class, () -> catalog.search("java"));
+        }
+
+        @Test
+        @DisplayName("Should keep searching the older catalog while another search reloads it")
+        void shouldSearchOlderCatalogDuringReload() throws Exception {
+            Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+            CountDownLatch reloading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+            PublicationCatalog catalog = new PublicationCatalog(() -> {
+                if (loads.incrementAndGet() > 1) {
+                    reloading.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(publication(0, "Weekly Java"), publication(1, "Java Digest"));
+                }
+                return List.of(publication(0, "Weekly Java"));
+            }, Duration.ZERO, clock);
+            // Expired as soon as loaded, so every search reloads it
+            assertEquals(1, catalog.search("java").size());
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<List<PublicationCatalog.Result>> reloaded = executor.submit(() -> catalog.search("java"));
+                assertTrue(reloading.await(5, TimeUnit.SECONDS));
+
+                // Answered from the older catalog without waiting for the reload
+                assertEquals(1, catalog.search("java").size());
+                assertEquals(2, loads.get());
+
+                release.countDown();
+                assertEquals(2, reloaded.get(5, TimeUnit.SECONDS).size());
+            }
+        }
+    }
+}
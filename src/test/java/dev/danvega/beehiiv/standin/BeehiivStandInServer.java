@@ -0,0 +1,572 @@
+package dev.danvega.beehiiv.standin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A local stand-in for the Beehiiv v2 API, serving a {@link StandInDataset} over real HTTP with
+ * injectable {@link StandInFaults}.
+ * <p>
+ * It implements the endpoints the services call: posts (with filters, ordering, paging and
+ * {@code expand[]}), single posts, publications, subscriptions (list, by email, by id, create) and
+ * custom fields. Responses are gzip-encoded on request and carry an {@code ETag} honoured by
+ * {@code If-None-Match}. Every request is answered on its own virtual thread, so latency and slow
+ * bodies never limit the server's concurrency.
+ * <pre>
+ * try (var server = BeehiivStandInServer.start(StandInDataset.generate(2, 500, 1000, 4096, 42), StandInFaults.none())) {
+ *     // point beehiiv.http.base-url at server.baseUrl()
+ * }
+ * </pre>
+ */
+public class BeehiivStandInServer implements AutoCloseable {
+
+    public static final String API_KEY = "stand-in-api-key";
+
+    private static final String BASE_PATH = "/v2";
+    private static final Set<String> POST_EXPANDS = Set.of(ApiConstants.EXPAND_STATS, ApiConstants.EXPAND_FREE_WEB_CONTENT,
+            ApiConstants.EXPAND_PREMIUM_WEB_CONTENT, ApiConstants.EXPAND_FREE_EMAIL_CONTENT,
+            ApiConstants.EXPAND_PREMIUM_EMAIL_CONTENT, ApiConstants.EXPAND_FREE_RSS_CONTENT);
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final StandInDataset dataset;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+    private volatile StandInFaults faults;
+
+    // Fixed one-second rate limit window
+    private long windowSecond;
+    private int windowRequests;
+
+    private BeehiivStandInServer(StandInDataset dataset, StandInFaults faults) throws IOException {
+        this.dataset = dataset;
+        this.faults = faults;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+
+        route(ApiConstants.PUBLICATIONS_ENDPOINT, this::publications);
+        route(ApiConstants.SINGLE_PUBLICATION_ENDPOINT, this::publication);
+        route(ApiConstants.POSTS_ENDPOINT, this::posts);
+        route(ApiConstants.SINGLE_POST_ENDPOINT, this::post);
+        route(ApiConstants.SUBSCRIPTION_BY_EMAIL_ENDPOINT, this::subscriptionByEmail);
+        route(ApiConstants.SUBSCRIPTIONS_ENDPOINT, this::subscriptions);
+        route(ApiConstants.SINGLE_SUBSCRIPTION_ENDPOINT, this::subscription);
+        route(ApiConstants.CUSTOM_FIELDS_ENDPOINT, this::customFields);
+        route(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT, this::customField);
+
+        server.createContext(BASE_PATH, exchange -> {
+            try {
+                handle(exchange);
+            } catch (IOException | RuntimeException e) {
+                // The client hung up, e.g. after a timeout
+                exchange.close();
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Starts a server on a free loopback port.
+     */
+    public static BeehiivStandInServer start(StandInDataset dataset, StandInFaults faults) throws IOException {
+        return new BeehiivStandInServer(dataset, faults);
+    }
+
+    /**
+     * @return the base URL to configure as {@code beehiiv.http.base-url}
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    public StandInDataset dataset() {
+        return dataset;
+    }
+
+    /**
+     * Replaces the faults injected into subsequent requests.
+     */
+    public void faults(StandInFaults faults) {
+        this.faults = faults;
+    }
+
+    /**
+     * @return requests received for the endpoint template, including rejected ones
+     */
+    public long requests(String endpoint) {
+        AtomicLong count = requestCounts.get(endpoint);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return requests received for all endpoints
+     */
+    public long requests() {
+        return requestCounts.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * @return responses sent with the status, e.g. 429 for throttled requests
+     */
+    public long responses(int status) {
+        AtomicLong count = statusCounts.get(status);
+        return count == null ? 0 : count.get();
+    }
+
+    public void resetRequestCounts() {
+        requestCounts.clear();
+        statusCounts.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ==================== DISPATCH ====================
+
+    private record Route(String endpoint, Pattern pattern, Handler handler) {
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(Request request) throws IOException;
+    }
+
+    private record Request(String method, Map<String, String> pathVariables, Map<String, List<String>> query, byte[] body) {
+
+        String path(String name) {
+            return pathVariables.get(name);
+        }
+
+        String param(String name) {
+            List<String> values = query.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        List<String> params(String name) {
+            return query.getOrDefault(name, List.of());
+        }
+
+        int intParam(String name, int defaultValue) {
+            String value = param(name);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+    }
+
+    private record Response(int status, JsonNode body) {
+
+        static Response ok(JsonNode body) {
+            return new Response(200, body);
+        }
+
+        static Response error(int status, String message) {
+            try {
+                return new Response(status, StandInDataset.OBJECT_MAPPER.readTree(MockApiResponses.createErrorResponseBody(status, message)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void route(String endpoint, Handler handler) {
+        // {name} matches one path segment
+        Matcher variables = Pattern.compile("\\{(\\w+)}").matcher(endpoint);
+        String regex = variables.replaceAll("(?<$1>[^/]+)");
+        routes.put(endpoint, new Route(endpoint, Pattern.compile(regex), handler));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+        Route route = null;
+        Matcher matcher = null;
+        for (Route candidate : routes.values()) {
+            matcher = candidate.pattern().matcher(path);
+            if (matcher.matches()) {
+                route = candidate;
+                break;
+            }
+        }
+        requestCounts.computeIfAbsent(route == null ? path : route.endpoint(), key -> new AtomicLong()).incrementAndGet();
+
+        StandInFaults faults = this.faults;
+        delay(faults);
+
+        Response response;
+        if (!("Bearer " + API_KEY).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            response = Response.error(401, "Invalid API key");
+        } else if (route == null) {
+            response = Response.error(404, "Not found");
+        } else if (!withinRateLimit(faults) || chance(faults.throttleRate())) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(Math.max(0, faults.retryAfter().toSeconds())));
+            response = Response.error(429, "Too many requests");
+        } else if (chance(faults.errorRate())) {
+            response = Response.error(503, "Service unavailable");
+        } else {
+            Map<String, String> pathVariables = new LinkedHashMap<>();
+            Matcher names = Pattern.compile("\\{(\\w+)}").matcher(route.endpoint());
+            while (names.find()) {
+                pathVariables.put(names.group(1), URLDecoder.decode(matcher.group(names.group(1)), StandardCharsets.UTF_8));
+            }
+            Request request = new Request(exchange.getRequestMethod(), pathVariables,
+                    query(exchange.getRequestURI().getRawQuery()), exchange.getRequestBody().readAllBytes());
+            try {
+                response = route.handler().handle(request);
+            } catch (IllegalArgumentException e) {
+                response = Response.error(400, e.getMessage());
+            }
+        }
+        respond(exchange, response, faults);
+    }
+
+    private synchronized boolean withinRateLimit(StandInFaults faults) {
+        long second = System.currentTimeMillis() / 1000;
+        if (second != windowSecond) {
+            windowSecond = second;
+            windowRequests = 0;
+        }
+        windowRequests++;
+        return faults.requestsPerSecond() == 0 || windowRequests <= faults.requestsPerSecond();
+    }
+
+    private synchronized int remainingInWindow(StandInFaults faults) {
+        return Math.max(0, faults.requestsPerSecond() - windowRequests);
+    }
+
+    private void respond(HttpExchange exchange, Response response, StandInFaults faults) throws IOException {
+        byte[] body = StandInDataset.OBJECT_MAPPER.writeValueAsBytes(response.body());
+        var headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json");
+        if (faults.requestsPerSecond() > 0) {
+            headers.set("X-RateLimit-Limit", String.valueOf(faults.requestsPerSecond()));
+            headers.set("X-RateLimit-Remaining", String.valueOf(remainingInWindow(faults)));
+            headers.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 1));
+        }
+
+        if (response.status() == 200) {
+            String etag = "\"" + etag(body) + "\"";
+            headers.set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                statusCounts.computeIfAbsent(304, key -> new AtomicLong()).incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            headers.set("Content-Encoding", "gzip");
+        }
+
+        statusCounts.computeIfAbsent(response.status(), key -> new AtomicLong()).incrementAndGet();
+        boolean slow = faults.bodyChunkDelay().isPositive();
+        // Slow bodies are chunked, so the client sees the headers before the whole body
+        exchange.sendResponseHeaders(response.status(), slow ? 0 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (!slow) {
+                out.write(body);
+                return;
+            }
+            for (int offset = 0; offset < body.length; offset += faults.bodyChunkBytes()) {
+                out.write(body, offset, Math.min(faults.bodyChunkBytes(), body.length - offset));
+                out.flush();
+                sleep(faults.bodyChunkDelay());
+            }
+        }
+    }
+
+    private static void delay(StandInFaults faults) {
+        long jitter = faults.latencyJitter().toNanos();
+        long nanos = faults.latency().toNanos() + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0);
+        if (nanos > 0) {
+            sleep(Duration.ofNanos(nanos));
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean chance(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static Map<String, List<String>> query(String rawQuery) {
+        Map<String, List<String>> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            query.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        return query;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==================== ENDPOINTS ====================
+
+    private Response publications(Request request) {
+        return Response.ok(page(dataset.publications(), request, false));
+    }
+
+    private Response publication(Request request) {
+        ObjectNode publication = dataset.publication(request.path("publicationId"));
+        return publication == null ? Response.error(404, "Publication not found") : Response.ok(data(publication));
+    }
+
+    private Response posts(Request request) {
+        List<ObjectNode> posts = dataset.posts().get(request.path("publicationId"));
+        if (posts == null) {
+            return Response.error(404, "Publication not found");
+        }
+
+        String status = request.param(ApiConstants.PARAM_STATUS);
+        String audience = request.param(ApiConstants.PARAM_AUDIENCE);
+        String platform = request.param(ApiConstants.PARAM_PLATFORM);
+        String hiddenFromFeed = request.param(ApiConstants.PARAM_HIDDEN_FROM_FEED);
+        List<String> contentTags = Stream.concat(request.params(ApiConstants.PARAM_CONTENT_TAGS).stream(),
+                        request.params(ApiConstants.PARAM_CONTENT_TAGS + "[]").stream())
+                .flatMap(value -> splitList(value).stream())
+                .toList();
+
+        Stream<ObjectNode> filtered = posts.stream()
+                .filter(post -> matches(status, post.path("status").asText()))
+                .filter(post -> matches(audience, post.path("audience").asText()))
+                .filter(post -> matches(platform, post.path("platform").asText()))
+                .filter(post -> matches(hiddenFromFeed, post.path("hidden_from_feed").asText()))
+                .filter(post -> contentTags.isEmpty() || contentTags.stream().anyMatch(tag -> hasTag(post, tag)));
+
+        String orderBy = request.param(ApiConstants.PARAM_ORDER_BY);
+        String field = "created".equals(orderBy) ? "created_at" : orderBy != null && orderBy.startsWith("displayed") ? "displayed_date" : "publish_date";
+        Comparator<ObjectNode> order = Comparator.comparing(post -> post.path(field).asText());
+        if (!"asc".equals(request.param(ApiConstants.PARAM_DIRECTION))) {
+            order = order.reversed();
+        }
+
+        Set<String> expand = Set.copyOf(request.params(ApiConstants.PARAM_EXPAND));
+        List<ObjectNode> expanded = filtered.sorted(order).map(post -> expand(post, expand)).toList();
+        return Response.ok(page(expanded, request, true));
+    }
+
+    private Response post(Request request) {
+        List<ObjectNode> posts = dataset.posts().get(request.path("publicationId"));
+        if (posts == null) {
+            return Response.error(404, "Publication not found");
+        }
+        Set<String> expand = Set.copyOf(request.params(ApiConstants.PARAM_EXPAND));
+        return posts.stream()
+                .filter(post -> post.path("id").asText().equals(request.path("postId")))
+                .findFirst()
+                .map(post -> Response.ok(data(expand(post, expand))))
+                .orElseGet(() -> Response.error(404, "Post not found"));
+    }
+
+    private Response subscriptions(Request request) throws IOException {
+        List<ObjectNode> subscriptions = dataset.subscriptions().get(request.path("publicationId"));
+        if (subscriptions == null) {
+            return Response.error(404, "Publication not found");
+        }
+        if ("POST".equals(request.method())) {
+            return createSubscription(request, subscriptions);
+        }
+
+        String status = request.param(ApiConstants.PARAM_STATUS);
+        String tier = request.param("tier");
+        List<ObjectNode> filtered = subscriptions.stream()
+                .filter(subscription -> matches(status, subscription.path("status").asText()))
+                .filter(subscription -> matches(tier, subscription.path("subscription_tier").asText()))
+                .toList();
+        return Response.ok(page(filtered, request, false));
+    }
+
+    private Response createSubscription(Request request, List<ObjectNode> subscriptions) throws IOException {
+        JsonNode body = StandInDataset.OBJECT_MAPPER.readTree(request.body());
+        String email = body.path("email").asText(null);
+        if (email == null || email.isBlank()) {
+            return Response.error(400, "Email is required");
+        }
+        synchronized (subscriptions) {
+            for (ObjectNode subscription : subscriptions) {
+                if (subscription.path("email").asText().equalsIgnoreCase(email)) {
+                    return Response.ok(data(subscription));
+                }
+            }
+            ObjectNode created = subscriptions.get(0).deepCopy()
+                    .put("id", "sub_" + request.path("publicationId").substring(4) + "_new_" + subscriptions.size())
+                    .put("email", email)
+                    .put("status", body.path("reactivate_existing").asBoolean() ? "active" : "validating");
+            subscriptions.add(created);
+            return new Response(201, data(created));
+        }
+    }
+
+    private Response subscriptionByEmail(Request request) {
+        return findSubscription(request, "email", request.path("email"));
+    }
+
+    private Response subscription(Request request) {
+        return findSubscription(request, "id", request.path("subscriptionId"));
+    }
+
+    private Response findSubscription(Request request, String field, String value) {
+        List<ObjectNode> subscriptions = dataset.subscriptions().get(request.path("publicationId"));
+        if (subscriptions == null) {
+            return Response.error(404, "Publication not found");
+        }
+        return subscriptions.stream()
+                .filter(subscription -> subscription.path(field).asText().equalsIgnoreCase(value))
+                .findFirst()
+                .map(subscription -> Response.ok(data(subscription)))
+                .orElseGet(() -> Response.error(404, "Subscription not found"));
+    }
+
+    private Response customFields(Request request) {
+        List<ObjectNode> customFields = dataset.customFields().get(request.path("publicationId"));
+        return customFields == null ? Response.error(404, "Publication not found") : Response.ok(page(customFields, request, false));
+    }
+
+    private Response customField(Request request) {
+        List<ObjectNode> customFields = dataset.customFields().get(request.path("publicationId"));
+        if (customFields == null) {
+            return Response.error(404, "Publication not found");
+        }
+        return customFields.stream()
+                .filter(customField -> customField.path("id").asText().equals(request.path("customFieldId")))
+                .findFirst()
+                .map(customField -> Response.ok(data(customField)))
+                .orElseGet(() -> Response.error(404, "Custom field not found"));
+    }
+
+    // ==================== RESPONSE SHAPES ====================
+
+    private static ObjectNode data(JsonNode value) {
+        ObjectNode response = StandInDataset.OBJECT_MAPPER.createObjectNode();
+        response.set("data", value);
+        return response;
+    }
+
+    /**
+     * One page of the list envelope: {@code data}, {@code limit}, {@code page}, {@code total_results}
+     * and {@code total_pages}, plus the {@code pagination} links of the posts endpoint.
+     */
+    private static ObjectNode page(List<ObjectNode> items, Request request, boolean links) {
+        int limit = request.intParam(ApiConstants.PARAM_LIMIT, ApiConstants.DEFAULT_LIMIT);
+        int page = request.intParam(ApiConstants.PARAM_PAGE, 1);
+        if (limit < ApiConstants.MIN_LIMIT || limit > ApiConstants.MAX_LIMIT) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_LIMIT);
+        }
+        if (page < 1) {
+            throw new IllegalArgumentException(ApiConstants.ERROR_INVALID_PAGE);
+        }
+        int from = Math.min(items.size(), (page - 1) * limit);
+        int to = Math.min(items.size(), from + limit);
+        int totalPages = Math.max(1, (items.size() + limit - 1) / limit);
+
+        ObjectNode response = StandInDataset.OBJECT_MAPPER.createObjectNode();
+        ArrayNode data = response.putArray("data");
+        items.subList(from, to).forEach(data::add);
+        response.put("limit", limit);
+        response.put("page", page);
+        response.put("total_results", items.size());
+        response.put("total_pages", totalPages);
+        if (links) {
+            ObjectNode pagination = response.putObject("pagination");
+            pagination.put("count", to - from);
+            pagination.put("next_page", page < totalPages ? String.valueOf(page + 1) : null);
+            pagination.put("prev_page", page > 1 ? String.valueOf(page - 1) : null);
+        }
+        return response;
+    }
+
+    /**
+     * Drops the content and stats a request did not expand, as the API does.
+     */
+    private static ObjectNode expand(ObjectNode post, Set<String> expand) {
+        ObjectNode copy = post.deepCopy();
+        for (String option : POST_EXPANDS) {
+            if (!expand.contains(option)) {
+                copy.remove(ApiConstants.EXPAND_FREE_EMAIL_CONTENT.equals(option) ? "content" : option);
+            }
+        }
+        return copy;
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || "all".equalsIgnoreCase(filter) || filter.equalsIgnoreCase(value);
+    }
+
+    private static boolean hasTag(ObjectNode post, String tag) {
+        for (JsonNode postTag : post.path("content_tags")) {
+            if (postTag.asText().equalsIgnoreCase(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> splitList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(tag -> !tag.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,304 @@
+package dev.danvega.beehiiv.standin;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import dev.danvega.beehiiv.core.ApiConstants;
+import dev.danvega.beehiiv.core.ApiException;
+import dev.danvega.beehiiv.core.CircuitBreaker;
+import dev.danvega.beehiiv.core.Projected;
+import dev.danvega.beehiiv.core.ProjectedResultConverter;
+import dev.danvega.beehiiv.core.ResilienceExecutor;
+import dev.danvega.beehiiv.post.Post;
+import dev.danvega.beehiiv.post.PostResponse;
+import dev.danvega.beehiiv.post.PostService;
+import dev.danvega.beehiiv.post.PostSyncResult;
+import dev.danvega.beehiiv.post.PostSyncService;
+import dev.danvega.beehiiv.post.PostsResponse;
+import dev.danvega.beehiiv.publication.Publication;
+import dev.danvega.beehiiv.publication.PublicationService;
+import dev.danvega.beehiiv.subscription.CustomFieldService;
+import dev.danvega.beehiiv.subscription.CustomFieldsResponse;
+import dev.danvega.beehiiv.subscription.SubscriptionResponse;
+import dev.danvega.beehiiv.subscription.SubscriptionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the services, with the real client pipeline, against the local Beehiiv stand-in server.
+ */
+@SpringBootTest(properties = {
+        "beehiiv.api=" + BeehiivStandInServer.API_KEY,
+        "beehiiv.defaultPublicationId=pub_00000001",
+        "beehiiv.cache.enabled=false",
+        "beehiiv.rate-limit.permits-per-second=1000",
+        "beehiiv.rate-limit.burst=1000",
+        "beehiiv.resilience.initial-backoff=1ms",
+        "beehiiv.resilience.max-backoff=5ms"
+})
+@ActiveProfiles("test")
+class BeehiivStandInServerTest {
+
+    private static final int POSTS = 250;
+    private static final int SUBSCRIPTIONS = 120;
+
+    private static final BeehiivStandInServer server = startServer();
+
+    private static BeehiivStandInServer startServer() {
+        try {
+            return BeehiivStandInServer.start(StandInDataset.generate(3, POSTS, SUBSCRIPTIONS, 2048, 42), StandInFaults.none());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void standInBaseUrl(DynamicPropertyRegistry registry) {
+        registry.add("beehiiv.http.base-url", server::baseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private CustomFieldService customFieldService;
+
+    @Autowired
+    private PostSyncService postSyncService;
+
+    @Autowired
+    private ResilienceExecutor resilienceExecutor;
+
+    @AfterEach
+    void resetServer() {
+        server.faults(StandInFaults.none());
+        server.resetRequestCounts();
+    }
+
+    @Nested
+    @DisplayName("Endpoints")
+    class EndpointTests {
+
+        @Test
+        @DisplayName("Should page through every post of a publication")
+        void shouldPageThroughAllPosts() {
+            List<Post> posts = postService.getAllPostsWithPagination(100, null, null, null, null, null, null, null, null);
+
+            assertEquals(POSTS, posts.size());
+            // The prefetch window may have asked for pages past the last one
+            assertTrue(server.requests(ApiConstants.POSTS_ENDPOINT) >= 3);
+            assertTrue(posts.get(0).publishDate() > posts.get(POSTS - 1).publishDate());
+        }
+
+        @Test
+        @DisplayName("Should filter posts by status and content tag")
+        void shouldFilterPosts() {
+            PostsResponse response = postService.getAllPosts(100, 1, null, null, null, null, "draft", "java", null, null);
+
+            assertFalse(response.data().isEmpty());
+            assertTrue(response.data().stream().allMatch(post -> "draft".equals(post.status())
+                    && post.contentTags().contains("java")));
+        }
+
+        @Test
+        @DisplayName("Should return a single post with only the expanded content")
+        void shouldExpandSinglePost() {
+            String postId = server.dataset().posts().get("pub_00000001").get(7).path("id").asText();
+
+            PostResponse response = postService.getPostById(postId, "free_web_content", null);
+
+            assertEquals(postId, response.data().id());
+            assertNotNull(response.data().freeWebContent());
+            assertNull(response.data().premiumWebContent());
+        }
+
+        @Test
+        @DisplayName("Should read and return only the projected post fields")
+        void shouldProjectPostFields() {
+            ProjectedResultConverter converter = new ProjectedResultConverter();
+            PostsResponse full = postService.getAllPosts(20, 1, null, null, null, null, null, null, null, null);
+            String fullJson = converter.convert(full, PostsResponse.class);
+            Projected<PostsResponse> projected = postService.getAllPosts(20, 1, null, null, null, null, null, null,
+                    null, null, "title,stats.email");
+            String projectedJson = converter.convert(projected, Projected.class);
+
+            assertTrue(projected.projected());
+            assertEquals(20, projected.value().data().size());
+            Post post = projected.value().data().get(0);
+            assertEquals(full.data().get(0).title(), post.title());
+            assertNotNull(post.stats());
+            assertNull(post.contentHtml());
+            assertNull(post.hiddenFromFeed());
+            assertNotNull(projected.value().pagination());
+            assertTrue(projectedJson.length() * 10 < fullJson.length(), "projected result must be far smaller");
+            assertFalse(projectedJson.contains("null"), "projected result must leave out skipped fields");
+            assertTrue(fullJson.contains(":null"), "full result must keep its null fields");
+        }
+
+        @Test
+        @DisplayName("Should derive subscription expand options from the projection")
+        void shouldProjectSubscriptionFields() {
+            SubscriptionResponse response = subscriptionService.getSubscriptionByEmail("subscriber7@example.com",
+                    null, null, "email,stats").value();
+
+            assertEquals("subscriber7@example.com", response.data().email());
+            assertNotNull(response.data().id());
+            assertNull(response.data().status());
+        }
+
+        @Test
+        @DisplayName("Should fetch all publications")
+        void shouldFetchPublications() {
+            List<Publication> publications = publicationService.getAllPublicationsWithPagination(1, null, null);
+
+            assertEquals(List.of("pub_00000001", "pub_00000002", "pub_00000003"),
+                    publications.stream().map(Publication::id).toList());
+        }
+
+        @Test
+        @DisplayName("Should look up subscriptions by email and by id")
+        void shouldLookUpSubscriptions() {
+            SubscriptionResponse byEmail = subscriptionService.getSubscriptionByEmail("subscriber42@example.com", null, null);
+            SubscriptionResponse byId = subscriptionService.getSubscriptionById(byEmail.data().id(), null, null);
+
+            assertEquals("subscriber42@example.com", byId.data().email());
+            assertEquals(SUBSCRIPTIONS, subscriptionService.subscriptionStream(50, null, null, null, null).count());
+        }
+
+        @Test
+        @DisplayName("Should list custom fields")
+        void shouldListCustomFields() {
+            CustomFieldsResponse response = customFieldService.listCustomFields(null, null, "pub_00000002");
+
+            assertEquals(3, response.data().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Walks")
+    class WalkTests {
+
+        private final ListAppender<ILoggingEvent> logged = new ListAppender<>();
+        private final Logger clientLogger = (Logger) LoggerFactory.getLogger("dev.danvega.beehiiv");
+
+        @BeforeEach
+        void captureLogs() {
+            logged.start();
+            clientLogger.addAppender(logged);
+        }
+
+        @AfterEach
+        void releaseLogs() {
+            clientLogger.detachAppender(logged);
+        }
+
+        private List<String> warningsAndErrors() {
+            return logged.list.stream()
+                    .filter(event -> event.getLevel().isGreaterOrEqual(Level.WARN))
+                    .map(ILoggingEvent::getFormattedMessage)
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Should close a post stream after its first pages without side effects on the resilience layer")
+        void shouldCloseStreamEarlyQuietly() throws InterruptedException {
+            server.faults(StandInFaults.none().withLatency(Duration.ofMillis(50), Duration.ZERO));
+
+            try (Stream<Post> posts = postService.postStream(10, null, null, null, null, null, null, null, "pub_00000002")) {
+                assertEquals(15, posts.limit(15).count());
+            }
+            // Let the requests prefetched past the stop point come back
+            Thread.sleep(300);
+
+            assertEquals(List.of(), warningsAndErrors());
+            assertEquals(CircuitBreaker.State.CLOSED, resilienceExecutor.state(ApiConstants.POSTS_ENDPOINT));
+        }
+
+        @Test
+        @DisplayName("Should stop a delta sync that finds nothing new after the first page, without side effects")
+        void shouldStopDeltaSyncQuietly() throws InterruptedException {
+            postSyncService.sync("pub_00000002", null);
+            server.resetRequestCounts();
+            server.faults(StandInFaults.none().withLatency(Duration.ofMillis(50), Duration.ZERO));
+
+            PostSyncResult result = postSyncService.sync("pub_00000002", null);
+            Thread.sleep(300);
+
+            assertFalse(result.full());
+            assertEquals(0, result.added());
+            // One page per ordering
+            assertEquals(2, server.requests(ApiConstants.POSTS_ENDPOINT));
+            assertEquals(List.of(), warningsAndErrors());
+            assertEquals(CircuitBreaker.State.CLOSED, resilienceExecutor.state(ApiConstants.POSTS_ENDPOINT));
+        }
+    }
+
+    @Nested
+    @DisplayName("Faults")
+    class FaultTests {
+
+        @Test
+        @DisplayName("Should retry through 429 responses")
+        void shouldRetryThrottledRequests() {
+            server.faults(StandInFaults.none().withRequestsPerSecond(2).withThrottling(0, Duration.ZERO));
+
+            List<Post> posts = postService.getAllPostsWithPagination(50, null, null, null, null, null, null, null, "pub_00000003");
+
+            assertEquals(POSTS, posts.size());
+            assertTrue(server.responses(429) > 0, "some pages must have been throttled");
+        }
+
+        @Test
+        @DisplayName("Should surface errors once retries are exhausted")
+        void shouldFailOnPersistentErrors() {
+            server.faults(StandInFaults.none().withErrorRate(1));
+
+            assertThrows(ApiException.class, () -> publicationService.getPublicationById("pub_00000001"));
+            assertTrue(server.requests(ApiConstants.SINGLE_PUBLICATION_ENDPOINT) > 1, "idempotent calls must be retried");
+        }
+
+        @Test
+        @DisplayName("Should read slow bodies and delayed responses")
+        void shouldReadSlowBodies() {
+            server.faults(StandInFaults.none()
+                    .withLatency(Duration.ofMillis(20), Duration.ofMillis(10))
+                    .withSlowBodies(1024, Duration.ofMillis(2)));
+
+            long start = System.nanoTime();
+            PostsResponse response = postService.getAllPosts(20, 1, null, null, null, null, null, null, null, null);
+
+            assertEquals(20, response.data().size());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 20);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dev.danvega.beehiiv.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.danvega.beehiiv.MockApiResponses;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Synthetic Beehiiv data for the stand-in server: publications, each with posts, subscriptions and
+ * custom fields, as the JSON objects the v2 API returns.
+ * <p>
+ * Records are derived from the {@link MockApiResponses} fixtures, so they bind to the same models.
+ * Generation is seeded: the same sizes and seed give the same dataset.
+ *
+ * @param publications the publications, in id order
+ * @param posts posts per publication id, newest first
+ * @param subscriptions subscriptions per publication id; the server appends created subscriptions
+ * @param customFields custom fields per publication id
+ */
+public record StandInDataset(
+        List<ObjectNode> publications,
+        Map<String, List<ObjectNode>> posts,
+        Map<String, List<ObjectNode>> subscriptions,
+        Map<String, List<ObjectNode>> customFields) {
+
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static final String[] WORDS = {
+            "newsletter", "spring", "java", "boot", "ai", "agents", "virtual", "threads", "records", "streams",
+            "performance", "latency", "cache", "index", "search", "release", "testing", "database", "cloud",
+            "native", "graalvm", "security", "observability", "metrics", "kotlin", "gradle", "maven", "weekly",
+            "insights", "tutorial", "guide", "community", "conference", "podcast", "video", "course"};
+    private static final String[] TAGS = {"java", "spring", "ai", "news", "tutorial", "career", "devops"};
+    private static final String[] POST_STATUSES = {"confirmed", "confirmed", "confirmed", "draft", "archived"};
+    private static final String[] AUDIENCES = {"free", "free", "premium", "all"};
+    private static final String[] PLATFORMS = {"both", "both", "web", "email"};
+    private static final String[] SUBSCRIPTION_STATUSES = {"active", "active", "active", "inactive", "pending"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    /**
+     * Generates a dataset.
+     * @param publicationCount number of publications, with ids {@code pub_00000001} and up
+     * @param postsPerPublication posts per publication
+     * @param subscriptionsPerPublication subscriptions per publication, with emails
+     *                                    {@code subscriber<n>@example.com}
+     * @param contentBytes approximate size of each post's HTML content
+     * @param seed seed of the generator
+     */
+    public static StandInDataset generate(int publicationCount, int postsPerPublication,
+                                          int subscriptionsPerPublication, int contentBytes, long seed) {
+        Random random = new Random(seed);
+        ObjectNode publicationTemplate = OBJECT_MAPPER.valueToTree(MockApiResponses.createSamplePublication());
+        ObjectNode postTemplate = OBJECT_MAPPER.valueToTree(MockApiResponses.createSamplePost());
+        ObjectNode subscriptionTemplate = OBJECT_MAPPER.valueToTree(MockApiResponses.createSampleSubscription());
+        List<ObjectNode> customFieldTemplates = List.of(
+                OBJECT_MAPPER.valueToTree(MockApiResponses.createSampleCustomField()),
+                OBJECT_MAPPER.valueToTree(MockApiResponses.createSecondSampleCustomField()),
+                OBJECT_MAPPER.valueToTree(MockApiResponses.createThirdSampleCustomField()));
+
+        List<ObjectNode> publications = new ArrayList<>();
+        Map<String, List<ObjectNode>> posts = new LinkedHashMap<>();
+        Map<String, List<ObjectNode>> subscriptions = new LinkedHashMap<>();
+        Map<String, List<ObjectNode>> customFields = new LinkedHashMap<>();
+        for (int p = 1; p <= publicationCount; p++) {
+            String publicationId = "pub_%08d".formatted(p);
+            String name = capitalize(word(random)) + " " + capitalize(word(random)) + " Weekly";
+            publications.add(publicationTemplate.deepCopy()
+                    .put("id", publicationId)
+                    .put("name", name)
+                    .put("subscriber_count", subscriptionsPerPublication)
+                    .put("post_count", postsPerPublication));
+
+            List<ObjectNode> publicationPosts = new ArrayList<>();
+            for (int i = 0; i < postsPerPublication; i++) {
+                publicationPosts.add(post(postTemplate, publicationId, i, postsPerPublication, contentBytes, random));
+            }
+            posts.put(publicationId, publicationPosts);
+
+            List<ObjectNode> publicationSubscriptions = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < subscriptionsPerPublication; i++) {
+                publicationSubscriptions.add(subscriptionTemplate.deepCopy()
+                        .put("id", "sub_%08d_%08d".formatted(p, i))
+                        .put("email", "subscriber" + i + "@example.com")
+                        .put("status", pick(SUBSCRIPTION_STATUSES, random))
+                        .put("subscription_tier", random.nextInt(5) == 0 ? "premium" : "free"));
+            }
+            subscriptions.put(publicationId, publicationSubscriptions);
+
+            List<ObjectNode> publicationCustomFields = new ArrayList<>();
+            for (int i = 0; i < customFieldTemplates.size(); i++) {
+                publicationCustomFields.add(customFieldTemplates.get(i).deepCopy()
+                        .put("id", "cf_%08d_%02d".formatted(p, i)));
+            }
+            customFields.put(publicationId, publicationCustomFields);
+        }
+        return new StandInDataset(publications, posts, subscriptions, customFields);
+    }
+
+    private static ObjectNode post(ObjectNode template, String publicationId, int index, int count,
+                                   int contentBytes, Random random) {
+        // Newest first: one post a day, counting back from the epoch
+        LocalDateTime published = EPOCH.plusDays(count - index);
+        long publishDate = published.toEpochSecond(ZoneOffset.UTC);
+        String title = capitalize(word(random)) + " " + word(random) + " and " + word(random) + " #" + (count - index);
+        String html = html(contentBytes, random);
+
+        ObjectNode post = template.deepCopy()
+                .put("id", "post_%s_%06d".formatted(publicationId.substring(4), index))
+                .put("publication_id", publicationId)
+                .put("title", title)
+                .put("subtitle", sentence(8, random))
+                .put("slug", title.toLowerCase().replaceAll("[^a-z0-9]+", "-"))
+                .put("publish_date", publishDate)
+                .put("displayed_date", publishDate)
+                .put("status", pick(POST_STATUSES, random))
+                .put("audience", pick(AUDIENCES, random))
+                .put("platform", pick(PLATFORMS, random))
+                .put("hidden_from_feed", random.nextInt(10) == 0)
+                .put("content_html", html)
+                .put("free_web_content", html)
+                .put("premium_web_content", html)
+                .put("content_summary", sentence(20, random));
+        post.put("created_at", published.minusHours(2).toString());
+        ArrayNode tags = post.putArray("content_tags");
+        int tagCount = 1 + random.nextInt(3);
+        for (int t = 0; t < tagCount; t++) {
+            String tag = pick(TAGS, random);
+            if (!tags.toString().contains("\"" + tag + "\"")) {
+                tags.add(tag);
+            }
+        }
+        post.putObject("content").putObject("free").put("email", html);
+        post.putObject("stats").putObject("email")
+                .put("recipients", 1000 + random.nextInt(9000))
+                .put("opens", random.nextInt(1000))
+                .put("clicks", random.nextInt(200));
+        return post;
+    }
+
+    private static String html(int bytes, Random random) {
+        StringBuilder html = new StringBuilder(bytes + 64);
+        while (html.length() < bytes) {
+            html.append("<p>").append(sentence(12, random)).append("</p>");
+        }
+        return html.toString();
+    }
+
+    private static String sentence(int words, Random random) {
+        StringBuilder sentence = new StringBuilder(capitalize(word(random)));
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(word(random));
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static String word(Random random) {
+        return pick(WORDS, random);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * @return the publication with the id, or null
+     */
+    public ObjectNode publication(String publicationId) {
+        return publications.stream().filter(publication -> publication.path("id").asText().equals(publicationId))
+                .findFirst().orElse(null);
+    }
+}
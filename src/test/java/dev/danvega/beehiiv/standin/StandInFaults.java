@@ -0,0 +1,72 @@
+package dev.danvega.beehiiv.standin;
+
+import java.time.Duration;
+
+/**
+ * Faults the stand-in server injects into its responses. Rates are fractions of requests, drawn per
+ * request; a zero duration or rate disables the fault.
+ *
+ * @param latency delay before the response headers are sent
+ * @param latencyJitter random extra delay, up to this much, added to the latency
+ * @param errorRate fraction of requests answered with 503
+ * @param throttleRate fraction of requests answered with 429 and {@code Retry-After}
+ * @param retryAfter the {@code Retry-After} sent with 429 responses
+ * @param requestsPerSecond fixed-window limit per second, beyond which requests get 429 like the real
+ *                          API; 0 for no limit. Every response carries the {@code X-RateLimit-*} headers
+ * @param bodyChunkBytes size of the chunks a body is written in when chunk delays are set
+ * @param bodyChunkDelay pause between body chunks, to simulate a slow or congested connection
+ */
+public record StandInFaults(
+        Duration latency,
+        Duration latencyJitter,
+        double errorRate,
+        double throttleRate,
+        Duration retryAfter,
+        int requestsPerSecond,
+        int bodyChunkBytes,
+        Duration bodyChunkDelay) {
+
+    public StandInFaults {
+        if (errorRate < 0 || errorRate > 1 || throttleRate < 0 || throttleRate > 1) {
+            throw new IllegalArgumentException("Fault rates must be between 0 and 1");
+        }
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("Requests per second must not be negative");
+        }
+        if (bodyChunkBytes < 1) {
+            throw new IllegalArgumentException("Body chunks must be at least one byte");
+        }
+    }
+
+    /**
+     * @return a fault-free, instant server
+     */
+    public static StandInFaults none() {
+        return new StandInFaults(Duration.ZERO, Duration.ZERO, 0, 0, Duration.ofSeconds(1), 0, 8192, Duration.ZERO);
+    }
+
+    public StandInFaults withLatency(Duration latency, Duration latencyJitter) {
+        return new StandInFaults(latency, latencyJitter, errorRate, throttleRate, retryAfter, requestsPerSecond,
+                bodyChunkBytes, bodyChunkDelay);
+    }
+
+    public StandInFaults withErrorRate(double errorRate) {
+        return new StandInFaults(latency, latencyJitter, errorRate, throttleRate, retryAfter, requestsPerSecond,
+                bodyChunkBytes, bodyChunkDelay);
+    }
+
+    public StandInFaults withThrottling(double throttleRate, Duration retryAfter) {
+        return new StandInFaults(latency, latencyJitter, errorRate, throttleRate, retryAfter, requestsPerSecond,
+                bodyChunkBytes, bodyChunkDelay);
+    }
+
+    public StandInFaults withRequestsPerSecond(int requestsPerSecond) {
+        return new StandInFaults(latency, latencyJitter, errorRate, throttleRate, retryAfter, requestsPerSecond,
+                bodyChunkBytes, bodyChunkDelay);
+    }
+
+    public StandInFaults withSlowBodies(int bodyChunkBytes, Duration bodyChunkDelay) {
+        return new StandInFaults(latency, latencyJitter, errorRate, throttleRate, retryAfter, requestsPerSecond,
+                bodyChunkBytes, bodyChunkDelay);
+    }
+}
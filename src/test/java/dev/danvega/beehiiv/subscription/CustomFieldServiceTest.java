@@ -2,7 +2,11 @@ package dev.danvega.beehiiv.subscription;
 
 import dev.danvega.beehiiv.BaseServiceTest;
 import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.ApiConstants;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.CacheProperties;
+import dev.danvega.beehiiv.core.CacheRegion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +15,27 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class CustomFieldServiceTest extends BaseServiceTest {
 
@@ -23,7 +43,7 @@ class CustomFieldServiceTest extends BaseServiceTest {
 
     @BeforeEach
     void setUpCustomFieldService() {
-        customFieldService = new CustomFieldService(mockRestClient, testProperties);
+        customFieldService = new CustomFieldService(apiClient, testProperties, CacheProperties.defaults());
     }
 
     @Nested
@@ -135,7 +155,7 @@ class CustomFieldServiceTest extends BaseServiceTest {
         @DisplayName("Should throw exception when no publication ID available")
         void shouldThrowExceptionWhenNoPublicationIdAvailable() {
             CustomFieldService serviceWithoutDefault = new CustomFieldService(
-                mockRestClient, createTestPropertiesNoPublication());
+                apiClient, createTestPropertiesNoPublication(), CacheProperties.defaults());
             
             IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -470,6 +490,301 @@ class CustomFieldServiceTest extends BaseServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Async Validate Custom Field Value Tests")
+    class AsyncValidateCustomFieldValueTests {
+
+        private final ApiClient mockApiClient = mock(ApiClient.class);
+        private CustomFieldService asyncService;
+
+        @BeforeEach
+        void setUp() {
+            asyncService = new CustomFieldService(mockApiClient, testProperties, CacheProperties.defaults());
+            when(mockApiClient.getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class)))
+                    .thenReturn(CompletableFuture.completedFuture(MockApiResponses.createSampleCustomFieldsResponse()));
+        }
+
+        @Test
+        @DisplayName("Should resolve the field by name without an ID lookup")
+        void shouldResolveFieldByName() {
+            Map<String, Object> result = asyncService.validateCustomFieldValueAsync("age", "42", null).join();
+
+            assertEquals(true, result.get("valid"));
+            assertEquals("age", result.get("fieldName"));
+            verify(mockApiClient, never()).getAsync(eq(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT), anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should resolve the field by ID from the schema without an ID lookup")
+        void shouldResolveFieldById() {
+            Map<String, Object> result = asyncService.validateCustomFieldValue("cf_123456789", "Jane", null);
+
+            assertEquals(true, result.get("valid"));
+            assertEquals("name", result.get("fieldName"));
+            verify(mockApiClient, never()).getAsync(eq(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT), anyString(), any(), any());
+            verify(mockApiClient, never()).getAsync(eq(ApiConstants.SINGLE_CUSTOM_FIELD_ENDPOINT), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should list the custom fields once for repeated lookups and validations")
+        void shouldLoadSchemaOnce() {
+            for (int i = 0; i < 100; i++) {
+                asyncService.validateCustomFieldValue("age", String.valueOf(i), null);
+                asyncService.validateCustomFieldValue("cf_987654321", "weekly", null);
+                assertEquals("name", asyncService.getCustomFieldByName("name", null).name());
+            }
+
+            verify(mockApiClient, times(1)).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class));
+            verifyNoMoreInteractions(mockApiClient);
+        }
+
+        @Test
+        @DisplayName("Should report an unknown field and remember it without further requests")
+        void shouldReportUnknownField() {
+            Map<String, Object> result = asyncService.validateCustomFieldValue("missing", "x", null);
+            asyncService.validateCustomFieldValue("missing", "y", null);
+
+            assertEquals(false, result.get("valid"));
+            assertEquals("Custom field not found: missing", result.get("error"));
+            assertNull(asyncService.getCustomFieldByName("cf_123456789", null));
+            verify(mockApiClient, times(1)).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class));
+            verifyNoMoreInteractions(mockApiClient);
+        }
+
+        @Test
+        @DisplayName("Should load every page of custom fields")
+        void shouldLoadEveryPage() {
+            List<CustomField> fields = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                fields.add(new CustomField("cf_" + i, "field_" + i, "number", false, null, null, null, null, null));
+            }
+            when(mockApiClient.getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class)))
+                    .thenAnswer(invocation -> {
+                        String uri = invocation.getArgument(1);
+                        int page = Integer.parseInt(uri.replaceAll(".*page=(\\d+).*", "$1"));
+                        int from = (page - 1) * ApiConstants.MAX_LIMIT;
+                        return CompletableFuture.completedFuture(new CustomFieldsResponse(
+                                fields.subList(from, Math.min(from + ApiConstants.MAX_LIMIT, fields.size())),
+                                fields.size(), page, ApiConstants.MAX_LIMIT));
+                    });
+
+            assertEquals("cf_249", asyncService.getCustomFieldByName("field_249", null).id());
+            assertEquals("field_120", asyncService.validateCustomFieldValue("cf_120", "7", null).get("fieldName"));
+            verify(mockApiClient, times(3)).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should load the custom fields again after invalidation")
+        void shouldReloadAfterInvalidation() {
+            asyncService.validateCustomFieldValue("age", "42", null);
+            asyncService.invalidateCustomFields(null);
+            asyncService.validateCustomFieldValue("age", "43", null);
+
+            verify(mockApiClient, times(2)).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), anyString(), eq(CustomFieldsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should keep the schema of each publication apart")
+        void shouldCacheSchemaPerPublication() {
+            asyncService.validateCustomFieldValue("age", "42", null);
+            asyncService.validateCustomFieldValue("age", "42", "pub_other456");
+
+            verify(mockApiClient).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), contains("pub_test123"), eq(CustomFieldsResponse.class));
+            verify(mockApiClient).getAsync(eq(ApiConstants.CUSTOM_FIELDS_ENDPOINT), contains("pub_other456"), eq(CustomFieldsResponse.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Schema Cache Tests")
+    class SchemaCacheTests {
+
+        private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+        private final Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        private final List<CustomField> fields = new CopyOnWriteArrayList<>(List.of(MockApiResponses.createSampleCustomField()));
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final CustomFieldSchemaCache cache = new CustomFieldSchemaCache(publicationId -> {
+            loads.incrementAndGet();
+            return failure.get() != null ? CompletableFuture.failedFuture(failure.get())
+                    : CompletableFuture.completedFuture(List.copyOf(fields));
+        }, Duration.ofMinutes(10), clock);
+
+        private void advance(Duration duration) {
+            now.set(now.get().plus(duration));
+        }
+
+        @Test
+        @DisplayName("Should reload the schema once it is older than its time-to-live")
+        void shouldReloadAfterTtl() {
+            assertNotNull(cache.byName("pub_test123", "name").join());
+            advance(Duration.ofMinutes(9));
+            assertNotNull(cache.byName("pub_test123", "name").join());
+            assertEquals(1, loads.get());
+
+            advance(Duration.ofMinutes(2));
+            assertNotNull(cache.byName("pub_test123", "name").join());
+            assertEquals(2, loads.get());
+        }
+
+        @Test
+        @DisplayName("Should reload once for an unknown identifier, then remember it as unknown")
+        void shouldReloadOnceForUnknownIdentifier() {
+            cache.byName("pub_test123", "name").join();
+            fields.add(MockApiResponses.createSecondSampleCustomField());
+
+            // Too soon after loading to reload
+            assertNull(cache.validator("pub_test123", "newsletter_frequency").join());
+            assertEquals(1, loads.get());
+
+            // Remembered as unknown until the schema is replaced
+            advance(CustomFieldSchemaCache.MIN_RELOAD_INTERVAL);
+            assertNull(cache.validator("pub_test123", "newsletter_frequency").join());
+            assertEquals(1, loads.get());
+
+            assertNotNull(cache.validator("pub_test123", "cf_987654321").join());
+            assertNotNull(cache.validator("pub_test123", "newsletter_frequency").join());
+            assertEquals(2, loads.get());
+
+            advance(CustomFieldSchemaCache.MIN_RELOAD_INTERVAL);
+            assertNull(cache.validator("pub_test123", "missing").join());
+            assertNull(cache.validator("pub_test123", "missing").join());
+            assertEquals(3, loads.get());
+        }
+
+        @Test
+        @DisplayName("Should keep the older schema when a reload fails, and fail without one")
+        void shouldServeStaleSchemaOnError() {
+            cache.byName("pub_test123", "name").join();
+            failure.set(new RuntimeException("API unavailable"));
+            advance(Duration.ofMinutes(11));
+
+            assertNotNull(cache.byName("pub_test123", "name").join());
+            assertEquals(2, loads.get());
+
+            cache.invalidate("pub_test123");
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> cache.byName("pub_test123", "name").join());
+            assertEquals("API unavailable", exception.getCause().getMessage());
+
+            failure.set(null);
+            assertNotNull(cache.byName("pub_test123", "name").join());
+        }
+
+        @Test
+        @DisplayName("Should share one load between concurrent lookups")
+        void shouldShareLoad() {
+            CompletableFuture<List<CustomField>> pending = new CompletableFuture<>();
+            CustomFieldSchemaCache slow = new CustomFieldSchemaCache(publicationId -> {
+                loads.incrementAndGet();
+                return pending;
+            }, Duration.ofMinutes(10), clock);
+
+            CompletableFuture<CustomField> first = slow.byName("pub_test123", "name");
+            CompletableFuture<CustomFieldValidator> second = slow.validator("pub_test123", "cf_123456789");
+            assertFalse(first.isDone());
+
+            pending.complete(List.copyOf(fields));
+            assertSame(first.join(), second.join().field());
+            assertEquals(1, loads.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiled Validator Tests")
+    class CompiledValidatorTests {
+
+        private static final List<String> VALUES = List.of("John", "42", "-17", "+8", "0", "2147483647", "2147483648",
+                "-2147483648", "-2147483649", "99999999999999999999", "3.14", "-.5", "5.", ".", "-", "+", "1e5", "1.5e3",
+                "1.5E-3", "1.5e", "1.5f", "1.5D", " 4.2 ", " 42", "NaN", "-Infinity", "Infinity.5", "0x1.8p1", "0X.8P-2",
+                "0x1.8", "1.2.3", "abc.def", "١٢", "true", "TRUE", "False", "yes", "YES", "No", "1", "yeſ", "maybe",
+                "daily", "Daily", "weekly", "", "   ", "2024-01-15");
+
+        private static final List<CustomField> FIELDS = List.of(
+                new CustomField("cf_text", "name", "string", true, null, null, null, null, null),
+                new CustomField("cf_number", "age", "number", false, null, null, null, null, null),
+                new CustomField("cf_boolean", "active", "BOOLEAN", true, null, null, null, null, null),
+                new CustomField("cf_date", "birthday", "date", false, null, null, null, null, null),
+                new CustomField("cf_list", "frequency", "list", false, null, null, null, List.of("daily", "weekly"), null),
+                new CustomField("cf_any", "tier", "list", false, null, null, null, null, null),
+                new CustomField("cf_untyped", "note", null, false, null, null, null, null, null),
+                new CustomField("cf_bad", "color", "colour", false, null, null, null, null, null));
+
+        /**
+         * The result of validating through {@link CustomField#convertValue} and {@link CustomField#isValidValue}
+         */
+        private static Map<String, Object> legacy(CustomField field, String value) {
+            String type = field.type() != null ? field.type() : "text";
+            try {
+                Object converted = field.convertValue(value);
+                boolean valid = field.isValidValue(converted);
+                return converted == null
+                        ? Map.of("valid", valid, "fieldType", type, "fieldName", field.name())
+                        : Map.of("valid", valid, "convertedValue", converted, "fieldType", type, "fieldName", field.name());
+            } catch (IllegalArgumentException e) {
+                return Map.of("valid", false, "error", e.getMessage(), "fieldType", type, "fieldName", field.name());
+            }
+        }
+
+        @Test
+        @DisplayName("Should accept, convert and reject exactly the values the field does")
+        void shouldMatchFieldValidation() {
+            for (CustomField field : FIELDS) {
+                CustomFieldValidator validator = CustomFieldValidator.compile(field);
+                for (String value : VALUES) {
+                    Map<String, Object> expected = legacy(field, value);
+                    assertEquals(expected, validator.validate(value), field.type() + " value '" + value + "'");
+                    assertEquals(expected.get("valid"), validator.isValid(value), field.type() + " value '" + value + "'");
+                }
+                assertEquals(legacy(field, null), validator.validate(null));
+            }
+        }
+
+        @Test
+        @DisplayName("Should parse numbers without exceptions as Integer and Double do")
+        void shouldParseNumbersLikeTheJdk() {
+            for (String value : VALUES) {
+                long expectedInt;
+                try {
+                    expectedInt = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    expectedInt = Long.MIN_VALUE;
+                }
+                assertEquals(expectedInt, CustomFieldValidator.parseInt(value), value);
+
+                boolean expectedDouble = true;
+                try {
+                    Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    expectedDouble = false;
+                }
+                assertEquals(expectedDouble, CustomFieldValidator.isDouble(value), value);
+            }
+        }
+
+        @Test
+        @DisplayName("Should report a blank value of an optional field as valid")
+        void shouldValidateBlankValues() {
+            assertEquals(Map.of("valid", true, "fieldType", "number", "fieldName", "age"),
+                    CustomFieldValidator.compile(FIELDS.get(1)).validate(" "));
+            assertEquals(false, CustomFieldValidator.compile(FIELDS.get(0)).validate("").get("valid"));
+        }
+    }
+
     @Nested
     @DisplayName("Publication ID Resolution Tests")
     class PublicationIdResolutionTests {
@@ -515,7 +830,7 @@ class CustomFieldServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service with valid parameters")
         void shouldConstructServiceWithValidParameters() {
             assertDoesNotThrow(() -> {
-                new CustomFieldService(mockRestClient, testProperties);
+                new CustomFieldService(apiClient, testProperties, CacheProperties.defaults());
             });
         }
 
@@ -523,7 +838,7 @@ class CustomFieldServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service without default publication ID")
         void shouldConstructServiceWithoutDefaultPublicationId() {
             assertDoesNotThrow(() -> {
-                new CustomFieldService(mockRestClient, createTestPropertiesNoPublication());
+                new CustomFieldService(apiClient, createTestPropertiesNoPublication(), CacheProperties.defaults());
             });
         }
 
@@ -533,7 +848,7 @@ class CustomFieldServiceTest extends BaseServiceTest {
             BeehiivProperties customProperties = createTestProperties("custom-api-key", "pub_custom123");
             
             assertDoesNotThrow(() -> {
-                new CustomFieldService(mockRestClient, customProperties);
+                new CustomFieldService(apiClient, customProperties, CacheProperties.defaults());
             });
         }
     }
@@ -2,7 +2,12 @@ package dev.danvega.beehiiv.subscription;
 
 import dev.danvega.beehiiv.BaseServiceTest;
 import dev.danvega.beehiiv.MockApiResponses;
+import dev.danvega.beehiiv.core.ApiClient;
+import dev.danvega.beehiiv.core.ApiConstants;
 import dev.danvega.beehiiv.core.BeehiivProperties;
+import dev.danvega.beehiiv.core.ExecutionProperties;
+import dev.danvega.beehiiv.core.PageFanOut;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +16,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class SubscriptionServiceTest extends BaseServiceTest {
 
@@ -19,7 +34,7 @@ class SubscriptionServiceTest extends BaseServiceTest {
 
     @BeforeEach
     void setUpSubscriptionService() {
-        subscriptionService = new SubscriptionService(mockRestClient, testProperties, mockObjectMapper);
+        subscriptionService = new SubscriptionService(apiClient, testProperties, mockObjectMapper);
     }
 
     @Nested
@@ -311,7 +326,7 @@ class SubscriptionServiceTest extends BaseServiceTest {
         @DisplayName("Should throw exception when no publication ID available")
         void shouldThrowExceptionWhenNoPublicationIdAvailable() {
             SubscriptionService serviceWithoutDefault = new SubscriptionService(
-                mockRestClient, createTestPropertiesNoPublication(), mockObjectMapper);
+                apiClient, createTestPropertiesNoPublication(), mockObjectMapper);
             
             IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -433,7 +448,7 @@ class SubscriptionServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service with valid parameters")
         void shouldConstructServiceWithValidParameters() {
             assertDoesNotThrow(() -> {
-                new SubscriptionService(mockRestClient, testProperties, mockObjectMapper);
+                new SubscriptionService(apiClient, testProperties, mockObjectMapper);
             });
         }
 
@@ -441,7 +456,7 @@ class SubscriptionServiceTest extends BaseServiceTest {
         @DisplayName("Should construct service without default publication ID")
         void shouldConstructServiceWithoutDefaultPublicationId() {
             assertDoesNotThrow(() -> {
-                new SubscriptionService(mockRestClient, createTestPropertiesNoPublication(), mockObjectMapper);
+                new SubscriptionService(apiClient, createTestPropertiesNoPublication(), mockObjectMapper);
             });
         }
 
@@ -451,7 +466,7 @@ class SubscriptionServiceTest extends BaseServiceTest {
             BeehiivProperties customProperties = createTestProperties("custom-api-key", "pub_custom123");
             
             assertDoesNotThrow(() -> {
-                new SubscriptionService(mockRestClient, customProperties, mockObjectMapper);
+                new SubscriptionService(apiClient, customProperties, mockObjectMapper);
             });
         }
     }
@@ -575,4 +590,80 @@ class SubscriptionServiceTest extends BaseServiceTest {
             });
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Subscription Stream Tests")
+    class SubscriptionStreamTests {
+
+        private final PageFanOut pageFanOut = new PageFanOut(ExecutionProperties.defaults());
+        private final ApiClient mockApiClient = mock(ApiClient.class);
+        private SubscriptionService streamingService;
+
+        @BeforeEach
+        void setUp() {
+            when(mockApiClient.prefetchPages(anyInt(), any(), any()))
+                    .thenAnswer(invocation -> pageFanOut.prefetch(invocation.getArgument(0),
+                            invocation.getArgument(1), invocation.getArgument(2)));
+            streamingService = new SubscriptionService(mockApiClient, testProperties, mockObjectMapper);
+        }
+
+        @AfterEach
+        void tearDown() {
+            pageFanOut.close();
+        }
+
+        private SubscriptionsResponse page(int size, int page) {
+            List<Subscription> data = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                data.add(new Subscription("sub_" + page + "_" + i, "reader" + i + "@example.com", "active",
+                        null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                        null, null, null, null));
+            }
+            return new SubscriptionsResponse(data, null, page, size);
+        }
+
+        @Test
+        @DisplayName("Should walk pages until a short page")
+        void shouldStreamUntilShortPage() {
+            when(mockApiClient.get(eq(ApiConstants.SUBSCRIPTIONS_ENDPOINT), anyString(), eq(SubscriptionsResponse.class)))
+                    .thenAnswer(invocation -> {
+                        String uri = invocation.getArgument(1);
+                        return uri.contains("page=3") ? page(1, 3) : page(2, uri.contains("page=2") ? 2 : 1);
+                    });
+
+            List<Subscription> subscriptions;
+            try (Stream<Subscription> stream = streamingService.subscriptionStream(2, "active", null, null, null)) {
+                subscriptions = stream.toList();
+            }
+
+            assertEquals(5, subscriptions.size());
+            assertEquals("sub_1_0", subscriptions.get(0).id());
+            assertEquals("sub_3_0", subscriptions.get(4).id());
+            verify(mockApiClient).get(ApiConstants.SUBSCRIPTIONS_ENDPOINT,
+                    "/publications/pub_test123/subscriptions?limit=2&page=1&status=active", SubscriptionsResponse.class);
+        }
+
+        @Test
+        @DisplayName("Should stop requesting pages when the consumer stops early")
+        void shouldStopOnEarlyTermination() {
+            when(mockApiClient.get(eq(ApiConstants.SUBSCRIPTIONS_ENDPOINT), anyString(), eq(SubscriptionsResponse.class)))
+                    .thenAnswer(invocation -> page(2, 1));
+
+            Optional<Subscription> first;
+            try (Stream<Subscription> stream = streamingService.subscriptionStream(2, null, null, null, null)) {
+                first = stream.findFirst();
+            }
+
+            assertTrue(first.isPresent());
+            verify(mockApiClient, atMost(1 + ExecutionProperties.defaults().maxParallelPages()))
+                    .get(eq(ApiConstants.SUBSCRIPTIONS_ENDPOINT), anyString(), eq(SubscriptionsResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an out-of-range page size")
+        void shouldRejectInvalidLimit() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> streamingService.subscriptionStream(101, null, null, null, null));
+        }
+    }
+}